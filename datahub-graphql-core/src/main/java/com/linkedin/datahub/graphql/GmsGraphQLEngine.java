@@ -18,6 +18,8 @@ import com.linkedin.datahub.graphql.analytics.resolver.GetHighlightsResolver;
 import com.linkedin.datahub.graphql.analytics.resolver.GetMetadataAnalyticsResolver;
 import com.linkedin.datahub.graphql.analytics.resolver.IsAnalyticsEnabledResolver;
 import com.linkedin.datahub.graphql.analytics.service.AnalyticsService;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
+import com.linkedin.datahub.graphql.concurrency.ResolverExecutor;
 import com.linkedin.datahub.graphql.featureflags.FeatureFlags;
 import com.linkedin.datahub.graphql.generated.AccessToken;
 import com.linkedin.datahub.graphql.generated.AccessTokenMetadata;
@@ -303,6 +305,7 @@ import com.linkedin.metadata.config.IngestionConfiguration;
 import com.linkedin.metadata.config.TestsConfiguration;
 import com.linkedin.metadata.config.ViewsConfiguration;
 import com.linkedin.metadata.config.VisualConfiguration;
+import com.linkedin.metadata.config.graphql.GraphQLQueryConfiguration;
 import com.linkedin.metadata.config.telemetry.TelemetryConfiguration;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.GraphClient;
@@ -336,7 +339,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -388,6 +390,10 @@ public class GmsGraphQLEngine {
 
     private final FeatureFlags featureFlags;
 
+    private final ResolverExecutor resolverExecutor;
+
+    private final GraphQLQueryConfiguration graphQLQueryConfiguration;
+
     private final IngestionConfiguration ingestionConfiguration;
     private final AuthenticationConfiguration authenticationConfiguration;
     private final AuthorizationConfiguration authorizationConfiguration;
@@ -507,6 +513,8 @@ public class GmsGraphQLEngine {
         this.datahubConfiguration = args.datahubConfiguration;
         this.viewsConfiguration = args.viewsConfiguration;
         this.featureFlags = args.featureFlags;
+        this.resolverExecutor = args.resolverExecutor;
+        this.graphQLQueryConfiguration = args.graphQLQueryConfiguration;
 
         this.datasetType = new DatasetType(entityClient);
         this.roleType = new RoleType(entityClient);
@@ -707,6 +715,8 @@ public class GmsGraphQLEngine {
             builder
             .addDataLoaders(loaderSuppliers(loadableTypes))
             .addDataLoader("Aspect", context -> createDataLoader(aspectType, context))
+            .setResolverExecutor(resolverExecutor)
+            .setQueryConfiguration(graphQLQueryConfiguration)
             .configureRuntimeWiring(this::configureRuntimeWiring);
         return builder;
     }
@@ -1802,7 +1812,7 @@ public class GmsGraphQLEngine {
     private <T, K> DataLoader<K, DataFetcherResult<T>> createDataLoader(final LoadableType<T, K> graphType, final QueryContext queryContext) {
         BatchLoaderContextProvider contextProvider = () -> queryContext;
         DataLoaderOptions loaderOptions = DataLoaderOptions.newOptions().setBatchLoaderContextProvider(contextProvider);
-        return DataLoader.newDataLoader((keys, context) -> CompletableFuture.supplyAsync(() -> {
+        return DataLoader.newDataLoader((keys, context) -> GraphQLConcurrencyUtils.supplyAsync(() -> {
             try {
                 log.debug(String.format("Batch loading entities of type: %s, keys: %s", graphType.name(), keys));
                 return graphType.batchLoad(keys, context.getContext());
@@ -1,9 +1,18 @@
 package com.linkedin.datahub.graphql;
 
+import com.datahub.authorization.AuthorizationAspectCache;
+import com.linkedin.datahub.graphql.concurrency.ResolverExecutor;
 import com.linkedin.datahub.graphql.exception.DataHubDataFetcherExceptionHandler;
+import com.linkedin.datahub.graphql.query.CachingPreparsedDocumentProvider;
+import com.linkedin.datahub.graphql.query.ListSizeFieldComplexityCalculator;
+import com.linkedin.metadata.config.graphql.GraphQLQueryConfiguration;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.tracing.TracingInstrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
@@ -19,6 +28,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 
@@ -33,16 +43,21 @@ import static graphql.schema.idl.RuntimeWiring.*;
  *
  * <p>In addition, it provides a simplified 'execute' API that accepts a 1) query string and 2) set of variables.
  */
+@Slf4j
 public class GraphQLEngine {
 
     private final GraphQL _graphQL;
     private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _dataLoaderSuppliers;
+    private final ResolverExecutor _resolverExecutor;
 
     private GraphQLEngine(@Nonnull final List<String> schemas,
                           @Nonnull final RuntimeWiring runtimeWiring,
-                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers) {
+                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
+                          @Nullable final ResolverExecutor resolverExecutor,
+                          @Nonnull final GraphQLQueryConfiguration queryConfiguration) {
 
         _dataLoaderSuppliers = dataLoaderSuppliers;
+        _resolverExecutor = resolverExecutor;
 
         /*
          * Parse schema
@@ -60,14 +75,51 @@ public class GraphQLEngine {
         /*
          * Instantiate engine
          */
-        _graphQL = new GraphQL.Builder(graphQLSchema)
+        GraphQL.Builder graphQLBuilder = new GraphQL.Builder(graphQLSchema)
             .defaultDataFetcherExceptionHandler(new DataHubDataFetcherExceptionHandler())
-            .instrumentation(new TracingInstrumentation())
-            .build();
+            .instrumentation(new ChainedInstrumentation(createInstrumentations(queryConfiguration)));
+        if (queryConfiguration.getCacheSize() > 0) {
+            graphQLBuilder.preparsedDocumentProvider(new CachingPreparsedDocumentProvider(
+                queryConfiguration.getCacheSize(), queryConfiguration.isPersistedQueriesEnabled()));
+        }
+        _graphQL = graphQLBuilder.build();
+    }
+
+    private static List<Instrumentation> createInstrumentations(
+        @Nonnull final GraphQLQueryConfiguration queryConfiguration) {
+        final List<Instrumentation> instrumentations = new ArrayList<>();
+        if (queryConfiguration.getComplexityLimit() > 0) {
+            /*
+             * Estimates the cost of queries before executing them, unenforced limits only report the queries over it
+             */
+            instrumentations.add(new MaxQueryComplexityInstrumentation(queryConfiguration.getComplexityLimit(),
+                new ListSizeFieldComplexityCalculator(queryConfiguration.getDefaultListSize()),
+                complexityInfo -> {
+                    MetricUtils.counter(GraphQLEngine.class, "complexityLimitExceeded").inc();
+                    log.warn("GraphQL query of estimated cost {} exceeds the limit of {}{}",
+                        complexityInfo.getComplexity(), complexityInfo.getMaxComplexity(),
+                        queryConfiguration.isComplexityLimitEnforced() ? ", rejecting it" : "");
+                    return queryConfiguration.isComplexityLimitEnforced();
+                }));
+        }
+        if (queryConfiguration.isTracingEnabled()) {
+            instrumentations.add(new TracingInstrumentation());
+        }
+        return instrumentations;
+    }
+
+    public ExecutionResult execute(@Nonnull final String query,
+                                   @Nullable final Map<String, Object> variables,
+                                   @Nonnull final QueryContext context) {
+        return execute(query, variables, null, context);
     }
 
+    /**
+     * Executes a query, with the extensions of the request such as the hash of a persisted query.
+     */
     public ExecutionResult execute(@Nonnull final String query,
                                    @Nullable final Map<String, Object> variables,
+                                   @Nullable final Map<String, Object> extensions,
                                    @Nonnull final QueryContext context) {
         /*
          * Init DataLoaderRegistry - should be created for each request.
@@ -77,17 +129,28 @@ public class GraphQLEngine {
         /*
          * Construct execution input
          */
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
+        ExecutionInput.Builder executionInputBuilder = ExecutionInput.newExecutionInput()
             .query(query)
             .variables(variables)
             .dataLoaderRegistry(register)
-            .context(context)
-            .build();
+            .context(context);
+        if (extensions != null) {
+            executionInputBuilder.extensions(extensions);
+        }
+        ExecutionInput executionInput = executionInputBuilder.build();
 
         /*
-         * Execute GraphQL Query
+         * Execute GraphQL Query, attributing the work of its resolvers to the request. The aspects read by the
+         * authorization checks of the resolvers are memoized for the whole request.
          */
-        return _graphQL.execute(executionInput);
+        try (AuthorizationAspectCache.RequestMemo ignoredMemo = AuthorizationAspectCache.RequestMemo.open()) {
+            if (_resolverExecutor == null) {
+                return _graphQL.execute(executionInput);
+            }
+            try (ResolverExecutor.RequestScope ignored = _resolverExecutor.openRequest()) {
+                return _graphQL.execute(executionInput);
+            }
+        }
     }
 
     public GraphQL getGraphQL() {
@@ -106,6 +169,8 @@ public class GraphQLEngine {
         private final List<String> _schemas = new ArrayList<>();
         private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _loaderSuppliers = new HashMap<>();
         private final RuntimeWiring.Builder _runtimeWiringBuilder = newRuntimeWiring();
+        private ResolverExecutor _resolverExecutor;
+        private GraphQLQueryConfiguration _queryConfiguration = new GraphQLQueryConfiguration();
 
         /**
          * Used to add a schema file containing the GQL types resolved by the engine.
@@ -141,6 +206,26 @@ public class GraphQLEngine {
             return this;
         }
 
+        /**
+         * Used to set the {@link ResolverExecutor} running the resolvers, which limits the resolvers of each request
+         * executed by the engine. The common fork join pool is used when none is set.
+         */
+        public Builder setResolverExecutor(@Nullable final ResolverExecutor resolverExecutor) {
+            _resolverExecutor = resolverExecutor;
+            return this;
+        }
+
+        /**
+         * Used to configure the caching, cost limiting and tracing of the queries executed by the engine. By default,
+         * queries are cached and traced, and their cost is not limited.
+         */
+        public Builder setQueryConfiguration(@Nullable final GraphQLQueryConfiguration queryConfiguration) {
+            if (queryConfiguration != null) {
+                _queryConfiguration = queryConfiguration;
+            }
+            return this;
+        }
+
         /**
          * Used to configure the runtime wiring (data fetchers & type resolvers)
          * used in resolving the Graph QL schema.
@@ -157,7 +242,8 @@ public class GraphQLEngine {
          * Builds a {@link GraphQLEngine}.
          */
         public GraphQLEngine build() {
-            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers);
+            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers, _resolverExecutor,
+                _queryConfiguration);
         }
     }
 
@@ -0,0 +1,24 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Entry point of resolvers and data loaders for running their blocking work asynchronously, on the
+ * {@link ResolverExecutor} of the GraphQL request the current thread is running work for.
+ *
+ * The executor is taken from the request rather than being global, so that each engine runs its requests on its own
+ * executor. Work submitted outside of a request runs on the common fork join pool.
+ */
+public class GraphQLConcurrencyUtils {
+  private GraphQLConcurrencyUtils() {
+  }
+
+  @Nonnull
+  public static <T> CompletableFuture<T> supplyAsync(@Nonnull Supplier<T> supplier) {
+    final ResolverExecutor resolverExecutor = ResolverExecutor.current();
+    return resolverExecutor != null ? resolverExecutor.supplyAsync(supplier) : CompletableFuture.supplyAsync(supplier);
+  }
+}
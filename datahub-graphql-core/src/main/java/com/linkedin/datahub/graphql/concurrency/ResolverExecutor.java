@@ -0,0 +1,228 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.datahub.authorization.AuthorizationAspectCache;
+import com.linkedin.datahub.graphql.exception.DataHubGraphQLErrorCode;
+import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Runs the blocking work of GraphQL resolvers and data loaders, instead of the JVM-wide common fork join pool.
+ *
+ * Work is attributed to the GraphQL request it is submitted for, see {@link #openRequest()}. Each request may only run
+ * a bounded number of tasks at a time, its other tasks wait in a queue of the request, so that a request fanning out to
+ * many slow resolvers does not take the whole pool. Tasks of a request which start after its deadline fail instead of
+ * running. Tasks submitted outside of a request are neither limited nor subject to a deadline.
+ *
+ * The request a task belongs to, along with the memo of the aspects read by its authorization checks, is propagated to
+ * the thread running it, and therefore to the resolvers chained on its result.
+ */
+@Slf4j
+public class ResolverExecutor {
+  private static final ThreadLocal<RequestScope> CURRENT_REQUEST = new ThreadLocal<>();
+
+  private final ExecutorService _executorService;
+  private final int _maxConcurrentTasksPerRequest;
+  private final long _requestTimeoutMillis;
+
+  /**
+   * @param executorService runs the tasks
+   * @param maxConcurrentTasksPerRequest tasks of a single request running at the same time, non-positive for no limit
+   * @param requestTimeoutMillis time after which the tasks of a request are no longer started, non-positive for none
+   */
+  public ResolverExecutor(@Nonnull ExecutorService executorService, int maxConcurrentTasksPerRequest,
+      long requestTimeoutMillis) {
+    _executorService = executorService;
+    _maxConcurrentTasksPerRequest = maxConcurrentTasksPerRequest;
+    _requestTimeoutMillis = requestTimeoutMillis;
+  }
+
+  /**
+   * Creates an executor running tasks on a fixed pool of threads. Once its queue is full, tasks run on the thread
+   * submitting them, which slows down the requests submitting the most work.
+   */
+  @Nonnull
+  public static ResolverExecutor bounded(int threads, int queueSize, int maxConcurrentTasksPerRequest,
+      long requestTimeoutMillis) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize), daemonThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    registerGauge("queueSize", () -> executor.getQueue().size());
+    registerGauge("activeCount", executor::getActiveCount);
+    return new ResolverExecutor(executor, maxConcurrentTasksPerRequest, requestTimeoutMillis);
+  }
+
+  // Replaces the gauge of any previous executor, which would otherwise keep reporting its own pool
+  private static void registerGauge(@Nonnull String name, @Nonnull Gauge<Integer> gauge) {
+    final String metricName = MetricRegistry.name(ResolverExecutor.class, name);
+    MetricUtils.get().remove(metricName);
+    MetricUtils.get().register(metricName, gauge);
+  }
+
+  /**
+   * Creates an executor starting a virtual thread per task, on JDKs supporting them. Requests are only bounded by
+   * their concurrency limit. Falls back to {@link #bounded} on older JDKs.
+   */
+  @Nonnull
+  public static ResolverExecutor virtualThreads(int fallbackThreads, int fallbackQueueSize,
+      int maxConcurrentTasksPerRequest, long requestTimeoutMillis) {
+    try {
+      // Looked up reflectively, the code is compiled for JDKs without virtual threads
+      final ExecutorService executor =
+          (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      return new ResolverExecutor(executor, maxConcurrentTasksPerRequest, requestTimeoutMillis);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not supported by this JDK, running GraphQL resolvers on {} threads",
+          fallbackThreads);
+      return bounded(fallbackThreads, fallbackQueueSize, maxConcurrentTasksPerRequest, requestTimeoutMillis);
+    }
+  }
+
+  private static ThreadFactory daemonThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, "graphql-resolver-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Attributes the tasks submitted from the current thread to a new request, until the returned scope is closed.
+   */
+  @Nonnull
+  public RequestScope openRequest() {
+    final long deadline =
+        _requestTimeoutMillis > 0 ? System.currentTimeMillis() + _requestTimeoutMillis : Long.MAX_VALUE;
+    final RequestScope scope = new RequestScope(deadline, CURRENT_REQUEST.get());
+    CURRENT_REQUEST.set(scope);
+    return scope;
+  }
+
+  /**
+   * Returns the executor of the request the current thread is running work for, or null outside of a request.
+   */
+  @Nullable
+  public static ResolverExecutor current() {
+    final RequestScope scope = CURRENT_REQUEST.get();
+    return scope != null ? scope.getExecutor() : null;
+  }
+
+  /**
+   * Runs a supplier asynchronously, as part of the request of the current thread if any.
+   */
+  @Nonnull
+  public <T> CompletableFuture<T> supplyAsync(@Nonnull Supplier<T> supplier) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    final RequestScope scope = CURRENT_REQUEST.get();
+    final AuthorizationAspectCache.RequestMemo memo = AuthorizationAspectCache.RequestMemo.current();
+    final Runnable task = () -> {
+      final RequestScope previous = CURRENT_REQUEST.get();
+      CURRENT_REQUEST.set(scope);
+      try (AuthorizationAspectCache.RequestMemo ignored = AuthorizationAspectCache.RequestMemo.attach(memo)) {
+        if (scope != null && System.currentTimeMillis() > scope._deadline) {
+          MetricUtils.counter(ResolverExecutor.class, "deadlineExceeded").inc();
+          throw new DataHubGraphQLException("The request did not complete in time",
+              DataHubGraphQLErrorCode.SERVER_ERROR);
+        }
+        future.complete(supplier.get());
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        restore(previous);
+      }
+    };
+    if (scope == null) {
+      _executorService.execute(task);
+    } else {
+      scope.submit(task);
+    }
+    return future;
+  }
+
+  private static void restore(@Nullable RequestScope previous) {
+    if (previous == null) {
+      CURRENT_REQUEST.remove();
+    } else {
+      CURRENT_REQUEST.set(previous);
+    }
+  }
+
+  /**
+   * The tasks of a GraphQL request, bounding how many of them run at the same time.
+   */
+  public class RequestScope implements AutoCloseable {
+    private final long _deadline;
+    private final RequestScope _previous;
+    private final Queue<Runnable> _waiting = new ArrayDeque<>();
+    private int _running = 0;
+
+    private RequestScope(long deadline, @Nullable RequestScope previous) {
+      _deadline = deadline;
+      _previous = previous;
+    }
+
+    @Nonnull
+    private ResolverExecutor getExecutor() {
+      return ResolverExecutor.this;
+    }
+
+    private void submit(@Nonnull Runnable task) {
+      synchronized (this) {
+        if (_maxConcurrentTasksPerRequest > 0 && _running >= _maxConcurrentTasksPerRequest) {
+          _waiting.add(task);
+          MetricUtils.counter(ResolverExecutor.class, "requestLimited").inc();
+          return;
+        }
+        _running++;
+      }
+      execute(task);
+    }
+
+    private void execute(@Nonnull Runnable task) {
+      _executorService.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          onComplete();
+        }
+      });
+    }
+
+    private void onComplete() {
+      final Runnable next;
+      synchronized (this) {
+        next = _waiting.poll();
+        if (next == null) {
+          _running--;
+        }
+      }
+      if (next != null) {
+        execute(next);
+      }
+    }
+
+    /**
+     * Stops attributing the tasks submitted from the current thread to this request. Its tasks still running complete.
+     */
+    @Override
+    public void close() {
+      restore(_previous);
+    }
+  }
+}
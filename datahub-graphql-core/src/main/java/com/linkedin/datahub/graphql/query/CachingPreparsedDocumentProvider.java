@@ -0,0 +1,104 @@
+package com.linkedin.datahub.graphql.query;
+
+import com.codahale.metrics.Counter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+
+/**
+ * Keeps the parsed and validated documents of the most frequent queries, by SHA-256 hash of their text, so that
+ * queries sent over and over are only parsed and validated once. Documents with errors are not kept.
+ *
+ * When persisted queries are enabled, a query may also be sent by the hash of its text alone, in the "persistedQuery"
+ * extension used by Apollo clients. Queries unknown to this instance are answered with a PersistedQueryNotFound error,
+ * upon which clients send the query again along with its text.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+  static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+  static final String SHA256_HASH = "sha256Hash";
+  public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+  private final Cache<String, PreparsedDocumentEntry> _cache;
+  private final boolean _persistedQueriesEnabled;
+  private final Counter _hits = MetricUtils.counter(CachingPreparsedDocumentProvider.class, "hit");
+  private final Counter _misses = MetricUtils.counter(CachingPreparsedDocumentProvider.class, "miss");
+
+  public CachingPreparsedDocumentProvider(int maxSize, boolean persistedQueriesEnabled) {
+    _cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    _persistedQueriesEnabled = persistedQueriesEnabled;
+  }
+
+  @Override
+  public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    final String persistedQueryHash = _persistedQueriesEnabled ? getPersistedQueryHash(executionInput) : null;
+    final String query = executionInput.getQuery();
+    if (persistedQueryHash != null && StringUtils.isBlank(query)) {
+      final PreparsedDocumentEntry entry = _cache.getIfPresent(persistedQueryHash);
+      if (entry == null) {
+        _misses.inc();
+        return error(PERSISTED_QUERY_NOT_FOUND);
+      }
+      _hits.inc();
+      return entry;
+    }
+
+    final String hash = hash(query);
+    if (persistedQueryHash != null && !persistedQueryHash.equalsIgnoreCase(hash)) {
+      return error("The persisted query hash does not match the query");
+    }
+    final PreparsedDocumentEntry cached = _cache.getIfPresent(hash);
+    if (cached != null) {
+      _hits.inc();
+      return cached;
+    }
+    _misses.inc();
+    final PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+    if (!entry.hasErrors()) {
+      _cache.put(hash, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Returns true if the query was sent by a hash unknown to this instance, which clients expect and answer by sending
+   * the query again along with its text.
+   */
+  public static boolean isPersistedQueryNotFound(@Nonnull ExecutionResult executionResult) {
+    return executionResult.getErrors().size() == 1
+        && PERSISTED_QUERY_NOT_FOUND.equals(executionResult.getErrors().get(0).getMessage());
+  }
+
+  @Nonnull
+  static String hash(@Nonnull String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
+
+  @Nullable
+  private static String getPersistedQueryHash(@Nonnull ExecutionInput executionInput) {
+    final Object persistedQuery =
+        executionInput.getExtensions() != null ? executionInput.getExtensions().get(PERSISTED_QUERY_EXTENSION) : null;
+    if (persistedQuery instanceof Map) {
+      final Object hash = ((Map<?, ?>) persistedQuery).get(SHA256_HASH);
+      return hash != null ? hash.toString() : null;
+    }
+    return null;
+  }
+
+  private static PreparsedDocumentEntry error(@Nonnull String message) {
+    return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message(message).build());
+  }
+}
@@ -0,0 +1,72 @@
+package com.linkedin.datahub.graphql.query;
+
+import com.google.common.collect.ImmutableList;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Estimates the cost of a query from the number of fields it resolves: each field costs 1, and the cost of the fields
+ * below a paginated field or a list is multiplied by the number of elements it may return.
+ *
+ * The number of elements is the value of the size argument of the field, such as "count", directly or in its "input"
+ * argument. Lists without one are assumed to have a default size, unless they are the page of their parent field, whose
+ * size argument already counted them.
+ */
+public class ListSizeFieldComplexityCalculator implements FieldComplexityCalculator {
+  private static final List<String> SIZE_ARGUMENTS = ImmutableList.of("count", "first", "limit", "size");
+  private static final String INPUT_ARGUMENT = "input";
+
+  private final int _defaultListSize;
+
+  public ListSizeFieldComplexityCalculator(int defaultListSize) {
+    _defaultListSize = defaultListSize;
+  }
+
+  @Override
+  public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+    return (int) Math.min(Integer.MAX_VALUE, 1 + (long) getMultiplier(environment) * childComplexity);
+  }
+
+  private int getMultiplier(@Nonnull FieldComplexityEnvironment environment) {
+    final Integer size = getSize(environment.getArguments());
+    if (size != null) {
+      return size;
+    }
+    final boolean isList =
+        GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList;
+    final FieldComplexityEnvironment parent = environment.getParentEnvironment();
+    if (isList && (parent == null || getSize(parent.getArguments()) == null)) {
+      return _defaultListSize;
+    }
+    return 1;
+  }
+
+  @Nullable
+  private static Integer getSize(@Nullable Map<String, Object> arguments) {
+    if (arguments == null) {
+      return null;
+    }
+    for (String argument : SIZE_ARGUMENTS) {
+      if (arguments.get(argument) instanceof Number) {
+        return Math.max(((Number) arguments.get(argument)).intValue(), 0);
+      }
+    }
+    final Object input = arguments.get(INPUT_ARGUMENT);
+    if (input instanceof Map) {
+      for (String argument : SIZE_ARGUMENTS) {
+        final Object value = ((Map<?, ?>) input).get(argument);
+        if (value instanceof Number) {
+          return Math.max(((Number) value).intValue(), 0);
+        }
+      }
+    }
+    return null;
+  }
+}
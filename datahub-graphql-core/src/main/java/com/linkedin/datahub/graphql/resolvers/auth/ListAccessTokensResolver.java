@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.auth;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.AccessTokenMetadata;
 import com.linkedin.datahub.graphql.generated.EntityType;
@@ -42,7 +43,7 @@ public class ListAccessTokensResolver implements DataFetcher<CompletableFuture<L
 
   @Override
   public CompletableFuture<ListAccessTokenResult> get(DataFetchingEnvironment environment) throws Exception {
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       final QueryContext context = environment.getContext();
       final ListAccessTokenInput input = bindArgument(environment.getArgument("input"), ListAccessTokenInput.class);
       final Integer start = input.getStart();
@@ -1,5 +1,6 @@
 package com.linkedin.datahub.graphql.resolvers.browse;
 
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.types.BrowsableEntityType;
 import com.linkedin.datahub.graphql.generated.BrowsePath;
 import com.linkedin.datahub.graphql.generated.BrowsePathsInput;
@@ -35,7 +36,7 @@ public class BrowsePathsResolver implements DataFetcher<CompletableFuture<List<B
     public CompletableFuture<List<BrowsePath>> get(DataFetchingEnvironment environment) {
         final BrowsePathsInput input = bindArgument(environment.getArgument("input"), BrowsePathsInput.class);
 
-        return CompletableFuture.supplyAsync(() -> {
+        return GraphQLConcurrencyUtils.supplyAsync(() -> {
             try {
                 _logger.debug(
                     String.format("Fetch browse paths. entity type: %s, urn: %s",
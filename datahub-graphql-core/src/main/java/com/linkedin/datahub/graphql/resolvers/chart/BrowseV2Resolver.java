@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.chart;
 
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.BrowseResultGroupV2;
 import com.linkedin.datahub.graphql.generated.BrowseResultMetadata;
 import com.linkedin.datahub.graphql.generated.BrowseResultsV2;
@@ -52,7 +53,7 @@ public class BrowseV2Resolver implements DataFetcher<CompletableFuture<BrowseRes
     // escape forward slash since it is a reserved character in Elasticsearch
     final String sanitizedQuery = ResolverUtils.escapeForwardSlash(query);
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         final DataHubViewInfo maybeResolvedView = (input.getViewUrn() != null)
             ? resolveView(_viewService, UrnUtils.getUrn(input.getViewUrn()), context.getAuthentication())
@@ -4,6 +4,7 @@ import com.datahub.authentication.Authentication;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CreateDataProductInput;
 import com.linkedin.datahub.graphql.generated.DataProduct;
@@ -33,7 +34,7 @@ public class CreateDataProductResolver implements DataFetcher<CompletableFuture<
     final Authentication authentication = context.getAuthentication();
     final Urn domainUrn = UrnUtils.getUrn(input.getDomainUrn());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       if (!_dataProductService.verifyEntityExists(domainUrn, context.getAuthentication())) {
         throw new IllegalArgumentException("The Domain provided dos not exist");
       }
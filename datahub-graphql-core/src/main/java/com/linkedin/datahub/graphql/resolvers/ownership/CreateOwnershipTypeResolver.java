@@ -3,6 +3,7 @@ package com.linkedin.datahub.graphql.resolvers.ownership;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.authorization.AuthorizationUtils;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.CreateOwnershipTypeInput;
 import com.linkedin.datahub.graphql.generated.OwnershipTypeEntity;
@@ -36,7 +37,7 @@ public class CreateOwnershipTypeResolver implements DataFetcher<CompletableFutur
           "Unauthorized to perform this action. Please contact your DataHub administrator.");
     }
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
       try {
         final Urn urn = _ownershipTypeService.createOwnershipType(input.getName(), input.getDescription(),
             context.getAuthentication(), System.currentTimeMillis());
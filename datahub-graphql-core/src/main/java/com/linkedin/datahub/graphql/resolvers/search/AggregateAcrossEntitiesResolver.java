@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.search;
 
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.generated.AggregateAcrossEntitiesInput;
 import com.linkedin.datahub.graphql.generated.AggregateResults;
 import com.linkedin.datahub.graphql.resolvers.ResolverUtils;
@@ -48,7 +49,7 @@ public class AggregateAcrossEntitiesResolver implements DataFetcher<CompletableF
     // escape forward slash since it is a reserved character in Elasticsearch
     final String sanitizedQuery = ResolverUtils.escapeForwardSlash(input.getQuery());
 
-    return CompletableFuture.supplyAsync(() -> {
+    return GraphQLConcurrencyUtils.supplyAsync(() -> {
 
       final DataHubViewInfo maybeResolvedView = (input.getViewUrn() != null)
           ? resolveView(_viewService, UrnUtils.getUrn(input.getViewUrn()), context.getAuthentication())
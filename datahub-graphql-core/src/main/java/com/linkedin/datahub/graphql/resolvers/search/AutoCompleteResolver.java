@@ -1,5 +1,6 @@
 package com.linkedin.datahub.graphql.resolvers.search;
 
+import com.linkedin.datahub.graphql.concurrency.GraphQLConcurrencyUtils;
 import com.linkedin.datahub.graphql.types.SearchableEntityType;
 import com.linkedin.datahub.graphql.exception.ValidationException;
 import com.linkedin.datahub.graphql.generated.AutoCompleteInput;
@@ -52,7 +53,7 @@ public class AutoCompleteResolver implements DataFetcher<CompletableFuture<AutoC
 
         final Filter filter = ResolverUtils.buildFilter(input.getFilters(), input.getOrFilters());
         final int limit = input.getLimit() != null ? input.getLimit() : DEFAULT_LIMIT;
-            return CompletableFuture.supplyAsync(() -> {
+            return GraphQLConcurrencyUtils.supplyAsync(() -> {
                 try {
                     _logger.debug("Executing autocomplete. "
                         + String.format("entity type %s, field %s, query %s, filters: %s, limit: %s",
@@ -0,0 +1,137 @@
+package com.linkedin.datahub.graphql.concurrency;
+
+import com.linkedin.datahub.graphql.exception.DataHubGraphQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ResolverExecutorTest {
+  private final ExecutorService _executorService = Executors.newFixedThreadPool(8);
+
+  @AfterClass
+  public void tearDown() {
+    _executorService.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrencyIsLimitedPerRequest() throws Exception {
+    ResolverExecutor resolverExecutor = new ResolverExecutor(_executorService, 2, 0);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    try (ResolverExecutor.RequestScope ignored = resolverExecutor.openRequest()) {
+      for (int i = 0; i < 6; i++) {
+        futures.add(resolverExecutor.supplyAsync(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          started.countDown();
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+          running.decrementAndGet();
+          return 1;
+        }));
+      }
+    }
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    // The other tasks wait for the first two, which are blocked
+    assertEquals(running.get(), 2);
+
+    release.countDown();
+    assertEquals(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply(v -> futures.stream().mapToInt(CompletableFuture::join).sum())
+        .get(10, TimeUnit.SECONDS).intValue(), 6);
+    assertEquals(maxRunning.get(), 2);
+  }
+
+  @Test
+  public void testRequestIsPropagatedToChainedTasks() throws Exception {
+    ResolverExecutor resolverExecutor = new ResolverExecutor(_executorService, 1, 0);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Integer> chained;
+    CompletableFuture<Integer> blocking;
+    try (ResolverExecutor.RequestScope ignored = resolverExecutor.openRequest()) {
+      blocking = resolverExecutor.supplyAsync(() -> {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        return 1;
+      });
+      // Submitted from a task of the request, so it waits for the blocking task to complete
+      chained = resolverExecutor.supplyAsync(() -> 1).thenCompose(value -> resolverExecutor.supplyAsync(() -> 2));
+    }
+    Thread.sleep(200);
+    assertFalse(chained.isDone());
+
+    release.countDown();
+    assertEquals(chained.get(10, TimeUnit.SECONDS).intValue(), 2);
+    assertEquals(blocking.get(10, TimeUnit.SECONDS).intValue(), 1);
+
+    // Tasks submitted outside of a request are not limited
+    assertEquals(resolverExecutor.supplyAsync(() -> 3).get(10, TimeUnit.SECONDS).intValue(), 3);
+  }
+
+  @Test
+  public void testTasksStartedAfterDeadlineFail() throws Exception {
+    ResolverExecutor resolverExecutor = new ResolverExecutor(_executorService, 1, 100);
+
+    CompletableFuture<Integer> late;
+    try (ResolverExecutor.RequestScope ignored = resolverExecutor.openRequest()) {
+      resolverExecutor.supplyAsync(() -> {
+        try {
+          Thread.sleep(300);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        return 1;
+      });
+      late = resolverExecutor.supplyAsync(() -> 2);
+    }
+
+    try {
+      late.get(10, TimeUnit.SECONDS);
+      fail("Expected the task to miss the deadline of its request");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof DataHubGraphQLException);
+    }
+  }
+
+  @Test
+  public void testWorkRunsOnTheExecutorOfItsRequest() throws Exception {
+    ResolverExecutor first = new ResolverExecutor(_executorService, 0, 0);
+    ResolverExecutor second = new ResolverExecutor(_executorService, 0, 0);
+    assertNull(ResolverExecutor.current());
+
+    CompletableFuture<ResolverExecutor> firstRequest;
+    try (ResolverExecutor.RequestScope ignored = first.openRequest()) {
+      firstRequest = GraphQLConcurrencyUtils.supplyAsync(ResolverExecutor::current);
+    }
+    CompletableFuture<ResolverExecutor> secondRequest;
+    try (ResolverExecutor.RequestScope ignored = second.openRequest()) {
+      secondRequest = GraphQLConcurrencyUtils.supplyAsync(ResolverExecutor::current);
+    }
+
+    // Building another executor does not redirect the requests of an existing one
+    assertSame(firstRequest.get(10, TimeUnit.SECONDS), first);
+    assertSame(secondRequest.get(10, TimeUnit.SECONDS), second);
+    assertNull(ResolverExecutor.current());
+  }
+}
@@ -0,0 +1,91 @@
+package com.linkedin.datahub.graphql.query;
+
+import com.google.common.collect.ImmutableMap;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class CachingPreparsedDocumentProviderTest {
+  private static final String QUERY = "query { me { corpUser { urn } } }";
+
+  @Test
+  public void testDocumentIsParsedOnce() {
+    CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, false);
+    AtomicInteger parses = new AtomicInteger();
+    Function<ExecutionInput, PreparsedDocumentEntry> parse = countingParse(parses);
+
+    PreparsedDocumentEntry first = provider.getDocument(input(QUERY, null), parse);
+    PreparsedDocumentEntry second = provider.getDocument(input(QUERY, null), parse);
+
+    assertSame(second, first);
+    assertEquals(parses.get(), 1);
+  }
+
+  @Test
+  public void testDocumentsWithErrorsAreNotCached() {
+    CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, false);
+    AtomicInteger parses = new AtomicInteger();
+    Function<ExecutionInput, PreparsedDocumentEntry> parse = executionInput -> {
+      parses.incrementAndGet();
+      return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("Invalid").build());
+    };
+
+    assertTrue(provider.getDocument(input(QUERY, null), parse).hasErrors());
+    assertTrue(provider.getDocument(input(QUERY, null), parse).hasErrors());
+    assertEquals(parses.get(), 2);
+  }
+
+  @Test
+  public void testPersistedQueries() {
+    CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, true);
+    AtomicInteger parses = new AtomicInteger();
+    Function<ExecutionInput, PreparsedDocumentEntry> parse = countingParse(parses);
+    String hash = CachingPreparsedDocumentProvider.hash(QUERY);
+
+    // Unknown hash, the client has to send the query text
+    PreparsedDocumentEntry notFound = provider.getDocument(input("", hash), parse);
+    assertTrue(notFound.hasErrors());
+    assertEquals(notFound.getErrors().get(0).getMessage(), CachingPreparsedDocumentProvider.PERSISTED_QUERY_NOT_FOUND);
+
+    PreparsedDocumentEntry registered = provider.getDocument(input(QUERY, hash), parse);
+    assertFalse(registered.hasErrors());
+    assertSame(provider.getDocument(input("", hash), parse), registered);
+    assertEquals(parses.get(), 1);
+
+    // Hash not matching the query text
+    assertTrue(provider.getDocument(input(QUERY, CachingPreparsedDocumentProvider.hash("other")), parse).hasErrors());
+  }
+
+  @Test
+  public void testPersistedQueriesDisabled() {
+    CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, false);
+    AtomicInteger parses = new AtomicInteger();
+    Function<ExecutionInput, PreparsedDocumentEntry> parse = countingParse(parses);
+
+    assertFalse(provider.getDocument(input(QUERY, "unknown"), parse).hasErrors());
+    assertEquals(parses.get(), 1);
+  }
+
+  private static Function<ExecutionInput, PreparsedDocumentEntry> countingParse(AtomicInteger parses) {
+    return executionInput -> {
+      parses.incrementAndGet();
+      return new PreparsedDocumentEntry(Document.newDocument().build());
+    };
+  }
+
+  private static ExecutionInput input(String query, String persistedQueryHash) {
+    ExecutionInput.Builder builder = ExecutionInput.newExecutionInput().query(query);
+    if (persistedQueryHash != null) {
+      builder.extensions(ImmutableMap.of(CachingPreparsedDocumentProvider.PERSISTED_QUERY_EXTENSION,
+          ImmutableMap.of(CachingPreparsedDocumentProvider.SHA256_HASH, persistedQueryHash)));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.datahub.graphql.query;
+
+import com.google.common.collect.ImmutableMap;
+import graphql.Scalars;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.language.Field;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import java.util.Collections;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ListSizeFieldComplexityCalculatorTest {
+  private static final int DEFAULT_LIST_SIZE = 10;
+  private static final GraphQLObjectType PARENT_TYPE = GraphQLObjectType.newObject()
+      .name("Query")
+      .field(GraphQLFieldDefinition.newFieldDefinition().name("field").type(Scalars.GraphQLString))
+      .build();
+
+  private final ListSizeFieldComplexityCalculator _calculator = new ListSizeFieldComplexityCalculator(DEFAULT_LIST_SIZE);
+
+  @Test
+  public void testSizeArguments() {
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, ImmutableMap.of("count", 5), null), 3), 16);
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, ImmutableMap.of("first", 4), null), 3), 13);
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, ImmutableMap.of("limit", 3), null), 3), 10);
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, ImmutableMap.of("size", 2), null), 3), 7);
+    // The size argument takes precedence over the default size of lists
+    assertEquals(_calculator.calculate(environment(list(), ImmutableMap.of("count", 2), null), 3), 7);
+    // Negative sizes select nothing
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, ImmutableMap.of("count", -1), null), 3), 1);
+  }
+
+  @Test
+  public void testInputSizeArgument() {
+    FieldComplexityEnvironment environment = environment(Scalars.GraphQLString,
+        ImmutableMap.of("input", ImmutableMap.of("query", "*", "count", 4)), null);
+    assertEquals(_calculator.calculate(environment, 2), 9);
+  }
+
+  @Test
+  public void testDefaultListSize() {
+    assertEquals(_calculator.calculate(environment(list(), Collections.emptyMap(), null), 2), 1 + DEFAULT_LIST_SIZE * 2);
+    assertEquals(_calculator.calculate(environment(GraphQLNonNull.nonNull(list()), Collections.emptyMap(), null), 2),
+        1 + DEFAULT_LIST_SIZE * 2);
+    // Fields which are neither paginated nor lists cost their sub-selection once
+    assertEquals(_calculator.calculate(environment(Scalars.GraphQLString, Collections.emptyMap(), null), 2), 3);
+  }
+
+  @Test
+  public void testPageOfPaginatedParent() {
+    // The elements of the page were already counted by the size argument of the parent
+    FieldComplexityEnvironment paginated = environment(PARENT_TYPE, ImmutableMap.of("count", 20), null);
+    assertEquals(_calculator.calculate(environment(list(), Collections.emptyMap(), paginated), 2), 3);
+
+    // Lists below a field which is not paginated get the default size
+    FieldComplexityEnvironment notPaginated = environment(PARENT_TYPE, Collections.emptyMap(), null);
+    assertEquals(_calculator.calculate(environment(list(), Collections.emptyMap(), notPaginated), 2),
+        1 + DEFAULT_LIST_SIZE * 2);
+  }
+
+  @Test
+  public void testOverflowIsClamped() {
+    assertEquals(_calculator.calculate(environment(list(), ImmutableMap.of("count", Integer.MAX_VALUE), null), 1000),
+        Integer.MAX_VALUE);
+    assertEquals(_calculator.calculate(environment(list(), Collections.emptyMap(), null), Integer.MAX_VALUE),
+        Integer.MAX_VALUE);
+  }
+
+  private static GraphQLList list() {
+    return GraphQLList.list(Scalars.GraphQLString);
+  }
+
+  private static FieldComplexityEnvironment environment(GraphQLOutputType type, Map<String, Object> arguments,
+      FieldComplexityEnvironment parentEnvironment) {
+    GraphQLFieldDefinition fieldDefinition = GraphQLFieldDefinition.newFieldDefinition().name("field").type(type).build();
+    return new FieldComplexityEnvironment(new Field("field"), fieldDefinition, PARENT_TYPE, arguments,
+        parentEnvironment);
+  }
+}
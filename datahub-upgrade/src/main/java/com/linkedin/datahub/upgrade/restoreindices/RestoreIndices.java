@@ -24,6 +24,7 @@ public class RestoreIndices implements Upgrade {
   public static final String WRITER_POOL_SIZE = "WRITER_POOL_SIZE";
   public static final String URN_ARG_NAME = "urn";
   public static final String URN_LIKE_ARG_NAME = "urnLike";
+  public static final String WRITE_DIRECT_ARG_NAME = "writeDirect";
 
   private final List<UpgradeStep> _steps;
 
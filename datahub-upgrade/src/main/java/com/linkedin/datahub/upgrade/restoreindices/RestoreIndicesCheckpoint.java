@@ -0,0 +1,209 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringMap;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import com.linkedin.metadata.key.DataHubUpgradeKey;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+
+/**
+ * The progress of a RestoreIndices run: the urn ranges the aspects were split into, and for each range the key of the
+ * last row restored.
+ *
+ * The checkpoint is stored as the {@link DataHubUpgradeResult} of a dedicated dataHubUpgrade entity, so that a run
+ * which crashed can resume each range from its last saved key. Rows after the saved key may be restored twice, which
+ * is harmless since restoring an aspect is idempotent.
+ */
+public class RestoreIndicesCheckpoint {
+
+  static final String CHECKPOINT_UPGRADE_ID = "restore-indices-checkpoint";
+
+  private static final String ARGS_KEY = "args";
+  private static final String STATUS_KEY = "status";
+  private static final String RANGE_COUNT_KEY = "rangeCount";
+  private static final String IN_PROGRESS = "IN_PROGRESS";
+  private static final String COMPLETE = "COMPLETE";
+
+  private final EntityService _entityService;
+  private final Urn _urn;
+  private final String _argsDescription;
+  @Getter
+  private final List<Range> _ranges;
+  @Getter
+  private final boolean _resumed;
+
+  private RestoreIndicesCheckpoint(@Nonnull EntityService entityService, @Nonnull String argsDescription,
+      @Nonnull List<Range> ranges, boolean resumed) {
+    _entityService = entityService;
+    _urn = EntityKeyUtils.convertEntityKeyToUrn(new DataHubUpgradeKey().setId(CHECKPOINT_UPGRADE_ID),
+        Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+    _argsDescription = argsDescription;
+    _ranges = Collections.unmodifiableList(ranges);
+    _resumed = resumed;
+  }
+
+  /**
+   * Returns the unfinished checkpoint of a previous run with the same filters, or null if there is none.
+   */
+  @Nullable
+  public static RestoreIndicesCheckpoint load(@Nonnull EntityService entityService, @Nonnull RestoreIndicesArgs args) {
+    final Urn urn = EntityKeyUtils.convertEntityKeyToUrn(new DataHubUpgradeKey().setId(CHECKPOINT_UPGRADE_ID),
+        Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+    final DataHubUpgradeResult upgradeResult =
+        (DataHubUpgradeResult) entityService.getLatestAspect(urn, Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+    if (upgradeResult == null || !upgradeResult.hasResult()) {
+      return null;
+    }
+    final Map<String, String> result = upgradeResult.getResult();
+    if (!IN_PROGRESS.equals(result.get(STATUS_KEY)) || !describe(args).equals(result.get(ARGS_KEY))) {
+      return null;
+    }
+    final int rangeCount = Integer.parseInt(result.get(RANGE_COUNT_KEY));
+    final List<Range> ranges = new ArrayList<>(rangeCount);
+    for (int i = 0; i < rangeCount; i++) {
+      ranges.add(Range.fromMap(i, result));
+    }
+    return new RestoreIndicesCheckpoint(entityService, describe(args), ranges, true);
+  }
+
+  /**
+   * Creates the checkpoint of a new run, with one range per pair of consecutive boundaries.
+   *
+   * @param boundaries the sorted urns splitting the aspects into ranges
+   */
+  @Nonnull
+  public static RestoreIndicesCheckpoint create(@Nonnull EntityService entityService, @Nonnull RestoreIndicesArgs args,
+      @Nonnull List<String> boundaries) {
+    final List<Range> ranges = new ArrayList<>(boundaries.size() + 1);
+    String lowerBound = null;
+    for (String boundary : boundaries) {
+      ranges.add(new Range(ranges.size(), lowerBound, boundary));
+      lowerBound = boundary;
+    }
+    ranges.add(new Range(ranges.size(), lowerBound, null));
+    return new RestoreIndicesCheckpoint(entityService, describe(args), ranges, false);
+  }
+
+  /**
+   * Persists the progress of all ranges.
+   */
+  public synchronized void save() {
+    write(_ranges.stream().allMatch(Range::isDone) ? COMPLETE : IN_PROGRESS);
+  }
+
+  private void write(@Nonnull String status) {
+    final StringMap result = new StringMap();
+    result.put(ARGS_KEY, _argsDescription);
+    result.put(STATUS_KEY, status);
+    result.put(RANGE_COUNT_KEY, String.valueOf(_ranges.size()));
+    _ranges.forEach(range -> range.toMap(result));
+
+    final MetadataChangeProposal proposal = new MetadataChangeProposal();
+    proposal.setEntityUrn(_urn);
+    proposal.setEntityType(Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+    proposal.setAspectName(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+    proposal.setAspect(GenericRecordUtils.serializeAspect(
+        new DataHubUpgradeResult().setTimestampMs(System.currentTimeMillis()).setResult(result)));
+    proposal.setChangeType(ChangeType.UPSERT);
+    _entityService.ingestProposal(proposal,
+        new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis()), false);
+  }
+
+  /**
+   * The filters of a run, which must match for a checkpoint to be resumed.
+   */
+  @Nonnull
+  private static String describe(@Nonnull RestoreIndicesArgs args) {
+    return String.format("aspectName=%s,urn=%s,urnLike=%s", args.aspectName, args.urn, args.urnLike);
+  }
+
+  /**
+   * A range of urns, from an inclusive lower bound to an exclusive upper bound, either of which may be unbounded.
+   */
+  public static class Range {
+    private final int _index;
+    @Getter
+    @Nullable
+    private final String _upperBound;
+    // The key of the last row restored, or the lower bound with an empty aspect when no row has been restored yet.
+    @Getter
+    @Nullable
+    private volatile String _lastUrn;
+    @Getter
+    @Nullable
+    private volatile String _lastAspect;
+    @Getter
+    private volatile boolean _done;
+
+    private Range(int index, @Nullable String lowerBound, @Nullable String upperBound) {
+      this(index, upperBound, lowerBound, lowerBound != null ? "" : null, false);
+    }
+
+    private Range(int index, @Nullable String upperBound, @Nullable String lastUrn, @Nullable String lastAspect,
+        boolean done) {
+      _index = index;
+      _upperBound = upperBound;
+      _lastUrn = lastUrn;
+      _lastAspect = lastAspect;
+      _done = done;
+    }
+
+    /**
+     * Records the key of the last row restored.
+     */
+    public void advance(@Nonnull String lastUrn, @Nonnull String lastAspect) {
+      _lastAspect = lastAspect;
+      _lastUrn = lastUrn;
+    }
+
+    public void markDone() {
+      _done = true;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("range %d (after %s, %s up to %s)", _index, _lastUrn, _lastAspect,
+          Objects.toString(_upperBound, "the end"));
+    }
+
+    private void toMap(@Nonnull Map<String, String> map) {
+      putIfNotNull(map, key(_index, "upperBound"), _upperBound);
+      putIfNotNull(map, key(_index, "lastUrn"), _lastUrn);
+      putIfNotNull(map, key(_index, "lastAspect"), _lastAspect);
+      map.put(key(_index, "done"), String.valueOf(_done));
+    }
+
+    @Nonnull
+    private static Range fromMap(int index, @Nonnull Map<String, String> map) {
+      return new Range(index, map.get(key(index, "upperBound")), map.get(key(index, "lastUrn")),
+          map.get(key(index, "lastAspect")), Boolean.parseBoolean(map.get(key(index, "done"))));
+    }
+
+    private static String key(int index, String field) {
+      return String.format("range.%d.%s", index, field);
+    }
+
+    private static void putIfNotNull(Map<String, String> map, String key, @Nullable String value) {
+      if (value != null) {
+        map.put(key, value);
+      }
+    }
+  }
+}
@@ -4,6 +4,7 @@ import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
 import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.datahub.upgrade.nocode.NoCodeUpgrade;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
@@ -18,9 +19,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
@@ -31,21 +34,66 @@ public class SendMAEStep implements UpgradeStep {
   private static final int DEFAULT_BATCH_SIZE = 1000;
   private static final long DEFAULT_BATCH_DELAY_MS = 250;
   private static final int DEFAULT_THREADS = 1;
+  // Each thread gets a few ranges, so that a thread which drew a sparse range does not sit idle for the rest of the run.
+  private static final int RANGES_PER_THREAD = 4;
+  private static final long CHECKPOINT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
 
   private final EbeanServer _server;
   private final EntityService _entityService;
 
-  public class KafkaJob implements Callable<RestoreIndicesResult> {
-      UpgradeContext context;
-      RestoreIndicesArgs args;
-      public KafkaJob(UpgradeContext context, RestoreIndicesArgs args) {
-        this.context = context;
-        this.args = args;
-      }
-      @Override
-      public RestoreIndicesResult call() {
-        return _entityService.restoreIndices(args, context.report()::addLine);
+  /**
+   * Restores the aspects of a single urn range, batch by batch, recording its progress in the checkpoint.
+   */
+  public class RangeJob implements Callable<Void> {
+    private final UpgradeContext _context;
+    private final RestoreIndicesArgs _args;
+    private final RestoreIndicesCheckpoint _checkpoint;
+    private final RestoreIndicesCheckpoint.Range _range;
+    private final RestoreIndicesResult _finalResult;
+    private final int _rowCount;
+    private final long _startTime;
+    private final AtomicLong _lastCheckpointTime;
+
+    public RangeJob(UpgradeContext context, RestoreIndicesArgs args, RestoreIndicesCheckpoint checkpoint,
+        RestoreIndicesCheckpoint.Range range, RestoreIndicesResult finalResult, int rowCount, long startTime,
+        AtomicLong lastCheckpointTime) {
+      _context = context;
+      _args = args;
+      _checkpoint = checkpoint;
+      _range = range;
+      _finalResult = finalResult;
+      _rowCount = rowCount;
+      _startTime = startTime;
+      _lastCheckpointTime = lastCheckpointTime;
+    }
+
+    @Override
+    public Void call() {
+      while (true) {
+        RestoreIndicesArgs batchArgs = _args.clone();
+        batchArgs.urnBasedPagination = true;
+        batchArgs.lastUrn = _range.getLastUrn();
+        batchArgs.lastAspect = _range.getLastAspect();
+        batchArgs.urnUpperBound = _range.getUpperBound();
+        RestoreIndicesResult result = _entityService.restoreIndices(batchArgs, _context.report()::addLine);
+        synchronized (_finalResult) {
+          reportStats(_context, _finalResult, result, _rowCount, _startTime);
+        }
+        if (result.lastUrn != null) {
+          _range.advance(result.lastUrn, result.lastAspect);
+        }
+        if (result.lastUrn == null || result.rowsMigrated + result.ignored < batchArgs.batchSize) {
+          _range.markDone();
+          saveCheckpoint(_context, _checkpoint, _lastCheckpointTime);
+          return null;
+        }
+        long lastCheckpointTime = _lastCheckpointTime.get();
+        if (System.currentTimeMillis() - lastCheckpointTime > CHECKPOINT_INTERVAL_MS
+            && _lastCheckpointTime.compareAndSet(lastCheckpointTime, System.currentTimeMillis())) {
+          saveCheckpoint(_context, _checkpoint, _lastCheckpointTime);
+        }
       }
+    }
   }
 
   public SendMAEStep(final EbeanServer server, final EntityService entityService, final EntityRegistry entityRegistry) {
@@ -63,21 +111,6 @@ public class SendMAEStep implements UpgradeStep {
     return 0;
   }
 
-  private List<RestoreIndicesResult> iterateFutures(List<Future<RestoreIndicesResult>> futures) {
-    List<RestoreIndicesResult> result = new ArrayList<>();
-    for (Future<RestoreIndicesResult> future: new ArrayList<>(futures)) {
-      if (future.isDone()) {
-        try {
-          result.add(future.get());
-          futures.remove(future);
-        } catch (InterruptedException | ExecutionException e) {
-          e.printStackTrace();
-        }
-      }
-    }
-    return result;
-  }
-
   private RestoreIndicesArgs getArgs(UpgradeContext context) {
     RestoreIndicesArgs result = new RestoreIndicesArgs();
     result.batchSize = getBatchSize(context.parsedArgs());
@@ -92,24 +125,106 @@ public class SendMAEStep implements UpgradeStep {
     if (containsKey(context.parsedArgs(), RestoreIndices.URN_LIKE_ARG_NAME)) {
       result.urnLike = context.parsedArgs().get(RestoreIndices.URN_LIKE_ARG_NAME).get();
     }
+    result.writeDirect = context.parsedArgs().containsKey(RestoreIndices.WRITE_DIRECT_ARG_NAME);
     return result;
   }
 
-  private int getRowCount(RestoreIndicesArgs args) {
-    ExpressionList<EbeanAspectV2> countExp =
+  private ExpressionList<EbeanAspectV2> getLatestAspects(RestoreIndicesArgs args, String columns) {
+    ExpressionList<EbeanAspectV2> exp =
             _server.find(EbeanAspectV2.class)
+                    .select(columns)
                     .where()
                     .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION);
     if (args.aspectName != null) {
-      countExp = countExp.eq(EbeanAspectV2.ASPECT_COLUMN, args.aspectName);
+      exp = exp.eq(EbeanAspectV2.ASPECT_COLUMN, args.aspectName);
     }
     if (args.urn != null) {
-      countExp = countExp.eq(EbeanAspectV2.URN_COLUMN, args.urn);
+      exp = exp.eq(EbeanAspectV2.URN_COLUMN, args.urn);
     }
     if (args.urnLike != null) {
-      countExp = countExp.like(EbeanAspectV2.URN_COLUMN, args.urnLike);
+      exp = exp.like(EbeanAspectV2.URN_COLUMN, args.urnLike);
+    }
+    return exp;
+  }
+
+  private int getRowCount(RestoreIndicesArgs args) {
+    return getLatestAspects(args, EbeanAspectV2.URN_COLUMN).findCount();
+  }
+
+  /**
+   * Counts the rows left to restore in the given ranges, i.e. the rows after the last key restored in each of them.
+   */
+  int getRemainingRowCount(RestoreIndicesArgs args, List<RestoreIndicesCheckpoint.Range> ranges) {
+    int count = 0;
+    for (RestoreIndicesCheckpoint.Range range : ranges) {
+      ExpressionList<EbeanAspectV2> exp = getLatestAspects(args, EbeanAspectV2.URN_COLUMN);
+      if (range.getLastUrn() != null) {
+        exp = exp.or()
+                .gt(EbeanAspectV2.URN_COLUMN, range.getLastUrn())
+                .and()
+                .eq(EbeanAspectV2.URN_COLUMN, range.getLastUrn())
+                .gt(EbeanAspectV2.ASPECT_COLUMN, range.getLastAspect() != null ? range.getLastAspect() : "")
+                .endAnd()
+                .endOr();
+      }
+      if (range.getUpperBound() != null) {
+        exp = exp.lt(EbeanAspectV2.URN_COLUMN, range.getUpperBound());
+      }
+      count += exp.findCount();
+    }
+    return count;
+  }
+
+  /**
+   * Splits the latest aspects into ranges of about rangeSize rows, returning the urns at which each range starts
+   * except the first. Each boundary is found by skipping rangeSize rows past the previous one, so that the whole plan
+   * reads the urn index once rather than once per range.
+   */
+  List<String> getRangeBoundaries(RestoreIndicesArgs args, int rangeSize) {
+    List<String> boundaries = new ArrayList<>();
+    String lowerBound = null;
+    while (true) {
+      ExpressionList<EbeanAspectV2> exp = getLatestAspects(args, EbeanAspectV2.URN_COLUMN);
+      if (lowerBound != null) {
+        exp = exp.gt(EbeanAspectV2.URN_COLUMN, lowerBound);
+      }
+      List<EbeanAspectV2> rows = exp.orderBy()
+              .asc(EbeanAspectV2.URN_COLUMN)
+              .setFirstRow(rangeSize)
+              .setMaxRows(1)
+              .findList();
+      if (rows.isEmpty()) {
+        return boundaries;
+      }
+      lowerBound = rows.get(0).getUrn();
+      boundaries.add(lowerBound);
+    }
+  }
+
+  private RestoreIndicesCheckpoint getCheckpoint(UpgradeContext context, RestoreIndicesArgs args, int rowCount) {
+    if (!context.parsedArgs().containsKey(NoCodeUpgrade.CLEAN_ARG_NAME)) {
+      RestoreIndicesCheckpoint checkpoint = RestoreIndicesCheckpoint.load(_entityService, args);
+      if (checkpoint != null) {
+        return checkpoint;
+      }
+    }
+    int rangeCount = args.numThreads * RANGES_PER_THREAD;
+    int rangeSize = Math.max(args.batchSize, (rowCount + rangeCount - 1) / rangeCount);
+    RestoreIndicesCheckpoint checkpoint =
+        RestoreIndicesCheckpoint.create(_entityService, args, getRangeBoundaries(args, rangeSize));
+    checkpoint.save();
+    return checkpoint;
+  }
+
+  private static void saveCheckpoint(UpgradeContext context, RestoreIndicesCheckpoint checkpoint,
+      AtomicLong lastCheckpointTime) {
+    try {
+      checkpoint.save();
+      lastCheckpointTime.set(System.currentTimeMillis());
+    } catch (Exception e) {
+      // Only costs redoing some batches should the run have to be resumed
+      context.report().addLine(String.format("Failed to save the restore indices checkpoint: %s", e));
     }
-    return countExp.findCount();
   }
 
   @Override
@@ -117,38 +232,60 @@ public class SendMAEStep implements UpgradeStep {
     return (context) -> {
       RestoreIndicesResult finalJobResult = new RestoreIndicesResult();
       RestoreIndicesArgs args = getArgs(context);
-      ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(args.numThreads);
 
-      context.report().addLine("Sending MAE from local DB");
+      context.report().addLine(String.format("Sending MAE from local DB%s",
+              args.writeDirect ? ", writing to the indices directly" : ""));
       long startTime = System.currentTimeMillis();
       final int rowCount = getRowCount(args);
       context.report().addLine(String.format("Found %s latest aspects in aspects table in %.2f minutes.",
               rowCount, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
-      int start = 0;
 
-      List<Future<RestoreIndicesResult>> futures = new ArrayList<>();
       startTime = System.currentTimeMillis();
-      while (start < rowCount) {
-        args = args.clone();
-        args.start = start;
-        futures.add(executor.submit(new KafkaJob(context, args)));
-        start = start + args.batchSize;
+      RestoreIndicesCheckpoint checkpoint = getCheckpoint(context, args, rowCount);
+      List<RestoreIndicesCheckpoint.Range> ranges = new ArrayList<>();
+      for (RestoreIndicesCheckpoint.Range range : checkpoint.getRanges()) {
+        if (!range.isDone()) {
+          ranges.add(range);
+        }
       }
-      while (futures.size() > 0) {
-        List<RestoreIndicesResult> tmpResults = iterateFutures(futures);
-        for (RestoreIndicesResult tmpResult: tmpResults) {
-          reportStats(context, finalJobResult, tmpResult, rowCount, startTime);
+      // A resumed run only restores the rows after the checkpoint, so its progress is measured against those
+      final int rowsToRestore = checkpoint.isResumed() ? getRemainingRowCount(args, ranges) : rowCount;
+      context.report().addLine(String.format("%s %d of %d ranges, %d rows to restore, in %.2f minutes.",
+              checkpoint.isResumed() ? "Resuming" : "Planned", ranges.size(), checkpoint.getRanges().size(),
+              rowsToRestore, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
+
+      ExecutorService executor = Executors.newFixedThreadPool(args.numThreads);
+      AtomicLong lastCheckpointTime = new AtomicLong(System.currentTimeMillis());
+      List<Future<Void>> futures = new ArrayList<>();
+      startTime = System.currentTimeMillis();
+      for (RestoreIndicesCheckpoint.Range range : ranges) {
+        futures.add(executor.submit(new RangeJob(context, args, checkpoint, range, finalJobResult, rowsToRestore,
+                startTime, lastCheckpointTime)));
+      }
+      boolean failed = false;
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (InterruptedException | ExecutionException e) {
+          context.report().addLine(String.format("Failed to restore %s: %s", ranges.get(i), e));
+          failed = true;
         }
       }
       executor.shutdown();
-      if (finalJobResult.rowsMigrated != rowCount) {
+      saveCheckpoint(context, checkpoint, lastCheckpointTime);
+
+      if (finalJobResult.rowsMigrated != rowsToRestore) {
         float percentFailed = 0.0f;
-        if (rowCount > 0) {
-          percentFailed = (float) (rowCount - finalJobResult.rowsMigrated) * 100 / rowCount;
+        if (rowsToRestore > 0) {
+          percentFailed = (float) (rowsToRestore - finalJobResult.rowsMigrated) * 100 / rowsToRestore;
         }
         context.report().addLine(String.format(
                 "Failed to send MAEs for %d rows (%.2f%% of total).",
-                rowCount - finalJobResult.rowsMigrated, percentFailed));
+                rowsToRestore - finalJobResult.rowsMigrated, percentFailed));
+      }
+      if (failed) {
+        context.report().addLine("Some ranges failed, run RestoreIndices again to resume from the last checkpoint.");
+        return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
       }
       return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
     };
@@ -4,6 +4,7 @@ import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
 import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.shared.ElasticSearchIndexed;
 
 import java.util.List;
@@ -11,12 +12,15 @@ import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.linkedin.datahub.upgrade.system.elasticsearch.util.IndexUtils.getAllReindexConfigs;
+
 
 @Slf4j
 @RequiredArgsConstructor
 public class BuildIndicesStep implements UpgradeStep {
 
   private final List<ElasticSearchIndexed> _services;
+  private final ESIndexBuilder _indexBuilder;
 
   @Override
   public String id() {
@@ -32,9 +36,8 @@ public class BuildIndicesStep implements UpgradeStep {
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
       try {
-        for (ElasticSearchIndexed service : _services) {
-          service.reindexAll();
-        }
+        // Build the indices of all the services together, so that they are reindexed concurrently
+        _indexBuilder.buildIndices(getAllReindexConfigs(_services));
       } catch (Exception e) {
         log.error("BuildIndicesStep failed.", e);
         return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
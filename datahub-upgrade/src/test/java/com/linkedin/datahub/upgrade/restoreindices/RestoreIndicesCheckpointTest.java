@@ -0,0 +1,93 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.upgrade.DataHubUpgradeResult;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class RestoreIndicesCheckpointTest {
+
+  private EntityService _entityService;
+  private final AtomicReference<DataHubUpgradeResult> _stored = new AtomicReference<>();
+
+  @BeforeMethod
+  public void setup() {
+    _stored.set(null);
+    _entityService = mock(EntityService.class);
+    // Stores the ingested upgrade result, so that it is returned as the latest aspect
+    when(_entityService.ingestProposal(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+      MetadataChangeProposal proposal = invocation.getArgument(0);
+      _stored.set(GenericRecordUtils.deserializeAspect(proposal.getAspect().getValue(),
+          proposal.getAspect().getContentType(), DataHubUpgradeResult.class));
+      return null;
+    });
+    when(_entityService.getLatestAspect(any(), eq(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME)))
+        .thenAnswer(invocation -> _stored.get());
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName("corpUserInfo");
+    RestoreIndicesCheckpoint checkpoint =
+        RestoreIndicesCheckpoint.create(_entityService, args, List.of("urn:li:corpuser:b", "urn:li:corpuser:d"));
+    assertFalse(checkpoint.isResumed());
+    checkpoint.getRanges().get(0).advance("urn:li:corpuser:a", "corpUserInfo");
+    checkpoint.getRanges().get(2).markDone();
+    checkpoint.save();
+
+    RestoreIndicesCheckpoint loaded = RestoreIndicesCheckpoint.load(_entityService, args);
+    assertNotNull(loaded);
+    assertTrue(loaded.isResumed());
+    List<RestoreIndicesCheckpoint.Range> ranges = loaded.getRanges();
+    assertEquals(ranges.size(), 3);
+
+    assertEquals(ranges.get(0).getLastUrn(), "urn:li:corpuser:a");
+    assertEquals(ranges.get(0).getLastAspect(), "corpUserInfo");
+    assertEquals(ranges.get(0).getUpperBound(), "urn:li:corpuser:b");
+    assertFalse(ranges.get(0).isDone());
+
+    // A range not started yet resumes from its lower bound, including it
+    assertEquals(ranges.get(1).getLastUrn(), "urn:li:corpuser:b");
+    assertEquals(ranges.get(1).getLastAspect(), "");
+    assertEquals(ranges.get(1).getUpperBound(), "urn:li:corpuser:d");
+    assertFalse(ranges.get(1).isDone());
+
+    assertNull(ranges.get(2).getUpperBound());
+    assertTrue(ranges.get(2).isDone());
+  }
+
+  @Test
+  public void testLoadRequiresSameFilters() {
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName("corpUserInfo");
+    RestoreIndicesCheckpoint.create(_entityService, args, List.of("urn:li:corpuser:b")).save();
+
+    assertNull(RestoreIndicesCheckpoint.load(_entityService, new RestoreIndicesArgs().setAspectName("ownership")));
+    assertNull(RestoreIndicesCheckpoint.load(_entityService,
+        new RestoreIndicesArgs().setAspectName("corpUserInfo").setUrnLike("urn:li:corpuser:%")));
+    assertNotNull(RestoreIndicesCheckpoint.load(_entityService, args));
+  }
+
+  @Test
+  public void testCompletedCheckpointIsNotResumed() {
+    RestoreIndicesArgs args = new RestoreIndicesArgs();
+    assertNull(RestoreIndicesCheckpoint.load(_entityService, args));
+
+    RestoreIndicesCheckpoint checkpoint =
+        RestoreIndicesCheckpoint.create(_entityService, args, List.of("urn:li:corpuser:b"));
+    checkpoint.getRanges().forEach(RestoreIndicesCheckpoint.Range::markDone);
+    checkpoint.save();
+
+    assertNull(RestoreIndicesCheckpoint.load(_entityService, args));
+  }
+}
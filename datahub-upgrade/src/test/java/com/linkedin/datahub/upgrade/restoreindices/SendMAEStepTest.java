@@ -0,0 +1,135 @@
+package com.linkedin.datahub.upgrade.restoreindices;
+
+import com.linkedin.datahub.upgrade.UpgradeContext;
+import com.linkedin.datahub.upgrade.UpgradeReport;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesResult;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class SendMAEStepTest {
+
+  private static final String ASPECT_NAME = "corpUserInfo";
+
+  private EbeanServer _server;
+  private EntityService _entityService;
+  private SendMAEStep _step;
+
+  @BeforeMethod
+  public void setup() {
+    _server = createTestServer();
+    for (int i = 0; i < 10; i++) {
+      _server.save(aspect(urn(i), 0));
+    }
+    // Only the latest version of the aspects is restored
+    _server.save(aspect(urn(3), 1));
+    _entityService = mock(EntityService.class);
+    _step = new SendMAEStep(_server, _entityService, null);
+  }
+
+  @Test
+  public void testGetRangeBoundaries() {
+    assertEquals(_step.getRangeBoundaries(new RestoreIndicesArgs(), 4), List.of(urn(4), urn(9)));
+    assertEquals(_step.getRangeBoundaries(new RestoreIndicesArgs(), 10), List.of());
+    assertEquals(_step.getRangeBoundaries(new RestoreIndicesArgs().setUrnLike("urn:li:corpuser:user0%"), 2),
+        List.of(urn(2), urn(5), urn(8)));
+  }
+
+  @Test
+  public void testGetRemainingRowCount() {
+    RestoreIndicesArgs args = new RestoreIndicesArgs();
+    RestoreIndicesCheckpoint checkpoint = RestoreIndicesCheckpoint.create(_entityService, args, List.of(urn(4), urn(9)));
+    List<RestoreIndicesCheckpoint.Range> ranges = checkpoint.getRanges();
+    assertEquals(_step.getRemainingRowCount(args, ranges), 10);
+
+    // Rows up to the last key restored in each range are not left to restore
+    ranges.get(0).advance(urn(1), ASPECT_NAME);
+    ranges.get(1).advance(urn(5), ASPECT_NAME);
+    assertEquals(_step.getRemainingRowCount(args, ranges), 2 + 3 + 1);
+  }
+
+  @Test
+  public void testRangeJob() {
+    RestoreIndicesArgs args = new RestoreIndicesArgs();
+    args.batchSize = 2;
+    RestoreIndicesCheckpoint checkpoint = RestoreIndicesCheckpoint.create(_entityService, args, List.of(urn(4)));
+    RestoreIndicesCheckpoint.Range range = checkpoint.getRanges().get(0);
+    when(_entityService.restoreIndices(any(), any()))
+        .thenReturn(result(2, urn(1)))
+        .thenReturn(result(2, urn(3)))
+        .thenReturn(result(0, null));
+
+    UpgradeContext context = mock(UpgradeContext.class);
+    when(context.report()).thenReturn(mock(UpgradeReport.class));
+    RestoreIndicesResult finalResult = new RestoreIndicesResult();
+    _step.new RangeJob(context, args, checkpoint, range, finalResult, 4, System.currentTimeMillis(),
+        new AtomicLong(System.currentTimeMillis())).call();
+
+    // Each batch continues after the last key of the previous one, within the range
+    ArgumentCaptor<RestoreIndicesArgs> captor = ArgumentCaptor.forClass(RestoreIndicesArgs.class);
+    verify(_entityService, times(3)).restoreIndices(captor.capture(), any());
+    List<RestoreIndicesArgs> batches = captor.getAllValues();
+    assertNull(batches.get(0).lastUrn);
+    assertEquals(batches.get(1).lastUrn, urn(1));
+    assertEquals(batches.get(2).lastUrn, urn(3));
+    batches.forEach(batch -> {
+      assertTrue(batch.urnBasedPagination);
+      assertEquals(batch.urnUpperBound, urn(4));
+    });
+
+    assertEquals(finalResult.rowsMigrated, 4);
+    assertEquals(range.getLastUrn(), urn(3));
+    assertTrue(range.isDone());
+    // The checkpoint is saved once the range is done
+    verify(_entityService, times(1)).ingestProposal(any(), any(), anyBoolean());
+  }
+
+  private static RestoreIndicesResult result(int rowsMigrated, String lastUrn) {
+    RestoreIndicesResult result = new RestoreIndicesResult();
+    result.rowsMigrated = rowsMigrated;
+    result.lastUrn = lastUrn;
+    result.lastAspect = lastUrn != null ? ASPECT_NAME : null;
+    return result;
+  }
+
+  private static String urn(int i) {
+    return String.format("urn:li:corpuser:user%02d", i);
+  }
+
+  private static EbeanAspectV2 aspect(String urn, long version) {
+    return new EbeanAspectV2(urn, ASPECT_NAME, version, "{}", new Timestamp(0), "urn:li:corpuser:datahub", null,
+        null);
+  }
+
+  private static EbeanServer createTestServer() {
+    DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("tester");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl("jdbc:h2:mem:;IGNORECASE=TRUE;");
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName("gma");
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDdlGenerate(true);
+    serverConfig.setDdlRun(true);
+    serverConfig.setDefaultServer(false);
+    serverConfig.setRegister(false);
+    return EbeanServerFactory.create(serverConfig);
+  }
+}
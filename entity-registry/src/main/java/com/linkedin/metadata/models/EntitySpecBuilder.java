@@ -19,6 +19,7 @@ import com.linkedin.metadata.models.annotation.SearchScoreAnnotation;
 import com.linkedin.metadata.models.annotation.SearchableAnnotation;
 import com.linkedin.metadata.models.annotation.TimeseriesFieldAnnotation;
 import com.linkedin.metadata.models.annotation.TimeseriesFieldCollectionAnnotation;
+import com.linkedin.metadata.models.extractor.FieldAccessor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -236,6 +237,13 @@ public class EntitySpecBuilder {
           new DataSchemaRichContextTraverser(timeseriesFieldSpecExtractor);
       timeseriesFieldSpecTraverser.traverse(processedTimeseriesFieldResult.getResultSchema());
 
+      // Compile the field accessors up front, rather than on the first aspect ingested
+      FieldAccessor.compile(aspectRecordSchema, searchableFieldSpecExtractor.getSpecs());
+      FieldAccessor.compile(aspectRecordSchema, searchScoreFieldSpecExtractor.getSpecs());
+      FieldAccessor.compile(aspectRecordSchema, relationshipFieldSpecExtractor.getSpecs());
+      FieldAccessor.compile(aspectRecordSchema, timeseriesFieldSpecExtractor.getTimeseriesFieldSpecs());
+      FieldAccessor.compile(aspectRecordSchema, timeseriesFieldSpecExtractor.getTimeseriesFieldCollectionSpecs());
+
       return new AspectSpec(aspectAnnotation, searchableFieldSpecExtractor.getSpecs(),
           searchScoreFieldSpecExtractor.getSpecs(), relationshipFieldSpecExtractor.getSpecs(),
           timeseriesFieldSpecExtractor.getTimeseriesFieldSpecs(),
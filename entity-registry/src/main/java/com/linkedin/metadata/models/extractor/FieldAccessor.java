@@ -0,0 +1,260 @@
+package com.linkedin.metadata.models.extractor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.PathSpec;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.TyperefDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.template.Custom;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.metadata.models.FieldSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Reads the value of a {@link FieldSpec} straight from the {@link DataMap} of a record.
+ *
+ * The path of the field spec is compiled once against the schema of the record into a chain of steps, each reading a
+ * record field (or its default), a union member or mapping over an array. Leaf values are coerced the same way the
+ * generated getters would, so that the values match what {@link com.datahub.util.RecordUtils#getFieldValue} returns
+ * without reflection: numbers are converted to the type of the field, enums are returned as their symbol and custom
+ * types such as urns are built by their registered coercer.
+ *
+ * Paths leading to records, unions, fixed or null values, or which {@link com.datahub.util.RecordUtils} would reject,
+ * are not compiled and the caller is expected to fall back to {@link com.datahub.util.RecordUtils} for them. The same
+ * goes for records which do not match their schema, in which case {@link #get} throws.
+ */
+public final class FieldAccessor {
+
+  private static final String ARRAY_WILDCARD = "*";
+  private static final String JAVA_PROPERTY = "java";
+  private static final String JAVA_CLASS_PROPERTY = "class";
+  private static final String JAVA_COERCER_CLASS_PROPERTY = "coercerClass";
+
+  // Keyed by field spec identity, field specs are built once per entity registry.
+  private static final Cache<FieldSpec, Optional<FieldAccessor>> ACCESSORS =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private final Step _step;
+  private final long _numArrayWildcards;
+
+  private FieldAccessor(@Nonnull Step step, long numArrayWildcards) {
+    _step = step;
+    _numArrayWildcards = numArrayWildcards;
+  }
+
+  /**
+   * Compiles the accessors of field specs relative to a record schema, ahead of their first use.
+   */
+  public static void compile(@Nonnull RecordDataSchema schema, @Nonnull List<? extends FieldSpec> fieldSpecs) {
+    fieldSpecs.forEach(fieldSpec -> of(fieldSpec, schema));
+  }
+
+  /**
+   * Returns the accessor of a field spec relative to a record schema, or null if its path cannot be compiled.
+   */
+  @Nullable
+  public static FieldAccessor of(@Nonnull FieldSpec fieldSpec, @Nonnull RecordDataSchema schema) {
+    return ACCESSORS.asMap()
+        .computeIfAbsent(fieldSpec, spec -> Optional.ofNullable(compile(schema, spec.getPath())))
+        .orElse(null);
+  }
+
+  /**
+   * Returns the value of the field in a record, or null if it is absent. For paths through arrays, the value is the
+   * list of the values found in each element, nested once per array.
+   */
+  @Nullable
+  public Object get(@Nonnull DataMap record) {
+    return _step.get(record);
+  }
+
+  public long getNumArrayWildcards() {
+    return _numArrayWildcards;
+  }
+
+  @Nullable
+  private static FieldAccessor compile(@Nonnull RecordDataSchema schema, @Nonnull PathSpec path) {
+    final List<String> components = path.getPathComponents();
+    if (components.isEmpty()) {
+      return null;
+    }
+    try {
+      return new FieldAccessor(compile(schema, components, 0),
+          components.stream().filter(ARRAY_WILDCARD::equals).count());
+    } catch (UnsupportedPathException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads the value found at some point of the path.
+   */
+  @FunctionalInterface
+  private interface Step {
+    @Nullable
+    Object get(@Nonnull Object value);
+  }
+
+  private static class UnsupportedPathException extends Exception {
+    UnsupportedPathException() {
+      super(null, null, false, false);
+    }
+  }
+
+  @Nonnull
+  private static Step compile(@Nonnull DataSchema schema, @Nonnull List<String> components, int index)
+      throws UnsupportedPathException {
+    while (index < components.size() && ARRAY_WILDCARD.equals(components.get(index))) {
+      index++;
+    }
+    if (index == components.size()) {
+      return compileLeaf(schema);
+    }
+    final String part = components.get(index);
+    if (!part.isEmpty() && part.chars().allMatch(Character::isDigit)) {
+      // Array indexing is not supported
+      throw new UnsupportedPathException();
+    }
+    final DataSchema dereferenced = schema.getDereferencedDataSchema();
+    switch (dereferenced.getType()) {
+      case RECORD:
+        return compileRecordField((RecordDataSchema) dereferenced, components, index);
+      case UNION:
+        // Union members are returned as is, and cannot be traversed any further.
+        if (index != components.size() - 1 || findMember((UnionDataSchema) dereferenced, part) == null) {
+          throw new UnsupportedPathException();
+        }
+        return value -> ((DataMap) value).get(part);
+      case ARRAY:
+        final Step itemStep = compile(((ArrayDataSchema) dereferenced).getItems(), components, index);
+        return value -> mapArray((DataList) value, itemStep, true);
+      default:
+        throw new UnsupportedPathException();
+    }
+  }
+
+  @Nonnull
+  private static Step compileRecordField(@Nonnull RecordDataSchema schema, @Nonnull List<String> components,
+      int index) throws UnsupportedPathException {
+    final RecordDataSchema.Field field = schema.getField(components.get(index));
+    if (field == null) {
+      throw new UnsupportedPathException();
+    }
+    final String name = field.getName();
+    final Object defaultValue = field.getDefault();
+    final boolean required = !field.getOptional();
+    final Step next = compile(field.getType(), components, index + 1);
+    return value -> {
+      Object fieldValue = ((DataMap) value).get(name);
+      if (fieldValue == null) {
+        if (defaultValue == null) {
+          if (required) {
+            throw new IllegalStateException(String.format("Required field %s is not present", name));
+          }
+          return null;
+        }
+        fieldValue = defaultValue;
+      }
+      return next.get(fieldValue);
+    };
+  }
+
+  @Nonnull
+  private static Step compileLeaf(@Nonnull DataSchema schema) throws UnsupportedPathException {
+    final Class<?> customClass = getCustomClass(schema);
+    if (customClass != null) {
+      return value -> DataTemplateUtil.coerceOutput(value, customClass);
+    }
+    final DataSchema dereferenced = schema.getDereferencedDataSchema();
+    switch (dereferenced.getType()) {
+      case INT:
+        return value -> ((Number) value).intValue();
+      case LONG:
+        return value -> ((Number) value).longValue();
+      case FLOAT:
+        return value -> ((Number) value).floatValue();
+      case DOUBLE:
+        return value -> ((Number) value).doubleValue();
+      case BOOLEAN:
+      case STRING:
+      case ENUM:
+      case BYTES:
+        return value -> value;
+      case MAP:
+        // Maps are only ever rendered as key=value strings, for which the raw values are equivalent.
+        return value -> Collections.unmodifiableMap((Map<?, ?>) value);
+      case ARRAY:
+        final Step itemStep = compileLeaf(((ArrayDataSchema) dereferenced).getItems());
+        return value -> mapArray((DataList) value, itemStep, false);
+      default:
+        // Records, unions and fixed values would have to be wrapped into their generated classes.
+        throw new UnsupportedPathException();
+    }
+  }
+
+  @Nonnull
+  private static List<Object> mapArray(@Nonnull DataList items, @Nonnull Step itemStep, boolean dropAbsent) {
+    final List<Object> values = new ArrayList<>(items.size());
+    for (Object item : items) {
+      final Object value = itemStep.get(item);
+      if (value != null || !dropAbsent) {
+        values.add(value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Returns the Java class bound to a typeref through its java property, loading it so that its coercer is registered.
+   */
+  @Nullable
+  private static Class<?> getCustomClass(@Nonnull DataSchema schema) throws UnsupportedPathException {
+    DataSchema current = schema;
+    while (current.getType() == DataSchema.Type.TYPEREF) {
+      final Object javaProperty = current.getProperties().get(JAVA_PROPERTY);
+      if (javaProperty instanceof DataMap && ((DataMap) javaProperty).containsKey(JAVA_CLASS_PROPERTY)) {
+        final DataMap javaProperties = (DataMap) javaProperty;
+        final Class<?> customClass = loadClass(javaProperties.getString(JAVA_CLASS_PROPERTY));
+        Custom.initializeCustomClass(customClass);
+        if (javaProperties.containsKey(JAVA_COERCER_CLASS_PROPERTY)) {
+          Custom.initializeCoercerClass(loadClass(javaProperties.getString(JAVA_COERCER_CLASS_PROPERTY)));
+        }
+        return customClass;
+      }
+      current = ((TyperefDataSchema) current).getRef();
+    }
+    return null;
+  }
+
+  @Nonnull
+  private static Class<?> loadClass(@Nonnull String className) throws UnsupportedPathException {
+    try {
+      return Class.forName(className, true, FieldAccessor.class.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      // e.g. a class only known to the class loader of a plugin registry
+      throw new UnsupportedPathException();
+    }
+  }
+
+  @Nullable
+  private static UnionDataSchema.Member findMember(@Nonnull UnionDataSchema schema, @Nonnull String memberKey) {
+    for (UnionDataSchema.Member member : schema.getMembers()) {
+      if (member.getUnionMemberKey().equals(memberKey)) {
+        return member;
+      }
+    }
+    return null;
+  }
+}
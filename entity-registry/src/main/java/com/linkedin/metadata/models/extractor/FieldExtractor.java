@@ -11,7 +11,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -19,6 +18,9 @@ import javax.annotation.Nonnull;
 
 /**
  * Extracts fields from a RecordTemplate based on the appropriate {@link FieldSpec}.
+ *
+ * Values are read through the compiled {@link FieldAccessor} of each field spec, falling back to {@link RecordUtils}
+ * for the paths it does not support.
  */
 public class FieldExtractor {
 
@@ -40,26 +42,39 @@ public class FieldExtractor {
   public static <T extends FieldSpec> Map<T, List<Object>> extractFields(@Nonnull RecordTemplate record, List<T> fieldSpecs, int maxValueLength) {
     final Map<T, List<Object>> extractedFields = new HashMap<>();
     for (T fieldSpec : fieldSpecs) {
-      Optional<Object> value = RecordUtils.getFieldValue(record, fieldSpec.getPath());
-      if (!value.isPresent()) {
+      final FieldAccessor accessor = FieldAccessor.of(fieldSpec, record.schema());
+      Object value = null;
+      long numArrayWildcards = -1;
+      if (accessor != null) {
+        try {
+          value = accessor.get(record.data());
+          numArrayWildcards = accessor.getNumArrayWildcards();
+        } catch (RuntimeException e) {
+          // The record does not match its schema, let RecordUtils deal with it
+        }
+      }
+      if (numArrayWildcards < 0) {
+        value = RecordUtils.getFieldValue(record, fieldSpec.getPath()).orElse(null);
+        numArrayWildcards = getNumArrayWildcards(fieldSpec.getPath());
+      }
+      if (value == null) {
         extractedFields.put(fieldSpec, Collections.emptyList());
       } else {
-        long numArrayWildcards = getNumArrayWildcards(fieldSpec.getPath());
         // Not an array field
         if (numArrayWildcards == 0) {
           // For maps, convert it into a list of the form key=value (Filter out long values)
-          if (value.get() instanceof Map) {
-            extractedFields.put(fieldSpec, ((Map<?, ?>) value.get()).entrySet()
+          if (value instanceof Map) {
+            extractedFields.put(fieldSpec, ((Map<?, ?>) value).entrySet()
                 .stream()
                 .map(entry -> new Pair<>(entry.getKey().toString(), entry.getValue().toString()))
                 .filter(entry -> entry.getValue().length() < maxValueLength)
                 .map(entry -> entry.getKey() + "=" + entry.getValue())
                 .collect(Collectors.toList()));
           } else {
-            extractedFields.put(fieldSpec, Collections.singletonList(value.get()));
+            extractedFields.put(fieldSpec, Collections.singletonList(value));
           }
         } else {
-          List<Object> valueList = (List<Object>) value.get();
+          List<Object> valueList = (List<Object>) value;
           // If the field is a nested list of values, flatten it
           for (int i = 0; i < numArrayWildcards - 1; i++) {
             valueList = valueList.stream().flatMap(v -> ((List<Object>) v).stream()).collect(Collectors.toList());
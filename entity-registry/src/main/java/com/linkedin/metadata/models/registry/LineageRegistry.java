@@ -101,6 +101,21 @@ public class LineageRegistry {
     return result;
   }
 
+  /**
+   * Returns the types of all the lineage relationships, whatever the entities they connect.
+   */
+  public Set<String> getLineageRelationshipTypes() {
+    Set<String> result = _lineageSpecMap.values()
+        .stream()
+        .flatMap(spec -> Streams.concat(spec.getUpstreamEdges().stream(), spec.getDownstreamEdges().stream()))
+        .map(EdgeInfo::getType)
+        .collect(Collectors.toSet());
+    result.addAll(getSchemaFieldRelationships(LineageDirection.UPSTREAM).stream()
+        .map(EdgeInfo::getType)
+        .collect(Collectors.toSet()));
+    return result;
+  }
+
   public List<EdgeInfo> getLineageRelationships(String entityName, LineageDirection direction) {
     LineageSpec spec = getLineageSpec(entityName);
     if (spec == null) {
@@ -14,6 +14,7 @@ import org.testng.annotations.Test;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -59,6 +60,9 @@ public class LineageRegistryTest {
         .contains(new LineageRegistry.EdgeInfo("DownstreamOf", RelationshipDirection.INCOMING, "dataset")));
     assertTrue(lineageSpec.getDownstreamEdges()
         .contains(new LineageRegistry.EdgeInfo("Consumes", RelationshipDirection.INCOMING, "dataJob")));
+    assertTrue(lineageRegistry.getLineageRelationshipTypes()
+        .containsAll(ImmutableList.of("DownstreamOf", "Produces", "Consumes")));
+    assertFalse(lineageRegistry.getLineageRelationshipTypes().contains("AssociatedWith"));
   }
 
   private RelationshipFieldSpec buildSpec(String relationshipType, List<String> destinationEntityTypes,
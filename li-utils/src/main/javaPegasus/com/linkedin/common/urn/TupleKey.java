@@ -19,7 +19,7 @@ public class TupleKey {
   public static final char END_TUPLE = ')';
   public static final char DELIMITER = ',';
 
-  private List<String> _tuple;
+  private final List<String> _tuple;
 
   public TupleKey(String... tuple) {
     _tuple = Arrays.asList(checkStringsNotNull(tuple));
@@ -237,6 +237,26 @@ public class TupleKey {
     return new TupleKey(parseKeyParts(s, startIndex), false);
   }
 
+  /**
+   * Validate the encoding of a tuple key starting at the given index, without allocating its parts.
+   * @param s raw urn string or urn type specific string.
+   * @param startIndex index where urn type specific string starts.
+   * @return number of parts of the tuple key.
+   * @throws URISyntaxException if type specific string format is invalid.
+   */
+  public static int validate(String s, int startIndex) throws URISyntaxException {
+    if (startIndex >= s.length()) {
+      return 0;
+    }
+    if (s.charAt(startIndex) != START_TUPLE) {
+      if (!hasBalancedParens(s, startIndex)) {
+        throw new URISyntaxException(s, "mismatched paren nesting");
+      }
+      return 1;
+    }
+    return scanKeyParts(s, startIndex, null);
+  }
+
   private static List<String> parseKeyParts(String input, int startIndex) throws URISyntaxException {
     if (startIndex >= input.length()) {
       return Collections.emptyList();
@@ -268,7 +288,16 @@ public class TupleKey {
      * of URN types which use three parts or fewer -- the rest will require some array expansion.
      */
     List<String> parts = new ArrayList<>(3);
+    scanKeyParts(input, startIndex, parts);
+    return Collections.unmodifiableList(parts);
+  }
 
+  /**
+   * Scan a parenthesized tuple key starting at the given index, adding its parts to {@code parts} unless it is null.
+   * @return number of parts of the tuple key.
+   */
+  private static int scanKeyParts(String input, int startIndex, List<String> parts) throws URISyntaxException {
+    int numParts = 0;
     int numStartedParenPairs = 1; // We know we have at least one starting paren
     int partStart = startIndex + 1;  // +1 to skip opening paren
     for (int i = startIndex + 1; i < input.length(); i++) {
@@ -293,7 +322,10 @@ public class TupleKey {
         if (i - partStart <= 0) {
           throw new URISyntaxException(input, "empty part disallowed");
         }
-        parts.add(input.substring(partStart, i));
+        if (parts != null) {
+          parts.add(input.substring(partStart, i));
+        }
+        numParts++;
         partStart = i + 1;
       }
     }
@@ -308,8 +340,10 @@ public class TupleKey {
       throw new URISyntaxException(input, "empty part disallowed");
     }
 
-    parts.add(input.substring(partStart, lastPartEnd));
-    return Collections.unmodifiableList(parts);
+    if (parts != null) {
+      parts.add(input.substring(partStart, lastPartEnd));
+    }
+    return numParts + 1;
   }
 
   private static boolean hasBalancedParens(String input, int startIndex) {
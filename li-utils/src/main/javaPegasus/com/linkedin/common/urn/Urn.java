@@ -1,5 +1,7 @@
 package com.linkedin.common.urn;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.linkedin.data.template.Custom;
 import com.linkedin.util.ArgumentUtil;
 import java.net.URISyntaxException;
@@ -40,10 +42,21 @@ public class Urn {
   private static final String URN_START = "urn:";
   private static final String DEFAULT_NAMESPACE = "li";
 
+  /**
+   * Maximum number of parsed Urns kept by {@link #createFromString(String)}, configurable with the
+   * "com.linkedin.common.urn.parseCacheSize" system property. 0 disables the cache.
+   */
+  private static final long PARSE_CACHE_SIZE = Long.getLong("com.linkedin.common.urn.parseCacheSize", 100000L);
+
   private final String _entityType;
-  private final TupleKey _entityKey;
   private final String _namespace;
 
+  // Parsed lazily from _cachedStringUrn when _entityKeyStart >= 0, since most
+  // Urns are only ever compared, hashed and serialized back to a String.
+  @Nullable
+  private TupleKey _entityKey;
+  private final int _entityKeyStart;
+
   // Used to speed up toString() in the common case where the Urn is built up
   // from parsing an input string.
   @Nullable
@@ -67,6 +80,14 @@ public class Urn {
    */
   private static final Map<String, String> ENTITY_TYPE_INTERNER = new ConcurrentHashMap<>();
 
+  /**
+   * Bounded cache of the Urns parsed from their String representation. Urns are immutable, so frequently seen
+   * urns (platforms, actors, lineage hubs...) are shared instead of being parsed and held in memory many times.
+   */
+  private static final Cache<String, Urn> PARSE_CACHE = CacheBuilder.newBuilder()
+      .maximumSize(PARSE_CACHE_SIZE)
+      .build();
+
   /**
    * Create a Urn given its raw String representation.
    * @param rawUrn - the String representation of a Urn.
@@ -105,6 +126,7 @@ public class Urn {
             "entityType must have only [a-zA-Z0-9] chars. Urn: " + rawUrn);
       }
       _entityKey = new TupleKey();
+      _entityKeyStart = -1;
       return;
     }
 
@@ -123,14 +145,20 @@ public class Urn {
     }
 
     _entityType = internEntityType(entityType);
-    _entityKey = TupleKey.fromString(rawUrn, thirdColonIndex + 1);
 
     // For the sake of backwards compatibility, we must ensure that
     //   new Urn("urn:li:y:(urn:li:z:1)").toString() == "urn:li:y:urn:li:z:1"
     // Thus, if we detect a TupleKey with 1 part AND we had a paren in the
-    // input, we abort our optimization of storing the original URN.
-    if (_entityKey.size() == 1 && rawUrn.charAt(thirdColonIndex + 1) == '(') {
+    // input, we abort our optimization of storing the original URN, and parse
+    // the key right away as the String form has to be rebuilt from it.
+    // Otherwise the key is only validated here, and parsed when accessed.
+    int numKeyParts = TupleKey.validate(rawUrn, thirdColonIndex + 1);
+    if (numKeyParts == 1 && rawUrn.charAt(thirdColonIndex + 1) == TupleKey.START_TUPLE) {
+      _entityKey = TupleKey.fromString(rawUrn, thirdColonIndex + 1);
+      _entityKeyStart = -1;
       _cachedStringUrn = null;
+    } else {
+      _entityKeyStart = thirdColonIndex + 1;
     }
   }
 
@@ -154,6 +182,7 @@ public class Urn {
     _namespace = namespace;
     _entityType = entityType;
     _entityKey = entityKey;
+    _entityKeyStart = -1;
     _cachedStringUrn = null;
   }
 
@@ -223,12 +252,21 @@ public class Urn {
   }
 
   /**
-   * Create a Urn given its raw String representation.
+   * Create a Urn given its raw String representation. Frequently seen Urns are served from a bounded cache, so the
+   * returned instance may be shared with other callers.
    * @param rawUrn - the String representation of a Urn.
    * @throws URISyntaxException - if the String is not a valid Urn.
    */
   public static Urn createFromString(String rawUrn) throws URISyntaxException {
-    return new Urn(rawUrn);
+    ArgumentUtil.notNull(rawUrn, "rawUrn");
+    Urn urn = PARSE_CACHE.getIfPresent(rawUrn);
+    if (urn == null) {
+      // Invalid urns throw before being cached. Concurrent misses may parse
+      // the same String twice, which is harmless since Urns are immutable.
+      urn = new Urn(rawUrn);
+      PARSE_CACHE.put(rawUrn, urn);
+    }
+    return urn;
   }
 
   /**
@@ -238,7 +276,7 @@ public class Urn {
    */
   public static Urn createFromCharSequence(CharSequence rawUrn) throws URISyntaxException {
     ArgumentUtil.notNull(rawUrn, "rawUrn");
-    return new Urn(rawUrn.toString());
+    return createFromString(rawUrn.toString());
   }
 
   /**
@@ -263,7 +301,19 @@ public class Urn {
   }
 
   public TupleKey getEntityKey() {
-    return _entityKey;
+    // Same benign race as in toString(): all threads parse the same logical
+    // TupleKey, which is safely published since its fields are final.
+    TupleKey entityKey = _entityKey;
+    if (entityKey == null) {
+      try {
+        entityKey = TupleKey.fromString(_cachedStringUrn, _entityKeyStart);
+      } catch (URISyntaxException e) {
+        // Cannot happen, the key was validated when the Urn was created
+        throw new IllegalStateException("Invalid entity key in Urn " + _cachedStringUrn, e);
+      }
+      _entityKey = entityKey;
+    }
+    return entityKey;
   }
 
   /**
@@ -272,7 +322,7 @@ public class Urn {
    * @return key's first tuple element
    */
   public String getId() {
-    return _entityKey.getAs(0, String.class);
+    return getEntityKey().getAs(0, String.class);
   }
 
   /**
@@ -281,7 +331,7 @@ public class Urn {
    * @return key's first tuple element, coerced to Integer
    */
   public Integer getIdAsInt() {
-    return _entityKey.getAs(0, Integer.class);
+    return getEntityKey().getAs(0, Integer.class);
   }
 
   /**
@@ -290,11 +340,11 @@ public class Urn {
    * @return key's first tuple element, coerced to Long
    */
   public Long getIdAsLong() {
-    return _entityKey.getAs(0, Long.class);
+    return getEntityKey().getAs(0, Long.class);
   }
 
   public Urn getIdAsUrn() {
-    return _entityKey.getAs(0, Urn.class);
+    return getEntityKey().getAs(0, Urn.class);
   }
 
   /**
@@ -304,6 +354,9 @@ public class Urn {
    * @return The namespace-specific string portion of this URN
    */
   public String getNSS() {
+    if (_entityKeyStart >= 0) {
+      return _cachedStringUrn.substring(URN_START.length() + _namespace.length() + 1);
+    }
     return _entityType + (_entityKey.size() > 0 ? ':' + _entityKey.toString() : "");
   }
 
@@ -325,23 +378,24 @@ public class Urn {
     return _cachedStringUrn;
   }
 
+  /**
+   * Urns are equal when their String representations are, which avoids parsing their entity keys.
+   */
   @Override
   public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     if (obj == null || !Urn.class.isAssignableFrom(obj.getClass())) {
       return false;
     }
-    Urn other = (Urn) obj;
-    return _entityType.equals(other._entityType)
-        && _entityKey.equals(other._entityKey)
-        && _namespace.equals(other._namespace);
+    return toString().equals(obj.toString());
   }
 
   @Override
   public int hashCode() {
-    final int prime = 31;
-    int result = _entityType.hashCode();
-    result = prime * result + _entityKey.hashCode();
-    return result;
+    // String caches its hash code
+    return toString().hashCode();
   }
 
   private static String validateAndExtractNamespace(String rawUrn,
@@ -0,0 +1,62 @@
+package com.linkedin.common.urn;
+
+import java.net.URISyntaxException;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+
+public class UrnTest {
+
+  @Test
+  public void testCreateFromStringIsCached() throws URISyntaxException {
+    final String urnString = "urn:li:dataset:(urn:li:dataPlatform:hive,testCreateFromStringIsCached,PROD)";
+
+    final Urn urn = Urn.createFromString(urnString);
+
+    Assertions.assertThat(Urn.createFromString(urnString)).isSameAs(urn);
+    Assertions.assertThat(Urn.createFromCharSequence(new StringBuilder(urnString))).isSameAs(urn);
+    Assertions.assertThat(new Urn(urnString)).isNotSameAs(urn).isEqualTo(urn);
+  }
+
+  @Test
+  public void testEntityKeyIsParsedOnAccess() throws URISyntaxException {
+    final String urnString = "urn:li:dataset:(urn:li:dataPlatform:hive,foo.bar(baz,qux),PROD)";
+
+    final Urn urn = new Urn(urnString);
+
+    Assertions.assertThat(urn.toString()).isSameAs(urnString);
+    Assertions.assertThat(urn.getNSS()).isEqualTo("dataset:(urn:li:dataPlatform:hive,foo.bar(baz,qux),PROD)");
+    Assertions.assertThat(urn.getEntityKey().getParts())
+        .containsExactly("urn:li:dataPlatform:hive", "foo.bar(baz,qux)", "PROD");
+    Assertions.assertThat(urn.getEntityKey()).isSameAs(urn.getEntityKey());
+    Assertions.assertThat(urn.getIdAsUrn()).isEqualTo(new DataPlatformUrn("hive"));
+  }
+
+  @Test
+  public void testInvalidEntityKeyIsRejected() {
+    Assertions.assertThatThrownBy(() -> Urn.createFromString("urn:li:dataset:(foo,bar"))
+        .isInstanceOf(URISyntaxException.class);
+    Assertions.assertThatThrownBy(() -> Urn.createFromString("urn:li:dataset:(foo,,bar)"))
+        .isInstanceOf(URISyntaxException.class);
+    Assertions.assertThatThrownBy(() -> Urn.createFromString("urn:li:dataset:foo)"))
+        .isInstanceOf(URISyntaxException.class);
+  }
+
+  @Test
+  public void testEqualsAndHashCode() throws URISyntaxException {
+    final Urn parsed = Urn.createFromString("urn:li:corpuser:datahub");
+    final Urn created = Urn.createFromTuple("corpuser", "datahub");
+
+    Assertions.assertThat(parsed).isEqualTo(created).isEqualTo(new CorpuserUrn("datahub"));
+    Assertions.assertThat(parsed.hashCode())
+        .isEqualTo(created.hashCode())
+        .isEqualTo("urn:li:corpuser:datahub".hashCode());
+    Assertions.assertThat(parsed).isNotEqualTo(Urn.createFromString("urn:li:corpuser:other"));
+
+    // A single key part in parentheses is serialized without them
+    final Urn nested = Urn.createFromString("urn:li:y:(urn:li:z:1)");
+    Assertions.assertThat(nested.toString()).isEqualTo("urn:li:y:urn:li:z:1");
+    Assertions.assertThat(nested).isEqualTo(Urn.createFromString("urn:li:y:urn:li:z:1"));
+    Assertions.assertThat(nested.getEntityKey().getParts()).containsExactly("urn:li:z:1");
+  }
+}
@@ -17,9 +17,12 @@ import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.mxe.TopicConvention;
 import com.linkedin.mxe.TopicConventionImpl;
 import com.linkedin.mxe.Topics;
+import com.linkedin.util.Pair;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -117,6 +120,35 @@ public class KafkaEventProducer implements EventProducer {
             _kafkaHealthChecker.getKafkaCallBack("MCL", urn.toString()));
   }
 
+  @Override
+  @WithSpan
+  public List<Future<?>> produceMetadataChangeLogs(
+      @Nonnull final List<Pair<AspectSpec, MetadataChangeLog>> metadataChangeLogs) {
+    // Convert the whole batch up front so that a conversion failure does not leave the batch partially produced.
+    final List<ProducerRecord> records = new ArrayList<>(metadataChangeLogs.size());
+    for (Pair<AspectSpec, MetadataChangeLog> pair : metadataChangeLogs) {
+      final MetadataChangeLog metadataChangeLog = pair.getSecond();
+      GenericRecord record;
+      try {
+        record = EventUtils.pegasusToAvroMCL(metadataChangeLog);
+      } catch (IOException e) {
+        log.error(String.format("Failed to convert Pegasus MAE to Avro: %s", metadataChangeLog), e);
+        throw new ModelConversionException("Failed to convert Pegasus MAE to Avro", e);
+      }
+      String topic = _topicConvention.getMetadataChangeLogVersionedTopicName();
+      if (pair.getFirst().isTimeseries()) {
+        topic = _topicConvention.getMetadataChangeLogTimeseriesTopicName();
+      }
+      records.add(new ProducerRecord(topic, metadataChangeLog.getEntityUrn().toString(), record));
+    }
+
+    final List<Future<?>> futures = new ArrayList<>(records.size());
+    for (ProducerRecord record : records) {
+      futures.add(_producer.send(record, _kafkaHealthChecker.getKafkaCallBack("MCL", (String) record.key())));
+    }
+    return futures;
+  }
+
   @Override
   @WithSpan
   public Future<?> produceMetadataChangeProposal(@Nonnull final Urn urn,
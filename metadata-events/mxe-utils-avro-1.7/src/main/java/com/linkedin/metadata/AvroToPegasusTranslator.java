@@ -0,0 +1,327 @@
+package com.linkedin.metadata;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataComplex;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+
+
+/**
+ * Translates Avro {@link GenericRecord}s into the {@link DataMap} of a Pegasus record in a single pass.
+ *
+ * The generic path first re-encodes the record twice, to resolve it against the latest Avro schema and then against
+ * the original (non pegasus2avro) namespace, before handing it to {@link com.linkedin.data.avro.DataTranslator}.
+ * Instead, a translation plan is compiled once per writer schema, matching Avro fields by name and union branches by
+ * their Pegasus member key, and then applied directly to each record.
+ *
+ * Writer schemas which cannot be mapped onto the Pegasus schema, e.g. because of aliased unions or type promotions,
+ * are remembered as unsupported and callers are expected to fall back to the generic path for them.
+ */
+final class AvroToPegasusTranslator {
+
+  private static final String RENAMED_NAMESPACE_PART = ".pegasus2avro";
+
+  private final RecordDataSchema _pegasusSchema;
+  // Keyed by writer schema identity: the Kafka deserializer hands out the same schema instance per schema id.
+  private final Cache<Schema, Optional<ValueTranslator>> _plans = CacheBuilder.newBuilder().weakKeys().build();
+
+  AvroToPegasusTranslator(@Nonnull RecordDataSchema pegasusSchema) {
+    _pegasusSchema = pegasusSchema;
+  }
+
+  /**
+   * Translates a record into a Pegasus {@link DataMap}.
+   *
+   * @return the translated data, or null if the writer schema of the record is not supported
+   */
+  @Nullable
+  DataMap translate(@Nonnull GenericRecord record) {
+    final Optional<ValueTranslator> plan =
+        _plans.asMap().computeIfAbsent(record.getSchema(), schema -> Optional.ofNullable(compile(schema)));
+    if (!plan.isPresent()) {
+      return null;
+    }
+    try {
+      return (DataMap) plan.get().translate(record);
+    } catch (RuntimeException e) {
+      // The values did not match the writer schema, let the generic path deal with it.
+      return null;
+    }
+  }
+
+  @Nullable
+  private ValueTranslator compile(@Nonnull Schema writerSchema) {
+    try {
+      return compile(writerSchema, _pegasusSchema);
+    } catch (UnsupportedSchemaException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Translates a single Avro value, returning null for absent values.
+   */
+  @FunctionalInterface
+  private interface ValueTranslator {
+    @Nullable
+    Object translate(@Nullable Object value);
+  }
+
+  private static class UnsupportedSchemaException extends Exception {
+    UnsupportedSchemaException(String message) {
+      super(message, null, false, false);
+    }
+  }
+
+  @Nonnull
+  private static ValueTranslator compile(@Nonnull Schema avroSchema, @Nonnull DataSchema pegasusSchema)
+      throws UnsupportedSchemaException {
+    final DataSchema schema = pegasusSchema.getDereferencedDataSchema();
+    if (schema.getType() == DataSchema.Type.UNION) {
+      return compileUnion(avroSchema, (UnionDataSchema) schema);
+    }
+    switch (schema.getType()) {
+      case RECORD:
+        checkType(avroSchema, Schema.Type.RECORD, schema);
+        return compileRecord(avroSchema, (RecordDataSchema) schema);
+      case MAP:
+        checkType(avroSchema, Schema.Type.MAP, schema);
+        return compileMap(compile(avroSchema.getValueType(), ((MapDataSchema) schema).getValues()));
+      case ARRAY:
+        checkType(avroSchema, Schema.Type.ARRAY, schema);
+        return compileArray(compile(avroSchema.getElementType(), ((ArrayDataSchema) schema).getItems()));
+      case ENUM:
+        checkType(avroSchema, Schema.Type.ENUM, schema);
+        return value -> value == null ? null : value.toString();
+      case STRING:
+        checkType(avroSchema, Schema.Type.STRING, schema);
+        return value -> value == null ? null : value.toString();
+      case FIXED:
+        checkType(avroSchema, Schema.Type.FIXED, schema);
+        return value -> value == null ? null : ByteString.copy(((GenericFixed) value).bytes());
+      case BYTES:
+        checkType(avroSchema, Schema.Type.BYTES, schema);
+        return value -> value == null ? null : toByteString((ByteBuffer) value);
+      case INT:
+        checkType(avroSchema, Schema.Type.INT, schema);
+        return value -> value;
+      case LONG:
+        checkType(avroSchema, Schema.Type.LONG, schema);
+        return value -> value;
+      case FLOAT:
+        checkType(avroSchema, Schema.Type.FLOAT, schema);
+        return value -> value;
+      case DOUBLE:
+        checkType(avroSchema, Schema.Type.DOUBLE, schema);
+        return value -> value;
+      case BOOLEAN:
+        checkType(avroSchema, Schema.Type.BOOLEAN, schema);
+        return value -> value;
+      case NULL:
+        checkType(avroSchema, Schema.Type.NULL, schema);
+        return value -> Data.NULL;
+      default:
+        throw new UnsupportedSchemaException("Unsupported Pegasus type " + schema.getType());
+    }
+  }
+
+  @Nonnull
+  private static ValueTranslator compileRecord(@Nonnull Schema avroSchema, @Nonnull RecordDataSchema schema)
+      throws UnsupportedSchemaException {
+    final List<RecordDataSchema.Field> pegasusFields = schema.getFields();
+    final String[] names = new String[pegasusFields.size()];
+    final int[] positions = new int[pegasusFields.size()];
+    final ValueTranslator[] translators = new ValueTranslator[pegasusFields.size()];
+    final Object[] defaults = new Object[pegasusFields.size()];
+    for (int i = 0; i < pegasusFields.size(); i++) {
+      final RecordDataSchema.Field pegasusField = pegasusFields.get(i);
+      final Schema.Field avroField = avroSchema.getField(pegasusField.getName());
+      names[i] = pegasusField.getName();
+      if (avroField == null) {
+        // Written before the field existed, in which case Avro schema resolution would fill in its default.
+        positions[i] = -1;
+        defaults[i] = pegasusField.getOptional() ? null : pegasusField.getDefault();
+        continue;
+      }
+      positions[i] = avroField.pos();
+      translators[i] = compileField(avroField.schema(), pegasusField);
+    }
+
+    return value -> {
+      if (value == null) {
+        return null;
+      }
+      final IndexedRecord record = (IndexedRecord) value;
+      final DataMap dataMap = new DataMap();
+      for (int i = 0; i < names.length; i++) {
+        final Object translated = positions[i] < 0 ? copy(defaults[i]) : translators[i].translate(record.get(positions[i]));
+        if (translated != null) {
+          dataMap.put(names[i], translated);
+        }
+      }
+      return dataMap;
+    };
+  }
+
+  @Nonnull
+  private static ValueTranslator compileField(@Nonnull Schema avroSchema, @Nonnull RecordDataSchema.Field field)
+      throws UnsupportedSchemaException {
+    final boolean isUnion = field.getType().getDereferencedType() == DataSchema.Type.UNION;
+    if (!field.getOptional() || isUnion) {
+      // Optional unions are flattened into a single Avro union with a null branch, which the union handles as absent.
+      return compile(avroSchema, field.getType());
+    }
+    // Other optional fields are a union of null and the field type.
+    if (avroSchema.getType() != Schema.Type.UNION) {
+      return compile(avroSchema, field.getType());
+    }
+    final List<Schema> branches = new ArrayList<>();
+    for (Schema branch : avroSchema.getTypes()) {
+      if (branch.getType() != Schema.Type.NULL) {
+        branches.add(branch);
+      }
+    }
+    if (branches.size() != 1) {
+      throw new UnsupportedSchemaException("Unexpected Avro schema for optional field " + field.getName());
+    }
+    return compile(branches.get(0), field.getType());
+  }
+
+  @Nonnull
+  private static ValueTranslator compileUnion(@Nonnull Schema avroSchema, @Nonnull UnionDataSchema schema)
+      throws UnsupportedSchemaException {
+    if (schema.areMembersAliased()) {
+      throw new UnsupportedSchemaException("Aliased unions are translated to Avro records");
+    }
+    checkType(avroSchema, Schema.Type.UNION, schema);
+    final List<Schema> branches = avroSchema.getTypes();
+    final String[] memberKeys = new String[branches.size()];
+    final ValueTranslator[] translators = new ValueTranslator[branches.size()];
+    for (int i = 0; i < branches.size(); i++) {
+      final Schema branch = branches.get(i);
+      final UnionDataSchema.Member member = findMember(schema, getUnionMemberKey(branch));
+      if (member == null) {
+        if (branch.getType() == Schema.Type.NULL) {
+          // The null branch of an optional union, the field is absent.
+          continue;
+        }
+        throw new UnsupportedSchemaException("No Pegasus union member for Avro branch " + branch.getFullName());
+      }
+      memberKeys[i] = member.getUnionMemberKey();
+      translators[i] = compile(branch, member.getType());
+    }
+
+    return value -> {
+      final int index = GenericData.get().resolveUnion(avroSchema, value);
+      if (memberKeys[index] == null) {
+        return null;
+      }
+      final DataMap dataMap = new DataMap();
+      dataMap.put(memberKeys[index], translators[index].translate(value));
+      return dataMap;
+    };
+  }
+
+  @Nonnull
+  private static ValueTranslator compileMap(@Nonnull ValueTranslator valueTranslator) {
+    return value -> {
+      if (value == null) {
+        return null;
+      }
+      final Map<?, ?> map = (Map<?, ?>) value;
+      final DataMap dataMap = new DataMap(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        dataMap.put(entry.getKey().toString(), valueTranslator.translate(entry.getValue()));
+      }
+      return dataMap;
+    };
+  }
+
+  @Nonnull
+  private static ValueTranslator compileArray(@Nonnull ValueTranslator itemTranslator) {
+    return value -> {
+      if (value == null) {
+        return null;
+      }
+      final Collection<?> items = (Collection<?>) value;
+      final DataList dataList = new DataList(items.size());
+      for (Object item : items) {
+        dataList.add(itemTranslator.translate(item));
+      }
+      return dataList;
+    };
+  }
+
+  @Nullable
+  private static UnionDataSchema.Member findMember(@Nonnull UnionDataSchema schema, @Nonnull String memberKey) {
+    for (UnionDataSchema.Member member : schema.getMembers()) {
+      if (member.getUnionMemberKey().equals(memberKey)) {
+        return member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the Pegasus union member key of an Avro union branch, mapping renamed namespaces back to the original ones.
+   */
+  @Nonnull
+  private static String getUnionMemberKey(@Nonnull Schema branch) {
+    switch (branch.getType()) {
+      case RECORD:
+      case ENUM:
+      case FIXED:
+        return branch.getFullName().replace(RENAMED_NAMESPACE_PART, "");
+      default:
+        return branch.getType().getName();
+    }
+  }
+
+  private static void checkType(@Nonnull Schema avroSchema, @Nonnull Schema.Type expected, @Nonnull DataSchema schema)
+      throws UnsupportedSchemaException {
+    if (avroSchema.getType() != expected) {
+      throw new UnsupportedSchemaException(
+          String.format("Avro type %s does not match Pegasus type %s", avroSchema.getType(), schema.getType()));
+    }
+  }
+
+  @Nonnull
+  private static ByteString toByteString(@Nonnull ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return ByteString.copy(bytes);
+  }
+
+  @Nullable
+  private static Object copy(@Nullable Object value) {
+    if (value instanceof DataComplex) {
+      try {
+        return ((DataComplex) value).copy();
+      } catch (CloneNotSupportedException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    return value;
+  }
+}
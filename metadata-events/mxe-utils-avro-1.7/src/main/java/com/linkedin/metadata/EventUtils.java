@@ -2,6 +2,7 @@ package com.linkedin.metadata;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
+import com.linkedin.data.DataMap;
 import com.linkedin.data.avro.DataTranslator;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
@@ -90,6 +91,18 @@ public class EventUtils {
   private static final Schema RENAMED_DUHE_AVRO_SCHEMA =
       com.linkedin.pegasus2avro.mxe.DataHubUpgradeHistoryEvent.SCHEMA$;
 
+  private static final AvroToPegasusTranslator MCE_TRANSLATOR = new AvroToPegasusTranslator(MCE_PEGASUS_SCHEMA);
+
+  private static final AvroToPegasusTranslator MAE_TRANSLATOR = new AvroToPegasusTranslator(MAE_PEGASUS_SCHEMA);
+
+  private static final AvroToPegasusTranslator MCP_TRANSLATOR = new AvroToPegasusTranslator(MCP_PEGASUS_SCHEMA);
+
+  private static final AvroToPegasusTranslator MCL_TRANSLATOR = new AvroToPegasusTranslator(MCL_PEGASUS_SCHEMA);
+
+  private static final AvroToPegasusTranslator PE_TRANSLATOR = new AvroToPegasusTranslator(PE_PEGASUS_SCHEMA);
+
+  private static final AvroToPegasusTranslator DUHE_TRANSLATOR = new AvroToPegasusTranslator(DUHE_PEGASUS_SCHEMA);
+
   private EventUtils() {
     // Util class
   }
@@ -112,9 +125,8 @@ public class EventUtils {
    */
   @Nonnull
   public static MetadataAuditEvent avroToPegasusMAE(@Nonnull GenericRecord record) throws IOException {
-    return new MetadataAuditEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MAE_AVRO_SCHEMA, ORIGINAL_MAE_AVRO_SCHEMA), MAE_PEGASUS_SCHEMA,
-        ORIGINAL_MAE_AVRO_SCHEMA));
+    return new MetadataAuditEvent(toDataMap(record, MAE_TRANSLATOR, RENAMED_MAE_AVRO_SCHEMA, ORIGINAL_MAE_AVRO_SCHEMA,
+        MAE_PEGASUS_SCHEMA));
   }
 
   /**
@@ -125,9 +137,8 @@ public class EventUtils {
    */
   @Nonnull
   public static MetadataChangeEvent avroToPegasusMCE(@Nonnull GenericRecord record) throws IOException {
-    return new MetadataChangeEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCE_AVRO_SCHEMA, ORIGINAL_MCE_AVRO_SCHEMA), MCE_PEGASUS_SCHEMA,
-        ORIGINAL_MCE_AVRO_SCHEMA));
+    return new MetadataChangeEvent(toDataMap(record, MCE_TRANSLATOR, RENAMED_MCE_AVRO_SCHEMA, ORIGINAL_MCE_AVRO_SCHEMA,
+        MCE_PEGASUS_SCHEMA));
   }
 
   /**
@@ -138,9 +149,8 @@ public class EventUtils {
    */
   @Nonnull
   public static MetadataChangeLog avroToPegasusMCL(@Nonnull GenericRecord record) throws IOException {
-    return new MetadataChangeLog(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCL_AVRO_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA),
-        MCL_PEGASUS_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA));
+    return new MetadataChangeLog(toDataMap(record, MCL_TRANSLATOR, RENAMED_MCL_AVRO_SCHEMA, ORIGINAL_MCL_AVRO_SCHEMA,
+        MCL_PEGASUS_SCHEMA));
   }
 
   /**
@@ -151,9 +161,8 @@ public class EventUtils {
    */
   @Nonnull
   public static MetadataChangeProposal avroToPegasusMCP(@Nonnull GenericRecord record) throws IOException {
-    return new MetadataChangeProposal(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_MCP_AVRO_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA),
-        MCP_PEGASUS_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA));
+    return new MetadataChangeProposal(toDataMap(record, MCP_TRANSLATOR, RENAMED_MCP_AVRO_SCHEMA, ORIGINAL_MCP_AVRO_SCHEMA,
+        MCP_PEGASUS_SCHEMA));
   }
 
   /**
@@ -164,9 +173,8 @@ public class EventUtils {
    */
   @Nonnull
   public static PlatformEvent avroToPegasusPE(@Nonnull GenericRecord record) throws IOException {
-    return new PlatformEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_PE_AVRO_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA),
-        PE_PEGASUS_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA));
+    return new PlatformEvent(toDataMap(record, PE_TRANSLATOR, RENAMED_PE_AVRO_SCHEMA, ORIGINAL_PE_AVRO_SCHEMA,
+        PE_PEGASUS_SCHEMA));
   }
 
   /**
@@ -177,9 +185,24 @@ public class EventUtils {
    */
   @Nonnull
   public static DataHubUpgradeHistoryEvent avroToPegasusDUHE(@Nonnull GenericRecord record) throws IOException {
-    return new DataHubUpgradeHistoryEvent(DataTranslator.genericRecordToDataMap(
-        renameSchemaNamespace(record, RENAMED_DUHE_AVRO_SCHEMA, ORIGINAL_DUHE_AVRO_SCHEMA),
-        DUHE_PEGASUS_SCHEMA, ORIGINAL_DUHE_AVRO_SCHEMA));
+    return new DataHubUpgradeHistoryEvent(toDataMap(record, DUHE_TRANSLATOR, RENAMED_DUHE_AVRO_SCHEMA, ORIGINAL_DUHE_AVRO_SCHEMA,
+        DUHE_PEGASUS_SCHEMA));
+  }
+
+  /**
+   * Translates a {@link GenericRecord} directly into the data of its Pegasus model, falling back to the generic path
+   * through the original Avro schema if the writer schema of the record cannot be translated directly.
+   */
+  @Nonnull
+  private static DataMap toDataMap(@Nonnull GenericRecord record, @Nonnull AvroToPegasusTranslator translator,
+      @Nonnull Schema renamedSchema, @Nonnull Schema originalSchema, @Nonnull RecordDataSchema pegasusSchema)
+      throws IOException {
+    final DataMap dataMap = translator.translate(record);
+    if (dataMap != null) {
+      return dataMap;
+    }
+    return DataTranslator.genericRecordToDataMap(renameSchemaNamespace(record, renamedSchema, originalSchema),
+        pegasusSchema, originalSchema);
   }
 
   /**
@@ -2,12 +2,20 @@ package com.linkedin.metadata;
 
 import com.datahub.util.RecordUtils;
 import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.avro.DataTranslator;
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.mxe.FailedMetadataChangeEvent;
+import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.MetadataAuditEvent;
 import com.linkedin.mxe.MetadataChangeEvent;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.SystemMetadata;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
@@ -77,6 +85,46 @@ public class EventUtilsTests {
     assertNotNull(record.get("metadataChangeEvent"));
   }
 
+  @Test
+  public void testDirectTranslationMatchesGenericPathForMCE() throws IOException {
+    MetadataChangeEvent event = recordTemplateFromResource("test-pegasus2avro-mce.json", MetadataChangeEvent.class);
+
+    assertDirectTranslationMatchesGenericPath(event, EventUtils.pegasusToAvroMCE(event),
+        "avro/com/linkedin/mxe/MetadataChangeEvent.avsc");
+  }
+
+  @Test
+  public void testDirectTranslationMatchesGenericPathForMCL() throws IOException {
+    MetadataChangeLog event = new MetadataChangeLog()
+        .setEntityType("corpuser")
+        .setEntityUrn(new CorpuserUrn("foobar"))
+        .setChangeType(ChangeType.UPSERT)
+        .setAspectName("status")
+        .setAspect(new GenericAspect()
+            .setContentType("application/json")
+            .setValue(ByteString.copyString("{\"removed\":false}", StandardCharsets.UTF_8)))
+        .setSystemMetadata(new SystemMetadata().setLastObserved(1L).setRunId("run"));
+
+    GenericRecord record = EventUtils.pegasusToAvroMCL(event);
+    assertDirectTranslationMatchesGenericPath(event, record, "avro/com/linkedin/mxe/MetadataChangeLog.avsc");
+    MetadataChangeLog mcl = EventUtils.avroToPegasusMCL(record);
+    assertEquals(mcl.getEntityUrn(), event.getEntityUrn());
+    assertEquals(mcl.getAspect(), event.getAspect());
+    assertEquals(mcl.getSystemMetadata().getRunId(), "run");
+  }
+
+  private void assertDirectTranslationMatchesGenericPath(RecordTemplate event, GenericRecord renamedRecord,
+      String originalSchemaPath) throws IOException {
+    Schema originalSchema = new Schema.Parser().parse(getClass().getClassLoader().getResourceAsStream(originalSchemaPath));
+    GenericRecord originalRecord = DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), originalSchema);
+    DataMap expected = DataTranslator.genericRecordToDataMap(originalRecord, event.schema(), originalSchema);
+
+    DataMap actual = new AvroToPegasusTranslator(event.schema()).translate(renamedRecord);
+
+    assertNotNull(actual);
+    assertEquals(actual, expected);
+  }
+
   private GenericRecord genericRecordFromResource(String resourcePath, Schema schema) throws IOException {
     InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
     JsonDecoder decoder = DecoderFactory.get().jsonDecoder(schema, is);
@@ -0,0 +1,348 @@
+package datahub.client.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.mxe.MetadataChangeProposal;
+import datahub.client.Callback;
+import datahub.client.MetadataWriteResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+
+
+/**
+ * Buffers the proposals emitted through a {@link RestEmitter} and sends them in batches.
+ *
+ * A single background thread takes proposals off a bounded buffer and sends a batch once it is full or once the first
+ * proposal of the batch has waited for the max linger time. At most a fixed number of batches are in flight at once:
+ * when the server falls behind the buffer fills up and {@link #add} blocks, pushing back on the emitting threads.
+ *
+ * The server answers a batch with the urns of its proposals, in order. Each proposal is then resolved with its own
+ * response, shaped like the response to a single ingestProposal request. A failed batch fails all its proposals.
+ */
+@Slf4j
+@ThreadSafe
+class ProposalBatcher implements Closeable {
+
+  private static final long BUFFER_POLL_INTERVAL_MS = 100;
+  private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * Sends a batch of proposals to the server, asynchronously.
+   */
+  @FunctionalInterface
+  interface BatchSender {
+    void send(@Nonnull List<MetadataChangeProposal> proposals, @Nonnull FutureCallback<HttpResponse> callback)
+        throws IOException;
+  }
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final int maxBatchSize;
+  private final long maxLingerNanos;
+  private final int maxInFlightRequests;
+  private final BlockingQueue<PendingProposal> buffer;
+  private final Semaphore inFlightRequests;
+  private final BatchSender sender;
+  private final Thread flusherThread;
+
+  // Held for reading while adding proposals, and for writing when closing, so that no proposal is left in the buffer.
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean closed = false;
+
+  // The sequence numbers of the proposals accepted but not resolved yet, whether buffered or in flight, guarded by the
+  // flush monitor, and the threads waiting for them.
+  private final TreeSet<Long> unresolved = new TreeSet<>();
+  private long nextSequence = 0;
+  private final AtomicInteger flushers = new AtomicInteger();
+  private final Object flushMonitor = new Object();
+
+  ProposalBatcher(@Nonnull RestEmitterConfig config, @Nonnull BatchSender sender) {
+    if (config.getMaxBatchSize() < 1 || config.getMaxInFlightRequests() < 1 || config.getMaxBufferedProposals() < 1
+        || config.getMaxBatchLingerMs() < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid batching configuration: maxBatchSize=%d, maxInFlightRequests=%d, maxBufferedProposals=%d, "
+              + "maxBatchLingerMs=%d", config.getMaxBatchSize(), config.getMaxInFlightRequests(),
+          config.getMaxBufferedProposals(), config.getMaxBatchLingerMs()));
+    }
+    this.maxBatchSize = config.getMaxBatchSize();
+    this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxBatchLingerMs());
+    this.maxInFlightRequests = config.getMaxInFlightRequests();
+    this.buffer = new ArrayBlockingQueue<>(config.getMaxBufferedProposals());
+    this.inFlightRequests = new Semaphore(maxInFlightRequests);
+    this.sender = sender;
+    this.flusherThread = new Thread(this::run, "datahub-rest-emitter-batcher");
+    this.flusherThread.setDaemon(true);
+    this.flusherThread.start();
+  }
+
+  /**
+   * Buffers a proposal, blocking while the buffer is full.
+   * @return a future resolved once the batch holding the proposal has been answered
+   */
+  Future<MetadataWriteResponse> add(@Nonnull MetadataChangeProposal proposal, @Nullable Callback callback)
+      throws IOException {
+    closeLock.readLock().lock();
+    final PendingProposal pending;
+    try {
+      if (closed) {
+        throw new IOException("Unable to emit proposal, the emitter has been closed");
+      }
+      synchronized (flushMonitor) {
+        pending = new PendingProposal(nextSequence++, proposal, callback);
+        unresolved.add(pending.sequence);
+      }
+      try {
+        buffer.put(pending);
+      } catch (InterruptedException e) {
+        markResolved(pending);
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for space in the proposal buffer");
+      }
+    } finally {
+      closeLock.readLock().unlock();
+    }
+    return pending.future;
+  }
+
+  /**
+   * Sends the buffered proposals without waiting for the linger time, and blocks until all the proposals added before
+   * the flush have been resolved. Proposals added by other threads in the meantime are not waited for.
+   */
+  void flush() throws IOException {
+    flushers.incrementAndGet();
+    try {
+      synchronized (flushMonitor) {
+        final long flushedSequence = nextSequence;
+        while (!unresolved.isEmpty() && unresolved.first() < flushedSequence) {
+          flushMonitor.wait();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while flushing proposals");
+    } finally {
+      flushers.decrementAndGet();
+    }
+  }
+
+  /**
+   * Stops accepting proposals, then sends the buffered ones and waits for the responses of all batches in flight.
+   */
+  @Override
+  public void close() throws IOException {
+    closeLock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    try {
+      flusherThread.join();
+      inFlightRequests.acquire(maxInFlightRequests);
+      inFlightRequests.release(maxInFlightRequests);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while closing the proposal batcher");
+    }
+  }
+
+  private void run() {
+    final List<PendingProposal> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (!closed || !buffer.isEmpty()) {
+        final PendingProposal first = buffer.poll(BUFFER_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        fillBatch(batch);
+        // Blocks while too many batches are in flight, until the buffer fills up and add blocks in turn.
+        inFlightRequests.acquire();
+        send(new ArrayList<>(batch));
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      log.error("Proposal batcher interrupted, failing all buffered proposals.");
+      closed = true;
+      final InterruptedIOException exception = new InterruptedIOException("Proposal batcher interrupted");
+      batch.forEach(pending -> fail(pending, exception));
+      PendingProposal pending;
+      while ((pending = buffer.poll()) != null) {
+        fail(pending, exception);
+      }
+    }
+  }
+
+  private void fillBatch(@Nonnull List<PendingProposal> batch) throws InterruptedException {
+    final long deadline = System.nanoTime() + maxLingerNanos;
+    while (batch.size() < maxBatchSize) {
+      buffer.drainTo(batch, maxBatchSize - batch.size());
+      final long remainingNanos = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remainingNanos <= 0 || closed || flushers.get() > 0) {
+        return;
+      }
+      // Waits in short slices so that a flush or close does not have to wait for the whole linger time.
+      final PendingProposal next = buffer.poll(Math.min(remainingNanos, POLL_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  private void send(@Nonnull List<PendingProposal> batch) {
+    final List<MetadataChangeProposal> proposals = new ArrayList<>(batch.size());
+    batch.forEach(pending -> proposals.add(pending.proposal));
+    final FutureCallback<HttpResponse> httpCallback = new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse response) {
+        try {
+          complete(batch, response);
+        } finally {
+          inFlightRequests.release();
+        }
+      }
+
+      @Override
+      public void failed(Exception ex) {
+        try {
+          batch.forEach(pending -> fail(pending, ex));
+        } finally {
+          inFlightRequests.release();
+        }
+      }
+
+      @Override
+      public void cancelled() {
+        try {
+          final RuntimeException exception = new RuntimeException("Cancelled");
+          batch.forEach(pending -> fail(pending, exception));
+        } finally {
+          inFlightRequests.release();
+        }
+      }
+    };
+    try {
+      sender.send(proposals, httpCallback);
+    } catch (Exception e) {
+      inFlightRequests.release();
+      batch.forEach(pending -> fail(pending, e));
+    }
+  }
+
+  private void complete(@Nonnull List<PendingProposal> batch, HttpResponse response) {
+    MetadataWriteResponse batchResponse = null;
+    List<String> urns = null;
+    try {
+      batchResponse = RestEmitter.mapResponse(response);
+      if (batchResponse.isSuccess()) {
+        urns = parseUrns(batchResponse.getResponseContent(), batch.size());
+      }
+    } catch (Exception e) {
+      // Same as a single request: still resolve the proposals, with whatever could be made of the response
+      log.warn("Wasn't able to map the response of a batch of proposals", e);
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      final MetadataWriteResponse writeResponse = urns == null ? batchResponse
+          : MetadataWriteResponse.builder()
+              .success(true)
+              .responseContent(objectMapper.createObjectNode().put("value", urns.get(i)).toString())
+              .underlyingResponse(response)
+              .build();
+      resolve(batch.get(i), writeResponse);
+    }
+  }
+
+  @Nullable
+  private List<String> parseUrns(@Nullable String responseContent, int expectedSize) {
+    if (responseContent == null) {
+      return null;
+    }
+    try {
+      final JsonNode value = objectMapper.readTree(responseContent).get("value");
+      if (value == null || !value.isArray() || value.size() != expectedSize) {
+        log.warn("Unexpected response to a batch of {} proposals: {}", expectedSize, responseContent);
+        return null;
+      }
+      final List<String> urns = new ArrayList<>(expectedSize);
+      value.forEach(urn -> urns.add(urn.asText()));
+      return urns;
+    } catch (IOException e) {
+      log.warn("Wasn't able to parse the response to a batch of proposals", e);
+      return null;
+    }
+  }
+
+  private void resolve(@Nonnull PendingProposal pending, @Nullable MetadataWriteResponse response) {
+    try {
+      pending.future.complete(response);
+      if (pending.callback != null) {
+        try {
+          pending.callback.onCompletion(response);
+        } catch (Exception e) {
+          log.error("Error executing user callback on completion.", e);
+        }
+      }
+    } finally {
+      markResolved(pending);
+    }
+  }
+
+  private void fail(@Nonnull PendingProposal pending, @Nonnull Throwable exception) {
+    try {
+      pending.future.completeExceptionally(exception);
+      if (pending.callback != null) {
+        try {
+          pending.callback.onFailure(exception);
+        } catch (Exception e) {
+          log.error("Error executing user callback on failure.", e);
+        }
+      }
+    } finally {
+      markResolved(pending);
+    }
+  }
+
+  private void markResolved(@Nonnull PendingProposal pending) {
+    synchronized (flushMonitor) {
+      unresolved.remove(pending.sequence);
+      if (flushers.get() > 0) {
+        flushMonitor.notifyAll();
+      }
+    }
+  }
+
+  private static class PendingProposal {
+    private final long sequence;
+    private final MetadataChangeProposal proposal;
+    @Nullable
+    private final Callback callback;
+    private final CompletableFuture<MetadataWriteResponse> future = new CompletableFuture<>();
+
+    private PendingProposal(long sequence, @Nonnull MetadataChangeProposal proposal, @Nullable Callback callback) {
+      this.sequence = sequence;
+      this.proposal = proposal;
+      this.callback = callback;
+    }
+  }
+}
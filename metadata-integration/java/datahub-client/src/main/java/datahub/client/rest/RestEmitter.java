@@ -11,6 +11,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -20,12 +21,14 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.JacksonDataTemplateCodec;
 import com.linkedin.mxe.MetadataChangeProposal;
@@ -72,11 +75,14 @@ import static com.linkedin.metadata.Constants.*;
  *                                                .extraHeaders(Collections.singletonMap("Custom-Header", "custom-val")
  *                                                .customizeHttpAsyncClient(c :: c.setConnectionTimeToLive(30, TimeUnit.SECONDS))
  *                                                );
+ * Setting `batchingEnabled` on the builder buffers the emitted proposals and sends them in batches instead, see
+ * {@link RestEmitterConfig} for the batching settings. Call `flush` or `close` to make sure all proposals are sent.
  */
 public class RestEmitter implements Emitter {
 
   private final RestEmitterConfig config;
   private final String ingestProposalUrl;
+  private final String ingestProposalBatchUrl;
   private final String ingestOpenApiUrl;
   private final String configUrl;
 
@@ -84,6 +90,8 @@ public class RestEmitter implements Emitter {
   private final JacksonDataTemplateCodec dataTemplateCodec;
   private final CloseableHttpAsyncClient httpClient;
   private final EventFormatter eventFormatter;
+  // Only set when batching is enabled
+  private final ProposalBatcher batcher;
 
   /**
    * The default constructor, prefer using the `create` factory method.
@@ -119,12 +127,14 @@ public class RestEmitter implements Emitter {
     this.httpClient = this.config.getAsyncHttpClientBuilder().build();
     this.httpClient.start();
     this.ingestProposalUrl = this.config.getServer() + "/aspects?action=ingestProposal";
+    this.ingestProposalBatchUrl = this.config.getServer() + "/aspects?action=ingestProposalBatch";
     this.ingestOpenApiUrl = config.getServer() + "/openapi/entities/v1/";
     this.configUrl = this.config.getServer() + "/config";
     this.eventFormatter = this.config.getEventFormatter();
+    this.batcher = this.config.isBatchingEnabled() ? new ProposalBatcher(this.config, this::postBatch) : null;
   }
 
-  private static MetadataWriteResponse mapResponse(HttpResponse response) {
+  static MetadataWriteResponse mapResponse(HttpResponse response) {
     MetadataWriteResponse.MetadataWriteResponseBuilder builder =
         MetadataWriteResponse.builder().underlyingResponse(response);
     if ((response != null) && (response.getStatusLine() != null) && (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK
@@ -194,6 +204,9 @@ public class RestEmitter implements Emitter {
   @Override
   public Future<MetadataWriteResponse> emit(MetadataChangeProposal mcp, Callback callback)
       throws IOException {
+    if (this.batcher != null) {
+      return this.batcher.add(mcp, callback);
+    }
     DataMap map = new DataMap();
     map.put("proposal", mcp.data());
     String serializedMCP = dataTemplateCodec.mapToString(map);
@@ -201,8 +214,29 @@ public class RestEmitter implements Emitter {
     return this.postGeneric(this.ingestProposalUrl, serializedMCP, mcp, callback);
   }
 
-  private Future<MetadataWriteResponse> postGeneric(String urlStr, String payloadJson, Object originalRequest,
-      Callback callback) throws IOException {
+  private void postBatch(List<MetadataChangeProposal> proposals, FutureCallback<HttpResponse> httpCallback)
+      throws IOException {
+    DataList proposalList = new DataList();
+    proposals.forEach(mcp -> proposalList.add(mcp.data()));
+    DataMap map = new DataMap();
+    map.put("proposals", proposalList);
+    byte[] payload = dataTemplateCodec.mapToBytes(map);
+    log.debug("Emit: URL: {}, Batch size: {}, Payload bytes: {}\n", this.ingestProposalBatchUrl, proposals.size(),
+        payload.length);
+    HttpPost httpPost = createRestliPost(this.ingestProposalBatchUrl);
+    if (this.config.isGzipEnabled()) {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4 + 64);
+      try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+        gzipStream.write(payload);
+      }
+      payload = compressed.toByteArray();
+      httpPost.setHeader("Content-Encoding", "gzip");
+    }
+    httpPost.setEntity(new ByteArrayEntity(payload));
+    httpClient.execute(httpPost, httpCallback);
+  }
+
+  private HttpPost createRestliPost(String urlStr) {
     HttpPost httpPost = new HttpPost(urlStr);
     httpPost.setHeader("Content-Type", "application/json");
     httpPost.setHeader("X-RestLi-Protocol-Version", "2.0.0");
@@ -211,6 +245,12 @@ public class RestEmitter implements Emitter {
     if (this.config.getToken() != null) {
       httpPost.setHeader("Authorization", "Bearer " + this.config.getToken());
     }
+    return httpPost;
+  }
+
+  private Future<MetadataWriteResponse> postGeneric(String urlStr, String payloadJson, Object originalRequest,
+      Callback callback) throws IOException {
+    HttpPost httpPost = createRestliPost(urlStr);
     httpPost.setEntity(new StringEntity(payloadJson));
     AtomicReference<MetadataWriteResponse> responseAtomicReference = new AtomicReference<>();
     CountDownLatch responseLatch = new CountDownLatch(1);
@@ -274,9 +314,25 @@ public class RestEmitter implements Emitter {
     return this.getGeneric(this.configUrl).get().isSuccess();
   }
 
+  /**
+   * Sends the proposals buffered when batching is enabled, and blocks until all of them have been resolved.
+   * Does nothing otherwise.
+   */
+  public void flush() throws IOException {
+    if (this.batcher != null) {
+      this.batcher.flush();
+    }
+  }
+
   @Override
   public void close() throws IOException {
-    this.httpClient.close();
+    try {
+      if (this.batcher != null) {
+        this.batcher.close();
+      }
+    } finally {
+      this.httpClient.close();
+    }
   }
 
   @Override
@@ -23,6 +23,10 @@ public class RestEmitterConfig {
   public static final int DEFAULT_READ_TIMEOUT_SEC = 10;
   public static final String DEFAULT_AUTH_TOKEN = null;
   public static final String CLIENT_VERSION_PROPERTY = "clientVersion";
+  public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  public static final long DEFAULT_MAX_BATCH_LINGER_MS = 50;
+  public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 4;
+  public static final int DEFAULT_MAX_BUFFERED_PROPOSALS = 10000;
 
   @Builder.Default
   private final String server = "http://localhost:8080";
@@ -43,6 +47,34 @@ public class RestEmitterConfig {
   @Builder.Default
   private final EventFormatter eventFormatter = new EventFormatter(EventFormatter.Format.PEGASUS_JSON);
 
+  /**
+   * When enabled, emitted proposals are buffered and sent in batches to the ingestProposalBatch action of the server,
+   * instead of one request per proposal. The futures and callbacks of each proposal are resolved from the response of
+   * the batch it was sent in.
+   */
+  @Builder.Default
+  private final boolean batchingEnabled = false;
+
+  // Max number of proposals sent in a single batch.
+  @Builder.Default
+  private final int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  // Max time to wait for more proposals before sending a batch which is not full.
+  @Builder.Default
+  private final long maxBatchLingerMs = DEFAULT_MAX_BATCH_LINGER_MS;
+
+  // Max number of batches awaiting a response from the server.
+  @Builder.Default
+  private final int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
+  // Max number of proposals waiting to be batched, emitting blocks once the buffer is full.
+  @Builder.Default
+  private final int maxBufferedProposals = DEFAULT_MAX_BUFFERED_PROPOSALS;
+
+  // Whether to gzip the body of batch requests. Needs a server which inflates Content-Encoding: gzip request bodies.
+  @Builder.Default
+  private final boolean gzipEnabled = false;
+
   public static class RestEmitterConfigBuilder {
 
     private String getVersion() {
@@ -7,6 +7,7 @@ import datahub.client.Callback;
 import datahub.client.MetadataWriteResponse;
 import datahub.event.MetadataChangeProposalWrapper;
 import datahub.server.TestDataHubServer;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
@@ -28,15 +29,19 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import javax.net.ssl.SSLHandshakeException;
 
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.message.BasicHttpResponse;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -321,6 +326,130 @@ public class RestEmitterTest {
     Assert.assertEquals(callbackResponse.get(), future.get());
   }
 
+  @Test
+  public void testBatchPost() throws Exception {
+    RestEmitter emitter = RestEmitter.create(b -> b.asyncHttpClientBuilder(mockHttpClientFactory)
+        .batchingEnabled(true)
+        .maxBatchSize(2)
+        .maxBatchLingerMs(60000)
+        .gzipEnabled(true));
+    Future<MetadataWriteResponse> first = emitter.emit(
+        getMetadataChangeProposalWrapper("Test Dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)"), null);
+    AtomicReference<MetadataWriteResponse> callbackResponse = new AtomicReference<>();
+    Future<MetadataWriteResponse> second = emitter.emit(
+        getMetadataChangeProposalWrapper("Test Dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,bar,PROD)"),
+        new Callback() {
+          @Override
+          public void onCompletion(MetadataWriteResponse response) {
+            callbackResponse.set(response);
+          }
+
+          @Override
+          public void onFailure(Throwable exception) {
+            Assert.fail("Should not be called");
+          }
+        });
+
+    // The batch is full, it is sent without waiting for the linger time.
+    Mockito.verify(mockClient, Mockito.timeout(10000)).execute(postArgumentCaptor.capture(), callbackCaptor.capture());
+    HttpPost testPost = postArgumentCaptor.getValue();
+    Assert.assertTrue(testPost.getURI().toString().endsWith("/aspects?action=ingestProposalBatch"));
+    Assert.assertEquals("gzip", testPost.getFirstHeader("Content-Encoding").getValue());
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try (InputStream is = new GZIPInputStream(testPost.getEntity().getContent())) {
+      byte[] buffer = new byte[1024];
+      for (int length = is.read(buffer); length > 0; length = is.read(buffer)) {
+        content.write(buffer, 0, length);
+      }
+    }
+    String contentString = new String(content.toByteArray(), StandardCharsets.UTF_8);
+    Assert.assertTrue(contentString.startsWith("{\"proposals\":[{\"aspectName\":\"datasetProperties\""));
+    Assert.assertTrue(contentString.contains("urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)"));
+    Assert.assertTrue(contentString.contains("urn:li:dataset:(urn:li:dataPlatform:hive,bar,PROD)"));
+    Assert.assertFalse(first.isDone());
+
+    BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    httpResponse.setEntity(new StringEntity("{\"value\":[\"urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)\","
+        + "\"urn:li:dataset:(urn:li:dataPlatform:hive,bar,PROD)\"]}"));
+    callbackCaptor.getValue().completed(httpResponse);
+
+    Assert.assertTrue(first.get().isSuccess());
+    Assert.assertEquals(first.get().getResponseContent(), "{\"value\":\"urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)\"}");
+    Assert.assertEquals(second.get().getResponseContent(), "{\"value\":\"urn:li:dataset:(urn:li:dataPlatform:hive,bar,PROD)\"}");
+    Assert.assertEquals(callbackResponse.get(), second.get());
+    emitter.close();
+  }
+
+  @Test
+  public void testBatchFailure() throws Exception {
+    RestEmitter emitter = RestEmitter.create(b -> b.asyncHttpClientBuilder(mockHttpClientFactory)
+        .batchingEnabled(true)
+        .maxBatchLingerMs(60000));
+    Future<MetadataWriteResponse> future = emitter.emit(
+        getMetadataChangeProposalWrapper("Test Dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)"), null);
+
+    // Flushing sends the partial batch right away.
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<?> flush = executor.submit(() -> {
+      emitter.flush();
+      return null;
+    });
+    Mockito.verify(mockClient, Mockito.timeout(10000)).execute(postArgumentCaptor.capture(), callbackCaptor.capture());
+    Assert.assertNull(postArgumentCaptor.getValue().getFirstHeader("Content-Encoding"));
+    callbackCaptor.getValue().failed(new IOException("Test failure"));
+    flush.get(10, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    try {
+      future.get();
+      Assert.fail("should not be here");
+    } catch (ExecutionException e) {
+      Assert.assertEquals(e.getCause().getMessage(), "Test failure");
+    }
+    emitter.close();
+  }
+
+  @Test
+  public void testFlushDoesNotWaitForProposalsEmittedAfterIt() throws Exception {
+    RestEmitter emitter = RestEmitter.create(b -> b.asyncHttpClientBuilder(mockHttpClientFactory)
+        .batchingEnabled(true)
+        .maxBatchSize(1));
+    Future<MetadataWriteResponse> before = emitter.emit(
+        getMetadataChangeProposalWrapper("Test Dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)"), null);
+    Mockito.verify(mockClient, Mockito.timeout(10000)).execute(postArgumentCaptor.capture(), callbackCaptor.capture());
+    FutureCallback beforeCallback = callbackCaptor.getValue();
+
+    AtomicReference<Throwable> flushFailure = new AtomicReference<>();
+    Thread flush = new Thread(() -> {
+      try {
+        emitter.flush();
+      } catch (Throwable t) {
+        flushFailure.set(t);
+      }
+    });
+    flush.start();
+    // Waiting on the monitor means the flush already took note of the proposals emitted before it.
+    while (flush.getState() != Thread.State.WAITING) {
+      Assert.assertTrue(flush.isAlive());
+      Thread.sleep(1);
+    }
+
+    // Never answered: the flush must not wait for it.
+    Future<MetadataWriteResponse> after = emitter.emit(
+        getMetadataChangeProposalWrapper("Test Dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,bar,PROD)"), null);
+    Mockito.verify(mockClient, Mockito.timeout(10000).times(2)).execute(Mockito.any(), Mockito.any());
+
+    BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    httpResponse.setEntity(new StringEntity("{\"value\":[\"urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)\"]}"));
+    beforeCallback.completed(httpResponse);
+
+    flush.join(10000);
+    Assert.assertFalse(flush.isAlive());
+    Assert.assertNull(flushFailure.get());
+    Assert.assertTrue(before.isDone());
+    Assert.assertFalse(after.isDone());
+  }
+
   @Test
   public void testTimeoutOnGet() {
     TestDataHubServer testDataHubServer = new TestDataHubServer();
@@ -25,6 +25,7 @@ import com.linkedin.metadata.browse.BrowseResultV2;
 import com.linkedin.metadata.entity.AspectUtils;
 import com.linkedin.metadata.entity.DeleteEntityService;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.IngestProposalResult;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.query.AutoCompleteResult;
@@ -53,6 +54,8 @@ import com.linkedin.r2.RemoteInvocationException;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -541,6 +544,30 @@ public class JavaEntityClient implements EntityClient {
         return urn.toString();
     }
 
+    @Override
+    public List<String> ingestProposalBatch(@Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
+        @Nonnull final Authentication authentication, final boolean async) throws RemoteInvocationException {
+        String actorUrnStr = authentication.getActor() != null ? authentication.getActor().toUrnStr() : Constants.UNKNOWN_ACTOR;
+        final AuditStamp auditStamp =
+            new AuditStamp().setTime(_clock.millis()).setActor(UrnUtils.getUrn(actorUrnStr));
+        final List<MetadataChangeProposal> proposals = new ArrayList<>(metadataChangeProposals);
+        final List<MetadataChangeProposal> additionalChanges = proposals.stream()
+            .flatMap(proposal -> AspectUtils.getAdditionalChanges(proposal, _entityService).stream())
+            .collect(Collectors.toList());
+
+        final List<IngestProposalResult> results = _entityService.ingestProposals(proposals, auditStamp, async);
+        if (!additionalChanges.isEmpty()) {
+            _entityService.ingestProposals(additionalChanges, auditStamp, async);
+        }
+        final List<String> urns = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final Urn urn = results.get(i).getUrn();
+            tryIndexRunId(urn, proposals.get(i).getSystemMetadata());
+            urns.add(urn.toString());
+        }
+        return urns;
+    }
+
     @SneakyThrows
     @Override
     public <T extends RecordTemplate> Optional<T> getVersionedAspect(@Nonnull String urn, @Nonnull String aspect,
@@ -9,11 +9,15 @@ import io.ebean.PagedList;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
+
 /**
  * An interface specifying create, update, and read operations against metadata entity aspects.
  * This interface is meant to abstract away the storage concerns of these pieces of metadata, permitting any underlying
@@ -44,9 +48,37 @@ public interface AspectDao {
     @Nonnull
     List<EntityAspect> getAspectsInRange(@Nonnull Urn urn, Set<String> aspectNames, long startTimeMillis, long endTimeMillis);
 
+    /**
+     * Same as {@link #getAspectsInRange}, but only guaranteed to fill in the urn, aspect name, version and creation time
+     * of the rows, so that callers can read their values in batches with {@link #batchGet(Set)}.
+     */
+    @Nonnull
+    default List<EntityAspect> getAspectKeysInRange(@Nonnull Urn urn, Set<String> aspectNames, long startTimeMillis,
+        long endTimeMillis) {
+        return getAspectsInRange(urn, aspectNames, startTimeMillis, endTimeMillis);
+    }
+
     @Nullable
     EntityAspect getLatestAspect(@Nonnull final String urn, @Nonnull final String aspectName);
 
+    /**
+     * Returns the urns, among the given ones, having the latest version of at least one of the given aspects.
+     * Implementations should only read the keys of the rows, not their values.
+     */
+    @Nonnull
+    default Set<String> getUrnsWithLatestAspects(@Nonnull final Set<String> urns, @Nonnull final Set<String> aspectNames) {
+        final Set<EntityAspectIdentifier> keys = new HashSet<>();
+        urns.forEach(urn -> aspectNames.forEach(
+            aspectName -> keys.add(new EntityAspectIdentifier(urn, aspectName, ASPECT_LATEST_VERSION))));
+        final Set<String> result = new HashSet<>();
+        batchGet(keys).forEach((key, aspect) -> {
+            if (aspect != null) {
+                result.add(key.getUrn());
+            }
+        });
+        return result;
+    }
+
     void saveAspect(
         @Nonnull final String urn,
         @Nonnull final String aspectName,
@@ -92,6 +124,13 @@ public interface AspectDao {
     @Nonnull
     PagedList<EbeanAspectV2> getPagedAspects(final RestoreIndicesArgs args);
 
+    /**
+     * Returns up to {@code args.batchSize} latest aspects ordered by (urn, aspect), strictly after the
+     * ({@code args.lastUrn}, {@code args.lastAspect}) key when set, and before {@code args.urnUpperBound} when set.
+     */
+    @Nonnull
+    List<EbeanAspectV2> getAspectsAfter(final RestoreIndicesArgs args);
+
     int deleteUrn(@Nonnull final String urn);
 
     @Nonnull
@@ -113,6 +152,20 @@ public interface AspectDao {
 
     Map<String, Long> getNextVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames);
 
+    /**
+     * Batch variant of {@link #getNextVersions(String, Set)} covering many urns at once. Implementations should
+     * override this when the underlying store can resolve all versions in fewer round trips.
+     *
+     * @param urnAspects a map of urn to the aspect names to compute the next version for
+     * @return a map of urn to a map of aspect name to next version
+     */
+    @Nonnull
+    default Map<String, Map<String, Long>> getNextVersions(@Nonnull final Map<String, Set<String>> urnAspects) {
+        final Map<String, Map<String, Long>> result = new HashMap<>();
+        urnAspects.forEach((urn, aspectNames) -> result.put(urn, getNextVersions(urn, aspectNames)));
+        return result;
+    }
+
     long getMaxVersion(@Nonnull final String urn, @Nonnull final String aspectName);
 
     void setWritable(boolean canWrite);
@@ -44,6 +44,8 @@ import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.aspect.Aspect;
 import com.linkedin.metadata.aspect.VersionedAspect;
+import com.linkedin.metadata.entity.cache.EntityExistenceCache;
+import com.linkedin.metadata.entity.cache.LatestAspectCache;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesResult;
@@ -93,10 +95,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.EntityNotFoundException;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.*;
@@ -165,6 +169,15 @@ public class EntityServiceImpl implements EntityService {
 
   private final Integer ebeanMaxTransactionRetry;
 
+  @Nullable
+  private LatestAspectCache _latestAspectCache;
+
+  @Nullable
+  private EntityExistenceCache _entityExistenceCache;
+
+  // Latest aspects written by the transaction running on this thread, invalidated once it completes
+  private final ThreadLocal<Set<Pair<String, String>>> _pendingInvalidations = new ThreadLocal<>();
+
   public EntityServiceImpl(
       @Nonnull final AspectDao aspectDao,
       @Nonnull final EventProducer producer,
@@ -208,7 +221,7 @@ public class EntityServiceImpl implements EntityService {
       @Nonnull final Set<Urn> urns,
       @Nonnull final Set<String> aspectNames) {
 
-    Map<EntityAspectIdentifier, EntityAspect> batchGetResults = getLatestAspect(urns, aspectNames);
+    Map<EntityAspectIdentifier, RecordTemplate> batchGetResults = getLatestAspectRecords(urns, aspectNames);
 
     // Fetch from db and populate urn -> aspect map.
     final Map<Urn, List<RecordTemplate>> urnToAspects = new HashMap<>();
@@ -224,7 +237,7 @@ public class EntityServiceImpl implements EntityService {
       urnToAspects.get(key).add(keyAspect);
     });
 
-    batchGetResults.forEach((key, aspectEntry) -> {
+    batchGetResults.forEach((key, aspectRecord) -> {
       final Urn urn = toUrn(key.getUrn());
       final String aspectName = key.getAspect();
       // for now, don't add the key aspect here- we have already added it above
@@ -232,8 +245,6 @@ public class EntityServiceImpl implements EntityService {
         return;
       }
 
-      final RecordTemplate aspectRecord =
-          EntityUtils.toAspectRecord(urn, aspectName, aspectEntry.getMetadata(), getEntityRegistry());
       urnToAspects.putIfAbsent(urn, new ArrayList<>());
       urnToAspects.get(urn).add(aspectRecord);
     });
@@ -244,14 +255,11 @@ public class EntityServiceImpl implements EntityService {
   @Nonnull
   @Override
   public Map<String, RecordTemplate> getLatestAspectsForUrn(@Nonnull final Urn urn, @Nonnull final Set<String> aspectNames) {
-    Map<EntityAspectIdentifier, EntityAspect> batchGetResults = getLatestAspect(new HashSet<>(Arrays.asList(urn)), aspectNames);
+    Map<EntityAspectIdentifier, RecordTemplate> batchGetResults =
+        getLatestAspectRecords(new HashSet<>(Arrays.asList(urn)), aspectNames);
 
     final Map<String, RecordTemplate> result = new HashMap<>();
-    batchGetResults.forEach((key, aspectEntry) -> {
-      final String aspectName = key.getAspect();
-      final RecordTemplate aspectRecord = EntityUtils.toAspectRecord(urn, aspectName, aspectEntry.getMetadata(), getEntityRegistry());
-      result.put(aspectName, aspectRecord);
-    });
+    batchGetResults.forEach((key, aspectRecord) -> result.put(key.getAspect(), aspectRecord));
     return result;
   }
 
@@ -274,6 +282,9 @@ public class EntityServiceImpl implements EntityService {
 
     version = calculateVersionNumber(urn, aspectName, version);
     final EntityAspectIdentifier primaryKey = new EntityAspectIdentifier(urn.toString(), aspectName, version);
+    if (_latestAspectCache != null && version == ASPECT_LATEST_VERSION) {
+      return getLatestAspectRecords(ImmutableSet.of(urn), ImmutableSet.of(aspectName)).get(primaryKey);
+    }
     final Optional<EntityAspect> maybeAspect = Optional.ofNullable(_aspectDao.getAspect(primaryKey));
     return maybeAspect.map(
         aspect -> EntityUtils.toAspectRecord(urn, aspectName, aspect.getMetadata(), getEntityRegistry())).orElse(null);
@@ -598,7 +609,7 @@ public class EntityServiceImpl implements EntityService {
       @Nonnull final AuditStamp auditStamp,
       @Nonnull final SystemMetadata providedSystemMetadata) {
 
-    return _aspectDao.runInTransactionWithRetry(() -> {
+    return runInTransactionWithRetry(() -> {
       final String urnStr = urn.toString();
       final EntityAspect latest = _aspectDao.getLatestAspect(urnStr, aspectName);
       long nextVersion = _aspectDao.getNextVersion(urnStr, aspectName);
@@ -625,7 +636,7 @@ public class EntityServiceImpl implements EntityService {
       @Nonnull final AuditStamp auditStamp,
       @Nonnull final SystemMetadata providedSystemMetadata) {
 
-    return _aspectDao.runInTransactionWithRetry(() -> {
+    return runInTransactionWithRetry(() -> {
       final String urnStr = urn.toString();
       final String aspectName = aspectSpec.getName();
       final EntityAspect latest = _aspectDao.getLatestAspect(urnStr, aspectName);
@@ -665,7 +676,7 @@ public class EntityServiceImpl implements EntityService {
       @Nonnull final AuditStamp auditStamp,
       @Nonnull final SystemMetadata systemMetadata) {
 
-    return _aspectDao.runInTransactionWithRetry(() -> {
+    return runInTransactionWithRetry(() -> {
 
       final Set<String> aspectNames = aspectRecordsToIngest
           .stream()
@@ -790,7 +801,7 @@ public class EntityServiceImpl implements EntityService {
     final SystemMetadata internalSystemMetadata = generateSystemMetadataIfEmpty(systemMetadata);
 
     Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestAspectToLocalDB").time();
-    UpdateAspectResult result = _aspectDao.runInTransactionWithRetry(() -> {
+    UpdateAspectResult result = runInTransactionWithRetry(() -> {
       final String urnStr = urn.toString();
       final EntityAspect latest = _aspectDao.getLatestAspect(urnStr, aspectName);
       if (latest == null) {
@@ -948,6 +959,218 @@ public class EntityServiceImpl implements EntityService {
     return new IngestProposalResult(entityUrn, didUpdate, false);
   }
 
+  /**
+   * Ingest a batch of {@link MetadataChangeProposal}s, which may span many urns and aspects.
+   *
+   * Unlike {@link #ingestProposal(MetadataChangeProposal, AuditStamp, boolean)}, all non-timeseries proposals are
+   * written to the primary store in a single transaction: latest aspects are read with one batch get, next versions
+   * are computed in bulk and all rows are written together. The resulting MetadataChangeLogs are emitted afterwards
+   * as a single producer batch. Proposals targeting the same urn and aspect are applied in the order provided.
+   *
+   * The same restrictions as {@link #ingestProposal(MetadataChangeProposal, AuditStamp, boolean)} apply. If any
+   * proposal is invalid, or the transaction fails, none of the proposals are written.
+   *
+   * @param mcps the proposals to ingest
+   * @param auditStamp an audit stamp representing the time and actor proposing the change
+   * @param async a flag to control whether we commit to primary store or just write to proposal log before returning
+   * @return a list of {@link IngestProposalResult}s in the same order as the provided proposals
+   */
+  @Override
+  public List<IngestProposalResult> ingestProposals(@Nonnull List<MetadataChangeProposal> mcps,
+      AuditStamp auditStamp, final boolean async) {
+
+    log.debug("Invoked ingestProposals with {} proposals", mcps.size());
+
+    // 1. Validate every proposal up front, so that the batch is rejected before anything is written.
+    final List<ProposalBatchItem> items = new ArrayList<>(mcps.size());
+    for (MetadataChangeProposal mcp : mcps) {
+      items.add(toProposalBatchItem(mcp));
+    }
+
+    final IngestProposalResult[] results = new IngestProposalResult[items.size()];
+    final List<Integer> toWrite = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      final ProposalBatchItem item = items.get(i);
+      if (item.getAspectSpec().isTimeseries()) {
+        continue;
+      }
+      if (async) {
+        // When async is turned on, we write to proposal log and return without waiting
+        _producer.produceMetadataChangeProposal(item.getUrn(), item.getMcp());
+        results[i] = new IngestProposalResult(item.getUrn(), false, true);
+      } else {
+        toWrite.add(i);
+      }
+    }
+
+    // 2. Write all non-timeseries aspects to the primary store in a single transaction.
+    final Map<Integer, UpdateAspectResult> updateResults = new HashMap<>();
+    if (!toWrite.isEmpty()) {
+      Timer.Context ingestToLocalDBTimer = MetricUtils.timer(this.getClass(), "ingestProposalsToLocalDB").time();
+      updateResults.putAll(ingestProposalsToLocalDB(items, toWrite, auditStamp));
+      ingestToLocalDBTimer.stop();
+      MetricUtils.histogram(this.getClass(), "ingestProposalsBatchSize").update(toWrite.size());
+    }
+
+    // 3. Construct change logs for everything that was written (or is timeseries) and emit them as one batch.
+    final List<Pair<AspectSpec, MetadataChangeLog>> changeLogs = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      final ProposalBatchItem item = items.get(i);
+      final MetadataChangeLog metadataChangeLog;
+      if (item.getAspectSpec().isTimeseries()) {
+        metadataChangeLog = constructChangeLogIfNeeded(null, null, convertToRecordTemplate(item.getMcp(),
+            item.getAspectSpec()), item.getMcp().getSystemMetadata(), item.getMcp(), item.getUrn(), auditStamp,
+            item.getAspectSpec());
+      } else {
+        final UpdateAspectResult result = updateResults.get(i);
+        // Apply retention policies asynchronously if there was an update to existing aspect value
+        if (result.getOldValue() != result.getNewValue() && result.getOldValue() != null && _retentionService != null) {
+          _retentionService.applyRetention(item.getUrn(), item.getAspectSpec().getName(),
+              Optional.of(new RetentionService.RetentionContext(Optional.of(result.getMaxVersion()))));
+        }
+        metadataChangeLog = constructChangeLogIfNeeded(result.getOldValue(), result.getOldSystemMetadata(),
+            result.getNewValue(), result.getNewSystemMetadata(), item.getMcp(), item.getUrn(), auditStamp,
+            item.getAspectSpec());
+      }
+      if (metadataChangeLog != null) {
+        changeLogs.add(new Pair<>(item.getAspectSpec(), metadataChangeLog));
+      }
+      results[i] = new IngestProposalResult(item.getUrn(), metadataChangeLog != null, false);
+    }
+
+    if (!changeLogs.isEmpty()) {
+      Timer.Context produceMCLTimer = MetricUtils.timer(this.getClass(), "produceMCLBatch").time();
+      _producer.produceMetadataChangeLogs(changeLogs);
+      produceMCLTimer.stop();
+      changeLogs.forEach(pair -> preprocessEvent(pair.getSecond()));
+    }
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Validates a single proposal of a batch and resolves everything needed to write it.
+   */
+  private ProposalBatchItem toProposalBatchItem(@Nonnull MetadataChangeProposal mcp) {
+    EntitySpec entitySpec = getEntityRegistry().getEntitySpec(mcp.getEntityType());
+    Urn entityUrn = EntityKeyUtils.getUrnFromProposal(mcp, entitySpec.getKeyAspectSpec());
+    AspectSpec aspectSpec = validateAspect(mcp, entitySpec);
+
+    if (!isValidChangeType(mcp.getChangeType(), aspectSpec)) {
+      throw new UnsupportedOperationException(
+          "ChangeType not supported: " + mcp.getChangeType() + " for aspect " + mcp.getAspectName());
+    }
+
+    SystemMetadata systemMetadata = generateSystemMetadataIfEmpty(mcp.getSystemMetadata());
+    systemMetadata.setRegistryName(aspectSpec.getRegistryName());
+    systemMetadata.setRegistryVersion(aspectSpec.getRegistryVersion().toString());
+
+    if (aspectSpec.isTimeseries()) {
+      return new ProposalBatchItem(mcp, entityUrn, aspectSpec, systemMetadata, null);
+    }
+
+    validateUrn(entityUrn);
+    final Function<Optional<RecordTemplate>, RecordTemplate> updateLambda;
+    switch (mcp.getChangeType()) {
+      case UPSERT:
+        final RecordTemplate aspect = convertToRecordTemplate(mcp, aspectSpec);
+        validateAspect(entityUrn, aspect);
+        updateLambda = ignored -> aspect;
+        break;
+      case PATCH:
+        if (!supportsPatch(aspectSpec)) {
+          throw new UnsupportedOperationException("Aspect: " + aspectSpec.getName() + " does not currently support patch "
+              + "operations.");
+        }
+        final Patch jsonPatch = convertToJsonPatch(mcp);
+        updateLambda = currentValue -> applyPatch(entityUrn, aspectSpec, jsonPatch, currentValue.orElse(null));
+        break;
+      default:
+        // Should never reach since we throw error above
+        throw new UnsupportedOperationException("ChangeType not supported: " + mcp.getChangeType());
+    }
+    return new ProposalBatchItem(mcp, entityUrn, aspectSpec, systemMetadata, updateLambda);
+  }
+
+  @Nonnull
+  private RecordTemplate applyPatch(@Nonnull final Urn urn, @Nonnull final AspectSpec aspectSpec,
+      @Nonnull final Patch jsonPatch, @Nullable final RecordTemplate latestValue) {
+    final RecordTemplate currentValue = latestValue != null
+        ? latestValue
+        : _entityRegistry.getAspectTemplateEngine().getDefaultTemplate(aspectSpec.getName());
+
+    if (currentValue == null) {
+      // Attempting to patch a value to an aspect which has no default value and no existing value.
+      throw new UnsupportedOperationException(String.format("Patch not supported for aspect with name %s. "
+          + "Default aspect is required because no aspect currently exists for urn %s.", aspectSpec.getName(), urn));
+    }
+
+    try {
+      final RecordTemplate updatedValue =
+          _entityRegistry.getAspectTemplateEngine().applyPatch(currentValue, jsonPatch, aspectSpec);
+      validateAspect(urn, updatedValue);
+      return updatedValue;
+    } catch (JsonProcessingException | JsonPatchException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes the given items of a batch within a single transaction. Latest aspects and next versions are fetched in
+   * bulk, and are tracked in memory as the batch is applied so that repeated writes to the same aspect chain
+   * correctly. DO NOT CALL DIRECTLY, items must have been validated by {@link #toProposalBatchItem}.
+   *
+   * @return a map of item index to the result of writing that item
+   */
+  @Nonnull
+  private Map<Integer, UpdateAspectResult> ingestProposalsToLocalDB(
+      @Nonnull final List<ProposalBatchItem> items,
+      @Nonnull final List<Integer> toWrite,
+      @Nonnull final AuditStamp auditStamp) {
+
+    final Set<EntityAspectIdentifier> latestKeys = new HashSet<>();
+    final Map<String, Set<String>> urnAspects = new HashMap<>();
+    for (int i : toWrite) {
+      final ProposalBatchItem item = items.get(i);
+      final String urnStr = item.getUrn().toString();
+      latestKeys.add(new EntityAspectIdentifier(urnStr, item.getAspectSpec().getName(), ASPECT_LATEST_VERSION));
+      urnAspects.computeIfAbsent(urnStr, ignored -> new HashSet<>()).add(item.getAspectSpec().getName());
+    }
+
+    return runInTransactionWithRetry(() -> {
+      final Map<EntityAspectIdentifier, EntityAspect> latestAspects = new HashMap<>();
+      Iterators.partition(latestKeys.iterator(), MAX_KEYS_PER_QUERY)
+          .forEachRemaining(batch -> latestAspects.putAll(_aspectDao.batchGet(ImmutableSet.copyOf(batch))));
+      final Map<String, Map<String, Long>> nextVersions = _aspectDao.getNextVersions(urnAspects);
+
+      final Map<Integer, UpdateAspectResult> result = new HashMap<>();
+      for (int i : toWrite) {
+        final ProposalBatchItem item = items.get(i);
+        final String urnStr = item.getUrn().toString();
+        final String aspectName = item.getAspectSpec().getName();
+        final EntityAspectIdentifier key = new EntityAspectIdentifier(urnStr, aspectName, ASPECT_LATEST_VERSION);
+        final long nextVersion = nextVersions.get(urnStr).get(aspectName);
+
+        final UpdateAspectResult updateResult = ingestAspectToLocalDBNoTransaction(item.getUrn(), aspectName,
+            item.getUpdateLambda(), auditStamp, item.getSystemMetadata(), latestAspects.get(key), nextVersion);
+
+        if (updateResult.getOldValue() != updateResult.getNewValue()) {
+          // A new latest version was written, later items for the same aspect must build on top of it.
+          latestAspects.put(key, new EntityAspect(urnStr, aspectName, ASPECT_LATEST_VERSION,
+              EntityUtils.toJsonAspect(updateResult.getNewValue()), EntityUtils.toJsonAspect(item.getSystemMetadata()),
+              new Timestamp(auditStamp.getTime()), auditStamp.getActor().toString(),
+              auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null));
+          nextVersions.get(urnStr).put(aspectName, nextVersion + 1);
+        }
+        result.put(i, updateResult);
+      }
+      return result;
+    }, ebeanMaxTransactionRetry);
+  }
+
   private AspectSpec validateAspect(MetadataChangeProposal mcp, EntitySpec entitySpec) {
     if (!mcp.hasAspectName() || !mcp.hasAspect()) {
       throw new UnsupportedOperationException("Aspect and aspect name is required for create and update operations");
@@ -1074,6 +1297,24 @@ public class EntityServiceImpl implements EntityService {
       RecordTemplate newAspect, SystemMetadata newSystemMetadata,
       MetadataChangeProposal mcp, Urn entityUrn,
       AuditStamp auditStamp, AspectSpec aspectSpec) {
+    final MetadataChangeLog metadataChangeLog = constructChangeLogIfNeeded(oldAspect, oldSystemMetadata, newAspect,
+        newSystemMetadata, mcp, entityUrn, auditStamp, aspectSpec);
+    if (metadataChangeLog == null) {
+      return false;
+    }
+    produceMetadataChangeLog(entityUrn, aspectSpec, metadataChangeLog);
+    preprocessEvent(metadataChangeLog);
+    return true;
+  }
+
+  /**
+   * Constructs the {@link MetadataChangeLog} for an ingested proposal, or returns null if the aspect has not changed
+   * and no change log should be emitted for it.
+   */
+  @Nullable
+  private MetadataChangeLog constructChangeLogIfNeeded(@Nullable RecordTemplate oldAspect,
+      @Nullable SystemMetadata oldSystemMetadata, RecordTemplate newAspect, SystemMetadata newSystemMetadata,
+      MetadataChangeProposal mcp, Urn entityUrn, AuditStamp auditStamp, AspectSpec aspectSpec) {
     boolean isNoOp = oldAspect == newAspect;
     if (!isNoOp || _alwaysEmitChangeLog || shouldAspectEmitChangeLog(aspectSpec)) {
       log.debug("Producing MetadataChangeLog for ingested aspect {}, urn {}", mcp.getAspectName(), entityUrn);
@@ -1083,16 +1324,12 @@ public class EntityServiceImpl implements EntityService {
           oldAspect, oldSystemMetadata);
 
       log.debug("Serialized MCL event: {}", metadataChangeLog);
-
-      produceMetadataChangeLog(entityUrn, aspectSpec, metadataChangeLog);
-      preprocessEvent(metadataChangeLog);
-
-      return true;
+      return metadataChangeLog;
     } else {
       log.debug(
           "Skipped producing MetadataChangeLog for ingested aspect {}, urn {}. Aspect has not changed.",
           mcp.getAspectName(), entityUrn);
-      return false;
+      return null;
     }
   }
 
@@ -1121,16 +1358,29 @@ public class EntityServiceImpl implements EntityService {
     int ignored = 0;
     int rowsMigrated = 0;
     logger.accept(String.format("Args are %s", args));
-    logger.accept(String.format(
-        "Reading rows %s through %s from the aspects table started.", args.start, args.start + args.batchSize));
+    final String rowsDescription = args.urnBasedPagination
+        ? String.format("%s rows after (%s, %s)", args.batchSize, args.lastUrn, args.lastAspect)
+        : String.format("rows %s through %s", args.start, args.start + args.batchSize);
+    logger.accept(String.format("Reading %s from the aspects table started.", rowsDescription));
     long startTime = System.currentTimeMillis();
-    PagedList<EbeanAspectV2> rows = _aspectDao.getPagedAspects(args);
+    final List<EbeanAspectV2> rows;
+    if (args.urnBasedPagination) {
+      rows = _aspectDao.getAspectsAfter(args);
+    } else {
+      final PagedList<EbeanAspectV2> pagedRows = _aspectDao.getPagedAspects(args);
+      rows = pagedRows != null ? pagedRows.getList() : List.of();
+    }
     result.timeSqlQueryMs = System.currentTimeMillis() - startTime;
     startTime = System.currentTimeMillis();
-    logger.accept(String.format(
-        "Reading rows %s through %s from the aspects table completed.", args.start, args.start + args.batchSize));
+    logger.accept(String.format("Reading %s from the aspects table completed.", rowsDescription));
+    if (!rows.isEmpty()) {
+      final EbeanAspectV2.PrimaryKey lastKey = rows.get(rows.size() - 1).getKey();
+      result.lastUrn = lastKey.getUrn();
+      result.lastAspect = lastKey.getAspect();
+    }
+    final List<MetadataChangeLog> changeLogs = new ArrayList<>();
 
-    for (EbeanAspectV2 aspect : rows != null ? rows.getList() : List.<EbeanAspectV2>of()) {
+    for (EbeanAspectV2 aspect : rows) {
       // 1. Extract an Entity type from the entity Urn
       result.timeGetRowMs = System.currentTimeMillis() - startTime;
       startTime = System.currentTimeMillis();
@@ -1192,15 +1442,25 @@ public class EntityServiceImpl implements EntityService {
       properties.put(FORCE_INDEXING_KEY, Boolean.TRUE.toString());
       latestSystemMetadata.setProperties(properties);
 
-      // 5. Produce MAE events for the aspect record
-      produceMetadataChangeLog(urn, entityName, aspectName, aspectSpec, null, aspectRecord, null,
-          latestSystemMetadata,
-          new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis()),
-          ChangeType.RESTATE);
+      // 5. Produce MAE events for the aspect record, or collect them to update the indices directly
+      final AuditStamp auditStamp =
+          new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(System.currentTimeMillis());
+      if (args.writeDirect) {
+        changeLogs.add(constructMCL(null, entityName, urn, ChangeType.RESTATE, aspectName, auditStamp, aspectRecord,
+            latestSystemMetadata, null, null));
+      } else {
+        produceMetadataChangeLog(urn, entityName, aspectName, aspectSpec, null, aspectRecord, null,
+            latestSystemMetadata, auditStamp, ChangeType.RESTATE);
+      }
       result.sendMessageMs += System.currentTimeMillis() - startTime;
 
       rowsMigrated++;
     }
+    if (!changeLogs.isEmpty()) {
+      startTime = System.currentTimeMillis();
+      _updateIndicesService.handleChangeEvents(changeLogs);
+      result.sendMessageMs += System.currentTimeMillis() - startTime;
+    }
     try {
       TimeUnit.MILLISECONDS.sleep(args.batchDelayMs);
     } catch (InterruptedException e) {
@@ -1616,6 +1876,21 @@ public class EntityServiceImpl implements EntityService {
     _retentionService = retentionService;
   }
 
+  /**
+   * Serves reads of the latest version of aspects from the given cache, which this service keeps up to date with its
+   * own writes. Writes of other instances are expected to be invalidated by consuming their MCLs.
+   */
+  public void setLatestAspectCache(@Nullable LatestAspectCache latestAspectCache) {
+    _latestAspectCache = latestAspectCache;
+  }
+
+  /**
+   * Serves existence checks from the given cache, which this service invalidates on its own deletes.
+   */
+  public void setEntityExistenceCache(@Nullable EntityExistenceCache entityExistenceCache) {
+    _entityExistenceCache = entityExistenceCache;
+  }
+
   protected Set<String> getEntityAspectNames(final Urn entityUrn) {
     return getEntityAspectNames(urnToEntityName(entityUrn));
   }
@@ -1715,13 +1990,43 @@ public class EntityServiceImpl implements EntityService {
    */
   @Override
   public Boolean exists(Urn urn) {
-    final Set<String> aspectsToFetch = getEntityAspectNames(urn);
-    final List<EntityAspectIdentifier> dbKeys = aspectsToFetch.stream()
-        .map(aspectName -> new EntityAspectIdentifier(urn.toString(), aspectName, ASPECT_LATEST_VERSION))
-        .collect(Collectors.toList());
+    return existsBatch(Collections.singleton(urn)).contains(urn);
+  }
 
-    Map<EntityAspectIdentifier, EntityAspect> aspects = _aspectDao.batchGet(new HashSet(dbKeys));
-    return aspects.values().stream().anyMatch(aspect -> aspect != null);
+  /**
+   * Returns the urns of the given entities which exist (have materialized aspects), reading only the keys of their
+   * latest aspects, with one query for all of them.
+   *
+   * @param urns the urns of the entities to check
+   * @return the urns of the entities which exist
+   */
+  @Nonnull
+  @Override
+  public Set<Urn> existsBatch(@Nonnull final Set<Urn> urns) {
+    if (urns.isEmpty()) {
+      return Collections.emptySet();
+    }
+    if (_entityExistenceCache == null) {
+      return getExistingUrnsFromDB(urns);
+    }
+    return _entityExistenceCache.existsBatch(urns, this::getExistingUrnsFromDB);
+  }
+
+  @Nonnull
+  private Set<Urn> getExistingUrnsFromDB(@Nonnull final Set<Urn> urns) {
+    final Map<String, Urn> urnsByString = new HashMap<>();
+    urns.forEach(urn -> urnsByString.put(urn.toString(), urn));
+    // Aspects of all the entity types are queried together, an entity only has rows for aspects of its own type
+    final Set<String> aspectNames = urns.stream()
+        .map(PegasusUtils::urnToEntityName)
+        .distinct()
+        .flatMap(entityName -> getEntityAspectNames(entityName).stream())
+        .collect(Collectors.toSet());
+    return _aspectDao.getUrnsWithLatestAspects(urnsByString.keySet(), aspectNames)
+        .stream()
+        .map(urnsByString::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
   }
 
   /**
@@ -1752,7 +2057,22 @@ public class EntityServiceImpl implements EntityService {
       throw new RuntimeException(String.format("Failed to extract urn from %s", urn));
     }
 
-    final RollbackResult result = _aspectDao.runInTransactionWithRetry(() -> {
+    final RollbackResult result;
+    try {
+      result = deleteAspectInTransaction(urn, aspectName, conditions, hardDelete, entityUrn, entitySpec);
+    } finally {
+      // The entity may not exist anymore once the delete is committed
+      if (_entityExistenceCache != null) {
+        _entityExistenceCache.invalidate(urn);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private RollbackResult deleteAspectInTransaction(String urn, String aspectName,
+      @Nonnull Map<String, String> conditions, boolean hardDelete, Urn entityUrn, EntitySpec entitySpec) {
+    return runInTransactionWithRetry(() -> {
       Integer additionalRowsDeleted = 0;
 
       // 1. Fetch the latest existing version of the aspect.
@@ -1840,6 +2160,12 @@ public class EntityServiceImpl implements EntityService {
         }
       }
 
+      if (isKeyAspect && hardDelete && survivingAspect == null) {
+        getEntityAspectNames(entityUrn).forEach(name -> invalidateLatestAspect(urn, name));
+      } else {
+        invalidateLatestAspect(urn, aspectName);
+      }
+
       // 6. Emit the Update
       try {
         final RecordTemplate latestValue = latest == null ? null
@@ -1866,8 +2192,6 @@ public class EntityServiceImpl implements EntityService {
         return null;
       }
     }, DEFAULT_MAX_TRANSACTION_RETRY);
-
-    return result;
   }
 
   protected boolean filterMatch(SystemMetadata systemMetadata, Map<String, String> conditions) {
@@ -1903,13 +2227,7 @@ public class EntityServiceImpl implements EntityService {
 
     log.debug("Invoked getLatestAspects with urns: {}, aspectNames: {}", urns, aspectNames);
 
-    // Create DB keys
-    final Set<EntityAspectIdentifier> dbKeys = urns.stream().map(urn -> {
-      final Set<String> aspectsToFetch = aspectNames.isEmpty() ? getEntityAspectNames(urn) : aspectNames;
-      return aspectsToFetch.stream()
-          .map(aspectName -> new EntityAspectIdentifier(urn.toString(), aspectName, ASPECT_LATEST_VERSION))
-          .collect(Collectors.toList());
-    }).flatMap(List::stream).collect(Collectors.toSet());
+    final Set<EntityAspectIdentifier> dbKeys = getLatestAspectKeys(urns, aspectNames);
 
     Map<EntityAspectIdentifier, EntityAspect> batchGetResults = new HashMap<>();
     Iterators.partition(dbKeys.iterator(), MAX_KEYS_PER_QUERY)
@@ -1917,6 +2235,42 @@ public class EntityServiceImpl implements EntityService {
     return batchGetResults;
   }
 
+  /**
+   * Same as {@link #getLatestAspect(Set, Set)}, but returning the aspects as records and reading them through the
+   * latest aspect cache if there is one. Not to be used within transactions, which must read from the database.
+   */
+  @Nonnull
+  private Map<EntityAspectIdentifier, RecordTemplate> getLatestAspectRecords(@Nonnull final Set<Urn> urns,
+      @Nonnull final Set<String> aspectNames) {
+    final Map<EntityAspectIdentifier, RecordTemplate> result = new HashMap<>();
+    if (_latestAspectCache == null) {
+      getLatestAspect(urns, aspectNames).forEach((key, aspectEntry) -> result.put(key,
+          EntityUtils.toAspectRecord(toUrn(key.getUrn()), key.getAspect(), aspectEntry.getMetadata(), getEntityRegistry())));
+      return result;
+    }
+    getEnvelopedAspects(getLatestAspectKeys(urns, aspectNames)).forEach((key, envelopedAspect) -> {
+      final AspectSpec aspectSpec =
+          getEntityRegistry().getEntitySpec(urnToEntityName(toUrn(key.getUrn()))).getAspectSpec(key.getAspect());
+      if (aspectSpec == null) {
+        throw new IllegalStateException(String.format("Aspect %s could not be found", key.getAspect()));
+      }
+      // Cached aspects are handed out as copies, so the record can take ownership of the data
+      result.put(key, RecordUtils.toRecordTemplate(aspectSpec.getDataTemplateClass(), envelopedAspect.getValue().data()));
+    });
+    return result;
+  }
+
+  @Nonnull
+  private Set<EntityAspectIdentifier> getLatestAspectKeys(@Nonnull final Set<Urn> urns,
+      @Nonnull final Set<String> aspectNames) {
+    return urns.stream().map(urn -> {
+      final Set<String> aspectsToFetch = aspectNames.isEmpty() ? getEntityAspectNames(urn) : aspectNames;
+      return aspectsToFetch.stream()
+          .map(aspectName -> new EntityAspectIdentifier(urn.toString(), aspectName, ASPECT_LATEST_VERSION))
+          .collect(Collectors.toList());
+    }).flatMap(List::stream).collect(Collectors.toSet());
+  }
+
   /*
    * When a user tries to fetch a negative version, we want to index most recent to least recent snapshots.
    * To do this, we want to fetch the maximum version and subtract the negative version from that. Since -1 represents
@@ -1930,6 +2284,21 @@ public class EntityServiceImpl implements EntityService {
   }
 
   private Map<EntityAspectIdentifier, EnvelopedAspect> getEnvelopedAspects(final Set<EntityAspectIdentifier> dbKeys) {
+    if (_latestAspectCache == null) {
+      return getEnvelopedAspectsFromDB(dbKeys);
+    }
+    // Only the latest versions are cached, older ones are rarely read and never change
+    final Map<Boolean, Set<EntityAspectIdentifier>> keysByLatest = dbKeys.stream()
+        .collect(Collectors.partitioningBy(key -> key.getVersion() == ASPECT_LATEST_VERSION, Collectors.toSet()));
+    final Map<EntityAspectIdentifier, EnvelopedAspect> result =
+        new HashMap<>(_latestAspectCache.getAll(keysByLatest.get(true), this::getEnvelopedAspectsFromDB));
+    if (!keysByLatest.get(false).isEmpty()) {
+      result.putAll(getEnvelopedAspectsFromDB(keysByLatest.get(false)));
+    }
+    return result;
+  }
+
+  private Map<EntityAspectIdentifier, EnvelopedAspect> getEnvelopedAspectsFromDB(final Set<EntityAspectIdentifier> dbKeys) {
     final Map<EntityAspectIdentifier, EnvelopedAspect> result = new HashMap<>();
     final Map<EntityAspectIdentifier, EntityAspect> dbEntries = _aspectDao.batchGet(dbKeys);
 
@@ -2019,6 +2388,7 @@ public class EntityServiceImpl implements EntityService {
       // metrics
       _aspectDao.incrementWriteMetrics(aspectName, 1, latest.getAspect().getBytes(StandardCharsets.UTF_8).length);
 
+      invalidateLatestAspect(urn.toString(), aspectName);
       return new UpdateAspectResult(urn, oldValue, oldValue,
           EntityUtils.parseSystemMetadata(latest.getSystemMetadata()), latestSystemMetadata,
           MetadataAuditOperation.UPDATE, auditStamp, 0);
@@ -2037,11 +2407,44 @@ public class EntityServiceImpl implements EntityService {
     // metrics
     _aspectDao.incrementWriteMetrics(aspectName, 1, newValueStr.getBytes(StandardCharsets.UTF_8).length);
 
+    invalidateLatestAspect(urn.toString(), aspectName);
     return new UpdateAspectResult(urn, oldValue, newValue,
         latest == null ? null : EntityUtils.parseSystemMetadata(latest.getSystemMetadata()), providedSystemMetadata,
         MetadataAuditOperation.UPDATE, auditStamp, versionOfOld);
   }
 
+  /**
+   * Runs the block in a transaction, invalidating the latest aspects it wrote once it completes. Invalidating only
+   * after the commit keeps concurrent reads from caching the values being replaced. Nested transactions leave the
+   * invalidation to the outermost one.
+   */
+  private <T> T runInTransactionWithRetry(@Nonnull final Supplier<T> block, final int maxTransactionRetry) {
+    if (_latestAspectCache == null || _pendingInvalidations.get() != null) {
+      return _aspectDao.runInTransactionWithRetry(block, maxTransactionRetry);
+    }
+    final Set<Pair<String, String>> pending = new HashSet<>();
+    _pendingInvalidations.set(pending);
+    try {
+      return _aspectDao.runInTransactionWithRetry(block, maxTransactionRetry);
+    } finally {
+      // Also invalidate on failure, as some of the writes may have been committed
+      _pendingInvalidations.remove();
+      pending.forEach(key -> _latestAspectCache.invalidate(key.getFirst(), key.getSecond()));
+    }
+  }
+
+  private void invalidateLatestAspect(@Nonnull final String urn, @Nonnull final String aspectName) {
+    if (_latestAspectCache == null) {
+      return;
+    }
+    final Set<Pair<String, String>> pending = _pendingInvalidations.get();
+    if (pending != null) {
+      pending.add(new Pair<>(urn, aspectName));
+    } else {
+      _latestAspectCache.invalidate(urn, aspectName);
+    }
+  }
+
   @Nonnull
   private Map<String, EntityAspect> getLatestAspectForUrn(@Nonnull final Urn urn, @Nonnull final Set<String> aspectNames) {
     Set<Urn> urns = new HashSet<>();
@@ -2067,7 +2470,7 @@ public class EntityServiceImpl implements EntityService {
       @Nonnull final boolean emitMae,
       final int maxTransactionRetry) {
 
-    final UpdateAspectResult result = _aspectDao.runInTransactionWithRetry(() -> {
+    final UpdateAspectResult result = runInTransactionWithRetry(() -> {
 
       final EntityAspect oldAspect = _aspectDao.getAspect(urn.toString(), aspectName, version);
       final RecordTemplate oldValue =
@@ -2085,6 +2488,9 @@ public class EntityServiceImpl implements EntityService {
       _aspectDao.saveAspect(urn.toString(), aspectName, aspectStr, auditStamp.getActor().toString(),
           auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null,
           new Timestamp(auditStamp.getTime()), EntityUtils.toJsonAspect(newSystemMetadata), version, oldAspect == null);
+      if (version == ASPECT_LATEST_VERSION) {
+        invalidateLatestAspect(urn.toString(), aspectName);
+      }
 
       // metrics
       _aspectDao.incrementWriteMetrics(aspectName, 1, aspectStr.getBytes(StandardCharsets.UTF_8).length);
@@ -2185,4 +2591,17 @@ public class EntityServiceImpl implements EntityService {
     final List<RelationshipFieldSpec> relationshipFieldSpecs = aspectSpec.getRelationshipFieldSpecs();
     return relationshipFieldSpecs.stream().anyMatch(RelationshipFieldSpec::isLineageRelationship);
   }
+
+  /**
+   * A validated {@link MetadataChangeProposal} of a batch, along with everything needed to write it.
+   */
+  @Value
+  private static class ProposalBatchItem {
+    MetadataChangeProposal mcp;
+    Urn urn;
+    AspectSpec aspectSpec;
+    SystemMetadata systemMetadata;
+    // Computes the new aspect value from the latest one. Null for timeseries aspects, which are not persisted.
+    Function<Optional<RecordTemplate>, RecordTemplate> updateLambda;
+  }
 }
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.entity.cache;
+
+import com.codahale.metrics.Counter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Read-through cache of the entities known to exist, in front of the existence checks of the entity service.
+ *
+ * Only existing entities are cached: any write may create an entity, but only deletes can make one disappear, so
+ * deletes are the only invalidations needed. Deletes of other instances are not seen, and are only bounded by the TTL.
+ *
+ * A load racing with a delete must not cache an entity it found before the delete. Loads only cache their results when
+ * no invalidation happened since they started.
+ */
+public class EntityExistenceCache {
+
+  private final Cache<String, Boolean> _cache;
+  private final AtomicLong _invalidations = new AtomicLong();
+  private final Counter _hits = MetricUtils.counter(EntityExistenceCache.class, "hit");
+  private final Counter _misses = MetricUtils.counter(EntityExistenceCache.class, "miss");
+
+  public EntityExistenceCache(long maxSize, @Nonnull Duration ttl) {
+    _cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+  }
+
+  /**
+   * Returns the given urns of existing entities, loading the ones which are not cached.
+   *
+   * @param urns the urns of the entities
+   * @param loader returns the given urns of existing entities from the database
+   * @return the urns of existing entities
+   */
+  @Nonnull
+  public Set<Urn> existsBatch(@Nonnull Set<Urn> urns, @Nonnull Function<Set<Urn>, Set<Urn>> loader) {
+    final Set<Urn> result = new HashSet<>();
+    final Set<Urn> missed = new HashSet<>();
+    for (Urn urn : urns) {
+      if (_cache.getIfPresent(urn.toString()) != null) {
+        result.add(urn);
+      } else {
+        missed.add(urn);
+      }
+    }
+    _hits.inc(result.size());
+    _misses.inc(missed.size());
+    if (missed.isEmpty()) {
+      return result;
+    }
+
+    final long invalidations = _invalidations.get();
+    final Set<Urn> existing = loader.apply(missed);
+    result.addAll(existing);
+    if (_invalidations.get() == invalidations) {
+      existing.forEach(urn -> _cache.put(urn.toString(), Boolean.TRUE));
+    }
+    return result;
+  }
+
+  /**
+   * Drops an entity which may have been deleted. Must be called once the delete is committed.
+   */
+  public void invalidate(@Nonnull String urn) {
+    _invalidations.incrementAndGet();
+    _cache.invalidate(urn);
+  }
+}
@@ -0,0 +1,275 @@
+package com.linkedin.metadata.entity.cache;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.ProtobufDataCodec;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.metadata.entity.EntityAspectIdentifier;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Read-through cache of the latest version of aspects, in front of the {@link com.linkedin.metadata.entity.AspectDao}.
+ *
+ * Aspects are cached as parsed {@link EnvelopedAspect}s, made read-only, so that hits skip both the database and JSON
+ * parsing. Callers are handed copies, which they are free to modify. Aspects which do not exist are cached as well,
+ * since most entities only have a few of the many aspects requested by entity pages.
+ *
+ * There are two tiers: a bounded local tier, and an optional {@link SharedAspectCache} shared by all GMS instances and
+ * holding binary encoded aspects. Entries are invalidated on writes, both by the writing instance and by every instance
+ * on consuming the resulting MCL, and expire after a fixed time in case an invalidation is missed.
+ *
+ * A load racing with an invalidation must not cache the value it read before the write. Loads first put a token in the
+ * local tier, and only replace it by the loaded value if no invalidation removed it in the meantime.
+ */
+@Slf4j
+public class LatestAspectCache {
+
+  private static final String KEY_DELIMITER = "␟";
+  private static final byte[] ABSENT_BYTES = new byte[0];
+  private static final ProtobufDataCodec CODEC = new ProtobufDataCodec();
+
+  // Local value of an aspect which does not exist
+  private static final Object ABSENT = new Object();
+
+  /**
+   * Local value of an aspect being loaded.
+   */
+  private static final class LoadToken {
+  }
+
+  private final Cache<String, Object> _localCache;
+  @Nullable
+  private final SharedAspectCache _sharedCache;
+  private final ConcurrentMap<String, AspectStats> _stats = new ConcurrentHashMap<>();
+
+  public LatestAspectCache(long maxSize, @Nonnull Duration ttl, @Nullable SharedAspectCache sharedCache) {
+    _localCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    _sharedCache = sharedCache;
+  }
+
+  /**
+   * Returns the latest aspects for the given keys, loading the ones which are not cached.
+   *
+   * @param keys the keys of the aspects, all of the latest version
+   * @param loader reads the given aspects from the database, leaving out the ones which do not exist
+   * @return the aspects found, as copies which may be modified
+   */
+  @Nonnull
+  public Map<EntityAspectIdentifier, EnvelopedAspect> getAll(@Nonnull Set<EntityAspectIdentifier> keys,
+      @Nonnull Function<Set<EntityAspectIdentifier>, Map<EntityAspectIdentifier, EnvelopedAspect>> loader) {
+    final Map<EntityAspectIdentifier, EnvelopedAspect> result = new HashMap<>();
+    final Map<String, EntityAspectIdentifier> missed = new HashMap<>();
+    final Map<String, LoadToken> tokens = new HashMap<>();
+
+    for (EntityAspectIdentifier key : keys) {
+      final String cacheKey = toCacheKey(key.getUrn(), key.getAspect());
+      final Object value = _localCache.getIfPresent(cacheKey);
+      if (value instanceof EnvelopedAspect || value == ABSENT) {
+        getStats(key.getAspect()).localHits.inc();
+        if (value != ABSENT) {
+          result.put(key, copy((EnvelopedAspect) value));
+        }
+        continue;
+      }
+      missed.put(cacheKey, key);
+      // If another thread is loading the aspect, load it as well but leave the caching to that thread
+      final LoadToken token = new LoadToken();
+      if (_localCache.asMap().putIfAbsent(cacheKey, token) == null) {
+        tokens.put(cacheKey, token);
+      }
+    }
+    if (missed.isEmpty()) {
+      return result;
+    }
+
+    try {
+      if (_sharedCache != null) {
+        getFromSharedCache(missed, tokens, result);
+      }
+      if (!missed.isEmpty()) {
+        loadMissed(missed, tokens, loader, result);
+      }
+    } finally {
+      // Tokens left are those of failed loads, which must not block caching until they expire
+      tokens.forEach((cacheKey, token) -> _localCache.asMap().remove(cacheKey, token));
+    }
+    return result;
+  }
+
+  /**
+   * Drops the latest version of an aspect from both tiers.
+   */
+  public void invalidate(@Nonnull String urn, @Nonnull String aspectName) {
+    final String cacheKey = toCacheKey(urn, aspectName);
+    _localCache.invalidate(cacheKey);
+    if (_sharedCache != null) {
+      try {
+        _sharedCache.evict(cacheKey);
+      } catch (RuntimeException e) {
+        MetricUtils.counter(this.getClass(), "shared_evict_failure").inc();
+        log.error("Failed to evict {} from the shared aspect cache", cacheKey, e);
+      }
+    }
+  }
+
+  /**
+   * Drops the latest version of the given aspects of an entity from both tiers.
+   */
+  public void invalidate(@Nonnull String urn, @Nonnull Collection<String> aspectNames) {
+    aspectNames.forEach(aspectName -> invalidate(urn, aspectName));
+  }
+
+  private void getFromSharedCache(@Nonnull Map<String, EntityAspectIdentifier> missed,
+      @Nonnull Map<String, LoadToken> tokens, @Nonnull Map<EntityAspectIdentifier, EnvelopedAspect> result) {
+    final Map<String, byte[]> shared;
+    try {
+      shared = _sharedCache.getAll(missed.keySet());
+    } catch (RuntimeException e) {
+      // The shared tier is only an optimization, fall back to the database
+      MetricUtils.counter(this.getClass(), "shared_get_failure").inc();
+      log.error("Failed to read from the shared aspect cache", e);
+      return;
+    }
+    shared.forEach((cacheKey, bytes) -> {
+      final EntityAspectIdentifier key = missed.get(cacheKey);
+      final EnvelopedAspect cached = decode(bytes);
+      if (key == null || (cached == null && bytes.length > 0)) {
+        return;
+      }
+      getStats(key.getAspect()).sharedHits.inc();
+      missed.remove(cacheKey);
+      if (cached != null) {
+        result.put(key, copy(cached));
+      }
+      final LoadToken token = tokens.remove(cacheKey);
+      if (token != null) {
+        _localCache.asMap().replace(cacheKey, token, cached != null ? makeReadOnly(cached) : ABSENT);
+      }
+    });
+  }
+
+  private void loadMissed(@Nonnull Map<String, EntityAspectIdentifier> missed, @Nonnull Map<String, LoadToken> tokens,
+      @Nonnull Function<Set<EntityAspectIdentifier>, Map<EntityAspectIdentifier, EnvelopedAspect>> loader,
+      @Nonnull Map<EntityAspectIdentifier, EnvelopedAspect> result) {
+    final Map<EntityAspectIdentifier, EnvelopedAspect> loaded = loader.apply(new HashSet<>(missed.values()));
+    final Map<String, byte[]> toShare = new HashMap<>();
+    missed.forEach((cacheKey, key) -> {
+      getStats(key.getAspect()).misses.inc();
+      final EnvelopedAspect aspect = loaded.get(key);
+      if (aspect != null) {
+        result.put(key, aspect);
+      }
+      final LoadToken token = tokens.remove(cacheKey);
+      if (token != null) {
+        final EnvelopedAspect cached = aspect != null ? makeReadOnly(copy(aspect)) : null;
+        if (_localCache.asMap().replace(cacheKey, token, cached != null ? cached : ABSENT) && _sharedCache != null) {
+          toShare.put(cacheKey, cached != null ? encode(cached) : ABSENT_BYTES);
+        }
+      }
+    });
+    if (!toShare.isEmpty()) {
+      putToSharedCache(toShare);
+    }
+  }
+
+  private void putToSharedCache(@Nonnull Map<String, byte[]> values) {
+    try {
+      _sharedCache.putAll(values);
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "shared_put_failure").inc();
+      log.error("Failed to write to the shared aspect cache", e);
+    }
+  }
+
+  @Nonnull
+  private static String toCacheKey(@Nonnull String urn, @Nonnull String aspectName) {
+    return urn + KEY_DELIMITER + aspectName;
+  }
+
+  @Nonnull
+  private static EnvelopedAspect makeReadOnly(@Nonnull EnvelopedAspect aspect) {
+    aspect.data().makeReadOnly();
+    return aspect;
+  }
+
+  @Nonnull
+  private static EnvelopedAspect copy(@Nonnull EnvelopedAspect aspect) {
+    try {
+      return new EnvelopedAspect(aspect.data().copy());
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy a cached aspect", e);
+    }
+  }
+
+  @Nonnull
+  private static byte[] encode(@Nonnull EnvelopedAspect aspect) {
+    try {
+      return CODEC.mapToBytes(aspect.data());
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode an aspect for caching", e);
+    }
+  }
+
+  /**
+   * Decodes an aspect of the shared tier, returning null for aspects which do not exist or cannot be decoded.
+   */
+  @Nullable
+  private static EnvelopedAspect decode(@Nonnull byte[] bytes) {
+    if (bytes.length == 0) {
+      return null;
+    }
+    try {
+      final DataMap dataMap = CODEC.bytesToMap(bytes);
+      return new EnvelopedAspect(dataMap);
+    } catch (IOException e) {
+      log.warn("Failed to decode an aspect of the shared aspect cache", e);
+      return null;
+    }
+  }
+
+  @Nonnull
+  private AspectStats getStats(@Nonnull String aspectName) {
+    return _stats.computeIfAbsent(aspectName, AspectStats::new);
+  }
+
+  /**
+   * Hit and miss counters of an aspect, along with the resulting hit ratio.
+   */
+  private static final class AspectStats {
+    private final Counter localHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    private AspectStats(@Nonnull String aspectName) {
+      localHits = MetricUtils.counter(LatestAspectCache.class, aspectName + "_localHit");
+      sharedHits = MetricUtils.counter(LatestAspectCache.class, aspectName + "_sharedHit");
+      misses = MetricUtils.counter(LatestAspectCache.class, aspectName + "_miss");
+      MetricUtils.get().gauge(MetricRegistry.name(LatestAspectCache.class, aspectName + "_hitRatio"),
+          () -> new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+              final long hits = localHits.getCount() + sharedHits.getCount();
+              return Ratio.of(hits, hits + misses.getCount());
+            }
+          });
+    }
+  }
+}
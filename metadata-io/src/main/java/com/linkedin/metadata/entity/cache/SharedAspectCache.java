@@ -0,0 +1,26 @@
+package com.linkedin.metadata.entity.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A cache shared by all GMS instances, holding the encoded latest aspects behind the local tier of a
+ * {@link LatestAspectCache}. Keys and values are opaque to the implementation.
+ */
+public interface SharedAspectCache {
+
+  /**
+   * Returns the values found for the given keys, leaving out those which are not cached.
+   */
+  @Nonnull
+  Map<String, byte[]> getAll(@Nonnull Collection<String> keys);
+
+  /**
+   * Caches the given values. Writes may be asynchronous.
+   */
+  void putAll(@Nonnull Map<String, byte[]> values);
+
+  void evict(@Nonnull String key);
+}
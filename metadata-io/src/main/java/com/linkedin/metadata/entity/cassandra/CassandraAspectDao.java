@@ -431,6 +431,13 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
     return null;
   }
 
+  @Nonnull
+  @Override
+  public List<EbeanAspectV2> getAspectsAfter(final RestoreIndicesArgs args) {
+    // Failing rather than returning no rows, which would report the restore as successful while restoring nothing
+    throw new UnsupportedOperationException("Restoring indices is not supported by the Cassandra aspect store");
+  }
+
 
   @Override
   @Nonnull
@@ -37,6 +37,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -84,6 +85,14 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     return _server;
   }
 
+  /**
+   * Sets the number of keys queried at once, 0 meaning no pagination on keys.
+   * Only used in tests.
+   */
+  public void setQueryKeysCount(int queryKeysCount) {
+    _queryKeysCount = queryKeysCount;
+  }
+
   public void setConnectionValidated(boolean validated) {
     _connectionValidated = validated;
     _canWrite = validated;
@@ -215,6 +224,32 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
         .findCount();
   }
 
+  @Override
+  @Nonnull
+  public Set<String> getUrnsWithLatestAspects(@Nonnull final Set<String> urns, @Nonnull final Set<String> aspectNames) {
+    validateConnection();
+    final Set<String> result = new HashSet<>();
+    if (urns.isEmpty() || aspectNames.isEmpty()) {
+      return result;
+    }
+
+    final List<String> urnList = new ArrayList<>(urns);
+    final int keysCount = _queryKeysCount == 0 ? urnList.size() : _queryKeysCount;
+    for (int position = 0; position < urnList.size(); position += keysCount) {
+      final List<String> urnsPage = urnList.subList(position, Math.min(urnList.size(), position + keysCount));
+      // Only the primary keys are read, leaving out the metadata columns
+      final List<EbeanAspectV2.PrimaryKey> keys = _server.find(EbeanAspectV2.class)
+          .select(EbeanAspectV2.KEY_ID)
+          .where()
+          .in(EbeanAspectV2.URN_COLUMN, urnsPage)
+          .in(EbeanAspectV2.ASPECT_COLUMN, aspectNames)
+          .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION)
+          .findIds();
+      keys.forEach(key -> result.add(key.getUrn()));
+    }
+    return result;
+  }
+
   @Override
   public boolean checkIfAspectExists(@Nonnull String aspectName) {
     validateConnection();
@@ -417,8 +452,41 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
   @Nonnull
   @Override
   public PagedList<EbeanAspectV2> getPagedAspects(final RestoreIndicesArgs args) {
+    ExpressionList<EbeanAspectV2> exp = getRestoreIndicesExpression(args, EbeanAspectV2.ALL_COLUMNS);
+    return  exp.orderBy()
+            .asc(EbeanAspectV2.URN_COLUMN)
+            .orderBy()
+            .asc(EbeanAspectV2.ASPECT_COLUMN)
+            .setFirstRow(args.start)
+            .setMaxRows(args.batchSize)
+            .findPagedList();
+  }
+
+  @Nonnull
+  @Override
+  public List<EbeanAspectV2> getAspectsAfter(final RestoreIndicesArgs args) {
+    ExpressionList<EbeanAspectV2> exp = getRestoreIndicesExpression(args, EbeanAspectV2.ALL_COLUMNS);
+    if (args.lastUrn != null) {
+      // Seek past the last row read, rather than having the database skip over all the rows read so far.
+      exp = exp.or()
+          .gt(EbeanAspectV2.URN_COLUMN, args.lastUrn)
+          .and()
+          .eq(EbeanAspectV2.URN_COLUMN, args.lastUrn)
+          .gt(EbeanAspectV2.ASPECT_COLUMN, args.lastAspect != null ? args.lastAspect : "")
+          .endAnd()
+          .endOr();
+    }
+    return exp.orderBy()
+        .asc(EbeanAspectV2.URN_COLUMN)
+        .orderBy()
+        .asc(EbeanAspectV2.ASPECT_COLUMN)
+        .setMaxRows(args.batchSize)
+        .findList();
+  }
+
+  private ExpressionList<EbeanAspectV2> getRestoreIndicesExpression(final RestoreIndicesArgs args, final String columns) {
     ExpressionList<EbeanAspectV2> exp = _server.find(EbeanAspectV2.class)
-            .select(EbeanAspectV2.ALL_COLUMNS)
+            .select(columns)
             .where()
             .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION);
     if (args.aspectName != null) {
@@ -430,13 +498,10 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     if (args.urnLike != null) {
       exp = exp.like(EbeanAspectV2.URN_COLUMN, args.urnLike);
     }
-    return  exp.orderBy()
-            .asc(EbeanAspectV2.URN_COLUMN)
-            .orderBy()
-            .asc(EbeanAspectV2.ASPECT_COLUMN)
-            .setFirstRow(args.start)
-            .setMaxRows(args.batchSize)
-            .findPagedList();
+    if (args.urnUpperBound != null) {
+      exp = exp.lt(EbeanAspectV2.URN_COLUMN, args.urnUpperBound);
+    }
+    return exp;
   }
 
   @Override
@@ -606,6 +671,53 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     return result;
   }
 
+  @Override
+  @Nonnull
+  public Map<String, Map<String, Long>> getNextVersions(@Nonnull final Map<String, Set<String>> urnAspects) {
+    validateConnection();
+    final Map<String, Map<String, Long>> result = new HashMap<>();
+    if (urnAspects.isEmpty()) {
+      return result;
+    }
+
+    final Set<String> aspectNames = urnAspects.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+    final List<String> urns = new ArrayList<>(urnAspects.keySet());
+    final int keysCount = _queryKeysCount == 0 ? urns.size() : _queryKeysCount;
+
+    // Resolve max(version) for every (urn, aspect) pair with one grouped query per page of urns, instead of one
+    // query per urn. As in getNextVersions(urn, aspectNames), ascending version order ensures the max wins.
+    final Map<String, Map<String, Long>> maxVersions = new HashMap<>();
+    for (int position = 0; position < urns.size(); position += keysCount) {
+      final List<String> urnsPage = urns.subList(position, Math.min(urns.size(), position + keysCount));
+      final List<EbeanAspectV2.PrimaryKey> dbResults = _server.find(EbeanAspectV2.class)
+          .select("urn, aspect, max(version)")
+          .where()
+          .in(EbeanAspectV2.URN_COLUMN, urnsPage)
+          .in(EbeanAspectV2.ASPECT_COLUMN, aspectNames)
+          .orderBy()
+          .asc(EbeanAspectV2.VERSION_COLUMN)
+          .findIds();
+      for (EbeanAspectV2.PrimaryKey key : dbResults) {
+        maxVersions.computeIfAbsent(key.getUrn(), ignored -> new HashMap<>())
+            .merge(key.getAspect(), key.getVersion(), Math::max);
+      }
+    }
+
+    urnAspects.forEach((urn, aspects) -> {
+      final Map<String, Long> urnMaxVersions = maxVersions.getOrDefault(urn, Collections.emptyMap());
+      final Map<String, Long> nextVersions = new HashMap<>();
+      for (String aspectName : aspects) {
+        long nextVal = ASPECT_LATEST_VERSION;
+        if (urnMaxVersions.containsKey(aspectName)) {
+          nextVal = urnMaxVersions.get(aspectName) + 1L;
+        }
+        nextVersions.put(aspectName, nextVal);
+      }
+      result.put(urn, nextVersions);
+    });
+    return result;
+  }
+
   @Nonnull
   private <T> ListResult<T> toListResult(
       @Nonnull final List<T> values,
@@ -676,4 +788,24 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
         .findList();
     return ebeanAspects.stream().map(EbeanAspectV2::toEntityAspect).collect(Collectors.toList());
   }
+
+  @Override
+  @Nonnull
+  public List<EntityAspect> getAspectKeysInRange(@Nonnull Urn urn, Set<String> aspectNames, long startTimeMillis,
+      long endTimeMillis) {
+    validateConnection();
+    // Lazy loading is disabled so that the values, which are not selected, are never read
+    List<EbeanAspectV2> ebeanAspects = _server.find(EbeanAspectV2.class)
+        .select(EbeanAspectV2.KEY_ID + ", " + EbeanAspectV2.CREATED_ON_COLUMN)
+        .setDisableLazyLoading(true)
+        .where()
+        .eq(EbeanAspectV2.URN_COLUMN, urn.toString())
+        .in(EbeanAspectV2.ASPECT_COLUMN, aspectNames)
+        .inRange(EbeanAspectV2.CREATED_ON_COLUMN, new Timestamp(startTimeMillis), new Timestamp(endTimeMillis))
+        .findList();
+    return ebeanAspects.stream()
+        .map(row -> new EntityAspect(row.getKey().getUrn(), row.getKey().getAspect(), row.getKey().getVersion(), null,
+            null, row.getCreatedOn(), null, null))
+        .collect(Collectors.toList());
+  }
 }
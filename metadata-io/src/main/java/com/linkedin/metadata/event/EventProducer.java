@@ -11,8 +11,11 @@ import com.linkedin.mxe.MetadataAuditOperation;
 import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
+import com.linkedin.util.Pair;
 import io.opentelemetry.extension.annotations.WithSpan;
+import java.util.List;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -59,6 +62,22 @@ public interface EventProducer {
       @Nonnull final MetadataChangeLog metadataChangeLog
   );
 
+  /**
+   * Produces a batch of {@link com.linkedin.mxe.MetadataChangeLog}s back to back, allowing implementations to
+   * hand the whole batch to the underlying client at once.
+   *
+   * @param metadataChangeLogs pairs of the aspect spec and metadata change log to push into the MCL kafka topics
+   *
+   * @return A list of {@link Future} objects, in input order, that report when each message has been produced.
+   */
+  default List<Future<?>> produceMetadataChangeLogs(
+      @Nonnull final List<Pair<AspectSpec, MetadataChangeLog>> metadataChangeLogs
+  ) {
+    return metadataChangeLogs.stream()
+        .map(pair -> produceMetadataChangeLog(pair.getSecond().getEntityUrn(), pair.getFirst(), pair.getSecond()))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Produces a {@link com.linkedin.mxe.MetadataChangeProposal} as an async update to an entity
    *
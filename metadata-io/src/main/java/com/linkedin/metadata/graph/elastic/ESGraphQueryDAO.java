@@ -10,6 +10,7 @@ import com.linkedin.common.UrnArray;
 import com.linkedin.common.UrnArrayArray;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
 import com.linkedin.metadata.graph.GraphFilters;
 import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.graph.LineageRelationship;
@@ -26,17 +27,18 @@ import com.linkedin.metadata.utils.ConcurrencyUtils;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -45,10 +47,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -81,6 +86,7 @@ public class ESGraphQueryDAO {
   static final String UPDATED_ACTOR = "updatedActor";
   static final String PROPERTIES = "properties";
   static final String UI = "UI";
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
 
   @Nonnull
   public static void addFilterToQueryBuilder(@Nonnull Filter filter, String node, BoolQueryBuilder rootQuery) {
@@ -186,19 +192,63 @@ public class ESGraphQueryDAO {
     return finalQuery;
   }
 
+  /**
+   * Visits all the edges of the given relationship types with a scroll, which sees the index as of its first page.
+   */
+  public void scrollEdges(@Nonnull Set<String> relationshipTypes, int batchSize, @Nonnull Consumer<Edge> consumer) {
+    final SearchRequest searchRequest = new SearchRequest(indexConvention.getIndexName(INDEX_NAME))
+        .scroll(SCROLL_KEEP_ALIVE)
+        .source(new SearchSourceBuilder().query(QueryBuilders.termsQuery(RELATIONSHIP_TYPE, relationshipTypes))
+            .size(batchSize)
+            .sort("_doc"));
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "scrollEdges").time()) {
+      SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+      String scrollId = response.getScrollId();
+      try {
+        while (response.getHits().getHits().length > 0) {
+          for (SearchHit hit : response.getHits().getHits()) {
+            consumer.accept(toEdge(hit.getSourceAsMap()));
+          }
+          response = client.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE), RequestOptions.DEFAULT);
+          scrollId = response.getScrollId();
+        }
+      } finally {
+        final ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+      }
+    } catch (IOException e) {
+      throw new ESQueryException("Failed to scroll graph edges", e);
+    }
+  }
+
+  private static Edge toEdge(@Nonnull Map<String, Object> document) {
+    final Number createdOn = (Number) document.get(CREATED_ON);
+    final Number updatedOn = (Number) document.get(UPDATED_ON);
+    final String createdActor = (String) document.get(CREATED_ACTOR);
+    final String updatedActor = (String) document.get(UPDATED_ACTOR);
+    return new Edge(
+        UrnUtils.getUrn(((Map<String, Object>) document.get(SOURCE)).get("urn").toString()),
+        UrnUtils.getUrn(((Map<String, Object>) document.get(DESTINATION)).get("urn").toString()),
+        document.get(RELATIONSHIP_TYPE).toString(),
+        createdOn != null ? createdOn.longValue() : null,
+        createdActor != null ? UrnUtils.getUrn(createdActor) : null,
+        updatedOn != null ? updatedOn.longValue() : null,
+        updatedActor != null ? UrnUtils.getUrn(updatedActor) : null,
+        document.get(PROPERTIES) instanceof Map ? (Map<String, Object>) document.get(PROPERTIES) : null);
+  }
+
   @WithSpan
   public LineageResponse getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
       GraphFilters graphFilters, int offset, int count,
       int maxHops, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
-    List<LineageRelationship> result = new ArrayList<>();
     long currentTime = System.currentTimeMillis();
     long remainingTime = graphQueryConfiguration.getTimeoutSeconds() * 1000;
     long timeoutTime = currentTime + remainingTime;
 
-    // Do a Level-order BFS
-    Set<Urn> visitedEntities = ConcurrentHashMap.newKeySet();
-    visitedEntities.add(entityUrn);
-    Map<Urn, UrnArrayArray> existingPaths = new HashMap<>();
+    // Do a Level-order BFS. Visited nodes only keep a pointer to the node they were reached from, paths are rebuilt
+    // for the requested page once the traversal is done.
+    LineageVisitState visitState = new LineageVisitState(entityUrn);
     List<Urn> currentLevel = ImmutableList.of(entityUrn);
 
     for (int i = 0; i < maxHops; i++) {
@@ -213,50 +263,47 @@ public class ESGraphQueryDAO {
       }
 
       // Do one hop on the lineage graph
-      List<LineageRelationship> oneHopRelationships =
-          getLineageRelationshipsInBatches(
+      List<LineageEdge> oneHopEdges =
+          getLineageEdgesInBatches(
               currentLevel,
               direction,
               graphFilters,
-              visitedEntities,
-              i + 1,
+              visitState,
               remainingTime,
-              existingPaths,
               startTimeMillis,
               endTimeMillis);
-      result.addAll(oneHopRelationships);
-      currentLevel = oneHopRelationships.stream().map(LineageRelationship::getEntity).collect(Collectors.toList());
+      currentLevel = visitState.visit(oneHopEdges, i + 1);
       currentTime = System.currentTimeMillis();
       remainingTime = timeoutTime - currentTime;
     }
-    LineageResponse response = new LineageResponse(result.size(), result);
 
+    int total = visitState.size() - 1;
     List<LineageRelationship> subList;
-    if (offset >= response.getTotal()) {
+    if (offset >= total) {
       subList = Collections.emptyList();
     } else {
-      subList = response.getLineageRelationships().subList(offset, Math.min(offset + count, response.getTotal()));
+      subList = visitState.getRelationships(offset + 1, Math.min(offset + count, total) + 1);
     }
 
-    return new LineageResponse(response.getTotal(), subList);
+    return new LineageResponse(total, subList);
   }
 
-  // Get 1-hop lineage relationships asynchronously in batches with timeout
-  @WithSpan
-  public List<LineageRelationship> getLineageRelationshipsInBatches(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<Urn> visitedEntities, int numHops,
-      long remainingTime, Map<Urn, UrnArrayArray> existingPaths, @Nullable Long startTimeMillis,
-      @Nullable Long endTimeMillis) {
+  // Fetch the 1-hop edges of the whole frontier. Batches are queried concurrently and only read the visit state, the
+  // edges they return are applied by the caller in batch order so the traversal stays deterministic.
+  private List<LineageEdge> getLineageEdgesInBatches(@Nonnull List<Urn> entityUrns,
+      @Nonnull LineageDirection direction, GraphFilters graphFilters, @Nonnull LineageVisitState visitState,
+      long remainingTime, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
     List<List<Urn>> batches = Lists.partition(entityUrns, graphQueryConfiguration.getBatchSize());
+    if (batches.size() == 1) {
+      return getLineageEdges(batches.get(0), direction, graphFilters, visitState, startTimeMillis, endTimeMillis);
+    }
     return ConcurrencyUtils.getAllCompleted(batches.stream()
             .map(batchUrns -> CompletableFuture.supplyAsync(
-                () -> getLineageRelationships(
+                () -> getLineageEdges(
                     batchUrns,
                     direction,
                     graphFilters,
-                    visitedEntities,
-                    numHops,
-                    existingPaths,
+                    visitState,
                     startTimeMillis,
                     endTimeMillis)))
             .collect(Collectors.toList()), remainingTime, TimeUnit.MILLISECONDS)
@@ -265,12 +312,11 @@ public class ESGraphQueryDAO {
         .collect(Collectors.toList());
   }
 
-  // Get 1-hop lineage relationships
+  // Get 1-hop lineage edges
   @WithSpan
-  private List<LineageRelationship> getLineageRelationships(@Nonnull List<Urn> entityUrns,
-      @Nonnull LineageDirection direction, GraphFilters graphFilters, Set<Urn> visitedEntities, int numHops,
-      Map<Urn, UrnArrayArray> existingPaths, @Nullable Long startTimeMillis,
-      @Nullable Long endTimeMillis) {
+  private List<LineageEdge> getLineageEdges(@Nonnull List<Urn> entityUrns,
+      @Nonnull LineageDirection direction, GraphFilters graphFilters, @Nonnull LineageVisitState visitState,
+      @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
     Map<String, List<Urn>> urnsPerEntityType = entityUrns.stream().collect(Collectors.groupingBy(Urn::getEntityType));
     Map<String, List<EdgeInfo>> edgesPerEntityType = urnsPerEntityType.keySet()
         .stream()
@@ -292,7 +338,7 @@ public class ESGraphQueryDAO {
         .stream()
         .flatMap(entry -> entry.getValue().stream().map(edgeInfo -> Pair.of(entry.getKey(), edgeInfo)))
         .collect(Collectors.toSet());
-    return extractRelationships(entityUrnSet, response, validEdges, visitedEntities, numHops, existingPaths);
+    return extractEdges(entityUrnSet, response, validEdges, visitState);
   }
 
   // Get search query for given list of edges and source urns
@@ -337,63 +383,12 @@ public class ESGraphQueryDAO {
     return query;
   }
 
-  /**
-   * Adds an individual relationship edge to a running set of unique paths to each node in the graph.
-   *
-   * Specifically, this method updates 'existingPaths', which is a map of an entity urn representing a node in the
-   * lineage graph to the full paths that can be traversed to reach it from a the origin node for which lineage
-   * was requested.
-   *
-   * This method strictly assumes that edges are being added IN ORDER, level-by-level working outwards from the originally
-   * requested source node. If edges are added to the path set in an out of order manner, then the paths to a given node
-   * may be partial / incomplete.
-   *
-   * Note that calling this method twice with the same edge is not safe. It will result in duplicate paths being appended
-   * into the list of paths to the provided child urn.
-   *
-   * @param existingPaths a running set of unique, uni-directional paths to each node in the graph starting from the original root node
-   *                      for which lineage was requested.
-   * @param parentUrn the "parent" node (or source node) in the edge to add. This is a logical source node in a uni-directional path from the source
-   *                  to the destination node. Note that this is NOT always the URN corresponding to the "source" field that is physically stored
-   *                  inside the Graph Store.
-   * @param childUrn the "child" node (or dest node) in the edge to add. This is a logical dest node in a uni-directional path from the
-   *                 source to the destination node. Note that this is NOT always the URN corresponding to the "destination" field that is
-   *                 physically stored inside the Graph Store.
-   */
-  @VisibleForTesting
-  static void addEdgeToPaths(
-      @Nonnull final Map<Urn, UrnArrayArray> existingPaths,
-      @Nonnull final Urn parentUrn,
-      @Nonnull final Urn childUrn) {
-    // Collect all full-paths to this child node. This is what will be returned.
-    UrnArrayArray pathsToParent = existingPaths.get(parentUrn);
-    if (pathsToParent != null && pathsToParent.size() > 0) {
-      // If there are existing paths to this parent node, then we attempt
-      // to append the child to each of the existing paths (lengthen it).
-      // We then store this as a separate, unique path associated with the child.
-      for (final UrnArray pathToParent : pathsToParent) {
-        UrnArray pathToChild = clonePath(pathToParent);
-        pathToChild.add(childUrn);
-        // Save these paths to the global structure for easy access on future iterations.
-        existingPaths.putIfAbsent(childUrn, new UrnArrayArray());
-        existingPaths.get(childUrn).add(pathToChild);
-      }
-    } else {
-      // No existing paths to this parent urn. Let's create a new path to the child!
-      UrnArray pathToChild = new UrnArray();
-      pathToChild.addAll(ImmutableList.of(parentUrn, childUrn));
-      // Save these paths to the global structure for easy access on future iterations.
-      existingPaths.putIfAbsent(childUrn, new UrnArrayArray());
-      existingPaths.get(childUrn).add(pathToChild);
-    }
-  }
-
   // Given set of edges and the search response, extract all valid edges that originate from the input entityUrns
   @WithSpan
-  private static List<LineageRelationship> extractRelationships(@Nonnull Set<Urn> entityUrns,
-      @Nonnull SearchResponse searchResponse, Set<Pair<String, EdgeInfo>> validEdges, Set<Urn> visitedEntities,
-      int numHops, Map<Urn, UrnArrayArray> existingPaths) {
-    final List<LineageRelationship> result = new LinkedList<>();
+  private static List<LineageEdge> extractEdges(@Nonnull Set<Urn> entityUrns,
+      @Nonnull SearchResponse searchResponse, Set<Pair<String, EdgeInfo>> validEdges,
+      @Nonnull LineageVisitState visitState) {
+    final List<LineageEdge> result = new ArrayList<>();
     final SearchHit[] hits = searchResponse.getHits().getHits();
     for (SearchHit hit : hits) {
       final Map<String, Object> document = hit.getSourceAsMap();
@@ -401,6 +396,21 @@ public class ESGraphQueryDAO {
       final Urn destinationUrn =
           UrnUtils.getUrn(((Map<String, Object>) document.get(DESTINATION)).get("urn").toString());
       final String type = document.get(RELATIONSHIP_TYPE).toString();
+
+      // Potential outgoing edge
+      // Skip if already visited
+      // Skip if edge is not a valid outgoing edge
+      final boolean isOutgoing = entityUrns.contains(sourceUrn) && !visitState.isVisited(destinationUrn)
+          && validEdges.contains(Pair.of(sourceUrn.getEntityType(),
+              new EdgeInfo(type, RelationshipDirection.OUTGOING, destinationUrn.getEntityType().toLowerCase())));
+      // Potential incoming edge
+      final boolean isIncoming = entityUrns.contains(destinationUrn) && !visitState.isVisited(sourceUrn)
+          && validEdges.contains(Pair.of(destinationUrn.getEntityType(),
+              new EdgeInfo(type, RelationshipDirection.INCOMING, sourceUrn.getEntityType().toLowerCase())));
+      if (!isOutgoing && !isIncoming) {
+        continue;
+      }
+
       final Number createdOnNumber = (Number) document.getOrDefault(CREATED_ON, null);
       final Long createdOn = createdOnNumber != null ? createdOnNumber.longValue() : null;
       final Number updatedOnNumber = (Number) document.getOrDefault(UPDATED_ON, null);
@@ -417,54 +427,13 @@ public class ESGraphQueryDAO {
       }
       boolean isManual = properties.containsKey(SOURCE) && properties.get(SOURCE).equals("UI");
 
-      // Potential outgoing edge
-      if (entityUrns.contains(sourceUrn)) {
-        // Skip if already visited
-        // Skip if edge is not a valid outgoing edge
-        // TODO: Verify if this honors multiple paths to the same node.
-        if (!visitedEntities.contains(destinationUrn) && validEdges.contains(
-            Pair.of(sourceUrn.getEntityType(),
-                new EdgeInfo(type, RelationshipDirection.OUTGOING, destinationUrn.getEntityType().toLowerCase())))) {
-          visitedEntities.add(destinationUrn);
-          // Append the edge to a set of unique graph paths.
-          addEdgeToPaths(existingPaths, sourceUrn, destinationUrn);
-          final LineageRelationship relationship =
-              createLineageRelationship(
-                  type,
-                  destinationUrn,
-                  numHops,
-                  existingPaths.getOrDefault(destinationUrn, new UrnArrayArray()), // Fetch the paths to the next level entity.
-                  createdOn,
-                  createdActor,
-                  updatedOn,
-                  updatedActor,
-                  isManual);
-          result.add(relationship);
-        }
+      if (isOutgoing) {
+        result.add(new LineageEdge(sourceUrn, destinationUrn, type, createdOn, createdActor, updatedOn, updatedActor,
+            isManual));
       }
-
-      // Potential incoming edge
-      if (entityUrns.contains(destinationUrn)) {
-        // Skip if already visited
-        // Skip if edge is not a valid outgoing edge
-        // TODO: Verify if this honors multiple paths to the same node.
-        if (!visitedEntities.contains(sourceUrn) && validEdges.contains(
-            Pair.of(destinationUrn.getEntityType(), new EdgeInfo(type, RelationshipDirection.INCOMING, sourceUrn.getEntityType().toLowerCase())))) {
-          visitedEntities.add(sourceUrn);
-          // Append the edge to a set of unique graph paths.
-          addEdgeToPaths(existingPaths, destinationUrn, sourceUrn);
-          final LineageRelationship relationship = createLineageRelationship(
-              type,
-              sourceUrn,
-              numHops,
-              existingPaths.getOrDefault(sourceUrn, new UrnArrayArray()), // Fetch the paths to the next level entity.
-              createdOn,
-              createdActor,
-              updatedOn,
-              updatedActor,
-              isManual);
-          result.add(relationship);
-        }
+      if (isIncoming) {
+        result.add(new LineageEdge(destinationUrn, sourceUrn, type, createdOn, createdActor, updatedOn, updatedActor,
+            isManual));
       }
     }
     return result;
@@ -522,14 +491,6 @@ public class ESGraphQueryDAO {
     return incomingEdgeQuery;
   }
 
-  private static UrnArray clonePath(final UrnArray basePath) {
-    try {
-      return basePath.clone();
-    } catch (CloneNotSupportedException e) {
-      throw new RuntimeException(String.format("Failed to clone path %s", basePath), e);
-    }
-  }
-
   private static QueryBuilder buildEntityTypesFilter(@Nonnull List<String> entityTypes, @Nonnull String prefix) {
     return QueryBuilders.termsQuery(prefix + ".entityType", entityTypes.stream().map(Object::toString).collect(Collectors.toList()));
   }
@@ -548,4 +509,110 @@ public class ESGraphQueryDAO {
     int total;
     List<LineageRelationship> lineageRelationships;
   }
+
+  /**
+   * A single hop discovered while traversing the graph, oriented from the node it was reached from to the new node.
+   */
+  @Value
+  static class LineageEdge {
+    Urn parent;
+    Urn child;
+    String type;
+    Long createdOn;
+    Urn createdActor;
+    Long updatedOn;
+    Urn updatedActor;
+    boolean isManual;
+  }
+
+  /**
+   * Nodes visited by a lineage traversal, indexed by a dense integer id assigned in discovery order. Each node only
+   * keeps the id of the node it was first reached from, so the path to a node is rebuilt from the parent pointers when
+   * its relationship is materialized instead of being copied for every edge on the way.
+   *
+   * Lookups may run concurrently with a single writer thread calling {@link #visit(List, int)}.
+   */
+  @VisibleForTesting
+  static class LineageVisitState {
+    private final Map<Urn, Integer> ids = new ConcurrentHashMap<>();
+    private final List<Urn> urns = new ArrayList<>();
+    private final List<LineageEdge> edges = new ArrayList<>();
+    private int[] parents = new int[16];
+    private int[] degrees = new int[16];
+
+    LineageVisitState(@Nonnull Urn root) {
+      add(root, null, -1, 0);
+    }
+
+    boolean isVisited(@Nonnull Urn urn) {
+      return ids.containsKey(urn);
+    }
+
+    int size() {
+      return urns.size();
+    }
+
+    /**
+     * Marks the children of the given edges as visited at the given degree. Edges pointing at an already visited node
+     * are ignored, so the first edge wins. Returns the newly visited urns in discovery order.
+     */
+    List<Urn> visit(@Nonnull List<LineageEdge> hopEdges, int degree) {
+      final List<Urn> visited = new ArrayList<>();
+      for (LineageEdge edge : hopEdges) {
+        final Integer parentId = ids.get(edge.getParent());
+        if (parentId == null || ids.containsKey(edge.getChild())) {
+          continue;
+        }
+        add(edge.getChild(), edge, parentId, degree);
+        visited.add(edge.getChild());
+      }
+      return visited;
+    }
+
+    /**
+     * Builds the relationships for the nodes with ids in [fromId, toId).
+     */
+    List<LineageRelationship> getRelationships(int fromId, int toId) {
+      final List<LineageRelationship> relationships = new ArrayList<>(toId - fromId);
+      for (int id = fromId; id < toId; id++) {
+        relationships.add(getRelationship(id));
+      }
+      return relationships;
+    }
+
+    private LineageRelationship getRelationship(int id) {
+      final LineageEdge edge = edges.get(id);
+      return createLineageRelationship(
+          edge.getType(),
+          edge.getChild(),
+          degrees[id],
+          new UrnArrayArray(ImmutableList.of(getPath(id))),
+          edge.getCreatedOn(),
+          edge.getCreatedActor(),
+          edge.getUpdatedOn(),
+          edge.getUpdatedActor(),
+          edge.isManual());
+    }
+
+    private UrnArray getPath(int id) {
+      final Urn[] path = new Urn[degrees[id] + 1];
+      for (int current = id, index = path.length - 1; index >= 0; current = parents[current], index--) {
+        path[index] = urns.get(current);
+      }
+      return new UrnArray(Arrays.asList(path));
+    }
+
+    private void add(@Nonnull Urn urn, @Nullable LineageEdge edge, int parentId, int degree) {
+      final int id = urns.size();
+      if (id == parents.length) {
+        parents = Arrays.copyOf(parents, id * 2);
+        degrees = Arrays.copyOf(degrees, id * 2);
+      }
+      urns.add(urn);
+      edges.add(edge);
+      parents[id] = parentId;
+      degrees[id] = degree;
+      ids.put(urn, id);
+    }
+  }
 }
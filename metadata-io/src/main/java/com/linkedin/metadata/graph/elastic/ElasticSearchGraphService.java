@@ -40,6 +40,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -62,6 +64,7 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
 
   private static final String DOC_DELIMETER = "--";
   public static final String INDEX_NAME = "graph_service_v1";
+  private static final int SCAN_BATCH_SIZE = 5000;
   private static final Map<String, Object> EMPTY_HASH = new HashMap<>();
 
   private String toDocument(@Nonnull final Edge edge) {
@@ -150,6 +153,11 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
     _graphWriteDAO.deleteDocument(docId);
   }
 
+  @Override
+  public void scanEdges(@Nonnull final Set<String> relationshipTypes, @Nonnull final Consumer<Edge> consumer) {
+    _graphReadDAO.scrollEdges(relationshipTypes, SCAN_BATCH_SIZE, consumer);
+  }
+
   @Nonnull
   public RelatedEntitiesResult findRelatedEntities(
       @Nullable final List<String> sourceTypes,
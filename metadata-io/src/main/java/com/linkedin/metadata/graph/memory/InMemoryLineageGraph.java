@@ -0,0 +1,611 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.UrnArrayArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphFilters;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.graph.LineageRelationshipArray;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.LineageRegistry.EdgeInfo;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Compact in-memory projection of the lineage edges of the graph, answering multi-hop lineage queries without querying
+ * the graph store.
+ *
+ * Urns, entity types, relationship types and actors are interned to int ids, and edges are stored column-wise in
+ * primitive arrays. Edges are indexed by source and by destination in compressed sparse row form: the outgoing edges of
+ * node {@code n} are {@code _outEdges[_outOffsets[n]]} to {@code _outEdges[_outOffsets[n + 1] - 1]}. Edges added since
+ * the index was built are kept in per-node lists and removed edges are tombstoned, until enough of them accumulate for
+ * the index to be rebuilt. Nodes are never removed, they only lose their edges.
+ *
+ * Queries run concurrently, writes are exclusive.
+ */
+public class InMemoryLineageGraph {
+  private static final long NO_TIME = Long.MIN_VALUE;
+  private static final int NO_ACTOR = -1;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MIN_COMPACTION_CHANGES = 10000;
+  private static final String MANUAL_SOURCE = "UI";
+
+  private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+
+  private Interner _urns;
+  private Interner _entityTypes;
+  private Interner _relationshipTypes;
+  private Interner _actors;
+  // Entity type of each node
+  private int[] _nodeTypes;
+
+  // Edge columns, by edge id
+  private int _edgeCount;
+  private int[] _sources;
+  private int[] _destinations;
+  private int[] _types;
+  private long[] _createdOns;
+  private int[] _createdActors;
+  private long[] _updatedOns;
+  private int[] _updatedActors;
+  private BitSet _manual;
+  private BitSet _removed;
+  private int _removedCount;
+
+  // Index of the edges which existed when it was built, over the nodes which existed then
+  private int[] _outOffsets;
+  private int[] _outEdges;
+  private int[] _inOffsets;
+  private int[] _inEdges;
+  // Edges added since the index was built, by node
+  private Map<Integer, List<Integer>> _addedOutEdges;
+  private Map<Integer, List<Integer>> _addedInEdges;
+  private int _addedCount;
+
+  public InMemoryLineageGraph() {
+    reset();
+  }
+
+  /**
+   * Appends an edge read from the graph store, without checking whether it already exists. Appended edges are only
+   * visible once {@link #compact()} is called, which must happen before the graph is used.
+   */
+  void append(@Nonnull Edge edge) {
+    _lock.writeLock().lock();
+    try {
+      final int id = newEdge(internNode(edge.getSource()), internNode(edge.getDestination()),
+          _relationshipTypes.intern(edge.getRelationshipType()));
+      setAttributes(id, edge);
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Adds an edge, or updates its timestamps, actors and properties if it already exists.
+   */
+  public void upsertEdge(@Nonnull Edge edge) {
+    _lock.writeLock().lock();
+    try {
+      final int source = internNode(edge.getSource());
+      final int destination = internNode(edge.getDestination());
+      final int type = _relationshipTypes.intern(edge.getRelationshipType());
+      int id = findEdge(source, destination, type);
+      if (id < 0) {
+        id = newEdge(source, destination, type);
+        _addedOutEdges.computeIfAbsent(source, key -> new ArrayList<>(1)).add(id);
+        _addedInEdges.computeIfAbsent(destination, key -> new ArrayList<>(1)).add(id);
+        _addedCount++;
+      }
+      setAttributes(id, edge);
+      compactIfNeeded();
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  public void removeEdge(@Nonnull Edge edge) {
+    _lock.writeLock().lock();
+    try {
+      final int source = _urns.get(edge.getSource().toString());
+      final int destination = _urns.get(edge.getDestination().toString());
+      final int type = _relationshipTypes.get(edge.getRelationshipType());
+      if (source < 0 || destination < 0 || type < 0) {
+        return;
+      }
+      final int id = findEdge(source, destination, type);
+      if (id >= 0) {
+        removeEdge(id);
+        compactIfNeeded();
+      }
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all the edges of a node.
+   */
+  public void removeNode(@Nonnull Urn urn) {
+    removeEdgesFromNode(urn, null, RelationshipDirection.UNDIRECTED);
+  }
+
+  /**
+   * Removes the edges of a node with the given relationship types, or all of them when no types are given.
+   */
+  public void removeEdgesFromNode(@Nonnull Urn urn, @Nullable Collection<String> relationshipTypes,
+      @Nonnull RelationshipDirection direction) {
+    _lock.writeLock().lock();
+    try {
+      final int node = _urns.get(urn.toString());
+      if (node < 0) {
+        return;
+      }
+      final Set<Integer> types = relationshipTypes == null || relationshipTypes.isEmpty() ? null
+          : _relationshipTypes.getAll(relationshipTypes);
+      final List<Integer> removed = new ArrayList<>();
+      final IntConsumer collector = id -> {
+        if (types == null || types.contains(_types[id])) {
+          removed.add(id);
+        }
+      };
+      if (direction != RelationshipDirection.INCOMING) {
+        forEachEdge(node, true, collector);
+      }
+      if (direction != RelationshipDirection.OUTGOING) {
+        forEachEdge(node, false, collector);
+      }
+      // Self loops are found in both directions
+      removed.stream().distinct().forEach(this::removeEdge);
+      compactIfNeeded();
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    _lock.writeLock().lock();
+    try {
+      reset();
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  public int getNodeCount() {
+    _lock.readLock().lock();
+    try {
+      return _urns.size();
+    } finally {
+      _lock.readLock().unlock();
+    }
+  }
+
+  public int getEdgeCount() {
+    _lock.readLock().lock();
+    try {
+      return _edgeCount - _removedCount;
+    } finally {
+      _lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Traverses the lineage of an entity breadth first, with the same semantics as the traversal of the graph store:
+   * each entity is reached through the first edge found to it, and its relationship carries that edge and the path
+   * followed to it.
+   *
+   * Edges are followed when their relationship type and direction are lineage relationships of the entity they are
+   * followed from in the lineage registry, both of their ends have an allowed entity type, and when a time range is
+   * given, they were created or updated within it, have no timestamps or are manual.
+   */
+  @Nonnull
+  public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
+      @Nonnull LineageRegistry lineageRegistry, @Nonnull GraphFilters graphFilters, int offset, int count,
+      int maxHops, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
+    _lock.readLock().lock();
+    try {
+      final int root = _urns.get(entityUrn.toString());
+      final Traversal traversal = new Traversal(root);
+      if (root >= 0) {
+        final Set<Integer> allowedTypes = graphFilters.getAllowedEntityTypes() == null ? null
+            : _entityTypes.getAll(graphFilters.getAllowedEntityTypes());
+        final boolean filterTime = startTimeMillis != null && endTimeMillis != null;
+        final Map<Integer, List<Hop>> hopsByEntityType = new HashMap<>();
+
+        int[] level = {root};
+        for (int degree = 1; degree <= maxHops && level.length > 0; degree++) {
+          final int hopDegree = degree;
+          final int levelStart = traversal.size();
+          for (int node : level) {
+            if (allowedTypes != null && !allowedTypes.contains(_nodeTypes[node])) {
+              continue;
+            }
+            final List<Hop> hops = hopsByEntityType.computeIfAbsent(_nodeTypes[node],
+                entityType -> getHops(lineageRegistry, _entityTypes.value(entityType), direction));
+            for (Hop hop : hops) {
+              forEachEdge(node, hop.isOutgoing(), id -> {
+                final int other = hop.isOutgoing() ? _destinations[id] : _sources[id];
+                if (_types[id] != hop.getType() || !hop.getOpposingEntityTypes().contains(_nodeTypes[other])
+                    || allowedTypes != null && !allowedTypes.contains(_nodeTypes[other])
+                    || filterTime && !isInTimeRange(id, startTimeMillis, endTimeMillis)) {
+                  return;
+                }
+                traversal.visit(other, node, id, hopDegree);
+              });
+            }
+          }
+          level = traversal.nodesFrom(levelStart);
+        }
+      }
+
+      final int total = traversal.size() - 1;
+      final LineageRelationshipArray relationships = new LineageRelationshipArray();
+      for (int index = offset + 1; index <= Math.min(offset + count, total); index++) {
+        relationships.add(toRelationship(traversal, index));
+      }
+      return new EntityLineageResult().setRelationships(relationships)
+          .setStart(offset)
+          .setCount(count)
+          .setTotal(total);
+    } finally {
+      _lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Edges to follow from entities of the given type, with interned relationship and entity types.
+   */
+  private List<Hop> getHops(LineageRegistry lineageRegistry, String entityType, LineageDirection direction) {
+    final List<Hop> hops = new ArrayList<>();
+    for (EdgeInfo edgeInfo : lineageRegistry.getLineageRelationships(entityType, direction)) {
+      final int type = _relationshipTypes.get(edgeInfo.getType());
+      if (type < 0) {
+        continue;
+      }
+      final Set<Integer> opposingEntityTypes = new HashSet<>();
+      for (int id = 0; id < _entityTypes.size(); id++) {
+        if (_entityTypes.value(id).equalsIgnoreCase(edgeInfo.getOpposingEntityType())) {
+          opposingEntityTypes.add(id);
+        }
+      }
+      hops.add(new Hop(type, edgeInfo.getDirection() == RelationshipDirection.OUTGOING, opposingEntityTypes));
+    }
+    return hops;
+  }
+
+  private boolean isInTimeRange(int id, long startTimeMillis, long endTimeMillis) {
+    final long createdOn = _createdOns[id];
+    final long updatedOn = _updatedOns[id];
+    // Edges without timestamps and manual edges are not filtered
+    if (_manual.get(id) || (createdOn == NO_TIME || createdOn == 0) && (updatedOn == NO_TIME || updatedOn == 0)) {
+      return true;
+    }
+    return createdOn != NO_TIME && createdOn >= startTimeMillis && createdOn <= endTimeMillis
+        || updatedOn != NO_TIME && updatedOn >= startTimeMillis && updatedOn <= endTimeMillis;
+  }
+
+  private LineageRelationship toRelationship(Traversal traversal, int index) {
+    final int id = traversal.getEdge(index);
+    final Urn[] path = new Urn[traversal.getDegree(index) + 1];
+    for (int current = index, position = path.length - 1; position >= 0;
+        current = traversal.getParent(current), position--) {
+      path[position] = UrnUtils.getUrn(_urns.value(traversal.getNode(current)));
+    }
+
+    final LineageRelationship relationship = new LineageRelationship()
+        .setType(_relationshipTypes.value(_types[id]))
+        .setEntity(path[path.length - 1])
+        .setDegree(traversal.getDegree(index))
+        .setPaths(new UrnArrayArray(ImmutableList.of(new UrnArray(Arrays.asList(path)))))
+        .setIsManual(_manual.get(id));
+    if (_createdOns[id] != NO_TIME) {
+      relationship.setCreatedOn(_createdOns[id]);
+    }
+    if (_createdActors[id] != NO_ACTOR) {
+      relationship.setCreatedActor(UrnUtils.getUrn(_actors.value(_createdActors[id])));
+    }
+    if (_updatedOns[id] != NO_TIME) {
+      relationship.setUpdatedOn(_updatedOns[id]);
+    }
+    if (_updatedActors[id] != NO_ACTOR) {
+      relationship.setUpdatedActor(UrnUtils.getUrn(_actors.value(_updatedActors[id])));
+    }
+    return relationship;
+  }
+
+  /**
+   * Calls the consumer with the ids of the live outgoing or incoming edges of a node.
+   */
+  private void forEachEdge(int node, boolean outgoing, IntConsumer consumer) {
+    final int[] offsets = outgoing ? _outOffsets : _inOffsets;
+    final int[] edges = outgoing ? _outEdges : _inEdges;
+    if (node < offsets.length - 1) {
+      for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+        if (!_removed.get(edges[i])) {
+          consumer.accept(edges[i]);
+        }
+      }
+    }
+    final List<Integer> added = (outgoing ? _addedOutEdges : _addedInEdges).get(node);
+    if (added != null) {
+      for (int id : added) {
+        if (!_removed.get(id)) {
+          consumer.accept(id);
+        }
+      }
+    }
+  }
+
+  private int findEdge(int source, int destination, int type) {
+    final int[] found = {-1};
+    forEachEdge(source, true, id -> {
+      if (found[0] < 0 && _destinations[id] == destination && _types[id] == type) {
+        found[0] = id;
+      }
+    });
+    return found[0];
+  }
+
+  private int internNode(@Nonnull Urn urn) {
+    final int node = _urns.intern(urn.toString());
+    if (node == _nodeTypes.length) {
+      _nodeTypes = Arrays.copyOf(_nodeTypes, node * 2);
+    }
+    if (node == _urns.size() - 1) {
+      _nodeTypes[node] = _entityTypes.intern(urn.getEntityType());
+    }
+    return node;
+  }
+
+  private int newEdge(int source, int destination, int type) {
+    final int id = _edgeCount++;
+    if (id == _sources.length) {
+      final int capacity = id * 2;
+      _sources = Arrays.copyOf(_sources, capacity);
+      _destinations = Arrays.copyOf(_destinations, capacity);
+      _types = Arrays.copyOf(_types, capacity);
+      _createdOns = Arrays.copyOf(_createdOns, capacity);
+      _createdActors = Arrays.copyOf(_createdActors, capacity);
+      _updatedOns = Arrays.copyOf(_updatedOns, capacity);
+      _updatedActors = Arrays.copyOf(_updatedActors, capacity);
+    }
+    _sources[id] = source;
+    _destinations[id] = destination;
+    _types[id] = type;
+    return id;
+  }
+
+  private void setAttributes(int id, @Nonnull Edge edge) {
+    _createdOns[id] = edge.getCreatedOn() != null ? edge.getCreatedOn() : NO_TIME;
+    _createdActors[id] = edge.getCreatedActor() != null ? _actors.intern(edge.getCreatedActor().toString()) : NO_ACTOR;
+    _updatedOns[id] = edge.getUpdatedOn() != null ? edge.getUpdatedOn() : NO_TIME;
+    _updatedActors[id] = edge.getUpdatedActor() != null ? _actors.intern(edge.getUpdatedActor().toString()) : NO_ACTOR;
+    _manual.set(id, edge.getProperties() != null && MANUAL_SOURCE.equals(edge.getProperties().get("source")));
+  }
+
+  private void removeEdge(int id) {
+    _removed.set(id);
+    _removedCount++;
+  }
+
+  private void compactIfNeeded() {
+    if (_addedCount + _removedCount > Math.max(MIN_COMPACTION_CHANGES, (_edgeCount - _removedCount) / 8)) {
+      compact();
+    }
+  }
+
+  /**
+   * Drops the removed edges and rebuilds the index over all the remaining ones.
+   */
+  void compact() {
+    _lock.writeLock().lock();
+    try {
+      int live = 0;
+      for (int id = 0; id < _edgeCount; id++) {
+        if (_removed.get(id)) {
+          continue;
+        }
+        if (live != id) {
+          _sources[live] = _sources[id];
+          _destinations[live] = _destinations[id];
+          _types[live] = _types[id];
+          _createdOns[live] = _createdOns[id];
+          _createdActors[live] = _createdActors[id];
+          _updatedOns[live] = _updatedOns[id];
+          _updatedActors[live] = _updatedActors[id];
+          _manual.set(live, _manual.get(id));
+        }
+        live++;
+      }
+      _manual.clear(live, Math.max(live, _edgeCount));
+      _edgeCount = live;
+      _removed.clear();
+      _removedCount = 0;
+
+      _outOffsets = buildOffsets(_sources);
+      _outEdges = buildIndex(_sources, _outOffsets);
+      _inOffsets = buildOffsets(_destinations);
+      _inEdges = buildIndex(_destinations, _inOffsets);
+      _addedOutEdges = new HashMap<>();
+      _addedInEdges = new HashMap<>();
+      _addedCount = 0;
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  private int[] buildOffsets(int[] nodes) {
+    final int[] offsets = new int[_urns.size() + 1];
+    for (int id = 0; id < _edgeCount; id++) {
+      offsets[nodes[id] + 1]++;
+    }
+    for (int node = 0; node < _urns.size(); node++) {
+      offsets[node + 1] += offsets[node];
+    }
+    return offsets;
+  }
+
+  private int[] buildIndex(int[] nodes, int[] offsets) {
+    final int[] index = new int[_edgeCount];
+    final int[] positions = Arrays.copyOf(offsets, offsets.length - 1);
+    for (int id = 0; id < _edgeCount; id++) {
+      index[positions[nodes[id]]++] = id;
+    }
+    return index;
+  }
+
+  private void reset() {
+    _urns = new Interner();
+    _entityTypes = new Interner();
+    _relationshipTypes = new Interner();
+    _actors = new Interner();
+    _nodeTypes = new int[INITIAL_CAPACITY];
+    _edgeCount = 0;
+    _sources = new int[INITIAL_CAPACITY];
+    _destinations = new int[INITIAL_CAPACITY];
+    _types = new int[INITIAL_CAPACITY];
+    _createdOns = new long[INITIAL_CAPACITY];
+    _createdActors = new int[INITIAL_CAPACITY];
+    _updatedOns = new long[INITIAL_CAPACITY];
+    _updatedActors = new int[INITIAL_CAPACITY];
+    _manual = new BitSet();
+    _removed = new BitSet();
+    _removedCount = 0;
+    _outOffsets = new int[]{0};
+    _outEdges = new int[0];
+    _inOffsets = new int[]{0};
+    _inEdges = new int[0];
+    _addedOutEdges = new HashMap<>();
+    _addedInEdges = new HashMap<>();
+    _addedCount = 0;
+  }
+
+  /**
+   * Dense int ids of strings, in insertion order.
+   */
+  private static class Interner {
+    private final Map<String, Integer> _ids = new HashMap<>();
+    private final List<String> _values = new ArrayList<>();
+
+    int intern(@Nonnull String value) {
+      return _ids.computeIfAbsent(value, key -> {
+        _values.add(key);
+        return _values.size() - 1;
+      });
+    }
+
+    int get(@Nonnull String value) {
+      return _ids.getOrDefault(value, -1);
+    }
+
+    Set<Integer> getAll(@Nonnull Collection<String> values) {
+      final Set<Integer> ids = new HashSet<>();
+      for (String value : values) {
+        final Integer id = _ids.get(value);
+        if (id != null) {
+          ids.add(id);
+        }
+      }
+      return ids;
+    }
+
+    String value(int id) {
+      return _values.get(id);
+    }
+
+    int size() {
+      return _values.size();
+    }
+  }
+
+  /**
+   * Lineage relationship followed from entities of a given type.
+   */
+  @lombok.Value
+  private static class Hop {
+    int type;
+    boolean outgoing;
+    Set<Integer> opposingEntityTypes;
+  }
+
+  /**
+   * Nodes reached by a traversal in discovery order, with the node and edge each one was first reached through.
+   */
+  private static class Traversal {
+    private final Map<Integer, Integer> _indexes = new HashMap<>();
+    private int _size;
+    private int[] _nodes = new int[16];
+    private int[] _parents = new int[16];
+    private int[] _edges = new int[16];
+    private int[] _degrees = new int[16];
+
+    Traversal(int root) {
+      add(root, -1, -1, 0);
+    }
+
+    int size() {
+      return _size;
+    }
+
+    void visit(int node, int parentNode, int edge, int degree) {
+      if (!_indexes.containsKey(node)) {
+        add(node, _indexes.get(parentNode), edge, degree);
+      }
+    }
+
+    int[] nodesFrom(int index) {
+      return Arrays.copyOfRange(_nodes, index, _size);
+    }
+
+    int getNode(int index) {
+      return _nodes[index];
+    }
+
+    int getParent(int index) {
+      return _parents[index];
+    }
+
+    int getEdge(int index) {
+      return _edges[index];
+    }
+
+    int getDegree(int index) {
+      return _degrees[index];
+    }
+
+    private void add(int node, int parent, int edge, int degree) {
+      if (_size == _nodes.length) {
+        _nodes = Arrays.copyOf(_nodes, _size * 2);
+        _parents = Arrays.copyOf(_parents, _size * 2);
+        _edges = Arrays.copyOf(_edges, _size * 2);
+        _degrees = Arrays.copyOf(_degrees, _size * 2);
+      }
+      _nodes[_size] = node;
+      _parents[_size] = parent;
+      _edges[_size] = edge;
+      _degrees[_size] = degree;
+      _indexes.put(node, _size);
+      _size++;
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.codahale.metrics.Timer;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphFilters;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.query.filter.RelationshipFilter;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Graph service answering lineage queries from an {@link InMemoryLineageGraph} of the lineage edges of another graph
+ * service, which remains the source of truth and serves all other queries.
+ *
+ * Lineage is served by the wrapped service until the first {@link #rebuild()} completes. Writes go to the wrapped
+ * service first, then to the in-memory graph. The writes made during a rebuild are also buffered and replayed on top of
+ * the edges scanned from the wrapped service, so that the rebuilt graph does not miss the writes the scan did not see.
+ *
+ * The in-memory graph only sees the writes made through this instance: when several instances write to the same graph,
+ * each one must be rebuilt periodically to pick up the writes of the others.
+ */
+@Slf4j
+public class InMemoryLineageGraphService implements GraphService {
+  // Writes made right before a rebuild starts may not be visible to its scan yet, until they are flushed and refreshed
+  private static final long DEFAULT_SETTLE_DELAY_MILLIS = 5000;
+
+  private final GraphService _graphService;
+  private final Set<String> _lineageRelationshipTypes;
+  private final long _settleDelayMillis;
+
+  private final Object _writeLock = new Object();
+  // Writes made since the current rebuild started, null when no rebuild is running
+  private List<Consumer<InMemoryLineageGraph>> _pendingWrites;
+  private volatile InMemoryLineageGraph _graph;
+  private volatile boolean _scanSupported = true;
+
+  public InMemoryLineageGraphService(@Nonnull GraphService graphService) {
+    this(graphService, DEFAULT_SETTLE_DELAY_MILLIS);
+  }
+
+  public InMemoryLineageGraphService(@Nonnull GraphService graphService, long settleDelayMillis) {
+    _graphService = graphService;
+    _lineageRelationshipTypes = graphService.getLineageRegistry().getLineageRelationshipTypes();
+    _settleDelayMillis = settleDelayMillis;
+  }
+
+  /**
+   * Whether lineage is currently served from memory.
+   */
+  public boolean isLoaded() {
+    return _graph != null;
+  }
+
+  /**
+   * Loads the lineage edges of the wrapped service into a new in-memory graph, and swaps it with the current one. The
+   * current graph keeps serving lineage while the new one is loaded.
+   */
+  public synchronized void rebuild() {
+    if (!_scanSupported) {
+      return;
+    }
+    synchronized (_writeLock) {
+      _pendingWrites = new ArrayList<>();
+    }
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "rebuild").time()) {
+      Thread.sleep(_settleDelayMillis);
+      final InMemoryLineageGraph graph = new InMemoryLineageGraph();
+      _graphService.scanEdges(_lineageRelationshipTypes, graph::append);
+      graph.compact();
+      synchronized (_writeLock) {
+        _pendingWrites.forEach(write -> write.accept(graph));
+        _graph = graph;
+      }
+      log.info("Loaded {} lineage edges between {} entities in memory", graph.getEdgeCount(), graph.getNodeCount());
+    } catch (UnsupportedOperationException e) {
+      _scanSupported = false;
+      log.warn("Lineage cannot be served from memory, it is served by {}: {}",
+          _graphService.getClass().getSimpleName(), e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while rebuilding the in-memory lineage graph");
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "rebuild_failed").inc();
+      log.error("Failed to rebuild the in-memory lineage graph, keeping the current one", e);
+    } finally {
+      synchronized (_writeLock) {
+        _pendingWrites = null;
+      }
+    }
+  }
+
+  private void applyWrite(@Nonnull Consumer<InMemoryLineageGraph> write) {
+    synchronized (_writeLock) {
+      if (_pendingWrites != null) {
+        _pendingWrites.add(write);
+      }
+      if (_graph != null) {
+        write.accept(_graph);
+      }
+    }
+  }
+
+  private boolean isLineage(@Nonnull Edge edge) {
+    return _lineageRelationshipTypes.contains(edge.getRelationshipType());
+  }
+
+  @Override
+  public LineageRegistry getLineageRegistry() {
+    return _graphService.getLineageRegistry();
+  }
+
+  @Override
+  public void addEdge(@Nonnull final Edge edge) {
+    _graphService.addEdge(edge);
+    if (isLineage(edge)) {
+      applyWrite(graph -> graph.upsertEdge(edge));
+    }
+  }
+
+  @Override
+  public void upsertEdge(@Nonnull final Edge edge) {
+    _graphService.upsertEdge(edge);
+    if (isLineage(edge)) {
+      applyWrite(graph -> graph.upsertEdge(edge));
+    }
+  }
+
+  @Override
+  public void addEdges(@Nonnull final Collection<Edge> edges) {
+    _graphService.addEdges(edges);
+    applyLineageEdges(edges);
+  }
+
+  @Override
+  public void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    _graphService.upsertEdges(edges);
+    applyLineageEdges(edges);
+  }
+
+  private void applyLineageEdges(@Nonnull final Collection<Edge> edges) {
+    final List<Edge> lineageEdges = edges.stream().filter(this::isLineage).collect(Collectors.toList());
+    if (!lineageEdges.isEmpty()) {
+      applyWrite(graph -> lineageEdges.forEach(graph::upsertEdge));
+    }
+  }
+
+  @Override
+  public void removeEdge(@Nonnull final Edge edge) {
+    _graphService.removeEdge(edge);
+    if (isLineage(edge)) {
+      applyWrite(graph -> graph.removeEdge(edge));
+    }
+  }
+
+  @Override
+  public void scanEdges(@Nonnull final Set<String> relationshipTypes, @Nonnull final Consumer<Edge> consumer) {
+    _graphService.scanEdges(relationshipTypes, consumer);
+  }
+
+  @Nonnull
+  @Override
+  public RelatedEntitiesResult findRelatedEntities(@Nullable final List<String> sourceTypes,
+      @Nonnull final Filter sourceEntityFilter, @Nullable final List<String> destinationTypes,
+      @Nonnull final Filter destinationEntityFilter, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter, final int offset, final int count) {
+    return _graphService.findRelatedEntities(sourceTypes, sourceEntityFilter, destinationTypes,
+        destinationEntityFilter, relationshipTypes, relationshipFilter, offset, count);
+  }
+
+  @Nonnull
+  @Override
+  public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
+      GraphFilters graphFilters, int offset, int count, int maxHops) {
+    return getLineage(entityUrn, direction, graphFilters, offset, count, maxHops, null, null);
+  }
+
+  @Nonnull
+  @Override
+  public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
+      GraphFilters graphFilters, int offset, int count, int maxHops, @Nullable Long startTimeMillis,
+      @Nullable Long endTimeMillis) {
+    final InMemoryLineageGraph graph = _graph;
+    if (graph == null) {
+      return _graphService.getLineage(entityUrn, direction, graphFilters, offset, count, maxHops, startTimeMillis,
+          endTimeMillis);
+    }
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "getLineage_inMemory").time()) {
+      return graph.getLineage(entityUrn, direction, getLineageRegistry(), graphFilters, offset, count, maxHops,
+          startTimeMillis, endTimeMillis);
+    }
+  }
+
+  @Override
+  public void removeNode(@Nonnull final Urn urn) {
+    _graphService.removeNode(urn);
+    applyWrite(graph -> graph.removeNode(urn));
+  }
+
+  @Override
+  public void removeEdgesFromNode(@Nonnull final Urn urn, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter) {
+    _graphService.removeEdgesFromNode(urn, relationshipTypes, relationshipFilter);
+    applyWrite(graph -> graph.removeEdgesFromNode(urn, relationshipTypes, relationshipFilter.getDirection()));
+  }
+
+  @Override
+  public void configure() {
+    _graphService.configure();
+  }
+
+  @Override
+  public void clear() {
+    _graphService.clear();
+    applyWrite(InMemoryLineageGraph::clear);
+  }
+
+  @Override
+  public boolean supportsMultiHop() {
+    return true;
+  }
+}
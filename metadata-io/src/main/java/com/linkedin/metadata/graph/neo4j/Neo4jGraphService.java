@@ -5,6 +5,7 @@ import com.datahub.util.Statement;
 import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.UrnArrayArray;
 import com.linkedin.common.urn.Urn;
@@ -28,12 +29,17 @@ import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -50,6 +56,7 @@ import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.exceptions.Neo4jException;
+import org.neo4j.driver.exceptions.TransientException;
 import org.neo4j.driver.internal.InternalRelationship;
 import org.neo4j.driver.types.Node;
 
@@ -58,9 +65,33 @@ import org.neo4j.driver.types.Node;
 public class Neo4jGraphService implements GraphService {
 
   private static final int MAX_TRANSACTION_RETRY = 3;
+  private static final int DEFAULT_WRITE_BATCH_SIZE = 1000;
+  private static final int DEFAULT_MAX_CONCURRENT_WRITES = 8;
+  private static final String DEADLOCK_DETECTED = "Neo.TransientError.Transaction.DeadlockDetected";
+
+  // Tried in order: the first syntax is supported from Neo4j 4.4 on, the legacy one from 4.1 through 4.4
+  private static final List<String> URN_CONSTRAINT_TEMPLATES = List.of(
+      "CREATE CONSTRAINT IF NOT EXISTS FOR (n:%s) REQUIRE n.urn IS UNIQUE",
+      "CREATE CONSTRAINT IF NOT EXISTS ON (n:%s) ASSERT n.urn IS UNIQUE");
+
+  // Labels and relationship types cannot be parameters, so one statement is needed per combination of them
+  private static final String MERGE_EDGES_TEMPLATE = "UNWIND $rows AS row "
+      + "MERGE (source:%s {urn: row.source}) "
+      + "MERGE (destination:%s {urn: row.destination}) "
+      + "MERGE (source)-[:%s]->(destination) "
+      + "MERGE (%s)-[r:%s]->(%s) "
+      + "SET r += row.properties";
+
   private final LineageRegistry _lineageRegistry;
   private final Driver _driver;
   private SessionConfig _sessionConfig;
+  private final int _writeBatchSize;
+  private final Semaphore _writePermits;
+  // Labels whose nodes have a unique constraint on their urn, which keeps concurrent MERGEs from duplicating nodes
+  private final Set<String> _constrainedLabels = ConcurrentHashMap.newKeySet();
+  // Labels for which the constraint could not be created. Writes merging their nodes run one at a time instead.
+  private final Set<String> _unconstrainedLabels = ConcurrentHashMap.newKeySet();
+  private final Semaphore _unconstrainedWritePermit = new Semaphore(1);
 
   private static final String SOURCE = "source";
   private static final String UI = "UI";
@@ -70,9 +101,16 @@ public class Neo4jGraphService implements GraphService {
   }
 
   public Neo4jGraphService(@Nonnull LineageRegistry lineageRegistry, @Nonnull Driver driver, @Nonnull SessionConfig sessionConfig) {
+    this(lineageRegistry, driver, sessionConfig, DEFAULT_WRITE_BATCH_SIZE, DEFAULT_MAX_CONCURRENT_WRITES);
+  }
+
+  public Neo4jGraphService(@Nonnull LineageRegistry lineageRegistry, @Nonnull Driver driver,
+      @Nonnull SessionConfig sessionConfig, int writeBatchSize, int maxConcurrentWrites) {
     this._lineageRegistry = lineageRegistry;
     this._driver = driver;
     this._sessionConfig = sessionConfig;
+    this._writeBatchSize = writeBatchSize;
+    this._writePermits = new Semaphore(maxConcurrentWrites);
   }
 
   @Override
@@ -82,68 +120,109 @@ public class Neo4jGraphService implements GraphService {
 
   @Override
   public void addEdge(@Nonnull final Edge edge) {
+    addEdges(Collections.singletonList(edge));
+  }
 
-    log.debug(String.format("Adding Edge source: %s, destination: %s, type: %s",
-        edge.getSource(),
-        edge.getDestination(),
-        edge.getRelationshipType()));
-
-    final String sourceType = edge.getSource().getEntityType();
-    final String destinationType = edge.getDestination().getEntityType();
-    final String sourceUrn = edge.getSource().toString();
-    final String destinationUrn = edge.getDestination().toString();
+  /**
+   * Adds edges with one parameterized statement per source type, destination type and relationship type, writing up
+   * to the write batch size of edges per transaction.
+   */
+  @Override
+  public void addEdges(@Nonnull final Collection<Edge> edges) {
+    final Map<String, List<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+    final Set<String> serializedStatements = new HashSet<>();
+    for (Edge edge : edges) {
+      log.debug(String.format("Adding Edge source: %s, destination: %s, type: %s",
+          edge.getSource(),
+          edge.getDestination(),
+          edge.getRelationshipType()));
+
+      final String sourceType = edge.getSource().getEntityType();
+      final String destinationType = edge.getDestination().getEntityType();
+      final boolean sourceConstrained = ensureUrnConstraint(sourceType);
+      final boolean destinationConstrained = ensureUrnConstraint(destinationType);
+      // Extra relationship typename start with r_ for direct-outgoing-downstream/indirect-incoming-upstream relationships
+      final String reverseRelationshipType = "r_" + edge.getRelationshipType();
+      final boolean reversed = isSourceDestReversed(sourceType, edge.getRelationshipType());
+      final String statement = reversed
+          ? String.format(MERGE_EDGES_TEMPLATE, sourceType, destinationType, edge.getRelationshipType(), "destination",
+              reverseRelationshipType, "source")
+          : String.format(MERGE_EDGES_TEMPLATE, sourceType, destinationType, edge.getRelationshipType(), "source",
+              reverseRelationshipType, "destination");
+
+      rowsByStatement.computeIfAbsent(statement, key -> new ArrayList<>()).add(toEdgeRow(edge, reversed));
+      if (!sourceConstrained || !destinationConstrained) {
+        serializedStatements.add(statement);
+      }
+    }
 
-    // Introduce startUrn, endUrn for real source node and destination node without consider direct or indirect pattern match
-    String endUrn = destinationUrn;
-    String startUrn = sourceUrn;
-    String endType = destinationType;
-    String startType = sourceType;
-    // Extra relationship typename start with r_ for direct-outgoing-downstream/indirect-incoming-upstream relationships
-    String reverseRelationshipType = "r_" + edge.getRelationshipType();
+    for (Map.Entry<String, List<Map<String, Object>>> entry : rowsByStatement.entrySet()) {
+      for (List<Map<String, Object>> rows : Lists.partition(entry.getValue(), _writeBatchSize)) {
+        executeStatements(Collections.singletonList(new Statement(entry.getKey(), Map.of("rows", rows))),
+            serializedStatements.contains(entry.getKey()));
+      }
+    }
+  }
 
-    if (isSourceDestReversed(sourceType, edge.getRelationshipType())) {
-      endUrn = sourceUrn;
-      endType = sourceType;
-      startUrn = destinationUrn;
-      startType = destinationType;
+  /**
+   * Creates the unique constraint on the urn of the nodes of a label, the first time nodes of the label are merged.
+   * With it, concurrent MERGEs of the same node, from this or any other instance, wait for each other instead of
+   * creating duplicates.
+   *
+   * @return whether the label is constrained. If the constraint could not be created, e.g. on a Neo4j version which
+   *     supports neither syntax or because of duplicate nodes written before it existed, it is not attempted again and
+   *     writes to the label have to be serialized by the caller.
+   */
+  private boolean ensureUrnConstraint(@Nonnull final String label) {
+    if (_constrainedLabels.contains(label)) {
+      return true;
+    }
+    if (_unconstrainedLabels.contains(label)) {
+      return false;
+    }
+    Neo4jException lastException = null;
+    for (String template : URN_CONSTRAINT_TEMPLATES) {
+      try (Session session = _driver.session(_sessionConfig)) {
+        session.run(String.format(template, label)).consume();
+        _constrainedLabels.add(label);
+        return true;
+      } catch (Neo4jException e) {
+        lastException = e;
+      }
     }
+    // e.g. duplicate nodes written before the constraint existed, which have to be removed by hand
+    log.warn(String.format("Failed to create the unique constraint on the urn of %s nodes, writes of these nodes will "
+        + "not run concurrently", label), lastException);
+    MetricUtils.counter(this.getClass(), "urnConstraintFailure").inc();
+    _unconstrainedLabels.add(label);
+    return false;
+  }
 
-    final List<Statement> statements = new ArrayList<>();
+  @VisibleForTesting
+  boolean isUrnConstrained(@Nonnull final String label) {
+    return _constrainedLabels.contains(label);
+  }
 
-    // Add/Update source & destination node first
-    statements.add(getOrInsertNode(edge.getSource()));
-    statements.add(getOrInsertNode(edge.getDestination()));
+  /**
+   * Row of the merge statement for an edge. Properties are only set on the reverse relationship.
+   */
+  @Nonnull
+  private static Map<String, Object> toEdgeRow(@Nonnull final Edge edge, boolean reversed) {
+    final String sourceUrn = edge.getSource().toString();
+    final String destinationUrn = edge.getDestination().toString();
 
-    // Add/Update relationship
-    final String mergeRelationshipTemplate =
-        "MATCH (source:%s {urn: '%s'}),(destination:%s {urn: '%s'}) MERGE (source)-[r:%s]->(destination) ";
-    String statement = String.format(mergeRelationshipTemplate, sourceType, sourceUrn, destinationType, destinationUrn,
-        edge.getRelationshipType());
-
-    String statementR = String.format(mergeRelationshipTemplate, startType, startUrn, endType, endUrn, reverseRelationshipType);
-
-    // Add/Update relationship properties
-    String setCreatedOnTemplate;
-    String setcreatedActorTemplate;
-    String setupdatedOnTemplate;
-    String setupdatedActorTemplate;
-    String setPropertyTemplate;
-    final StringJoiner propertiesTemplateJoiner = new StringJoiner(", ");
+    final Map<String, Object> properties = new HashMap<>();
     if (edge.getCreatedOn() != null) {
-      setCreatedOnTemplate = String.format("r.createdOn = %s", edge.getCreatedOn());
-      propertiesTemplateJoiner.add(setCreatedOnTemplate);
+      properties.put("createdOn", edge.getCreatedOn());
     }
     if (edge.getCreatedActor() != null) {
-      setcreatedActorTemplate = String.format("r.createdActor = '%s'", edge.getCreatedActor());
-      propertiesTemplateJoiner.add(setcreatedActorTemplate);
+      properties.put("createdActor", edge.getCreatedActor().toString());
     }
     if (edge.getUpdatedOn() != null) {
-      setupdatedOnTemplate = String.format("r.updatedOn = %s", edge.getUpdatedOn());
-      propertiesTemplateJoiner.add(setupdatedOnTemplate);
+      properties.put("updatedOn", edge.getUpdatedOn());
     }
     if (edge.getUpdatedActor() != null) {
-      setupdatedActorTemplate = String.format("r.updatedActor = '%s'", edge.getUpdatedActor());
-      propertiesTemplateJoiner.add(setupdatedActorTemplate);
+      properties.put("updatedActor", edge.getUpdatedActor().toString());
     }
     if (edge.getProperties() != null) {
       for (Map.Entry<String, Object> entry : edge.getProperties().entrySet()) {
@@ -156,8 +235,7 @@ public class Neo4jGraphService implements GraphService {
                   entry.getKey()));
         }
         if (entry.getValue() instanceof String) {
-          setPropertyTemplate = String.format("r.%s = '%s'", entry.getKey(), entry.getValue());
-          propertiesTemplateJoiner.add(setPropertyTemplate);
+          properties.put(entry.getKey(), entry.getValue());
         } else {
           throw new UnsupportedOperationException(String.format(
               "Tried setting properties on graph edge but property value type is not supported. Key: %s, Value: %s ",
@@ -165,15 +243,15 @@ public class Neo4jGraphService implements GraphService {
         }
       }
     }
-    final String setStartEndUrnTemplate = String.format("r.startUrn = '%s', r.endUrn = '%s'", startUrn, endUrn);
-    propertiesTemplateJoiner.add(setStartEndUrnTemplate);
-    if (!StringUtils.isEmpty(propertiesTemplateJoiner.toString())) {
-      statementR = String.format("%s SET %s", statementR, propertiesTemplateJoiner);
-    }
+    // Introduce startUrn, endUrn for real source node and destination node without consider direct or indirect pattern match
+    properties.put("startUrn", reversed ? destinationUrn : sourceUrn);
+    properties.put("endUrn", reversed ? sourceUrn : destinationUrn);
 
-    statements.add(buildStatement(statement, new HashMap<>()));
-    statements.add(buildStatement(statementR, new HashMap<>()));
-    executeStatements(statements);
+    final Map<String, Object> row = new HashMap<>();
+    row.put("source", sourceUrn);
+    row.put("destination", destinationUrn);
+    row.put("properties", properties);
+    return row;
   }
 
   @Override
@@ -181,6 +259,11 @@ public class Neo4jGraphService implements GraphService {
     addEdge(edge);
   }
 
+  @Override
+  public void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    addEdges(edges);
+  }
+
   @Override
   public void removeEdge(final Edge edge) {
     log.debug(
@@ -208,14 +291,14 @@ public class Neo4jGraphService implements GraphService {
     final List<Statement> statements = new ArrayList<>();
 
     // DELETE relationship
-    final String mergeRelationshipTemplate = "MATCH (source:%s {urn: '%s'})-[r:%s]->(destination:%s {urn: '%s'}) DELETE r";
+    final String mergeRelationshipTemplate =
+        "MATCH (source:%s {urn: $source})-[r:%s]->(destination:%s {urn: $destination}) DELETE r";
     final String statement =
-        String.format(mergeRelationshipTemplate, sourceType, sourceUrn, edge.getRelationshipType(), destinationType,
-            destinationUrn);
-    final String statementR = String.format(mergeRelationshipTemplate, startType, startUrn, reverseRelationshipType, endType, endUrn);
+        String.format(mergeRelationshipTemplate, sourceType, edge.getRelationshipType(), destinationType);
+    final String statementR = String.format(mergeRelationshipTemplate, startType, reverseRelationshipType, endType);
 
-    statements.add(buildStatement(statement, new HashMap<>()));
-    statements.add(buildStatement(statementR, new HashMap<>()));
+    statements.add(new Statement(statement, Map.of("source", sourceUrn, "destination", destinationUrn)));
+    statements.add(new Statement(statementR, Map.of("source", startUrn, "destination", endUrn)));
     executeStatements(statements);
   }
 
@@ -534,16 +617,30 @@ public class Neo4jGraphService implements GraphService {
   }
 
   /**
-   * Executes a list of statements with parameters in one transaction.
+   * Executes a list of statements with parameters in one transaction, retried only when it is chosen as the victim of
+   * a deadlock. Up to the maximum number of concurrent writes run at the same time.
    *
    * @param statements List of statements with parameters to be executed in order
    */
-  private synchronized ExecutionResult executeStatements(@Nonnull List<Statement> statements) {
+  private ExecutionResult executeStatements(@Nonnull List<Statement> statements) {
+    return executeStatements(statements, false);
+  }
+
+  /**
+   * @param serialized whether the statements merge nodes of labels without a unique constraint on the urn, in which case
+   *     they run one at a time so that concurrent MERGEs of this instance do not duplicate nodes
+   */
+  private ExecutionResult executeStatements(@Nonnull List<Statement> statements, boolean serialized) {
     int retry = 0;
     final StopWatch stopWatch = new StopWatch();
     stopWatch.start();
     Exception lastException;
-    try (final Session session = _driver.session(_sessionConfig)) {
+    if (serialized) {
+      _unconstrainedWritePermit.acquireUninterruptibly();
+    }
+    _writePermits.acquireUninterruptibly();
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "executeStatements").time();
+        final Session session = _driver.session(_sessionConfig)) {
       do {
         try {
           session.writeTransaction(tx -> {
@@ -554,10 +651,19 @@ public class Neo4jGraphService implements GraphService {
           });
           lastException = null;
           break;
-        } catch (Neo4jException e) {
+        } catch (TransientException e) {
+          if (!DEADLOCK_DETECTED.equals(e.code())) {
+            throw e;
+          }
+          MetricUtils.counter(this.getClass(), "deadlock").inc();
           lastException = e;
         }
       } while (++retry <= MAX_TRANSACTION_RETRY);
+    } finally {
+      _writePermits.release();
+      if (serialized) {
+        _unconstrainedWritePermit.release();
+      }
     }
 
     if (lastException != null) {
@@ -652,22 +758,6 @@ public class Neo4jGraphService implements GraphService {
     return joiner.length() <= 2 ? "" : joiner.toString();
   }
 
-  /**
-   * Gets Node based on Urn, if not exist, creates placeholder node.
-   */
-  @Nonnull
-  private Statement getOrInsertNode(@Nonnull Urn urn) {
-    final String nodeType = urn.getEntityType();
-
-    final String mergeTemplate = "MERGE (node:%s {urn: $urn}) RETURN node";
-    final String statement = String.format(mergeTemplate, nodeType);
-
-    final Map<String, Object> params = new HashMap<>();
-    params.put("urn", urn.toString());
-
-    return buildStatement(statement, params);
-  }
-
   @Override
   public boolean supportsMultiHop() {
     return true;
@@ -1,6 +1,8 @@
 package com.linkedin.metadata.search;
 
 import com.linkedin.metadata.config.cache.SearchLineageCacheConfiguration;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -23,9 +25,11 @@ import com.linkedin.metadata.query.filter.CriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.cache.CachedEntityLineageResult;
+import com.linkedin.metadata.search.cache.SingleFlight;
 import com.linkedin.metadata.search.utils.FilterUtils;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import com.linkedin.metadata.search.utils.SearchUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 
 import java.net.URISyntaxException;
@@ -36,8 +40,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -45,7 +52,6 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
@@ -55,7 +61,6 @@ import static com.linkedin.metadata.Constants.*;
 import static com.linkedin.metadata.search.utils.SearchUtils.applyDefaultSearchFlags;
 
 
-@RequiredArgsConstructor
 @Slf4j
 public class LineageSearchService {
   private static final SearchFlags DEFAULT_SERVICE_SEARCH_FLAGS = new SearchFlags()
@@ -71,7 +76,11 @@ public class LineageSearchService {
   private final boolean cacheEnabled;
   private final SearchLineageCacheConfiguration cacheConfiguration;
 
-  private final ExecutorService cacheRefillExecutor = Executors.newFixedThreadPool(1);
+  private final ThreadPoolExecutor cacheRefillExecutor;
+  // Concurrent cache misses for the same lineage share a single graph traversal
+  private final SingleFlight<EntityLineageResultCacheKey, CachedEntityLineageResult> lineageFlights =
+      new SingleFlight<>("lineage");
+  private final Set<EntityLineageResultCacheKey> pendingRefills = ConcurrentHashMap.newKeySet();
 
   private static final String DEGREE_FILTER = "degree";
   private static final String DEGREE_FILTER_INPUT = "degree.keyword";
@@ -90,6 +99,27 @@ public class LineageSearchService {
       DATA_FLOW_ENTITY_NAME,
       DATA_JOB_ENTITY_NAME);
 
+  public LineageSearchService(SearchService searchService, GraphService graphService, @Nullable Cache cache,
+      boolean cacheEnabled, SearchLineageCacheConfiguration cacheConfiguration) {
+    _searchService = searchService;
+    _graphService = graphService;
+    this.cache = cache;
+    this.cacheEnabled = cacheEnabled;
+    this.cacheConfiguration = cacheConfiguration;
+    this.cacheRefillExecutor = new ThreadPoolExecutor(cacheConfiguration.getRefillThreadCount(),
+        cacheConfiguration.getRefillThreadCount(), 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(cacheConfiguration.getRefillQueueSize()));
+    registerGauge("cacheRefill_queueSize", () -> cacheRefillExecutor.getQueue().size());
+    registerGauge("cacheRefill_activeCount", cacheRefillExecutor::getActiveCount);
+  }
+
+  // Replaces the gauge of any previous instance, which would otherwise keep reporting its own executor
+  private void registerGauge(@Nonnull String name, @Nonnull Gauge<Integer> gauge) {
+    final String metricName = MetricRegistry.name(this.getClass(), name);
+    MetricUtils.get().remove(metricName);
+    MetricUtils.get().register(metricName, gauge);
+  }
+
   /**
    * Gets a list of documents that match given search request that is related to the input entity
    *
@@ -137,7 +167,10 @@ public class LineageSearchService {
 
     EntityLineageResult lineageResult;
     FreshnessStats freshnessStats = new FreshnessStats().setCached(Boolean.FALSE);
-    if (cachedLineageResult == null || finalFlags.isSkipCache()) {
+    if (cachedLineageResult == null && cacheEnabled && !finalFlags.isSkipCache()) {
+      lineageResult = fetchAndCacheLineage(cacheKey, sourceUrn, direction, maxHops, startTimeMillis, endTimeMillis)
+          .getEntityLineageResult();
+    } else if (cachedLineageResult == null || finalFlags.isSkipCache()) {
       lineageResult =
           _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops, startTimeMillis,
               endTimeMillis);
@@ -156,22 +189,34 @@ public class LineageSearchService {
       systemFreshness.put("LineageGraphCache", cachedLineageResult.getTimestamp());
       freshnessStats.setSystemFreshness(systemFreshness);
       // set up cache refill if needed
-      if (System.currentTimeMillis() - cachedLineageResult.getTimestamp() > cacheConfiguration.getTTLMillis()) {
+      if (System.currentTimeMillis() - cachedLineageResult.getTimestamp() > cacheConfiguration.getTTLMillis()
+          && pendingRefills.add(cacheKey)) {
         log.info("Cached lineage entry for: {} is older than one day. Will refill.", sourceUrn);
         Integer finalMaxHops = maxHops;
-        this.cacheRefillExecutor.submit(() -> {
-          log.debug("Cache refill started.");
-          CachedEntityLineageResult reFetchLineageResult = cache.get(cacheKey, CachedEntityLineageResult.class);
-          if (reFetchLineageResult == null || System.currentTimeMillis() - reFetchLineageResult.getTimestamp() > cacheConfiguration.getTTLMillis()
-          ) {
-            // we have to refetch
-            EntityLineageResult result = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, finalMaxHops, startTimeMillis, endTimeMillis);
-            cache.put(cacheKey, result);
-            log.debug("Refilled Cached lineage entry for: {}.", sourceUrn);
-          } else {
-            log.debug("Cache refill not needed. {}", System.currentTimeMillis() - reFetchLineageResult.getTimestamp());
-          }
-        });
+        try {
+          this.cacheRefillExecutor.execute(() -> {
+            try {
+              log.debug("Cache refill started.");
+              CachedEntityLineageResult reFetchLineageResult = cache.get(cacheKey, CachedEntityLineageResult.class);
+              if (reFetchLineageResult == null || System.currentTimeMillis() - reFetchLineageResult.getTimestamp() > cacheConfiguration.getTTLMillis()
+              ) {
+                // we have to refetch
+                fetchAndCacheLineage(cacheKey, sourceUrn, direction, finalMaxHops, startTimeMillis, endTimeMillis);
+                log.debug("Refilled Cached lineage entry for: {}.", sourceUrn);
+              } else {
+                log.debug("Cache refill not needed. {}", System.currentTimeMillis() - reFetchLineageResult.getTimestamp());
+              }
+            } catch (Exception e) {
+              log.warn("Failed to refill cacheKey {}", cacheKey, e);
+            } finally {
+              pendingRefills.remove(cacheKey);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // Refills are best effort, the stale entry keeps being served and a later hit retries
+          MetricUtils.counter(this.getClass(), "cacheRefill_rejected").inc();
+          pendingRefills.remove(cacheKey);
+        }
       }
     }
 
@@ -354,6 +399,26 @@ public class LineageSearchService {
     return finalResult.setFrom(from).setPageSize(size);
   }
 
+  /**
+   * Runs the lineage traversal for the given key and caches it. Concurrent calls for the same key share a single
+   * traversal; each caller decodes its own copy of the shared result, since callers modify the returned lineage.
+   */
+  private CachedEntityLineageResult fetchAndCacheLineage(@Nonnull EntityLineageResultCacheKey cacheKey,
+      @Nonnull Urn sourceUrn, @Nonnull LineageDirection direction, int maxHops, @Nullable Long startTimeMillis,
+      @Nullable Long endTimeMillis) {
+    return lineageFlights.execute(cacheKey, () -> {
+      final CachedEntityLineageResult result = new CachedEntityLineageResult(
+          _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops, startTimeMillis,
+              endTimeMillis), System.currentTimeMillis());
+      try {
+        cache.put(cacheKey, result);
+      } catch (Exception e) {
+        log.warn("Failed to add cacheKey {}", cacheKey, e);
+      }
+      return result;
+    });
+  }
+
   private AggregationMetadata constructAggMetadata(String displayName, String name) {
     return new AggregationMetadata()
         .setDisplayName(displayName)
@@ -578,10 +643,12 @@ public class LineageSearchService {
     EntityLineageResult lineageResult;
     if (cachedLineageResult == null) {
       maxHops = maxHops != null ? maxHops : 1000;
-      lineageResult = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops,
-          startTimeMillis, endTimeMillis);
       if (cacheEnabled) {
-        cache.put(cacheKey, new CachedEntityLineageResult(lineageResult, System.currentTimeMillis()));
+        lineageResult = fetchAndCacheLineage(cacheKey, sourceUrn, direction, maxHops, startTimeMillis, endTimeMillis)
+            .getEntityLineageResult();
+      } else {
+        lineageResult = _graphService.getLineage(sourceUrn, direction, 0, MAX_RELATIONSHIPS, maxHops,
+            startTimeMillis, endTimeMillis);
       }
     } else {
       lineageResult = cachedLineageResult.getEntityLineageResult();
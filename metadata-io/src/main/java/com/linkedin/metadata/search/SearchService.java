@@ -7,6 +7,7 @@ import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.SortCriterion;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
 import com.linkedin.metadata.search.client.CachingEntitySearchService;
+import com.linkedin.metadata.search.client.FanOutSearcher;
 import com.linkedin.metadata.search.ranker.SearchRanker;
 import com.linkedin.metadata.utils.SearchUtil;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
@@ -29,14 +30,26 @@ public class SearchService {
   private final CachingEntitySearchService _cachingEntitySearchService;
   private final EntityDocCountCache _entityDocCountCache;
   private final SearchRanker _searchRanker;
+  // Searches across entities with one query per group of indices when set, instead of a single multi-index query
+  @Nullable
+  private final FanOutSearcher _fanOutSearcher;
 
   public SearchService(
       EntityDocCountCache entityDocCountCache,
       CachingEntitySearchService cachingEntitySearchService,
       SearchRanker searchRanker) {
+    this(entityDocCountCache, cachingEntitySearchService, searchRanker, null);
+  }
+
+  public SearchService(
+      EntityDocCountCache entityDocCountCache,
+      CachingEntitySearchService cachingEntitySearchService,
+      SearchRanker searchRanker,
+      @Nullable FanOutSearcher fanOutSearcher) {
     _cachingEntitySearchService = cachingEntitySearchService;
     _searchRanker = searchRanker;
     _entityDocCountCache = entityDocCountCache;
+    _fanOutSearcher = fanOutSearcher;
   }
 
   public Map<String, Long> docCountPerEntity(@Nonnull List<String> entityNames) {
@@ -119,7 +132,15 @@ public class SearchService {
       // Optimization: If the indices are all empty, return empty result
       return getEmptySearchResult(from, size);
     }
-    SearchResult result = _cachingEntitySearchService.search(nonEmptyEntities, input, postFilters, sortCriterion, from, size, searchFlags, facets);
+    SearchResult result;
+    if (_fanOutSearcher != null && sortCriterion == null) {
+      // Hits sorted on a field cannot be merged across queries, as their sort values are not returned
+      result = _fanOutSearcher.search(nonEmptyEntities, _entityDocCountCache.getEntityDocCount(), input, postFilters,
+          from, size, searchFlags, facets);
+    } else {
+      result = _cachingEntitySearchService.search(nonEmptyEntities, input, postFilters, sortCriterion, from, size,
+          searchFlags, facets);
+    }
     if (facets == null || facets.contains("entity") || facets.contains("_entityType")) {
       Optional<AggregationMetadata> entityTypeAgg = result.getMetadata().getAggregations().stream().filter(
           aggMeta -> aggMeta.getName().equals(INDEX_VIRTUAL_FIELD)).findFirst();
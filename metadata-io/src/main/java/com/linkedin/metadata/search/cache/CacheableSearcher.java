@@ -6,6 +6,7 @@ import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.util.Pair;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,14 +17,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.springframework.cache.Cache;
 
-import static com.datahub.util.RecordUtils.*;
-
 
 /**
  * Wrapper class to allow searching in batches and caching the results.
  */
 @RequiredArgsConstructor
 public class CacheableSearcher<K> {
+  private static final SingleFlight<Pair<String, Object>, CachedRecordTemplate<SearchResult>> SEARCH_FLIGHTS =
+      new SingleFlight<>("searchBatch");
+
   @Nonnull
   private final Cache cache;
   private final int batchSize;
@@ -95,20 +97,23 @@ public class CacheableSearcher<K> {
         if ((searchFlags == null || !searchFlags.isSkipCache())) {
           try (Timer.Context ignored2 = MetricUtils.timer(this.getClass(), "getBatch_cache").time()) {
             Timer.Context cacheAccess = MetricUtils.timer(this.getClass(), "getBatch_cache_access").time();
-            String json = cache.get(cacheKey, String.class);
-            result = json != null ? toRecordTemplate(SearchResult.class, json) : null;
+            result = RecordTemplateCache.get(cache, cacheKey, SearchResult.class);
             cacheAccess.stop();
             if (result == null) {
               Timer.Context cacheMiss = MetricUtils.timer(this.getClass(), "getBatch_cache_miss").time();
-              result = searcher.apply(batch);
-              cache.put(cacheKey, toJsonString(result));
+              // Concurrent misses for the same batch share a single search, each caller decoding its own copy
+              result = SEARCH_FLIGHTS.execute(Pair.of(cache.getName(), cacheKey), () -> {
+                CachedRecordTemplate<SearchResult> cachedResult = CachedRecordTemplate.of(searcher.apply(batch));
+                RecordTemplateCache.put(cache, cacheKey, cachedResult);
+                return cachedResult;
+              }).getRecord();
               cacheMiss.stop();
               MetricUtils.counter(this.getClass(), "getBatch_cache_miss_count").inc();
             }
           }
         } else {
           result = searcher.apply(batch);
-          cache.put(cacheKey, toJsonString(result));
+          RecordTemplateCache.put(cache, cacheKey, result);
         }
       } else {
         result = searcher.apply(batch);
@@ -21,4 +21,8 @@ public class CachedEntityLineageResult implements Serializable {
   public EntityLineageResult getEntityLineageResult() {
     return toRecordTemplate(EntityLineageResult.class, gzipDecompress(entityLineageResult));
   }
+
+  public int getSizeInBytes() {
+    return entityLineageResult.length;
+  }
 }
@@ -0,0 +1,50 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.ProtobufDataCodec;
+import com.linkedin.data.template.RecordTemplate;
+import java.io.IOException;
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import lombok.Data;
+
+import static com.datahub.util.RecordUtils.*;
+
+
+/**
+ * Cache value holding a {@link RecordTemplate} as the binary (protobuf) encoding of its {@link DataMap}.
+ *
+ * The binary form is smaller than the equivalent JSON string and decoding it skips JSON parsing entirely, which keeps
+ * large search pages cheap both to hold on the heap and to serve from the cache.
+ */
+@Data
+public class CachedRecordTemplate<T extends RecordTemplate> implements Serializable {
+  private static final ProtobufDataCodec CODEC = new ProtobufDataCodec();
+
+  private final Class<T> recordClass;
+  private final byte[] bytes;
+
+  @Nonnull
+  public static <T extends RecordTemplate> CachedRecordTemplate<T> of(@Nonnull T record) {
+    @SuppressWarnings("unchecked")
+    final Class<T> recordClass = (Class<T>) record.getClass();
+    try {
+      return new CachedRecordTemplate<>(recordClass, CODEC.mapToBytes(record.data()));
+    } catch (IOException e) {
+      throw new IllegalArgumentException(String.format("Failed to encode %s for caching", recordClass.getSimpleName()), e);
+    }
+  }
+
+  @Nonnull
+  public T getRecord() {
+    try {
+      return toRecordTemplate(recordClass, CODEC.bytesToMap(bytes));
+    } catch (IOException e) {
+      throw new IllegalStateException(String.format("Failed to decode cached %s", recordClass.getSimpleName()), e);
+    }
+  }
+
+  public int getSizeInBytes() {
+    return bytes.length;
+  }
+}
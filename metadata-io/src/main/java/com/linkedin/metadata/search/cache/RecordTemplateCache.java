@@ -0,0 +1,45 @@
+package com.linkedin.metadata.search.cache;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.springframework.cache.Cache;
+
+
+/**
+ * Reads and writes {@link RecordTemplate}s to a Spring {@link Cache} as {@link CachedRecordTemplate}s, recording hit,
+ * miss and entry size metrics per cache name.
+ */
+public class RecordTemplateCache {
+
+  private RecordTemplateCache() {
+  }
+
+  /**
+   * Returns the cached record for the given key, or null on a miss. Values of any other type, such as JSON strings
+   * written by an older version into a shared cache, are treated as misses.
+   */
+  @Nullable
+  public static <T extends RecordTemplate> T get(@Nonnull Cache cache, @Nonnull Object key,
+      @Nonnull Class<T> recordClass) {
+    final Cache.ValueWrapper wrapper = cache.get(key);
+    final Object value = wrapper != null ? wrapper.get() : null;
+    if (value instanceof CachedRecordTemplate && recordClass.equals(((CachedRecordTemplate<?>) value).getRecordClass())) {
+      MetricUtils.counter(RecordTemplateCache.class, cache.getName() + "_hit").inc();
+      return recordClass.cast(((CachedRecordTemplate<?>) value).getRecord());
+    }
+    MetricUtils.counter(RecordTemplateCache.class, cache.getName() + "_miss").inc();
+    return null;
+  }
+
+  public static <T extends RecordTemplate> void put(@Nonnull Cache cache, @Nonnull Object key, @Nonnull T record) {
+    put(cache, key, CachedRecordTemplate.of(record));
+  }
+
+  public static <T extends RecordTemplate> void put(@Nonnull Cache cache, @Nonnull Object key,
+      @Nonnull CachedRecordTemplate<T> value) {
+    MetricUtils.histogram(RecordTemplateCache.class, cache.getName() + "_bytes").update(value.getSizeInBytes());
+    cache.put(key, value);
+  }
+}
@@ -0,0 +1,71 @@
+package com.linkedin.metadata.search.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Deduplicates concurrent computations of the same key, so that callers arriving while a computation is in flight
+ * wait for and share its result instead of starting their own.
+ *
+ * Nothing is retained once a computation completes; this only collapses concurrent cache misses, caching the result
+ * is left to the caller. Shared results must therefore be safe to hand to several callers, e.g. immutable or encoded
+ * values that each caller decodes into its own copy.
+ */
+public class SingleFlight<K, V> {
+  private final String _name;
+  private final ConcurrentMap<K, CompletableFuture<V>> _inFlight = new ConcurrentHashMap<>();
+
+  public SingleFlight(@Nonnull String name) {
+    _name = name;
+  }
+
+  /**
+   * Computes the value for the given key, or waits for the computation already in flight for an equal key.
+   * Exceptions thrown by the computation are rethrown to every waiting caller.
+   */
+  public V execute(@Nonnull K key, @Nonnull Supplier<V> supplier) {
+    final CompletableFuture<V> future = new CompletableFuture<>();
+    final CompletableFuture<V> inFlight = _inFlight.putIfAbsent(key, future);
+    if (inFlight != null) {
+      MetricUtils.counter(SingleFlight.class, _name + "_coalesced").inc();
+      onCoalesced(key);
+      try {
+        return inFlight.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    try {
+      final V value = supplier.get();
+      future.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      _inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Called once a caller is bound to wait for the computation already in flight for the key.
+   */
+  @VisibleForTesting
+  void onCoalesced(@Nonnull K key) {
+  }
+
+  public int inFlightCount() {
+    return _inFlight.size();
+  }
+}
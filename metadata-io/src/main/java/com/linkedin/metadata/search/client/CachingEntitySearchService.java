@@ -10,6 +10,7 @@ import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.cache.CacheableSearcher;
+import com.linkedin.metadata.search.cache.RecordTemplateCache;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import java.util.List;
 import java.util.Optional;
@@ -22,7 +23,6 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 import static com.datahub.util.RecordUtils.toJsonString;
-import static com.datahub.util.RecordUtils.toRecordTemplate;
 
 
 @RequiredArgsConstructor
@@ -176,13 +176,12 @@ public class CachingEntitySearchService {
         try (Timer.Context ignored2 = MetricUtils.timer(this.getClass(), "getCachedAutoCompleteResults_cache").time()) {
           Timer.Context cacheAccess = MetricUtils.timer(this.getClass(), "autocomplete_cache_access").time();
           Object cacheKey = Quintet.with(entityName, input, field, filters != null ? toJsonString(filters) : null, limit);
-          String json = cache.get(cacheKey, String.class);
-          result = json != null ? toRecordTemplate(AutoCompleteResult.class, json) : null;
+          result = RecordTemplateCache.get(cache, cacheKey, AutoCompleteResult.class);
           cacheAccess.stop();
           if (result == null) {
             Timer.Context cacheMiss = MetricUtils.timer(this.getClass(), "autocomplete_cache_miss").time();
             result = getRawAutoCompleteResults(entityName, input, field, filters, limit);
-            cache.put(cacheKey, toJsonString(result));
+            RecordTemplateCache.put(cache, cacheKey, result);
             cacheMiss.stop();
             MetricUtils.counter(this.getClass(), "autocomplete_cache_miss_count").inc();
           }
@@ -211,13 +210,12 @@ public class CachingEntitySearchService {
         try (Timer.Context ignored2 = MetricUtils.timer(this.getClass(), "getCachedBrowseResults_cache").time()) {
           Timer.Context cacheAccess = MetricUtils.timer(this.getClass(), "browse_cache_access").time();
           Object cacheKey = Quintet.with(entityName, path, filters != null ? toJsonString(filters) : null, from, size);
-          String json = cache.get(cacheKey, String.class);
-          result = json != null ? toRecordTemplate(BrowseResult.class, json) : null;
+          result = RecordTemplateCache.get(cache, cacheKey, BrowseResult.class);
           cacheAccess.stop();
           if (result == null) {
             Timer.Context cacheMiss = MetricUtils.timer(this.getClass(), "browse_cache_miss").time();
             result = getRawBrowseResults(entityName, path, filters, from, size);
-            cache.put(cacheKey, toJsonString(result));
+            RecordTemplateCache.put(cache, cacheKey, result);
             cacheMiss.stop();
             MetricUtils.counter(this.getClass(), "browse_cache_miss_count").inc();
           }
@@ -251,13 +249,12 @@ public class CachingEntitySearchService {
             filters != null ? toJsonString(filters) : null,
             sortCriterion != null ? toJsonString(sortCriterion) : null,
             scrollId, size);
-        String json = cache.get(cacheKey, String.class);
-        result = json != null ? toRecordTemplate(ScrollResult.class, json) : null;
+        result = RecordTemplateCache.get(cache, cacheKey, ScrollResult.class);
         cacheAccess.stop();
         if (result == null) {
           Timer.Context cacheMiss = MetricUtils.timer(this.getClass(), "scroll_cache_miss").time();
           result = getRawScrollResults(entities, query, filters, sortCriterion, scrollId, keepAlive, size, isFullText);
-          cache.put(cacheKey, toJsonString(result));
+          RecordTemplateCache.put(cache, cacheKey, result);
           cacheMiss.stop();
           MetricUtils.counter(this.getClass(), "scroll_cache_miss_count").inc();
         }
@@ -0,0 +1,252 @@
+package com.linkedin.metadata.search.client;
+
+import com.codahale.metrics.Timer;
+import com.linkedin.data.template.LongMap;
+import com.linkedin.data.template.SetMode;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.query.SearchFlags;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.AggregationMetadata;
+import com.linkedin.metadata.search.AggregationMetadataArray;
+import com.linkedin.metadata.search.FilterValue;
+import com.linkedin.metadata.search.FilterValueArray;
+import com.linkedin.metadata.search.SearchEntity;
+import com.linkedin.metadata.search.SearchEntityArray;
+import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.SearchResultMetadata;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Searches across entities by running one query per group of entity indices concurrently, so that a slow index only
+ * delays its own group.
+ *
+ * Large indices are queried on their own while small ones are grouped together, up to a number of documents per group.
+ * The groups still running when the deadline expires are left out of the results, and their entities are reported in
+ * {@link SearchResultMetadata#getTimedOutEntities()}. Scores are not comparable between indices, so the hits of each
+ * group are normalized by the best score of the group before being merged.
+ */
+@Slf4j
+public class FanOutSearcher {
+  private final CachingEntitySearchService _cachingEntitySearchService;
+  private final ExecutorService _executorService;
+  private final long _timeoutMillis;
+  private final long _maxGroupDocCount;
+
+  public FanOutSearcher(@Nonnull CachingEntitySearchService cachingEntitySearchService,
+      @Nonnull ExecutorService executorService, long timeoutMillis, long maxGroupDocCount) {
+    _cachingEntitySearchService = cachingEntitySearchService;
+    _executorService = executorService;
+    _timeoutMillis = timeoutMillis;
+    _maxGroupDocCount = maxGroupDocCount;
+  }
+
+  /**
+   * Searches the given entities, grouped by their document counts.
+   *
+   * @param entityNames names of the entities to search
+   * @param docCounts number of documents of each entity, by lower case entity name
+   * @return the merged results of the groups which completed in time
+   */
+  @Nonnull
+  public SearchResult search(@Nonnull List<String> entityNames, @Nonnull Map<String, Long> docCounts,
+      @Nonnull String input, @Nullable Filter postFilters, int from, int size, @Nullable SearchFlags searchFlags,
+      @Nullable List<String> facets) {
+    final List<List<String>> groups = groupEntities(entityNames, docCounts, _maxGroupDocCount);
+    if (groups.size() == 1) {
+      return _cachingEntitySearchService.search(entityNames, input, postFilters, null, from, size, searchFlags, facets);
+    }
+
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "fanOutSearch").time()) {
+      // Each group returns its own first from + size hits, the page is cut after merging them
+      final List<Future<SearchResult>> futures = groups.stream()
+          .map(group -> _executorService.submit(
+              () -> _cachingEntitySearchService.search(group, input, postFilters, null, 0, from + size, searchFlags,
+                  facets)))
+          .collect(Collectors.toList());
+
+      final long deadline = System.currentTimeMillis() + _timeoutMillis;
+      final List<SearchResult> results = new ArrayList<>();
+      final List<String> timedOutEntities = new ArrayList<>();
+      for (int i = 0; i < groups.size(); i++) {
+        try {
+          results.add(futures.get(i).get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+          futures.get(i).cancel(true);
+          MetricUtils.counter(this.getClass(), "fanOutSearch_timeout").inc();
+          log.warn("Search of entities {} timed out after {} ms, returning partial results", groups.get(i),
+              _timeoutMillis);
+          timedOutEntities.addAll(groups.get(i));
+        } catch (ExecutionException e) {
+          futures.forEach(future -> future.cancel(true));
+          throw new RuntimeException("Failed to search entities " + groups.get(i), e.getCause());
+        } catch (InterruptedException e) {
+          futures.forEach(future -> future.cancel(true));
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while searching entities " + entityNames, e);
+        }
+      }
+      return merge(results, timedOutEntities, from, size);
+    }
+  }
+
+  /**
+   * Groups entities so that the documents of each group add up to at most {@code maxGroupDocCount}, largest first.
+   * Entities with more documents than that are searched on their own.
+   */
+  @Nonnull
+  static List<List<String>> groupEntities(@Nonnull List<String> entityNames, @Nonnull Map<String, Long> docCounts,
+      long maxGroupDocCount) {
+    final List<String> bySize = new ArrayList<>(entityNames);
+    bySize.sort(Comparator.comparingLong((String entityName) -> getDocCount(docCounts, entityName)).reversed());
+
+    final List<List<String>> groups = new ArrayList<>();
+    final List<Long> groupDocCounts = new ArrayList<>();
+    for (String entityName : bySize) {
+      final long docCount = getDocCount(docCounts, entityName);
+      int group = 0;
+      while (group < groups.size() && groupDocCounts.get(group) + docCount > maxGroupDocCount) {
+        group++;
+      }
+      if (group == groups.size()) {
+        groups.add(new ArrayList<>());
+        groupDocCounts.add(0L);
+      }
+      groups.get(group).add(entityName);
+      groupDocCounts.set(group, groupDocCounts.get(group) + docCount);
+    }
+    return groups;
+  }
+
+  private static long getDocCount(Map<String, Long> docCounts, String entityName) {
+    return docCounts.getOrDefault(entityName.toLowerCase(), 0L);
+  }
+
+  /**
+   * Merges the hits of the groups by normalized score, and adds up their counts and aggregations.
+   */
+  @Nonnull
+  static SearchResult merge(@Nonnull List<SearchResult> results, @Nonnull List<String> timedOutEntities, int from,
+      int size) {
+    final SearchEntityArray entities = new SearchEntityArray();
+    // Ties go to the earlier group, to keep pages stable
+    final PriorityQueue<HitCursor> cursors = new PriorityQueue<>(
+        Comparator.comparingDouble(HitCursor::normalizedScore).reversed().thenComparingInt(HitCursor::getGroup));
+    for (int group = 0; group < results.size(); group++) {
+      if (!results.get(group).getEntities().isEmpty()) {
+        cursors.add(new HitCursor(group, results.get(group).getEntities()));
+      }
+    }
+    int position = 0;
+    while (!cursors.isEmpty() && position < from + size) {
+      final HitCursor cursor = cursors.poll();
+      if (position >= from) {
+        entities.add(cursor.current());
+      }
+      position++;
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+
+    final SearchResultMetadata metadata = new SearchResultMetadata().setAggregations(mergeAggregations(results));
+    if (!timedOutEntities.isEmpty()) {
+      metadata.setTimedOutEntities(new StringArray(timedOutEntities));
+    }
+    return new SearchResult().setEntities(entities)
+        .setMetadata(metadata)
+        .setFrom(from)
+        .setPageSize(size)
+        .setNumEntities(results.stream().mapToInt(SearchResult::getNumEntities).sum());
+  }
+
+  private static AggregationMetadataArray mergeAggregations(List<SearchResult> results) {
+    final Map<String, AggregationMetadata> aggregations = new LinkedHashMap<>();
+    final Map<String, Map<String, FilterValue>> filterValues = new LinkedHashMap<>();
+    for (SearchResult result : results) {
+      for (AggregationMetadata aggregation : result.getMetadata().getAggregations()) {
+        final AggregationMetadata merged = aggregations.computeIfAbsent(aggregation.getName(),
+            name -> new AggregationMetadata().setName(name)
+                .setDisplayName(aggregation.getDisplayName(), SetMode.IGNORE_NULL)
+                .setAggregations(new LongMap()));
+        aggregation.getAggregations()
+            .forEach((value, count) -> merged.getAggregations().merge(value, count, Long::sum));
+
+        final Map<String, FilterValue> mergedFilterValues =
+            filterValues.computeIfAbsent(aggregation.getName(), name -> new LinkedHashMap<>());
+        for (FilterValue filterValue : aggregation.getFilterValues()) {
+          final FilterValue mergedFilterValue = mergedFilterValues.get(filterValue.getValue());
+          if (mergedFilterValue == null) {
+            mergedFilterValues.put(filterValue.getValue(), new FilterValue().setValue(filterValue.getValue())
+                .setFacetCount(filterValue.getFacetCount())
+                .setEntity(filterValue.getEntity(), SetMode.IGNORE_NULL)
+                .setFiltered(filterValue.isFiltered(), SetMode.IGNORE_NULL));
+          } else {
+            mergedFilterValue.setFacetCount(mergedFilterValue.getFacetCount() + filterValue.getFacetCount());
+            if (Boolean.TRUE.equals(filterValue.isFiltered())) {
+              mergedFilterValue.setFiltered(true);
+            }
+          }
+        }
+      }
+    }
+    aggregations.forEach((name, aggregation) -> aggregation.setFilterValues(new FilterValueArray(
+        filterValues.get(name)
+            .values()
+            .stream()
+            .sorted(Comparator.comparingLong(value -> -value.getFacetCount()))
+            .collect(Collectors.toList()))));
+    return new AggregationMetadataArray(aggregations.values());
+  }
+
+  /**
+   * Position in the score-ordered hits of a group.
+   */
+  private static class HitCursor {
+    private final int _group;
+    private final List<SearchEntity> _hits;
+    private final double _maxScore;
+    private int _position = 0;
+
+    HitCursor(int group, List<SearchEntity> hits) {
+      _group = group;
+      _hits = hits;
+      _maxScore = hits.stream().mapToDouble(HitCursor::score).max().orElse(0);
+    }
+
+    int getGroup() {
+      return _group;
+    }
+
+    SearchEntity current() {
+      return _hits.get(_position);
+    }
+
+    boolean advance() {
+      return ++_position < _hits.size();
+    }
+
+    double normalizedScore() {
+      return _maxScore > 0 ? score(current()) / _maxScore : 0;
+    }
+
+    private static double score(SearchEntity hit) {
+      return hit.hasScore() ? hit.getScore() : 0;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.search.elasticsearch.indexbuilder;
 
+import com.linkedin.metadata.config.search.BuildIndicesConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.google.common.collect.ImmutableMap;
 
@@ -19,6 +20,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -36,6 +41,7 @@ import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
 import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -53,6 +59,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.reindex.AbstractBulkByScrollRequest;
 import org.elasticsearch.index.reindex.ReindexRequest;
 import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.search.SearchHit;
@@ -99,6 +106,10 @@ public class ESIndexBuilder {
 
   private final RetryRegistry retryRegistry;
 
+  private final BuildIndicesConfiguration buildIndicesConfiguration;
+
+  private final ReindexThrottler reindexThrottler;
+
   public ESIndexBuilder(RestHighLevelClient searchClient, int numShards, int numReplicas, int numRetries,
                         int refreshIntervalSeconds, Map<String, Map<String, String>> indexSettingOverrides,
                         boolean enableIndexSettingsReindex, boolean enableIndexMappingsReindex,
@@ -123,6 +134,11 @@ public class ESIndexBuilder {
 
     // Create a RetryRegistry with a custom global configuration
     this.retryRegistry = RetryRegistry.of(config);
+
+    this.buildIndicesConfiguration = Optional.ofNullable(elasticSearchConfiguration.getBuildIndices())
+            .orElseGet(BuildIndicesConfiguration::new);
+    this.reindexThrottler = new ReindexThrottler(searchClient, buildIndicesConfiguration.getReindexRequestsPerSecond(),
+            buildIndicesConfiguration.getReindexMaxWriteQueueSize());
   }
 
   public ReindexConfig buildReindexState(String indexName, Map<String, Object> mappings, Map<String, Object> settings) throws IOException {
@@ -224,6 +240,57 @@ public class ESIndexBuilder {
     }
   }
 
+  /**
+   * Builds the indices, reindexing up to the configured number of them at the same time.
+   */
+  public void buildIndices(List<ReindexConfig> indexStates) throws IOException {
+    List<ReindexConfig> reindexStates = new ArrayList<>();
+    for (ReindexConfig indexState : indexStates) {
+      if (indexState.exists() && indexState.requiresReindex()) {
+        reindexStates.add(indexState);
+      } else {
+        buildIndex(indexState);
+      }
+    }
+    if (reindexStates.isEmpty()) {
+      return;
+    }
+
+    int concurrency = Math.max(1, Math.min(buildIndicesConfiguration.getReindexMaxConcurrency(), reindexStates.size()));
+    log.info("Reindexing {} indices, {} at a time", reindexStates.size(), concurrency);
+    ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Pair<String, Future<?>>> reindexes = new ArrayList<>();
+      for (ReindexConfig indexState : reindexStates) {
+        reindexes.add(Pair.of(indexState.name(), executorService.submit(() -> {
+          buildIndex(indexState);
+          return null;
+        })));
+      }
+
+      // Wait for all the reindexes, so that none is left running, before reporting failures
+      List<String> failedIndices = new ArrayList<>();
+      RuntimeException failure = null;
+      for (Pair<String, Future<?>> reindex : reindexes) {
+        try {
+          reindex.getSecond().get();
+        } catch (ExecutionException e) {
+          log.error("Failed to build index {}", reindex.getFirst(), e.getCause());
+          failedIndices.add(reindex.getFirst());
+          failure = failure == null ? new RuntimeException(e.getCause()) : failure;
+        }
+      }
+      if (failure != null) {
+        throw new RuntimeException(String.format("Failed to build indices %s", failedIndices), failure);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while building indices", e);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
   public String reindexInPlaceAsync(String indexAlias, @Nullable QueryBuilder filterQuery, BatchWriteOperationsOptions options, ReindexConfig config)
       throws Exception {
     GetAliasesResponse aliasesResponse = _searchClient.indices().getAlias(
@@ -239,7 +306,7 @@ public class ESIndexBuilder {
 
     return submitReindex(aliasesResponse.getAliases().keySet().toArray(new String[0]),
         nextIndexName, options.getBatchSize(),
-        TimeValue.timeValueSeconds(options.getTimeoutSeconds()), filterQuery);
+        TimeValue.timeValueSeconds(options.getTimeoutSeconds()), filterQuery, Float.POSITIVE_INFINITY);
   }
 
   private static String getNextIndexName(String base, long startTime) {
@@ -255,21 +322,24 @@ public class ESIndexBuilder {
     final long timeoutAt = startTime + (1000 * 60 * 60 * maxReindexHours);
 
     String tempIndexName = getNextIndexName(indexState.name(), startTime);
+    String parentTaskId = null;
 
     try {
       Optional<TaskInfo> previousTaskInfo = getTaskInfoByHeader(indexState.name());
 
-      String parentTaskId;
       if (previousTaskInfo.isPresent()) {
         log.info("Reindex task {} in progress with description {}. Attempting to continue task from breakpoint.",
                 previousTaskInfo.get().getTaskId(), previousTaskInfo.get().getDescription());
-        parentTaskId = previousTaskInfo.get().getParentTaskId().toString();
+        // Slices of a reindex are the children of its task
+        parentTaskId = previousTaskInfo.get().getParentTaskId().isSet()
+                ? previousTaskInfo.get().getParentTaskId().toString() : previousTaskInfo.get().getTaskId().toString();
         tempIndexName = ESUtils.extractTargetIndex(previousTaskInfo.get().getHeaders().get(ESUtils.OPAQUE_ID_HEADER));
+        reindexThrottler.register(parentTaskId, Float.POSITIVE_INFINITY);
       } else {
         // Create new index
-        createIndex(tempIndexName, indexState);
+        createIndex(tempIndexName, indexState.targetMappings(), getReindexDestinationSettings(indexState));
 
-        parentTaskId = submitReindex(indexState.name(), tempIndexName);
+        parentTaskId = submitThrottledReindex(indexState.name(), tempIndexName);
       }
 
       int reindexCount = 1;
@@ -281,6 +351,7 @@ public class ESIndexBuilder {
       while (System.currentTimeMillis() < timeoutAt) {
         log.info("Task: {} - Reindexing from {} to {} in progress...", parentTaskId, indexState.name(), tempIndexName);
 
+        reindexThrottler.adjust();
         Pair<Long, Long> tempDocumentsCount = getDocumentCounts(indexState.name(), tempIndexName);
         if (!tempDocumentsCount.equals(documentCounts)) {
           documentCountsLastUpdated = System.currentTimeMillis();
@@ -300,7 +371,8 @@ public class ESIndexBuilder {
           if (lastUpdateDelta > (300 * 1000)) {
             if (reindexCount <=  numRetries) {
               log.warn("No change in index count after 5 minutes, re-triggering reindex #{}.", reindexCount);
-              submitReindex(indexState.name(), tempIndexName);
+              reindexThrottler.unregister(parentTaskId);
+              parentTaskId = submitThrottledReindex(indexState.name(), tempIndexName);
               reindexCount = reindexCount + 1;
               documentCountsLastUpdated = System.currentTimeMillis(); // reset timer
             } else {
@@ -315,8 +387,8 @@ public class ESIndexBuilder {
       }
 
       if (!reindexTaskCompleted) {
-        if (elasticSearchConfiguration.getBuildIndices().isAllowDocCountMismatch()
-                && elasticSearchConfiguration.getBuildIndices().isCloneIndices()) {
+        if (buildIndicesConfiguration.isAllowDocCountMismatch()
+                && buildIndicesConfiguration.isCloneIndices()) {
           log.warn("Index: {} - Post-reindex document count is different, source_doc_count: {} reindex_doc_count: {}\n"
                           + "This condition is explicitly ALLOWED, please refer to latest clone if original index is required.",
                   indexState.name(), documentCounts.getFirst(), documentCounts.getSecond());
@@ -328,10 +400,16 @@ public class ESIndexBuilder {
                   documentCounts.getFirst(), documentCounts.getSecond()));
         }
       }
+      // Restore the replicas and the refresh interval of the index before it is swapped in
+      restoreReindexDestinationSettings(tempIndexName, indexState);
     } catch (Throwable e) {
       log.error("Failed to reindex {} to {}: Exception {}", indexState.name(), tempIndexName, e.toString());
       _searchClient.indices().delete(new DeleteIndexRequest().indices(tempIndexName), RequestOptions.DEFAULT);
       throw e;
+    } finally {
+      if (parentTaskId != null) {
+        reindexThrottler.unregister(parentTaskId);
+      }
     }
 
     log.info("Reindex from {} to {} succeeded", indexState.name(), tempIndexName);
@@ -369,13 +447,15 @@ public class ESIndexBuilder {
 
   private String submitReindex(String[] sourceIndices, String destinationIndex,
       int batchSize, @Nullable TimeValue timeout,
-      @Nullable QueryBuilder sourceFilterQuery) throws IOException {
+      @Nullable QueryBuilder sourceFilterQuery, float requestsPerSecond) throws IOException {
     ReindexRequest reindexRequest = new ReindexRequest()
         .setSourceIndices(sourceIndices)
         .setDestIndex(destinationIndex)
         .setMaxRetries(numRetries)
         .setAbortOnVersionConflict(false)
-        .setSourceBatchSize(batchSize);
+        .setSourceBatchSize(batchSize)
+        .setSlices(getReindexSlices())
+        .setRequestsPerSecond(requestsPerSecond);
     if (timeout != null) {
       reindexRequest.setTimeout(timeout);
     }
@@ -389,8 +469,48 @@ public class ESIndexBuilder {
     return reindexTask.getTask();
   }
 
-  private String submitReindex(String sourceIndex, String destinationIndex) throws IOException {
-    return submitReindex(new String[]{sourceIndex}, destinationIndex, 2500, null, null);
+  private String submitThrottledReindex(String sourceIndex, String destinationIndex) throws IOException {
+    float requestsPerSecond = reindexThrottler.nextRequestsPerSecond();
+    String taskId = submitReindex(new String[]{sourceIndex}, destinationIndex, 2500, null, null, requestsPerSecond);
+    reindexThrottler.register(taskId, requestsPerSecond);
+    return taskId;
+  }
+
+  private int getReindexSlices() {
+    String slices = buildIndicesConfiguration.getReindexSlices();
+    if (slices == null || slices.equalsIgnoreCase("auto")) {
+      return AbstractBulkByScrollRequest.AUTO_SLICES;
+    }
+    return Math.max(1, Integer.parseInt(slices));
+  }
+
+  /**
+   * Settings of the index being reindexed into: without replicas, which are copied once it is complete, and without
+   * refreshes, as it is not searched until it is swapped in.
+   */
+  private Map<String, Object> getReindexDestinationSettings(ReindexConfig indexState) {
+    if (!buildIndicesConfiguration.isReindexOptimizeDestination()) {
+      return indexState.targetSettings();
+    }
+    Map<String, Object> indexSettings = new HashMap<>((Map<String, Object>) indexState.targetSettings().get("index"));
+    indexSettings.put("number_of_replicas", 0);
+    indexSettings.put("refresh_interval", "-1");
+    return ImmutableMap.of("index", indexSettings);
+  }
+
+  private void restoreReindexDestinationSettings(String tempIndexName, ReindexConfig indexState) throws IOException {
+    if (!buildIndicesConfiguration.isReindexOptimizeDestination()) {
+      return;
+    }
+    Map<String, Object> targetSettings = (Map<String, Object>) indexState.targetSettings().get("index");
+    Map<String, Object> indexSettings = new HashMap<>();
+    indexSettings.put("index.number_of_replicas", targetSettings.get("number_of_replicas"));
+    indexSettings.put("index.refresh_interval", targetSettings.get("refresh_interval"));
+    boolean ack = _searchClient.indices()
+            .putSettings(new UpdateSettingsRequest(tempIndexName).settings(indexSettings), RequestOptions.DEFAULT)
+            .isAcknowledged();
+    _searchClient.indices().refresh(new RefreshRequest(tempIndexName), RequestOptions.DEFAULT);
+    log.info("Restored index {} settings {}, Acknowledged: {}", tempIndexName, indexSettings, ack);
   }
 
   private Pair<Long, Long> getDocumentCounts(String sourceIndex, String destinationIndex) throws Throwable {
@@ -399,6 +519,10 @@ public class ESIndexBuilder {
     long originalCount = 0;
     long reindexedCount = 0;
     for (int i = 0; i < this.numRetries; i++) {
+      if (buildIndicesConfiguration.isReindexOptimizeDestination()) {
+        // The destination is not refreshed periodically
+        _searchClient.indices().refresh(new RefreshRequest(destinationIndex), RequestOptions.DEFAULT);
+      }
       // Check if reindex succeeded by comparing document counts
       originalCount = retryRegistry.retry("retrySourceIndexCount")
               .executeCheckedSupplier(() -> getCount(sourceIndex));
@@ -463,10 +587,15 @@ public class ESIndexBuilder {
   }
 
   private void createIndex(String indexName, ReindexConfig state) throws IOException {
+    createIndex(indexName, state.targetMappings(), state.targetSettings());
+  }
+
+  private void createIndex(String indexName, Map<String, Object> mappings, Map<String, Object> settings)
+      throws IOException {
     log.info("Index {} does not exist. Creating", indexName);
     CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName);
-    createIndexRequest.mapping(state.targetMappings());
-    createIndexRequest.settings(state.targetSettings());
+    createIndexRequest.mapping(mappings);
+    createIndexRequest.settings(settings);
     _searchClient.indices().create(createIndexRequest, RequestOptions.DEFAULT);
     log.info("Created index {}", indexName);
   }
@@ -0,0 +1,154 @@
+package com.linkedin.metadata.search.elasticsearch.indexbuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.RethrottleRequest;
+import org.elasticsearch.tasks.TaskId;
+
+
+/**
+ * Shares a cluster-wide requests per second budget between the reindex tasks running at the same time.
+ *
+ * The budget is adjusted to the load of the cluster: it is halved when the write thread pool of a node queues more than
+ * the configured number of requests or rejects requests, and grows back in steps of a tenth of its maximum otherwise.
+ * A non-positive maximum disables throttling.
+ */
+@Slf4j
+public class ReindexThrottler {
+  @VisibleForTesting
+  static final long ADJUST_INTERVAL_MILLIS = 30 * 1000;
+  private static final float MIN_BUDGET_FRACTION = 0.1f;
+  private static final float UNTHROTTLED = Float.POSITIVE_INFINITY;
+
+  private final RestHighLevelClient _searchClient;
+  private final float _maxRequestsPerSecond;
+  private final int _maxWriteQueueSize;
+  private final Clock _clock;
+
+  // Reindex task id to its current requests per second
+  private final Map<String, Float> _tasks = new ConcurrentHashMap<>();
+  private float _budget;
+  private long _lastRejected = -1;
+  private long _lastAdjusted = 0;
+
+  public ReindexThrottler(@Nonnull RestHighLevelClient searchClient, float maxRequestsPerSecond,
+      int maxWriteQueueSize) {
+    this(searchClient, maxRequestsPerSecond, maxWriteQueueSize, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  ReindexThrottler(@Nonnull RestHighLevelClient searchClient, float maxRequestsPerSecond, int maxWriteQueueSize,
+      @Nonnull Clock clock) {
+    _searchClient = searchClient;
+    _maxRequestsPerSecond = maxRequestsPerSecond;
+    _maxWriteQueueSize = maxWriteQueueSize;
+    _clock = clock;
+    _budget = maxRequestsPerSecond;
+  }
+
+  public boolean isEnabled() {
+    return _maxRequestsPerSecond > 0;
+  }
+
+  /**
+   * Requests per second of a reindex task about to be submitted, sharing the budget with the running ones.
+   */
+  public synchronized float nextRequestsPerSecond() {
+    return isEnabled() ? _budget / (_tasks.size() + 1) : UNTHROTTLED;
+  }
+
+  public synchronized void register(@Nonnull String taskId, float requestsPerSecond) {
+    if (isEnabled()) {
+      _tasks.put(taskId, requestsPerSecond);
+      rebalance();
+    }
+  }
+
+  public synchronized void unregister(@Nonnull String taskId) {
+    if (_tasks.remove(taskId) != null) {
+      rebalance();
+    }
+  }
+
+  /**
+   * Samples the load of the cluster and rethrottles the running tasks, at most once per adjustment interval.
+   */
+  public synchronized void adjust() {
+    final long now = _clock.millis();
+    if (!isEnabled() || _tasks.isEmpty() || now - _lastAdjusted < ADJUST_INTERVAL_MILLIS) {
+      return;
+    }
+    _lastAdjusted = now;
+
+    final boolean overloaded;
+    try {
+      overloaded = isOverloaded();
+    } catch (IOException e) {
+      log.warn("Failed to sample the cluster load, keeping the reindex budget at {} requests/s", _budget, e);
+      return;
+    }
+    final float previousBudget = _budget;
+    if (overloaded) {
+      _budget = Math.max(_budget / 2, _maxRequestsPerSecond * MIN_BUDGET_FRACTION);
+      MetricUtils.counter(this.getClass(), "reindex_throttled").inc();
+    } else {
+      _budget = Math.min(_budget + _maxRequestsPerSecond * MIN_BUDGET_FRACTION, _maxRequestsPerSecond);
+    }
+    if (_budget != previousBudget) {
+      log.info("Adjusted the reindex budget from {} to {} requests/s for {} tasks", previousBudget, _budget,
+          _tasks.size());
+      rebalance();
+    }
+  }
+
+  private void rebalance() {
+    if (_tasks.isEmpty()) {
+      return;
+    }
+    final float requestsPerSecond = _budget / _tasks.size();
+    for (Map.Entry<String, Float> task : _tasks.entrySet()) {
+      if (task.getValue() == requestsPerSecond) {
+        continue;
+      }
+      try {
+        _searchClient.reindexRethrottle(new RethrottleRequest(new TaskId(task.getKey()), requestsPerSecond),
+            RequestOptions.DEFAULT);
+        task.setValue(requestsPerSecond);
+      } catch (Exception e) {
+        // The task may have completed in the meantime
+        log.warn("Failed to rethrottle reindex task {} to {} requests/s", task.getKey(), requestsPerSecond, e);
+      }
+    }
+  }
+
+  /**
+   * Whether a node queues more write requests than allowed, or rejected write requests since the last sample.
+   */
+  private boolean isOverloaded() throws IOException {
+    final Response response = _searchClient.getLowLevelClient()
+        .performRequest(new Request("GET", "/_nodes/stats/thread_pool?filter_path=nodes.*.thread_pool.write"));
+    final JsonNode nodes = ReindexConfig.OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("nodes");
+
+    int maxQueue = 0;
+    long rejected = 0;
+    for (JsonNode node : nodes) {
+      final JsonNode writePool = node.path("thread_pool").path("write");
+      maxQueue = Math.max(maxQueue, writePool.path("queue").asInt());
+      rejected += writePool.path("rejected").asLong();
+    }
+    final boolean newRejections = _lastRejected >= 0 && rejected > _lastRejected;
+    _lastRejected = rejected;
+    return maxQueue > _maxWriteQueueSize || newRejections;
+  }
+}
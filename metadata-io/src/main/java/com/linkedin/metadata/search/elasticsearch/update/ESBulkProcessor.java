@@ -20,6 +20,8 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.script.Script;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -33,6 +35,7 @@ public class ESBulkProcessor implements Closeable {
     private static final String ES_BATCHES_METRIC = "num_elasticSearch_batches_submitted";
     private static final String ES_DELETE_EXCEPTION_METRIC = "delete_by_query";
     private static final String ES_SUBMIT_DELETE_EXCEPTION_METRIC = "submit_delete_by_query_task";
+    private static final String ES_UPDATE_EXCEPTION_METRIC = "update_by_query";
     private static final String ES_SUBMIT_REINDEX_METRIC = "reindex_submit";
     private static final String ES_REINDEX_SUCCESS_METRIC = "reindex_success";
     private static final String ES_REINDEX_FAILED_METRIC = "reindex_failed";
@@ -149,6 +152,34 @@ public class ESBulkProcessor implements Closeable {
         return Optional.empty();
     }
 
+    public Optional<BulkByScrollResponse> updateByQuery(QueryBuilder queryBuilder, Script script, boolean refresh,
+                                                        String... indices) {
+        UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest()
+                .setQuery(queryBuilder)
+                .setScript(script)
+                .setBatchSize(bulkRequestsLimit)
+                .setMaxRetries(numRetries)
+                .setRetryBackoffInitialTime(TimeValue.timeValueSeconds(retryInterval))
+                .setTimeout(defaultTimeout)
+                .setRefresh(refresh);
+        // count the number of conflicts, but do not abort the operation
+        updateByQueryRequest.setConflicts("proceed");
+        updateByQueryRequest.indices(indices);
+
+        try {
+            // flush pending writes
+            bulkProcessor.flush();
+            final BulkByScrollResponse updateResponse = searchClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            MetricUtils.counter(this.getClass(), ES_WRITES_METRIC).inc(updateResponse.getTotal());
+            return Optional.of(updateResponse);
+        } catch (Exception e) {
+            log.error("ERROR: Failed to update by query. See stacktrace for a more detailed error:", e);
+            MetricUtils.exceptionCounter(ESBulkProcessor.class, ES_UPDATE_EXCEPTION_METRIC, e);
+        }
+
+        return Optional.empty();
+    }
+
     private BulkProcessor toBulkProcessor() {
         return BulkProcessor.builder((request, bulkListener) -> {
                     try {
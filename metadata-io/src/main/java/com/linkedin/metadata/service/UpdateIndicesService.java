@@ -1,7 +1,11 @@
 package com.linkedin.metadata.service;
 
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.InputField;
@@ -27,7 +31,9 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
 import com.linkedin.metadata.search.utils.SearchUtils;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
@@ -35,6 +41,7 @@ import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.timeseries.transformer.TimeseriesAspectTransformer;
 import com.linkedin.metadata.utils.EntityKeyUtils;
 import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.GenericAspect;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
@@ -45,6 +52,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -61,6 +70,11 @@ import static com.linkedin.metadata.search.utils.QueryUtils.*;
 @Slf4j
 public class UpdateIndicesService {
   private static final String DOWNSTREAM_OF = "DownstreamOf";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  static {
+    int maxSize = Integer.parseInt(System.getenv().getOrDefault(INGESTION_MAX_SERIALIZED_STRING_LENGTH, MAX_JACKSON_STRING_SIZE));
+    OBJECT_MAPPER.getFactory().setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(maxSize).build());
+  }
 
   private final GraphService _graphService;
   private final EntitySearchService _entitySearchService;
@@ -68,6 +82,9 @@ public class UpdateIndicesService {
   private final SystemMetadataService _systemMetadataService;
   private final EntityRegistry _entityRegistry;
   private final SearchDocumentTransformer _searchDocumentTransformer;
+  private final IndexWriter _directWriter = new DirectIndexWriter();
+  @Nullable
+  private ESBulkProcessor _bulkProcessor;
 
   @Value("${featureFlags.graphServiceDiffModeEnabled:true}")
   private boolean _graphDiffMode;
@@ -89,6 +106,13 @@ public class UpdateIndicesService {
     _searchDiffMode = searchDiffMode;
   }
 
+  /**
+   * Sets the bulk processor shared by the Elasticsearch backed services, flushed at the end of each batch.
+   */
+  public void setBulkProcessor(@Nullable ESBulkProcessor bulkProcessor) {
+    _bulkProcessor = bulkProcessor;
+  }
+
   public UpdateIndicesService(
       GraphService graphService,
       EntitySearchService entitySearchService,
@@ -124,6 +148,43 @@ public class UpdateIndicesService {
    * @param event the change event to be processed.
    */
   public void handleUpdateChangeEvent(@Nonnull final MetadataChangeLog event) {
+    handleUpdateChangeEvent(event, _directWriter);
+  }
+
+  /**
+   * Processes a batch of {@link MetadataChangeLog} events in order, coalescing the resulting index writes.
+   *
+   * All partial search documents produced for the same urn are merged into a single upsert, graph edge writes are
+   * collapsed to the last operation applied to each edge, and system metadata is written once per aspect. The
+   * coalesced writes are issued at the end of the batch, or before any delete event so that deletes observe the
+   * writes that preceded them. Events that fail are logged and skipped so that they do not fail the whole batch.
+   *
+   * @param events the change events to be processed, in order.
+   */
+  public void handleChangeEvents(@Nonnull final List<MetadataChangeLog> events) {
+    final CoalescingIndexWriter writer = new CoalescingIndexWriter();
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "handleChangeEvents").time()) {
+      for (MetadataChangeLog event : events) {
+        try {
+          if (UPDATE_CHANGE_TYPES.contains(event.getChangeType())) {
+            handleUpdateChangeEvent(event, writer);
+          } else if (event.getChangeType() == ChangeType.DELETE) {
+            writer.flush();
+            handleDeleteChangeEvent(event);
+          }
+        } catch (RuntimeException e) {
+          MetricUtils.counter(this.getClass(), "handleChangeEvents_failure").inc();
+          log.error("Failed to update indices for urn: {}, aspect: {}", event.getEntityUrn(), event.getAspectName(), e);
+        }
+      }
+      writer.flush();
+      if (_bulkProcessor != null) {
+        _bulkProcessor.flush();
+      }
+    }
+  }
+
+  private void handleUpdateChangeEvent(@Nonnull final MetadataChangeLog event, @Nonnull final IndexWriter writer) {
 
     final EntitySpec entitySpec = getEventEntitySpec(event);
     final Urn urn = EntityKeyUtils.getUrnFromLog(event, entitySpec.getKeyAspectSpec());
@@ -158,20 +219,21 @@ public class UpdateIndicesService {
       // Inject into the System Metadata Index when an aspect is non-timeseries only.
       // TODO: Verify whether timeseries aspects can be dropped into System Metadata as well
       // without impacting rollbacks.
-      updateSystemMetadata(event.getSystemMetadata(), urn, aspectSpec, aspect);
+      updateSystemMetadata(writer, event.getSystemMetadata(), urn, aspectSpec, aspect);
     }
 
     // Step 1. For all aspects, attempt to update Search
-    updateSearchService(entitySpec.getName(), urn, aspectSpec, aspect, event.getSystemMetadata(), previousAspect);
+    updateSearchService(writer, entitySpec.getName(), urn, aspectSpec, aspect, event.getSystemMetadata(),
+        previousAspect);
 
     // Step 2. For all aspects, attempt to update Graph
     SystemMetadata systemMetadata = event.getSystemMetadata();
     if (_graphDiffMode && !(_graphService instanceof DgraphGraphService)
         && (systemMetadata == null || systemMetadata.getProperties() == null
         || !Boolean.parseBoolean(systemMetadata.getProperties().get(FORCE_INDEXING_KEY)))) {
-      updateGraphServiceDiff(urn, aspectSpec, previousAspect, aspect, event);
+      updateGraphServiceDiff(writer, urn, aspectSpec, previousAspect, aspect, event);
     } else {
-      updateGraphService(urn, aspectSpec, aspect, event);
+      updateGraphService(writer, urn, aspectSpec, aspect, event);
     }
   }
 
@@ -307,6 +369,7 @@ public class UpdateIndicesService {
    * Process snapshot and update graph index
    */
   private void updateGraphService(
+      @Nonnull final IndexWriter writer,
       @Nonnull final Urn urn,
       @Nonnull final AspectSpec aspectSpec,
       @Nonnull final RecordTemplate aspect,
@@ -321,14 +384,15 @@ public class UpdateIndicesService {
     log.debug("Here's the relationship types found {}", urnToRelationshipTypesBeingAdded);
     if (urnToRelationshipTypesBeingAdded.size() > 0) {
       for (Map.Entry<Urn, Set<String>> entry : urnToRelationshipTypesBeingAdded.entrySet()) {
-        _graphService.removeEdgesFromNode(entry.getKey(), new ArrayList<>(entry.getValue()),
+        writer.removeEdgesFromNode(entry.getKey(), new ArrayList<>(entry.getValue()),
             newRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
       }
-      edgesToAdd.forEach(_graphService::addEdge);
+      edgesToAdd.forEach(writer::addEdge);
     }
   }
 
   private void updateGraphServiceDiff(
+      @Nonnull final IndexWriter writer,
       @Nonnull final Urn urn,
       @Nonnull final AspectSpec aspectSpec,
       @Nullable final RecordTemplate oldAspect,
@@ -366,19 +430,19 @@ public class UpdateIndicesService {
     // Remove any old edges that no longer exist first
     if (subtractiveDifference.size() > 0) {
       log.debug("Removing edges: {}", subtractiveDifference);
-      subtractiveDifference.forEach(_graphService::removeEdge);
+      subtractiveDifference.forEach(writer::removeEdge);
     }
 
     // Then add new edges
     if (additiveDifference.size() > 0) {
       log.debug("Adding edges: {}", additiveDifference);
-      additiveDifference.forEach(_graphService::addEdge);
+      additiveDifference.forEach(writer::addEdge);
     }
 
     // Then update existing edges
     if (mergedEdges.size() > 0) {
       log.debug("Updating edges: {}", mergedEdges);
-      mergedEdges.forEach(_graphService::upsertEdge);
+      mergedEdges.forEach(writer::upsertEdge);
     }
   }
 
@@ -405,7 +469,7 @@ public class UpdateIndicesService {
   /**
    * Process snapshot and update search index
    */
-  private void updateSearchService(String entityName, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
+  private void updateSearchService(IndexWriter writer, String entityName, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
       @Nullable SystemMetadata systemMetadata, @Nullable RecordTemplate previousAspect) {
     Optional<String> searchDocument;
     Optional<String> previousSearchDocument = Optional.empty();
@@ -448,7 +512,7 @@ public class UpdateIndicesService {
       }
     }
 
-    _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId.get());
+    writer.upsertSearchDocument(entityName, searchDocument.get(), docId.get());
   }
 
   /**
@@ -468,12 +532,13 @@ public class UpdateIndicesService {
     });
   }
 
-  private void updateSystemMetadata(SystemMetadata systemMetadata, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect) {
-    _systemMetadataService.insert(systemMetadata, urn.toString(), aspectSpec.getName());
+  private void updateSystemMetadata(IndexWriter writer, SystemMetadata systemMetadata, Urn urn, AspectSpec aspectSpec,
+      RecordTemplate aspect) {
+    writer.insertSystemMetadata(systemMetadata, urn.toString(), aspectSpec.getName());
 
     // If processing status aspect update all aspects for this urn to removed
     if (aspectSpec.getName().equals(Constants.STATUS_ASPECT_NAME)) {
-      _systemMetadataService.setDocStatus(urn.toString(), ((Status) aspect).isRemoved());
+      writer.setDocStatus(urn.toString(), ((Status) aspect).isRemoved());
     }
   }
 
@@ -551,4 +616,228 @@ public class UpdateIndicesService {
               event.getEntityType()));
     }
   }
+
+  /**
+   * Destination of the index writes produced while processing change events.
+   */
+  private interface IndexWriter {
+    void upsertSearchDocument(@Nonnull String entityName, @Nonnull String document, @Nonnull String docId);
+
+    void addEdge(@Nonnull Edge edge);
+
+    void removeEdge(@Nonnull Edge edge);
+
+    void upsertEdge(@Nonnull Edge edge);
+
+    void removeEdgesFromNode(@Nonnull Urn urn, @Nonnull List<String> relationshipTypes,
+        @Nonnull RelationshipFilter relationshipFilter);
+
+    void insertSystemMetadata(@Nullable SystemMetadata systemMetadata, @Nonnull String urn, @Nonnull String aspectName);
+
+    void setDocStatus(@Nonnull String urn, boolean removed);
+  }
+
+  /**
+   * Writes straight through to the underlying services.
+   */
+  private class DirectIndexWriter implements IndexWriter {
+    @Override
+    public void upsertSearchDocument(@Nonnull String entityName, @Nonnull String document, @Nonnull String docId) {
+      _entitySearchService.upsertDocument(entityName, document, docId);
+    }
+
+    @Override
+    public void addEdge(@Nonnull Edge edge) {
+      _graphService.addEdge(edge);
+    }
+
+    @Override
+    public void removeEdge(@Nonnull Edge edge) {
+      _graphService.removeEdge(edge);
+    }
+
+    @Override
+    public void upsertEdge(@Nonnull Edge edge) {
+      _graphService.upsertEdge(edge);
+    }
+
+    @Override
+    public void removeEdgesFromNode(@Nonnull Urn urn, @Nonnull List<String> relationshipTypes,
+        @Nonnull RelationshipFilter relationshipFilter) {
+      _graphService.removeEdgesFromNode(urn, relationshipTypes, relationshipFilter);
+    }
+
+    @Override
+    public void insertSystemMetadata(@Nullable SystemMetadata systemMetadata, @Nonnull String urn,
+        @Nonnull String aspectName) {
+      _systemMetadataService.insert(systemMetadata, urn, aspectName);
+    }
+
+    @Override
+    public void setDocStatus(@Nonnull String urn, boolean removed) {
+      _systemMetadataService.setDocStatus(urn, removed);
+    }
+  }
+
+  private enum EdgeOperation {
+    ADD, REMOVE, UPSERT
+  }
+
+  /**
+   * Buffers writes and coalesces them per document until {@link #flush()} is called.
+   *
+   * Search documents for the same urn are deep merged, mirroring how Elasticsearch merges partial document updates.
+   * For graph edges and system metadata only the last write to a given edge or aspect is kept. A status change of an urn
+   * is issued before any later system metadata write of the same urn, so that it only marks the aspects preceding it.
+   */
+  private class CoalescingIndexWriter implements IndexWriter {
+    private final Map<Pair<String, String>, ObjectNode> _searchDocuments = new LinkedHashMap<>();
+    private final Map<Edge, Pair<EdgeOperation, Edge>> _edges = new LinkedHashMap<>();
+    private final Map<Pair<String, String>, SystemMetadata> _systemMetadata = new LinkedHashMap<>();
+    private final Map<String, Boolean> _docStatus = new LinkedHashMap<>();
+    private int _bufferedWrites = 0;
+
+    @Override
+    public void upsertSearchDocument(@Nonnull String entityName, @Nonnull String document, @Nonnull String docId) {
+      _bufferedWrites++;
+      final Pair<String, String> key = Pair.of(entityName, docId);
+      final ObjectNode partialDocument;
+      try {
+        partialDocument = (ObjectNode) OBJECT_MAPPER.readTree(document);
+      } catch (JsonProcessingException | ClassCastException e) {
+        log.warn("Failed to parse search document for {}, writing it without coalescing", docId, e);
+        final ObjectNode pending = _searchDocuments.remove(key);
+        if (pending != null) {
+          _entitySearchService.upsertDocument(entityName, pending.toString(), docId);
+        }
+        _entitySearchService.upsertDocument(entityName, document, docId);
+        return;
+      }
+      final ObjectNode pending = _searchDocuments.get(key);
+      if (pending == null) {
+        _searchDocuments.put(key, partialDocument);
+      } else {
+        mergeDocuments(pending, partialDocument);
+      }
+    }
+
+    @Override
+    public void addEdge(@Nonnull Edge edge) {
+      bufferEdge(EdgeOperation.ADD, edge);
+    }
+
+    @Override
+    public void removeEdge(@Nonnull Edge edge) {
+      bufferEdge(EdgeOperation.REMOVE, edge);
+    }
+
+    @Override
+    public void upsertEdge(@Nonnull Edge edge) {
+      bufferEdge(EdgeOperation.UPSERT, edge);
+    }
+
+    @Override
+    public void removeEdgesFromNode(@Nonnull Urn urn, @Nonnull List<String> relationshipTypes,
+        @Nonnull RelationshipFilter relationshipFilter) {
+      // Buffered writes to the outgoing edges being removed are superseded by the removal
+      if (relationshipFilter.getDirection() == RelationshipDirection.OUTGOING) {
+        _edges.keySet().removeIf(edge -> urn.equals(edge.getSource())
+            && relationshipTypes.contains(edge.getRelationshipType()));
+      }
+      _graphService.removeEdgesFromNode(urn, relationshipTypes, relationshipFilter);
+    }
+
+    @Override
+    public void insertSystemMetadata(@Nullable SystemMetadata systemMetadata, @Nonnull String urn,
+        @Nonnull String aspectName) {
+      if (systemMetadata == null) {
+        return;
+      }
+      // A status change only applies to the aspects written before it, so it must be issued before this write
+      if (_docStatus.containsKey(urn)) {
+        flushSystemMetadata(urn);
+      }
+      _bufferedWrites++;
+      _systemMetadata.put(Pair.of(urn, aspectName), systemMetadata);
+    }
+
+    @Override
+    public void setDocStatus(@Nonnull String urn, boolean removed) {
+      _bufferedWrites++;
+      _docStatus.put(urn, removed);
+    }
+
+    /**
+     * Issues the buffered system metadata of an urn followed by its buffered status change.
+     */
+    private void flushSystemMetadata(@Nonnull String urn) {
+      final Iterator<Map.Entry<Pair<String, String>, SystemMetadata>> iterator = _systemMetadata.entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<Pair<String, String>, SystemMetadata> entry = iterator.next();
+        if (urn.equals(entry.getKey().getFirst())) {
+          _systemMetadataService.insert(entry.getValue(), urn, entry.getKey().getSecond());
+          iterator.remove();
+          _bufferedWrites--;
+        }
+      }
+      _systemMetadataService.setDocStatus(urn, _docStatus.remove(urn));
+      _bufferedWrites--;
+    }
+
+    private void bufferEdge(@Nonnull EdgeOperation operation, @Nonnull Edge edge) {
+      _bufferedWrites++;
+      _edges.put(edge, Pair.of(operation, edge));
+    }
+
+    private List<Edge> getBufferedEdges(@Nonnull EdgeOperation operation) {
+      return _edges.values()
+          .stream()
+          .filter(write -> write.getFirst() == operation)
+          .map(Pair::getSecond)
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * Issues all buffered writes to the underlying services.
+     */
+    void flush() {
+      final int coalescedWrites = _searchDocuments.size() + _edges.size() + _systemMetadata.size() + _docStatus.size();
+      MetricUtils.counter(UpdateIndicesService.class, "coalesced_index_writes").inc(_bufferedWrites - coalescedWrites);
+
+      // Remove edges first, then add and update, as for a single event
+      getBufferedEdges(EdgeOperation.REMOVE).forEach(_graphService::removeEdge);
+      final List<Edge> addedEdges = getBufferedEdges(EdgeOperation.ADD);
+      if (!addedEdges.isEmpty()) {
+        _graphService.addEdges(addedEdges);
+      }
+      final List<Edge> upsertedEdges = getBufferedEdges(EdgeOperation.UPSERT);
+      if (!upsertedEdges.isEmpty()) {
+        _graphService.upsertEdges(upsertedEdges);
+      }
+
+      _searchDocuments.forEach((key, document) ->
+          _entitySearchService.upsertDocument(key.getFirst(), document.toString(), key.getSecond()));
+
+      _systemMetadata.forEach((key, systemMetadata) ->
+          _systemMetadataService.insert(systemMetadata, key.getFirst(), key.getSecond()));
+      _docStatus.forEach(_systemMetadataService::setDocStatus);
+
+      _searchDocuments.clear();
+      _edges.clear();
+      _systemMetadata.clear();
+      _docStatus.clear();
+      _bufferedWrites = 0;
+    }
+  }
+
+  private static void mergeDocuments(@Nonnull final ObjectNode target, @Nonnull final ObjectNode update) {
+    update.fields().forEachRemaining(field -> {
+      final JsonNode existing = target.get(field.getKey());
+      if (existing instanceof ObjectNode && field.getValue() instanceof ObjectNode) {
+        mergeDocuments((ObjectNode) existing, (ObjectNode) field.getValue());
+      } else {
+        target.set(field.getKey(), field.getValue());
+      }
+    });
+  }
 }
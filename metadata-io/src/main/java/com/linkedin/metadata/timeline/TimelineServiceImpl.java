@@ -4,17 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.diff.JsonDiff;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.EntityAspectIdentifier;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.ChangeTransactionPage;
 import com.linkedin.metadata.timeline.data.SemanticChangeType;
 import com.linkedin.metadata.timeline.eventgenerator.DatasetPropertiesChangeEventGenerator;
 import com.linkedin.metadata.timeline.eventgenerator.EditableDatasetPropertiesChangeEventGenerator;
@@ -39,9 +43,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
 import org.apache.commons.collections.CollectionUtils;
 
 import static com.linkedin.common.urn.VersionedUrnUtils.*;
@@ -55,17 +60,33 @@ public class TimelineServiceImpl implements TimelineService {
     int maxSize = Integer.parseInt(System.getenv().getOrDefault(INGESTION_MAX_SERIALIZED_STRING_LENGTH, MAX_JACKSON_STRING_SIZE));
     OBJECT_MAPPER.getFactory().setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(maxSize).build());
   }
-  private static final long FIRST_TRANSACTION_ID = 0;
   private static final String BUILD_VALUE_COMPUTED = "computed";
+  private static final String CURSOR_DELIMITER = ":";
+  private static final long DEFAULT_DIFF_CACHE_SIZE = 10000;
+  private static final int DEFAULT_VALUE_BATCH_SIZE = 100;
+  // Order of the versions in a timeline. Version 0 is the latest version of an aspect, so it comes last.
+  private static final Comparator<EntityAspect> TIME_ORDER = Comparator.comparing(EntityAspect::getCreatedOn)
+      .thenComparing(EntityAspect::getAspect)
+      .thenComparing(aspect -> aspect.getVersion() == 0L ? Long.MAX_VALUE : aspect.getVersion());
 
   private final AspectDao _aspectDao;
   private final EntityChangeEventGeneratorFactory _entityChangeEventGeneratorFactory;
   private final EntityRegistry _entityRegistry;
   private final HashMap<String, HashMap<ChangeCategory, Set<String>>> entityTypeElementAspectRegistry = new HashMap<>();
+  // Change transactions computed between two versions of an aspect, for a change category
+  private final Cache<DiffKey, List<ChangeTransaction>> _diffCache;
+  private final int _valueBatchSize;
 
   public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry) {
+    this(aspectDao, entityRegistry, DEFAULT_DIFF_CACHE_SIZE, DEFAULT_VALUE_BATCH_SIZE);
+  }
+
+  public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry, long diffCacheSize,
+      int valueBatchSize) {
     this._aspectDao = aspectDao;
     _entityRegistry = entityRegistry;
+    _diffCache = Caffeine.newBuilder().maximumSize(diffCacheSize).build();
+    _valueBatchSize = valueBatchSize;
 
     // TODO: Simplify this structure.
     // TODO: Load up from yaml file
@@ -176,6 +197,23 @@ public class TimelineServiceImpl implements TimelineService {
   public List<ChangeTransaction> getTimeline(@Nonnull final Urn urn, @Nonnull final Set<ChangeCategory> elementNames,
       long startTimeMillis, long endTimeMillis, String startVersionStamp, String endVersionStamp,
       boolean rawDiffRequested) {
+    return getTimelinePage(urn, elementNames, startTimeMillis, endTimeMillis, startVersionStamp, endVersionStamp,
+        rawDiffRequested, null, Integer.MAX_VALUE).getChangeTransactions();
+  }
+
+  /**
+   * Computes the timeline as a stream: only the keys of the versions in range are read upfront, their values are then
+   * read in batches, in time order, and each version is diffed against the previous one of its aspect as it arrives.
+   * Memory is therefore bounded by the batch size and the page size, rather than by the size of all the versions.
+   *
+   * Resuming from a cursor replays the keys up to the cursor, without reading their values, to rebuild the version
+   * stamps and the previous value of each aspect.
+   */
+  @Nonnull
+  @Override
+  public ChangeTransactionPage getTimelinePage(@Nonnull final Urn urn, @Nonnull final Set<ChangeCategory> elementNames,
+      long startTimeMillis, long endTimeMillis, String startVersionStamp, String endVersionStamp,
+      boolean rawDiffRequested, @Nullable String cursor, int count) {
 
     Set<String> aspectNames = getAspectsFromElements(urn.getEntityType(), elementNames);
 
@@ -183,6 +221,9 @@ public class TimelineServiceImpl implements TimelineService {
     if (startVersionStamp != null && startTimeMillis != 0) {
       throw new IllegalArgumentException("Cannot specify both VersionStamp start and timestamp start");
     }
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be positive");
+    }
 
     if (endTimeMillis == 0) {
       endTimeMillis = System.currentTimeMillis();
@@ -199,85 +240,142 @@ public class TimelineServiceImpl implements TimelineService {
         .filter(aspectSpec -> !aspectSpec.isTimeseries())
         .map(AspectSpec::getName)
         .collect(Collectors.toSet());
-    List<EntityAspect> aspectsInRange = this._aspectDao.getAspectsInRange(urn, fullAspectNames, startTimeMillis,
-        endTimeMillis);
+    List<EntityAspect> keysInRange = new ArrayList<>(
+        _aspectDao.getAspectKeysInRange(urn, fullAspectNames, startTimeMillis, endTimeMillis));
+    keysInRange.sort(TIME_ORDER);
+
+    Map<String, EntityAspect> previousVersions = getPreviousVersions(urn, fullAspectNames, keysInRange);
+
+    // Versions of all aspects as of the transaction being computed, for the version stamps
+    SortedMap<String, Long> currentVersions = new TreeMap<>(Comparator.naturalOrder());
+    // Previous value of each aspect being diffed, which may only be a key until its value is needed
+    Map<String, EntityAspect> previousValues = new HashMap<>();
+    for (EntityAspect previous : previousVersions.values()) {
+      if (!(previous instanceof MissingEntityAspect) && previous.getCreatedOn().getTime() < startTimeMillis) {
+        currentVersions.put(previous.getAspect(), previous.getVersion());
+      }
+      if (aspectNames.contains(previous.getAspect())) {
+        previousValues.put(previous.getAspect(), previous);
+      }
+    }
 
-    // Prepopulate with all versioned aspectNames -> ignore timeseries using
-    // registry
-    Map<String, TreeSet<EntityAspect>> aspectRowSetMap = constructAspectRowSetMap(urn, fullAspectNames, aspectsInRange);
+    int index = 0;
+    SemanticVersion semanticVersion = null;
+    if (cursor != null) {
+      final long cursorTimestamp = parseCursorTimestamp(cursor);
+      semanticVersion = parseCursorVersion(cursor);
+      for (; index < keysInRange.size() && keysInRange.get(index).getCreatedOn().getTime() <= cursorTimestamp; index++) {
+        final EntityAspect key = keysInRange.get(index);
+        currentVersions.put(key.getAspect(), key.getVersion());
+        if (aspectNames.contains(key.getAspect())) {
+          previousValues.put(key.getAspect(), key);
+        }
+      }
+      fillPreviousValues(previousValues);
+    }
 
-    Map<Long, SortedMap<String, Long>> timestampVersionCache = constructTimestampVersionCache(aspectRowSetMap);
+    final AspectValueReader valueReader = new AspectValueReader(keysInRange.subList(index, keysInRange.size())
+        .stream()
+        .filter(key -> aspectNames.contains(key.getAspect()))
+        .map(EntityAspect::toAspectIdentifier)
+        .collect(Collectors.toList()));
+    final List<ChangeTransaction> changeTransactions = new ArrayList<>();
+    while (index < keysInRange.size() && changeTransactions.size() < count) {
+      // Transactions of a same timestamp are computed and combined together
+      final long transactionId = keysInRange.get(index).getCreatedOn().getTime();
+      final List<ChangeTransaction> transactions = new ArrayList<>();
+      boolean diffed = false;
+      for (; index < keysInRange.size() && keysInRange.get(index).getCreatedOn().getTime() == transactionId; index++) {
+        final EntityAspect key = keysInRange.get(index);
+        currentVersions.put(key.getAspect(), key.getVersion());
+        if (!aspectNames.contains(key.getAspect())) {
+          continue;
+        }
+        final EntityAspect currentValue = valueReader.get(key.toAspectIdentifier());
+        if (currentValue == null) {
+          // Deleted since the keys were read
+          continue;
+        }
+        diffed = true;
+        transactions.addAll(computeDiff(previousValues.get(key.getAspect()), currentValue, urn.getEntityType(),
+            elementNames, rawDiffRequested));
+        previousValues.put(key.getAspect(), currentValue);
+      }
+      if (diffed) {
+        semanticVersion = assignSemanticVersion(transactions, semanticVersion);
+        changeTransactions.addAll(combineTransactionsByTimestamp(transactions, currentVersions));
+      }
+    }
 
-    // TODO: There are some extra steps happening here, we need to clean up how
-    // transactions get combined across differs
-    SortedMap<Long, List<ChangeTransaction>> semanticDiffs = aspectRowSetMap.entrySet()
+    final boolean hasMore = keysInRange.subList(index, keysInRange.size())
         .stream()
-        .filter(entry -> aspectNames.contains(entry.getKey()))
-        .map(Map.Entry::getValue)
-        .map(value -> computeDiffs(value, urn.getEntityType(), elementNames, rawDiffRequested))
-        .collect(TreeMap::new, this::combineComputedDiffsPerTransactionId, this::combineComputedDiffsPerTransactionId);
-    // TODO:Move this down
-    assignSemanticVersions(semanticDiffs);
-    List<ChangeTransaction> changeTransactions = semanticDiffs.values().stream().collect(ArrayList::new,
-        ArrayList::addAll, ArrayList::addAll);
-    List<ChangeTransaction> combinedChangeTransactions = combineTransactionsByTimestamp(changeTransactions,
-        timestampVersionCache);
-    combinedChangeTransactions.sort(Comparator.comparing(ChangeTransaction::getTimestamp));
-    return combinedChangeTransactions;
+        .anyMatch(key -> aspectNames.contains(key.getAspect()));
+    return ChangeTransactionPage.builder()
+        .changeTransactions(changeTransactions)
+        .nextCursor(hasMore && semanticVersion != null
+            ? toCursor(keysInRange.get(index - 1).getCreatedOn().getTime(), semanticVersion) : null)
+        .build();
   }
 
   /**
-   * Constructs a map from aspect name to a sorted set of DB aspects by created
-   * timestamp. Set includes all aspects
-   * relevant to an entity and does a lookback by 1 for all aspects, creating
-   * sentinel values for when the oldest aspect
-   * possible has been retrieved or no value exists in the DB for an aspect
-   * 
+   * Returns the version of each aspect preceding the time range, as the previous version of the oldest version in
+   * range, or the latest version for aspects without versions in range. Sentinel values are used when the oldest
+   * version possible is in range or when no value exists in the DB for an aspect.
+   *
    * @param urn             urn of the entity
    * @param fullAspectNames full list of aspects relevant to the entity
-   * @param aspectsInRange  aspects returned by the range query by timestampm
-   * @return map constructed as described
+   * @param keysInRange     keys of the versions in range, in time order
+   * @return map from aspect name to previous version
    */
-  private Map<String, TreeSet<EntityAspect>> constructAspectRowSetMap(Urn urn, Set<String> fullAspectNames,
-      List<EntityAspect> aspectsInRange) {
-    Map<String, TreeSet<EntityAspect>> aspectRowSetMap = new HashMap<>();
-    fullAspectNames.forEach(
-        aspectName -> aspectRowSetMap.put(aspectName, new TreeSet<>(Comparator.comparing(EntityAspect::getCreatedOn))));
-    aspectsInRange.forEach(row -> {
-      TreeSet<EntityAspect> rowList = aspectRowSetMap.get(row.getAspect());
-      rowList.add(row);
-    });
+  private Map<String, EntityAspect> getPreviousVersions(Urn urn, Set<String> fullAspectNames,
+      List<EntityAspect> keysInRange) {
+    Map<String, EntityAspect> oldestInRange = new HashMap<>();
+    keysInRange.forEach(key -> oldestInRange.putIfAbsent(key.getAspect(), key));
 
     // we need to pull previous versions of these aspects that are currently at a 0
     Map<String, Long> nextVersions = _aspectDao.getNextVersions(urn.toString(), fullAspectNames);
 
-    for (Map.Entry<String, TreeSet<EntityAspect>> aspectMinVersion : aspectRowSetMap.entrySet()) {
-      TreeSet<EntityAspect> aspectSet = aspectMinVersion.getValue();
-
-      EntityAspect oldestAspect = null;
-      if (!aspectSet.isEmpty()) {
-        oldestAspect = aspectMinVersion.getValue().first();
-      }
-      Long nextVersion = nextVersions.get(aspectMinVersion.getKey());
+    Map<String, EntityAspect> previousVersions = new HashMap<>();
+    Set<EntityAspectIdentifier> previousKeys = new HashSet<>();
+    for (String aspectName : fullAspectNames) {
+      EntityAspect oldestAspect = oldestInRange.get(aspectName);
       // Fill out sentinel value if the oldest value possible has been retrieved, else
       // get previous version prior to time range
-      if (oldestAspect != null && isOldestPossible(oldestAspect, nextVersion)) {
-        aspectMinVersion.getValue().add(createSentinel(aspectMinVersion.getKey()));
+      if (oldestAspect != null && isOldestPossible(oldestAspect, nextVersions.get(aspectName))) {
+        previousVersions.put(aspectName, createSentinel(aspectName));
       } else {
-        // get the next version
         long versionToGet = 0;
         if (oldestAspect != null) {
-          versionToGet = (oldestAspect.getVersion() == 0L) ? nextVersion - 1 : oldestAspect.getVersion() - 1;
-        }
-        EntityAspect row = _aspectDao.getAspect(urn.toString(), aspectMinVersion.getKey(), versionToGet);
-        if (row != null) {
-          aspectRowSetMap.get(row.getAspect()).add(row);
-        } else {
-          aspectMinVersion.getValue().add(createSentinel(aspectMinVersion.getKey()));
+          versionToGet = (oldestAspect.getVersion() == 0L)
+              ? nextVersions.get(aspectName) - 1 : oldestAspect.getVersion() - 1;
         }
+        previousKeys.add(new EntityAspectIdentifier(urn.toString(), aspectName, versionToGet));
       }
     }
-    return aspectRowSetMap;
+    Map<EntityAspectIdentifier, EntityAspect> rows = _aspectDao.batchGet(previousKeys);
+    for (EntityAspectIdentifier key : previousKeys) {
+      EntityAspect row = rows.get(key);
+      previousVersions.put(key.getAspect(), row != null ? row : createSentinel(key.getAspect()));
+    }
+    return previousVersions;
+  }
+
+  /**
+   * Reads the values of the previous versions which are only known by their keys.
+   */
+  private void fillPreviousValues(Map<String, EntityAspect> previousValues) {
+    Set<EntityAspectIdentifier> keys = previousValues.values().stream()
+        .filter(previous -> !(previous instanceof MissingEntityAspect) && previous.getMetadata() == null)
+        .map(EntityAspect::toAspectIdentifier)
+        .collect(Collectors.toSet());
+    if (keys.isEmpty()) {
+      return;
+    }
+    Map<EntityAspectIdentifier, EntityAspect> rows = _aspectDao.batchGet(keys);
+    for (EntityAspectIdentifier key : keys) {
+      EntityAspect row = rows.get(key);
+      previousValues.put(key.getAspect(), row != null ? row : createSentinel(key.getAspect()));
+    }
   }
 
   private boolean isOldestPossible(EntityAspect oldestAspect, long nextVersion) {
@@ -295,99 +393,68 @@ public class TimelineServiceImpl implements TimelineService {
   }
 
   /**
-   * Constructs a map from timestamp to a sorted map of aspect name -> version for
-   * use in constructing the version stamp
-   * 
-   * @param aspectRowSetMap map constructed as described in
-   *                        {@link TimelineServiceImpl#constructAspectRowSetMap}
-   * @return map as described
+   * Computes the change transactions between two versions of an aspect, one per change category. Transactions are
+   * memoized per pair of versions, identified by their version number and creation time since version 0 is reused.
    */
-  private Map<Long, SortedMap<String, Long>> constructTimestampVersionCache(
-      Map<String, TreeSet<EntityAspect>> aspectRowSetMap) {
-    Set<EntityAspect> aspects = aspectRowSetMap.values().stream()
-        .flatMap(TreeSet::stream)
-        .filter(aspect -> aspect.getVersion() != -1L)
-        .collect(Collectors.toSet());
-    Map<Long, SortedMap<String, Long>> timestampVersionCache = new HashMap<>();
-    for (EntityAspect aspect : aspects) {
-      if (timestampVersionCache.containsKey(aspect.getCreatedOn().getTime())) {
-        continue;
-      }
-      SortedMap<String, Long> versionStampMap = new TreeMap<>(Comparator.naturalOrder());
-      for (TreeSet<EntityAspect> aspectSet : aspectRowSetMap.values()) {
-        EntityAspect maybeMatch = null;
-        for (EntityAspect aspect2 : aspectSet) {
-          if (aspect2 instanceof MissingEntityAspect) {
-            continue;
-          }
-          if (aspect.getCreatedOn().getTime() < aspect2.getCreatedOn().getTime()) {
-            // Can't match a higher timestamp, fall back to maybeMatch or empty
-            break;
-          }
-          if (aspect.getCreatedOn().getTime() == aspect2.getCreatedOn().getTime()) {
-            versionStampMap.put(aspect2.getAspect(), aspect2.getVersion());
-            maybeMatch = null;
-            break;
-          } else {
-            maybeMatch = aspect2;
-          }
-        }
-        if (maybeMatch != null) {
-          versionStampMap.put(maybeMatch.getAspect(), maybeMatch.getVersion());
-        }
-      }
-      timestampVersionCache.put(aspect.getCreatedOn().getTime(), versionStampMap);
-    }
-    return timestampVersionCache;
-  }
-
-  private SortedMap<Long, List<ChangeTransaction>> computeDiffs(TreeSet<EntityAspect> aspectTimeline,
-      String entityType, Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
-    EntityAspect previousValue = null;
-    SortedMap<Long, List<ChangeTransaction>> changeTransactionsMap = new TreeMap<>();
-    long transactionId;
-    for (EntityAspect currentValue : aspectTimeline) {
-      transactionId = currentValue.getCreatedOn().getTime();
-      if (previousValue != null) {
-        // we skip the first element and only compare once we have two in hand
-        changeTransactionsMap.put(transactionId,
-            computeDiff(previousValue, currentValue, entityType, elementNames, rawDiffsRequested));
-      }
-      previousValue = currentValue;
-    }
-    return changeTransactionsMap;
-  }
-
   private List<ChangeTransaction> computeDiff(@Nonnull EntityAspect previousValue, @Nonnull EntityAspect currentValue,
       String entityType, Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
     String aspectName = currentValue.getAspect();
 
     List<ChangeTransaction> semanticChangeTransactions = new ArrayList<>();
-    JsonPatch rawDiff = getRawDiff(previousValue, currentValue);
+    JsonPatch rawDiff = null;
     for (ChangeCategory element : elementNames) {
       EntityChangeEventGenerator entityChangeEventGenerator;
       entityChangeEventGenerator = _entityChangeEventGeneratorFactory.getGenerator(entityType, element, aspectName);
-      if (entityChangeEventGenerator != null) {
+      if (entityChangeEventGenerator == null) {
+        continue;
+      }
+      DiffKey diffKey = new DiffKey(currentValue.getUrn(), aspectName, previousValue.getVersion(),
+          previousValue.getCreatedOn().getTime(), currentValue.getVersion(), currentValue.getCreatedOn().getTime(),
+          element, rawDiffsRequested);
+      List<ChangeTransaction> changeTransactions = _diffCache.getIfPresent(diffKey);
+      if (changeTransactions == null) {
+        if (rawDiff == null) {
+          rawDiff = getRawDiff(previousValue, currentValue);
+        }
         try {
           ChangeTransaction changeTransaction =
               entityChangeEventGenerator.getSemanticDiff(previousValue, currentValue, element, rawDiff,
                   rawDiffsRequested);
-          if (CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())) {
-            semanticChangeTransactions.add(changeTransaction);
-          }
+          changeTransactions = CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())
+              ? Collections.singletonList(changeTransaction) : Collections.emptyList();
+          _diffCache.put(diffKey, changeTransactions);
         } catch (Exception e) {
           semanticChangeTransactions.add(ChangeTransaction.builder()
+              .timestamp(currentValue.getCreatedOn().getTime())
               .semVerChange(SemanticChangeType.EXCEPTIONAL)
-              .changeEvents(Collections.singletonList(ChangeEvent.builder()
+              .changeEvents(new ArrayList<>(Collections.singletonList(ChangeEvent.builder()
                   .description(String.format("%s:%s", e.getClass().getName(), e.getMessage()))
-                  .build()))
+                  .build())))
               .build());
+          continue;
         }
       }
+      // Transactions are modified once returned, so the memoized ones are handed out as copies
+      changeTransactions.forEach(changeTransaction -> semanticChangeTransactions.add(copyOf(changeTransaction)));
     }
     return semanticChangeTransactions;
   }
 
+  private static ChangeTransaction copyOf(ChangeTransaction changeTransaction) {
+    return ChangeTransaction.builder()
+        .timestamp(changeTransaction.getTimestamp())
+        .actor(changeTransaction.getActor())
+        .proxy(changeTransaction.getProxy())
+        .reporter(changeTransaction.getReporter())
+        .semVer(changeTransaction.getSemVer())
+        .semVerChange(changeTransaction.getSemVerChange())
+        .changeEvents(changeTransaction.getChangeEvents() != null
+            ? new ArrayList<>(changeTransaction.getChangeEvents()) : null)
+        .rawDiff(changeTransaction.getRawDiff())
+        .versionStamp(changeTransaction.getVersionStamp())
+        .build();
+  }
+
   private JsonPatch getRawDiff(EntityAspect previousValue, EntityAspect currentValue) {
     JsonNode prevNode = OBJECT_MAPPER.nullNode();
     try {
@@ -401,39 +468,22 @@ public class TimelineServiceImpl implements TimelineService {
     }
   }
 
-  private void combineComputedDiffsPerTransactionId(@Nonnull SortedMap<Long, List<ChangeTransaction>> semanticDiffs,
-      @Nonnull SortedMap<Long, List<ChangeTransaction>> computedDiffs) {
-    for (Map.Entry<Long, List<ChangeTransaction>> entry : computedDiffs.entrySet()) {
-      if (!semanticDiffs.containsKey(entry.getKey())) {
-        semanticDiffs.put(entry.getKey(), entry.getValue());
-      } else {
-        List<ChangeTransaction> transactions = semanticDiffs.get(entry.getKey());
-        transactions.addAll(entry.getValue());
-        semanticDiffs.put(entry.getKey(), transactions);
-      }
+  /**
+   * Assigns the next semantic version to the transactions of a timestamp, from the highest change among them.
+   */
+  private SemanticVersion assignSemanticVersion(List<ChangeTransaction> transactions,
+      SemanticVersion previousVersion) {
+    SemanticChangeType highestChangeInGroup = SemanticChangeType.NONE;
+    ChangeTransaction highestChangeTransaction = transactions.stream()
+        .max(Comparator.comparing(ChangeTransaction::getSemVerChange)).orElse(null);
+    if (highestChangeTransaction != null) {
+      highestChangeInGroup = highestChangeTransaction.getSemVerChange();
     }
-  }
-
-  private void assignSemanticVersions(SortedMap<Long, List<ChangeTransaction>> changeTransactionsMap) {
-    SemanticVersion curGroupVersion = null;
-    long transactionId = FIRST_TRANSACTION_ID - 1;
-    for (Map.Entry<Long, List<ChangeTransaction>> entry : changeTransactionsMap.entrySet()) {
-      if (transactionId >= entry.getKey()) {
-        throw new IllegalArgumentException(String.format("transactionId should be < previous. %s >= %s",
-                transactionId, entry.getKey()));
-      }
-      transactionId = entry.getKey();
-      SemanticChangeType highestChangeInGroup = SemanticChangeType.NONE;
-      ChangeTransaction highestChangeTransaction = entry.getValue().stream()
-          .max(Comparator.comparing(ChangeTransaction::getSemVerChange)).orElse(null);
-      if (highestChangeTransaction != null) {
-        highestChangeInGroup = highestChangeTransaction.getSemVerChange();
-      }
-      curGroupVersion = getGroupSemanticVersion(highestChangeInGroup, curGroupVersion);
-      for (ChangeTransaction t : entry.getValue()) {
-        t.setSemanticVersion(curGroupVersion.toString());
-      }
+    SemanticVersion groupVersion = getGroupSemanticVersion(highestChangeInGroup, previousVersion);
+    for (ChangeTransaction t : transactions) {
+      t.setSemanticVersion(groupVersion.toString());
     }
+    return groupVersion;
   }
 
   private SemanticVersion getGroupSemanticVersion(SemanticChangeType highestChangeInGroup,
@@ -478,7 +528,7 @@ public class TimelineServiceImpl implements TimelineService {
   }
 
   private List<ChangeTransaction> combineTransactionsByTimestamp(List<ChangeTransaction> changeTransactions,
-      Map<Long, SortedMap<String, Long>> timestampVersionCache) {
+      SortedMap<String, Long> versions) {
     Map<Long, List<ChangeTransaction>> transactionsByTimestamp = changeTransactions.stream()
         .collect(Collectors.groupingBy(ChangeTransaction::getTimestamp));
     List<ChangeTransaction> combinedChangeTransactions = new ArrayList<>();
@@ -497,10 +547,77 @@ public class TimelineServiceImpl implements TimelineService {
         }
         result.setSemVerChange(maxSemanticChangeType);
         result.setSemanticVersion(maxSemVer);
-        result.setVersionStamp(constructVersionStamp(timestampVersionCache.get(result.getTimestamp())));
+        result.setVersionStamp(constructVersionStamp(versions));
         combinedChangeTransactions.add(result);
       }
     }
     return combinedChangeTransactions;
   }
+
+  private static String toCursor(long timestamp, SemanticVersion semanticVersion) {
+    return String.format("%d%s%d.%d.%d", timestamp, CURSOR_DELIMITER, semanticVersion.getMajorVersion(),
+        semanticVersion.getMinorVersion(), semanticVersion.getPatchVersion());
+  }
+
+  private static long parseCursorTimestamp(String cursor) {
+    try {
+      return Long.parseLong(cursor.substring(0, cursor.indexOf(CURSOR_DELIMITER)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid timeline cursor " + cursor, e);
+    }
+  }
+
+  private static SemanticVersion parseCursorVersion(String cursor) {
+    try {
+      String[] versions = cursor.substring(cursor.indexOf(CURSOR_DELIMITER) + 1).split("\\.");
+      return SemanticVersion.builder()
+          .majorVersion(Integer.parseInt(versions[0]))
+          .minorVersion(Integer.parseInt(versions[1]))
+          .patchVersion(Integer.parseInt(versions[2]))
+          .qualifier(BUILD_VALUE_COMPUTED)
+          .build();
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid timeline cursor " + cursor, e);
+    }
+  }
+
+  /**
+   * Reads the values of versions in batches, expecting them to be requested in the order of the given keys.
+   */
+  private class AspectValueReader {
+    private final List<EntityAspectIdentifier> _keys;
+    private int _nextBatchStart = 0;
+    private Set<EntityAspectIdentifier> _batchKeys = Collections.emptySet();
+    private Map<EntityAspectIdentifier, EntityAspect> _batch = Collections.emptyMap();
+
+    private AspectValueReader(List<EntityAspectIdentifier> keys) {
+      _keys = keys;
+    }
+
+    /**
+     * Returns the value of the version, or null if it was deleted since its key was read.
+     */
+    @Nullable
+    private EntityAspect get(EntityAspectIdentifier key) {
+      if (!_batchKeys.contains(key) && _nextBatchStart < _keys.size()) {
+        int batchEnd = Math.min(_nextBatchStart + _valueBatchSize, _keys.size());
+        _batchKeys = new HashSet<>(_keys.subList(_nextBatchStart, batchEnd));
+        _batch = _aspectDao.batchGet(_batchKeys);
+        _nextBatchStart = batchEnd;
+      }
+      return _batch.get(key);
+    }
+  }
+
+  @Value
+  private static class DiffKey {
+    String urn;
+    String aspectName;
+    long previousVersion;
+    long previousCreatedOn;
+    long currentVersion;
+    long currentCreatedOn;
+    ChangeCategory element;
+    boolean rawDiffRequested;
+  }
 }
@@ -27,6 +27,8 @@ import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.TimeseriesAspectIndexBuilders;
 import com.linkedin.metadata.timeseries.elastic.query.ESAggregatedStatsDAO;
+import com.linkedin.metadata.timeseries.elastic.rollup.ESTimeseriesRollupDAO;
+import com.linkedin.metadata.timeseries.elastic.rollup.TimeseriesRollupConfig;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.GenericAspect;
@@ -90,11 +92,20 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
   private final TimeseriesAspectIndexBuilders _indexBuilders;
   private final RestHighLevelClient _searchClient;
   private final ESAggregatedStatsDAO _esAggregatedStatsDAO;
+  private final ESTimeseriesRollupDAO _rollupDAO;
   private final EntityRegistry _entityRegistry;
 
   public ElasticSearchTimeseriesAspectService(@Nonnull RestHighLevelClient searchClient,
       @Nonnull IndexConvention indexConvention, @Nonnull TimeseriesAspectIndexBuilders indexBuilders,
       @Nonnull EntityRegistry entityRegistry, @Nonnull ESBulkProcessor bulkProcessor, int numRetries) {
+    this(searchClient, indexConvention, indexBuilders, entityRegistry, bulkProcessor, numRetries,
+        TimeseriesRollupConfig.disabled());
+  }
+
+  public ElasticSearchTimeseriesAspectService(@Nonnull RestHighLevelClient searchClient,
+      @Nonnull IndexConvention indexConvention, @Nonnull TimeseriesAspectIndexBuilders indexBuilders,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull ESBulkProcessor bulkProcessor, int numRetries,
+      @Nonnull TimeseriesRollupConfig rollupConfig) {
     _indexConvention = indexConvention;
     _indexBuilders = indexBuilders;
     _searchClient = searchClient;
@@ -102,7 +113,8 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
     _entityRegistry = entityRegistry;
     _numRetries = numRetries;
 
-    _esAggregatedStatsDAO = new ESAggregatedStatsDAO(indexConvention, searchClient, entityRegistry);
+    _esAggregatedStatsDAO = new ESAggregatedStatsDAO(indexConvention, searchClient, entityRegistry, rollupConfig);
+    _rollupDAO = new ESTimeseriesRollupDAO(indexConvention, bulkProcessor, entityRegistry, rollupConfig, numRetries);
   }
 
   private static EnvelopedAspect parseDocument(@Nonnull SearchHit doc) {
@@ -161,6 +173,9 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
             .doc(document.toString(), XContentType.JSON)
             .retryOnConflict(_numRetries);
     _bulkProcessor.add(updateRequest);
+    if (_rollupDAO.isEnabled(entityName, aspectName)) {
+      _rollupDAO.addDocument(entityName, aspectName, docId, document);
+    }
   }
 
   @Override
@@ -298,6 +313,10 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
             .deleteByQuery(filterQueryBuilder, false, DEFAULT_LIMIT, TimeValue.timeValueMinutes(10), indexName)
             .map(response -> new DeleteAspectValuesResult().setNumDocsDeleted(response.getDeleted()));
 
+    if (_rollupDAO.isEnabled(entityName, aspectName)) {
+      _rollupDAO.removeDocuments(entityName, aspectName, filter);
+    }
+
     if (result.isPresent()) {
       return result.get();
     } else {
@@ -316,6 +335,9 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
     TimeValue timeout = options.getTimeoutSeconds() > 0 ? TimeValue.timeValueSeconds(options.getTimeoutSeconds()) : null;
     final Optional<TaskSubmissionResponse> result = _bulkProcessor
         .deleteByQueryAsync(filterQueryBuilder, false, batchSize, timeout, indexName);
+    if (_rollupDAO.isEnabled(entityName, aspectName)) {
+      _rollupDAO.removeDocuments(entityName, aspectName, filter);
+    }
 
     if (result.isPresent()) {
       return result.get().getTask();
@@ -330,6 +352,10 @@ public class ElasticSearchTimeseriesAspectService implements TimeseriesAspectSer
       @Nonnull BatchWriteOperationsOptions options) {
     final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
     final BoolQueryBuilder filterQueryBuilder = ESUtils.buildFilterQuery(filter, true);
+    if (_rollupDAO.isEnabled(entityName, aspectName)) {
+      // Reindexing in place only keeps the documents matching the filter
+      _rollupDAO.retainDocuments(entityName, aspectName, filter);
+    }
     try {
       return this.reindexAsync(indexName, filterQueryBuilder, options);
     } catch (Exception e) {
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.timeseries.elastic.indexbuilder;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.models.AspectSpec;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+import static com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer.*;
+
+
+public class RollupMappingsBuilder {
+
+  private RollupMappingsBuilder() {
+  }
+
+  public static Map<String, Object> getMappings(@Nonnull final AspectSpec aspectSpec) {
+    if (!aspectSpec.isTimeseries()) {
+      throw new IllegalArgumentException(
+          String.format("Cannot apply timeseries rollup indexing for a non-timeseries aspect %s", aspectSpec.getName()));
+    }
+
+    Map<String, Object> mappings = new HashMap<>();
+
+    mappings.put(MappingsBuilder.URN_FIELD, ImmutableMap.of("type", "keyword"));
+    mappings.put(MappingsBuilder.TIMESTAMP_MILLIS_FIELD, ImmutableMap.of("type", "date"));
+    mappings.put(RUN_IDS_FIELD, ImmutableMap.of("type", "keyword"));
+    mappings.put(CONTRIBUTIONS_FIELD, ImmutableMap.of("type", "object", "enabled", false));
+    mappings.put(SUMS_FIELD, getObjectMapping(getSummedFields(aspectSpec), ImmutableMap.of("type", "double")));
+    mappings.put(LATEST_FIELD, getObjectMapping(getLatestFields(aspectSpec), ImmutableMap.of("type", "keyword")));
+    mappings.put(LATEST_TIMESTAMPS_FIELD,
+        getObjectMapping(getLatestFields(aspectSpec), ImmutableMap.of("type", "long")));
+    mappings.put(KEYS_FIELD, getObjectMapping(getKeyFields(aspectSpec), ImmutableMap.of("type", "keyword")));
+
+    return ImmutableMap.of("properties", mappings);
+  }
+
+  @Nonnull
+  public static String getSumField(@Nonnull String fieldPath) {
+    return SUMS_FIELD + "." + fieldPath;
+  }
+
+  @Nonnull
+  public static String getLatestField(@Nonnull String fieldPath) {
+    return LATEST_FIELD + "." + fieldPath;
+  }
+
+  @Nonnull
+  public static String getLatestTimestampField(@Nonnull String fieldPath) {
+    return LATEST_TIMESTAMPS_FIELD + "." + fieldPath;
+  }
+
+  @Nonnull
+  public static String getKeyField(@Nonnull String fieldPath) {
+    return KEYS_FIELD + "." + fieldPath;
+  }
+
+  /**
+   * Maps the dotted paths of an object, whose members are all of the same type.
+   */
+  private static Map<String, Object> getObjectMapping(List<String> fieldPaths, Map<String, Object> fieldMapping) {
+    Map<String, Object> properties = new HashMap<>();
+    for (String fieldPath : fieldPaths) {
+      Map<String, Object> current = properties;
+      String[] parts = fieldPath.split("\\.");
+      for (int i = 0; i < parts.length - 1; i++) {
+        Map<String, Object> child = (Map<String, Object>) current.computeIfAbsent(parts[i],
+            part -> ImmutableMap.of("properties", new HashMap<String, Object>()));
+        current = (Map<String, Object>) child.get("properties");
+      }
+      current.put(parts[parts.length - 1], fieldMapping);
+    }
+    return ImmutableMap.of("properties", properties);
+  }
+}
@@ -6,26 +6,42 @@ import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
 import com.linkedin.metadata.shared.ElasticSearchIndexed;
 import com.linkedin.metadata.timeseries.BatchWriteOperationsOptions;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupGranularity;
+import com.linkedin.metadata.timeseries.elastic.rollup.TimeseriesRollupConfig;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.linkedin.util.Pair;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.index.query.QueryBuilder;
 
 
 @Slf4j
-@RequiredArgsConstructor
 public class TimeseriesAspectIndexBuilders implements ElasticSearchIndexed {
   private final ESIndexBuilder _indexBuilder;
   private final EntityRegistry _entityRegistry;
   private final IndexConvention _indexConvention;
+  private final TimeseriesRollupConfig _rollupConfig;
+
+  public TimeseriesAspectIndexBuilders(@Nonnull ESIndexBuilder indexBuilder, @Nonnull EntityRegistry entityRegistry,
+      @Nonnull IndexConvention indexConvention) {
+    this(indexBuilder, entityRegistry, indexConvention, TimeseriesRollupConfig.disabled());
+  }
+
+  public TimeseriesAspectIndexBuilders(@Nonnull ESIndexBuilder indexBuilder, @Nonnull EntityRegistry entityRegistry,
+      @Nonnull IndexConvention indexConvention, @Nonnull TimeseriesRollupConfig rollupConfig) {
+    _indexBuilder = indexBuilder;
+    _entityRegistry = entityRegistry;
+    _indexConvention = indexConvention;
+    _rollupConfig = rollupConfig;
+  }
 
   @Override
   public void reindexAll() {
@@ -68,11 +84,23 @@ public class TimeseriesAspectIndexBuilders implements ElasticSearchIndexed {
             .flatMap(entitySpec -> entitySpec.getAspectSpecs().stream()
                     .map(aspectSpec -> Pair.of(entitySpec, aspectSpec)))
             .filter(pair -> pair.getSecond().isTimeseries())
-            .map(pair -> {
+            .flatMap(pair -> {
               try {
-                return _indexBuilder.buildReindexState(
-                        _indexConvention.getTimeseriesAspectIndexName(pair.getFirst().getName(), pair.getSecond().getName()),
-                        MappingsBuilder.getMappings(pair.getSecond()), Collections.emptyMap());
+                final String entityName = pair.getFirst().getName();
+                final String aspectName = pair.getSecond().getName();
+                final List<ReindexConfig> configs = new ArrayList<>();
+                configs.add(_indexBuilder.buildReindexState(
+                        _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName),
+                        MappingsBuilder.getMappings(pair.getSecond()), Collections.emptyMap()));
+                if (_rollupConfig.isEnabled(entityName, aspectName)) {
+                  for (RollupGranularity granularity : RollupGranularity.values()) {
+                    configs.add(_indexBuilder.buildReindexState(
+                            _indexConvention.getTimeseriesAspectRollupIndexName(entityName, aspectName,
+                                granularity.getName()),
+                            RollupMappingsBuilder.getMappings(pair.getSecond()), Collections.emptyMap()));
+                  }
+                }
+                return configs.stream();
               } catch (IOException e) {
                 log.error("Issue while building timeseries field index for entity {} aspect {}", pair.getFirst().getName(),
                         pair.getSecond().getName());
@@ -13,8 +13,13 @@ import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.RollupMappingsBuilder;
+import com.linkedin.metadata.timeseries.elastic.query.RollupQueryPlanner.RollupQueryPlan;
+import com.linkedin.metadata.timeseries.elastic.rollup.TimeseriesRollupConfig;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.timeseries.AggregationSpec;
+import com.linkedin.timeseries.AggregationType;
 import com.linkedin.timeseries.GenericTable;
 import com.linkedin.timeseries.GroupingBucket;
 import com.linkedin.timeseries.GroupingBucketType;
@@ -23,8 +28,12 @@ import com.linkedin.util.Pair;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Stack;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -61,16 +70,24 @@ public class ESAggregatedStatsDAO {
   private static final String ES_AGG_MAX_TIMESTAMP =
       ES_AGGREGATION_PREFIX + ES_MAX_AGGREGATION_PREFIX + ES_FIELD_TIMESTAMP;
   private static final int MAX_TERM_BUCKETS = 24 * 60; // minutes in a day.
+  private static final String ES_NULL_VALUE = "NULL";
 
   private final IndexConvention _indexConvention;
   private final RestHighLevelClient _searchClient;
   private final EntityRegistry _entityRegistry;
+  private final TimeseriesRollupConfig _rollupConfig;
 
   public ESAggregatedStatsDAO(@Nonnull IndexConvention indexConvention, @Nonnull RestHighLevelClient searchClient,
       @Nonnull EntityRegistry entityRegistry) {
+    this(indexConvention, searchClient, entityRegistry, TimeseriesRollupConfig.disabled());
+  }
+
+  public ESAggregatedStatsDAO(@Nonnull IndexConvention indexConvention, @Nonnull RestHighLevelClient searchClient,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull TimeseriesRollupConfig rollupConfig) {
     _indexConvention = indexConvention;
     _searchClient = searchClient;
     _entityRegistry = entityRegistry;
+    _rollupConfig = rollupConfig;
   }
 
   private static String toEsAggName(final String aggName) {
@@ -293,7 +310,7 @@ public class ESAggregatedStatsDAO {
     String memberAggName = getAggregationSpecAggESName(aggregationSpec);
     Object memberAgg = aggregations.get(memberAggName);
     DataSchema.Type memberType = getAggregationSpecMemberType(aspectSpec, aggregationSpec);
-    String defaultValue = "NULL";
+    String defaultValue = ES_NULL_VALUE;
     if (memberAgg instanceof ParsedBucketMetricValue) {
       String[] values = ((ParsedBucketMetricValue) memberAgg).keys();
       if (values.length > 0) {
@@ -335,25 +352,66 @@ public class ESAggregatedStatsDAO {
 
   /**
    * Get the aggregated metrics for the given dataset or column from a time series aspect.
+   *
+   * Queries are answered from the rollups of the aspect when they are enabled for it and can answer them.
    */
   @Nonnull
   public GenericTable getAggregatedStats(@Nonnull String entityName, @Nonnull String aspectName,
       @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
       @Nullable GroupingBucket[] groupingBuckets) {
 
+    AspectSpec aspectSpec = getTimeseriesAspectSpec(entityName, aspectName);
+    if (_rollupConfig.isQueryEnabled(entityName, aspectName)) {
+      Optional<RollupQueryPlan> plan = RollupQueryPlanner.plan(aspectSpec, aggregationSpecs, filter, groupingBuckets);
+      if (plan.isPresent()) {
+        MetricUtils.counter(this.getClass(), "rollup_query_" + plan.get().getGranularity().getName()).inc();
+        return getRolledUpStats(entityName, aspectName, aspectSpec, aggregationSpecs, groupingBuckets, plan.get());
+      }
+    }
+
+    final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
+    final SearchResponse searchResponse =
+        search(indexName, false, aspectSpec, aggregationSpecs, filter, groupingBuckets);
+    return generateResponseFromElastic(searchResponse, groupingBuckets, aggregationSpecs, aspectSpec);
+  }
+
+  /**
+   * Answers an aggregation query from the rollups of a timeseries aspect, and from its raw documents for the parts of
+   * the time range which are not made of whole rollup buckets.
+   */
+  private GenericTable getRolledUpStats(@Nonnull String entityName, @Nonnull String aspectName,
+      @Nonnull AspectSpec aspectSpec, @Nonnull AggregationSpec[] aggregationSpecs,
+      @Nullable GroupingBucket[] groupingBuckets, @Nonnull RollupQueryPlan plan) {
+    final List<GenericTable> segmentTables = new ArrayList<>();
+    for (RollupQueryPlanner.Segment segment : plan.getSegments()) {
+      final String indexName = segment.isRolledUp() ? _indexConvention.getTimeseriesAspectRollupIndexName(entityName,
+          aspectName, plan.getGranularity().getName())
+          : _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
+      final SearchResponse searchResponse =
+          search(indexName, segment.isRolledUp(), aspectSpec, aggregationSpecs, segment.getFilter(), groupingBuckets);
+      segmentTables.add(generateResponseFromElastic(searchResponse, groupingBuckets, aggregationSpecs, aspectSpec));
+    }
+    if (segmentTables.size() == 1) {
+      return segmentTables.get(0);
+    }
+    return mergeSegmentTables(segmentTables, groupingBuckets, aggregationSpecs, aspectSpec);
+  }
+
+  private SearchResponse search(@Nonnull String indexName, boolean rolledUp, @Nonnull AspectSpec aspectSpec,
+      @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
+      @Nullable GroupingBucket[] groupingBuckets) {
     // Setup the filter query builder using the input filter provided.
     final BoolQueryBuilder filterQueryBuilder = ESUtils.buildFilterQuery(filter, true);
 
-    AspectSpec aspectSpec = getTimeseriesAspectSpec(entityName, aspectName);
     // Build and attach the grouping aggregations
     final Pair<AggregationBuilder, AggregationBuilder> topAndBottomAggregations =
-        makeGroupingAggregationBuilder(aspectSpec, null, groupingBuckets);
+        makeGroupingAggregationBuilder(aspectSpec, null, groupingBuckets, rolledUp);
     AggregationBuilder rootAggregationBuilder = topAndBottomAggregations.getFirst();
     AggregationBuilder mostNested = topAndBottomAggregations.getSecond();
 
     // Add the aggregations for members.
     for (AggregationSpec aggregationSpec : aggregationSpecs) {
-      addAggregationBuildersFromAggregationSpec(aspectSpec, mostNested, aggregationSpec);
+      addAggregationBuildersFromAggregationSpec(aspectSpec, mostNested, aggregationSpec, rolledUp);
     }
 
     final SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
@@ -364,23 +422,89 @@ public class ESAggregatedStatsDAO {
 
     final SearchRequest searchRequest = new SearchRequest();
     searchRequest.source(searchSourceBuilder);
-
-    final String indexName = _indexConvention.getTimeseriesAspectIndexName(entityName, aspectName);
     searchRequest.indices(indexName);
 
     log.debug("Search request is: " + searchRequest);
 
     try {
-      final SearchResponse searchResponse = _searchClient.search(searchRequest, RequestOptions.DEFAULT);
-      return generateResponseFromElastic(searchResponse, groupingBuckets, aggregationSpecs, aspectSpec);
+      return _searchClient.search(searchRequest, RequestOptions.DEFAULT);
     } catch (Exception e) {
       log.error("Search query failed: " + e.getMessage());
       throw new ESQueryException("Search query failed:", e);
     }
   }
 
+  /**
+   * Merges the tables of the segments of a time range, given in time order. Rows are matched by their grouping
+   * columns: sums are added up and the latest value is taken from the latest segment which has one.
+   */
+  private static GenericTable mergeSegmentTables(List<GenericTable> segmentTables, GroupingBucket[] groupingBuckets,
+      AggregationSpec[] aggregationSpecs, AspectSpec aspectSpec) {
+    final int numGroupingColumns = groupingBuckets == null ? 0 : groupingBuckets.length;
+    final Map<List<String>, List<String>> mergedRows = new TreeMap<>(getRowKeyComparator(groupingBuckets));
+    for (GenericTable segmentTable : segmentTables) {
+      for (StringArray row : segmentTable.getRows()) {
+        final List<String> key = new ArrayList<>(row.subList(0, numGroupingColumns));
+        final List<String> mergedRow = mergedRows.get(key);
+        if (mergedRow == null) {
+          mergedRows.put(key, new ArrayList<>(row));
+          continue;
+        }
+        for (int i = 0; i < aggregationSpecs.length; i++) {
+          final int column = numGroupingColumns + i;
+          final String value = row.get(column);
+          if (ES_NULL_VALUE.equals(value)) {
+            continue;
+          }
+          if (aggregationSpecs[i].getAggregationType() == AggregationType.SUM && !ES_NULL_VALUE.equals(
+              mergedRow.get(column))) {
+            mergedRow.set(column, addSums(mergedRow.get(column), value,
+                getAggregationSpecMemberType(aspectSpec, aggregationSpecs[i])));
+          } else {
+            // Segments are in time order, so the latest value comes from the last segment
+            mergedRow.set(column, value);
+          }
+        }
+      }
+    }
+
+    final GenericTable resultTable = new GenericTable();
+    resultTable.setColumnNames(segmentTables.get(0).getColumnNames());
+    resultTable.setColumnTypes(segmentTables.get(0).getColumnTypes());
+    resultTable.setRows(new StringArrayArray(
+        mergedRows.values().stream().map(StringArray::new).collect(Collectors.toList())));
+    return resultTable;
+  }
+
+  private static String addSums(String first, String second, DataSchema.Type memberType) {
+    switch (memberType) {
+      case INT:
+      case LONG:
+        return String.valueOf(Long.parseLong(first) + Long.parseLong(second));
+      default:
+        return String.valueOf(Double.parseDouble(first) + Double.parseDouble(second));
+    }
+  }
+
+  /**
+   * Orders rows like the aggregations do: by date bucket and by term, in ascending order.
+   */
+  private static Comparator<List<String>> getRowKeyComparator(@Nullable GroupingBucket[] groupingBuckets) {
+    return (first, second) -> {
+      for (int i = 0; i < first.size(); i++) {
+        final int comparison = groupingBuckets[i].getType() == GroupingBucketType.DATE_GROUPING_BUCKET
+            ? Long.compare(Long.parseLong(first.get(i)), Long.parseLong(second.get(i)))
+            : first.get(i).compareTo(second.get(i));
+        if (comparison != 0) {
+          return comparison;
+        }
+      }
+      return 0;
+    };
+  }
+
   private void addAggregationBuildersFromAggregationSpec(AspectSpec aspectSpec, AggregationBuilder baseAggregation,
-      AggregationSpec aggregationSpec) {
+      AggregationSpec aggregationSpec, boolean rolledUp) {
     String fieldPath = aggregationSpec.getFieldPath();
     String esFieldName = fieldPath;
 
@@ -389,9 +513,10 @@ public class ESAggregatedStatsDAO {
         // Construct the terms aggregation with a max timestamp sub-aggregation.
         String termsAggName = toEsAggName(ES_AGGREGATION_PREFIX + ES_TERMS_AGGREGATION_PREFIX + fieldPath);
         AggregationBuilder termsAgg = AggregationBuilders.terms(termsAggName)
-            .field(esFieldName)
+            .field(rolledUp ? RollupMappingsBuilder.getLatestField(fieldPath) : esFieldName)
             .size(MAX_TERM_BUCKETS)
-            .subAggregation(AggregationBuilders.max(ES_AGG_MAX_TIMESTAMP).field(ES_FIELD_TIMESTAMP));
+            .subAggregation(AggregationBuilders.max(ES_AGG_MAX_TIMESTAMP)
+                .field(rolledUp ? RollupMappingsBuilder.getLatestTimestampField(fieldPath) : ES_FIELD_TIMESTAMP));
         baseAggregation.subAggregation(termsAgg);
         // Construct the max_bucket pipeline aggregation
         MaxBucketPipelineAggregationBuilder maxBucketPipelineAgg =
@@ -400,8 +525,8 @@ public class ESAggregatedStatsDAO {
         baseAggregation.subAggregation(maxBucketPipelineAgg);
         break;
       case SUM:
-        AggregationBuilder sumAgg =
-            AggregationBuilders.sum(getAggregationSpecAggESName(aggregationSpec)).field(esFieldName);
+        AggregationBuilder sumAgg = AggregationBuilders.sum(getAggregationSpecAggESName(aggregationSpec))
+            .field(rolledUp ? RollupMappingsBuilder.getSumField(fieldPath) : esFieldName);
         baseAggregation.subAggregation(sumAgg);
         break;
       case CARDINALITY:
@@ -415,7 +540,8 @@ public class ESAggregatedStatsDAO {
   }
 
   private Pair<AggregationBuilder, AggregationBuilder> makeGroupingAggregationBuilder(AspectSpec aspectSpec,
-      @Nullable AggregationBuilder baseAggregationBuilder, @Nullable GroupingBucket[] groupingBuckets) {
+      @Nullable AggregationBuilder baseAggregationBuilder, @Nullable GroupingBucket[] groupingBuckets,
+      boolean rolledUp) {
 
     AggregationBuilder firstAggregationBuilder = baseAggregationBuilder;
     AggregationBuilder lastAggregationBuilder = baseAggregationBuilder;
@@ -433,7 +559,8 @@ public class ESAggregatedStatsDAO {
         } else if (curGroupingBucket.getType() == GroupingBucketType.STRING_GROUPING_BUCKET) {
           // Process the string grouping bucket using the 'terms' aggregation.
           // The field can be Keyword, Numeric, ip, boolean, or binary.
-          String fieldName = ESUtils.toKeywordField(curGroupingBucket.getKey(), true);
+          String fieldName = rolledUp ? RollupMappingsBuilder.getKeyField(curGroupingBucket.getKey())
+              : ESUtils.toKeywordField(curGroupingBucket.getKey(), true);
           DataSchema.Type fieldType = getGroupingBucketKeyType(aspectSpec, curGroupingBucket);
           curAggregationBuilder = AggregationBuilders.terms(getGroupingBucketAggName(curGroupingBucket))
               .field(fieldName)
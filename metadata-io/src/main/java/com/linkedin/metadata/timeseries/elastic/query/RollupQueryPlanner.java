@@ -0,0 +1,122 @@
+package com.linkedin.metadata.timeseries.elastic.query;
+
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupCriteria;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupGranularity;
+import com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer;
+import com.linkedin.timeseries.AggregationSpec;
+import com.linkedin.timeseries.GroupingBucket;
+import com.linkedin.timeseries.GroupingBucketType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Decides whether an aggregation query can be answered from the rollups of a timeseries aspect, and from which ones.
+ *
+ * The coarsest granularity dividing the date grouping buckets is used. The rollup buckets fully inside the queried time
+ * range are read from the rollups, while the partial buckets at both ends of the range are read from the raw documents.
+ */
+public class RollupQueryPlanner {
+
+  private RollupQueryPlanner() {
+  }
+
+  /**
+   * A part of the queried time range, read either from the rollups or from the raw documents.
+   */
+  @Value
+  public static class Segment {
+    boolean rolledUp;
+    Filter filter;
+  }
+
+  @Value
+  public static class RollupQueryPlan {
+    RollupGranularity granularity;
+    /**
+     * Segments of the time range, in time order
+     */
+    List<Segment> segments;
+  }
+
+  @Nonnull
+  public static Optional<RollupQueryPlan> plan(@Nonnull AspectSpec aspectSpec,
+      @Nonnull AggregationSpec[] aggregationSpecs, @Nullable Filter filter,
+      @Nullable GroupingBucket[] groupingBuckets) {
+    for (AggregationSpec aggregationSpec : aggregationSpecs) {
+      if (!isRolledUp(aspectSpec, aggregationSpec)) {
+        return Optional.empty();
+      }
+    }
+    final List<GroupingBucket> dateGroupingBuckets = new ArrayList<>();
+    if (groupingBuckets != null) {
+      for (GroupingBucket groupingBucket : groupingBuckets) {
+        if (groupingBucket.getType() == GroupingBucketType.DATE_GROUPING_BUCKET) {
+          if (!groupingBucket.getKey().equals(MappingsBuilder.TIMESTAMP_MILLIS_FIELD)
+              || !groupingBucket.hasTimeWindowSize()) {
+            return Optional.empty();
+          }
+          dateGroupingBuckets.add(groupingBucket);
+        } else if (!TimeseriesRollupTransformer.getKeyFields(aspectSpec).contains(groupingBucket.getKey())) {
+          return Optional.empty();
+        }
+      }
+    }
+    final Optional<RollupCriteria> criteria = RollupCriteria.fromFilter(filter);
+    if (!criteria.isPresent() || criteria.get().getRunId() != null) {
+      return Optional.empty();
+    }
+
+    for (RollupGranularity granularity : RollupGranularity.COARSEST_FIRST) {
+      if (dateGroupingBuckets.stream().allMatch(bucket -> granularity.divides(bucket.getTimeWindowSize()))) {
+        final Optional<List<Segment>> segments = getSegments(criteria.get(), granularity);
+        if (segments.isPresent()) {
+          return Optional.of(new RollupQueryPlan(granularity, segments.get()));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Splits the time range into the whole buckets of the granularity it contains, and the remaining parts at each end.
+   */
+  private static Optional<List<Segment>> getSegments(RollupCriteria criteria, RollupGranularity granularity) {
+    final Long start = criteria.getStartTimeMillis();
+    final Long end = criteria.getEndTimeMillis();
+    final Long rolledUpStart = start == null ? null : granularity.nextBucketStart(start);
+    final Long rolledUpEnd = end == null ? null : granularity.bucketStart(end + 1);
+    if (rolledUpStart != null && rolledUpEnd != null && rolledUpStart >= rolledUpEnd) {
+      return Optional.empty();
+    }
+
+    final List<Segment> segments = new ArrayList<>();
+    if (start != null && start < rolledUpStart) {
+      segments.add(new Segment(false, criteria.toFilter(start, rolledUpStart)));
+    }
+    segments.add(new Segment(true, criteria.toFilter(rolledUpStart, rolledUpEnd)));
+    if (end != null && rolledUpEnd <= end) {
+      segments.add(new Segment(false, criteria.toFilter(rolledUpEnd, end + 1)));
+    }
+    return Optional.of(segments);
+  }
+
+  private static boolean isRolledUp(AspectSpec aspectSpec, AggregationSpec aggregationSpec) {
+    switch (aggregationSpec.getAggregationType()) {
+      case SUM:
+        return TimeseriesRollupTransformer.getSummedFields(aspectSpec).contains(aggregationSpec.getFieldPath());
+      case LATEST:
+        return TimeseriesRollupTransformer.getLatestFields(aspectSpec).contains(aggregationSpec.getFieldPath());
+      default:
+        // Cardinalities cannot be combined across buckets
+        return false;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.search.utils.ESUtils;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer;
+import com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer.RollupContribution;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+
+import static com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer.*;
+
+
+/**
+ * Maintains the hourly and daily rollups of timeseries aspects, as timeseries documents are written and deleted.
+ *
+ * Rollup documents keep the contribution of each timeseries document by document id, and recompute their sums and
+ * latest values from them, so that rewriting a timeseries document is idempotent and deleting it can be undone.
+ */
+@Slf4j
+public class ESTimeseriesRollupDAO {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String RECOMPUTE_SCRIPT = String.join("\n",
+      "Map sums = new HashMap(); Map latest = new HashMap(); Map latestTimestamps = new HashMap();",
+      "Set runIds = new HashSet();",
+      "for (def c : ctx._source." + CONTRIBUTIONS_FIELD + ".values()) {",
+      "  if (c." + MappingsBuilder.RUN_ID_FIELD + " != null) { runIds.add(c." + MappingsBuilder.RUN_ID_FIELD + "); }",
+      "  for (def e : c." + SUMS_FIELD + ".entrySet()) {",
+      "    sums[e.getKey()] = (sums.containsKey(e.getKey()) ? sums[e.getKey()] : 0.0) + e.getValue();",
+      "  }",
+      "  for (def e : c." + LATEST_FIELD + ".entrySet()) {",
+      "    if (!latestTimestamps.containsKey(e.getKey())",
+      "        || latestTimestamps[e.getKey()] < c." + MappingsBuilder.TIMESTAMP_MILLIS_FIELD + ") {",
+      "      latest[e.getKey()] = e.getValue();",
+      "      latestTimestamps[e.getKey()] = c." + MappingsBuilder.TIMESTAMP_MILLIS_FIELD + ";",
+      "    }",
+      "  }",
+      "}",
+      "ctx._source." + SUMS_FIELD + " = sums;",
+      "ctx._source." + LATEST_FIELD + " = latest;",
+      "ctx._source." + LATEST_TIMESTAMPS_FIELD + " = latestTimestamps;",
+      "ctx._source." + RUN_IDS_FIELD + " = new ArrayList(runIds);");
+
+  private static final String ADD_SCRIPT = String.join("\n",
+      "ctx._source." + CONTRIBUTIONS_FIELD + "[params.id] = params.contribution;",
+      RECOMPUTE_SCRIPT);
+
+  private static final String REMOVE_SCRIPT = String.join("\n",
+      "boolean removed = false;",
+      "Iterator it = ctx._source." + CONTRIBUTIONS_FIELD + ".values().iterator();",
+      "while (it.hasNext()) {",
+      "  def c = it.next();",
+      "  long ts = c." + MappingsBuilder.TIMESTAMP_MILLIS_FIELD + ";",
+      "  if ((params.start == null || ts >= params.start) && (params.end == null || ts <= params.end)",
+      "      && (params.runId == null || params.runId.equals(c." + MappingsBuilder.RUN_ID_FIELD + "))) {",
+      "    it.remove();",
+      "    removed = true;",
+      "  }",
+      "}",
+      "if (!removed) {",
+      "  ctx.op = 'noop';",
+      "} else if (ctx._source." + CONTRIBUTIONS_FIELD + ".isEmpty()) {",
+      "  ctx.op = 'delete';",
+      "} else {",
+      RECOMPUTE_SCRIPT,
+      "}");
+
+  private final IndexConvention _indexConvention;
+  private final ESBulkProcessor _bulkProcessor;
+  private final EntityRegistry _entityRegistry;
+  private final TimeseriesRollupConfig _config;
+  private final int _numRetries;
+
+  public ESTimeseriesRollupDAO(@Nonnull IndexConvention indexConvention, @Nonnull ESBulkProcessor bulkProcessor,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull TimeseriesRollupConfig config, int numRetries) {
+    _indexConvention = indexConvention;
+    _bulkProcessor = bulkProcessor;
+    _entityRegistry = entityRegistry;
+    _config = config;
+    _numRetries = numRetries;
+  }
+
+  public boolean isEnabled(@Nonnull String entityName, @Nonnull String aspectName) {
+    return _config.isEnabled(entityName, aspectName);
+  }
+
+  /**
+   * Adds a timeseries document to the rollups of its aspect, replacing its previous contribution if it was already
+   * rolled up.
+   */
+  public void addDocument(@Nonnull String entityName, @Nonnull String aspectName, @Nonnull String docId,
+      @Nonnull JsonNode document) {
+    final AspectSpec aspectSpec = _entityRegistry.getEntitySpec(entityName).getAspectSpec(aspectName);
+    final Optional<RollupContribution> contribution = TimeseriesRollupTransformer.transform(document, aspectSpec);
+    if (!contribution.isPresent()) {
+      log.warn("Could not roll up timeseries document {} of aspect {}", docId, aspectName);
+      return;
+    }
+
+    final Map<String, Object> params = new HashMap<>();
+    params.put("id", docId);
+    params.put("contribution", OBJECT_MAPPER.convertValue(contribution.get().getContribution(), Map.class));
+    final Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, ADD_SCRIPT, params);
+
+    for (RollupGranularity granularity : RollupGranularity.values()) {
+      final long bucketStart = granularity.bucketStart(contribution.get().getTimestampMillis());
+      final ObjectNode upsert = JsonNodeFactory.instance.objectNode();
+      upsert.put(MappingsBuilder.URN_FIELD, contribution.get().getUrn());
+      upsert.put(MappingsBuilder.TIMESTAMP_MILLIS_FIELD, bucketStart);
+      final ObjectNode keys = upsert.putObject(KEYS_FIELD);
+      contribution.get().getKeys().forEach(keys::put);
+      upsert.putObject(CONTRIBUTIONS_FIELD);
+
+      final String rollupDocId =
+          DigestUtils.md5Hex(contribution.get().getUrn() + bucketStart + contribution.get().getKeys());
+      final UpdateRequest updateRequest =
+          new UpdateRequest(getIndexName(entityName, aspectName, granularity), rollupDocId).script(script)
+              .scriptedUpsert(true)
+              .upsert(OBJECT_MAPPER.convertValue(upsert, Map.class))
+              .retryOnConflict(_numRetries);
+      _bulkProcessor.add(updateRequest);
+    }
+  }
+
+  /**
+   * Removes the contributions of the timeseries documents matching a filter from the rollups of their aspect.
+   *
+   * @return whether the filter could be applied to the rollups, which are stale otherwise
+   */
+  public boolean removeDocuments(@Nonnull String entityName, @Nonnull String aspectName, @Nullable Filter filter) {
+    final Optional<RollupCriteria> criteria = RollupCriteria.fromFilter(filter);
+    if (!criteria.isPresent()) {
+      MetricUtils.counter(this.getClass(), "stale_rollups").inc();
+      log.warn("Cannot remove timeseries documents of aspect {} matching filter {} from its rollups", aspectName,
+          filter);
+      return false;
+    }
+    return removeContributions(entityName, aspectName, criteria.get());
+  }
+
+  /**
+   * Removes the contributions of the timeseries documents which do not match a filter from the rollups of their aspect.
+   *
+   * @return whether the filter could be applied to the rollups, which are stale otherwise
+   */
+  public boolean retainDocuments(@Nonnull String entityName, @Nonnull String aspectName, @Nonnull Filter filter) {
+    final Optional<RollupCriteria> criteria = RollupCriteria.fromFilter(filter);
+    if (!criteria.isPresent() || !criteria.get().getUrnCriteria().isEmpty() || criteria.get().getRunId() != null) {
+      MetricUtils.counter(this.getClass(), "stale_rollups").inc();
+      log.warn("Cannot retain timeseries documents of aspect {} matching filter {} in its rollups", aspectName, filter);
+      return false;
+    }
+    // Only a time range is retained, so everything before and after it is removed
+    boolean removed = true;
+    if (criteria.get().getStartTimeMillis() != null) {
+      removed = removeContributions(entityName, aspectName,
+          new RollupCriteria(criteria.get().getUrnCriteria(), null, criteria.get().getStartTimeMillis() - 1, null));
+    }
+    if (criteria.get().getEndTimeMillis() != null) {
+      removed &= removeContributions(entityName, aspectName,
+          new RollupCriteria(criteria.get().getUrnCriteria(), criteria.get().getEndTimeMillis() + 1, null, null));
+    }
+    return removed;
+  }
+
+  private boolean removeContributions(String entityName, String aspectName, RollupCriteria criteria) {
+    final Map<String, Object> params = new HashMap<>();
+    params.put("start", criteria.getStartTimeMillis());
+    params.put("end", criteria.getEndTimeMillis());
+    params.put("runId", criteria.getRunId());
+    final Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, REMOVE_SCRIPT, params);
+
+    boolean removed = true;
+    for (RollupGranularity granularity : RollupGranularity.values()) {
+      // Rollup documents are timestamped with the start of their bucket
+      final Long bucketStart =
+          criteria.getStartTimeMillis() == null ? null : granularity.bucketStart(criteria.getStartTimeMillis());
+      final Long bucketEnd = criteria.getEndTimeMillis() == null ? null : criteria.getEndTimeMillis() + 1;
+      final BoolQueryBuilder query = QueryBuilders.boolQuery()
+          .filter(ESUtils.buildFilterQuery(criteria.toFilter(bucketStart, bucketEnd), true));
+      if (criteria.getRunId() != null) {
+        query.filter(QueryBuilders.termQuery(RUN_IDS_FIELD, criteria.getRunId()));
+      }
+
+      final Optional<BulkByScrollResponse> response =
+          _bulkProcessor.updateByQuery(query, script, true, getIndexName(entityName, aspectName, granularity));
+      if (!response.isPresent() || response.get().getVersionConflicts() > 0) {
+        MetricUtils.counter(this.getClass(), "stale_rollups").inc();
+        log.warn("Failed to remove timeseries documents of aspect {} from its {} rollups", aspectName,
+            granularity.getName());
+        removed = false;
+      }
+    }
+    return removed;
+  }
+
+  @Nonnull
+  public String getIndexName(@Nonnull String entityName, @Nonnull String aspectName,
+      @Nonnull RollupGranularity granularity) {
+    return _indexConvention.getTimeseriesAspectRollupIndexName(entityName, aspectName, granularity.getName());
+  }
+}
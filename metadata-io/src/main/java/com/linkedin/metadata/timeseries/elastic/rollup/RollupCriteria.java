@@ -0,0 +1,118 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.utils.QueryUtils;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * A timeseries filter which rollups can be matched against: criteria on the urn, a time range, and a run id.
+ */
+@Value
+public class RollupCriteria {
+  List<Criterion> urnCriteria;
+  @Nullable
+  Long startTimeMillis;
+  @Nullable
+  Long endTimeMillis;
+  @Nullable
+  String runId;
+
+  /**
+   * Parses the filter, if it only has criteria on the urn, on the timestamp and on the run id.
+   */
+  @Nonnull
+  public static Optional<RollupCriteria> fromFilter(@Nullable Filter filter) {
+    if (filter == null) {
+      return Optional.of(new RollupCriteria(Collections.emptyList(), null, null, null));
+    }
+    if (filter.getOr() == null || filter.getOr().size() > 1) {
+      return Optional.empty();
+    }
+    if (filter.getOr().isEmpty()) {
+      return Optional.of(new RollupCriteria(Collections.emptyList(), null, null, null));
+    }
+
+    final List<Criterion> urnCriteria = new ArrayList<>();
+    Long startTimeMillis = null;
+    Long endTimeMillis = null;
+    String runId = null;
+    for (Criterion criterion : filter.getOr().get(0).getAnd()) {
+      if (criterion.isNegated()) {
+        return Optional.empty();
+      }
+      if (criterion.getField().equals(MappingsBuilder.URN_FIELD)) {
+        urnCriteria.add(criterion);
+      } else if (criterion.getField().equals(MappingsBuilder.TIMESTAMP_MILLIS_FIELD)) {
+        // Range conditions only use the single value of the criterion
+        final long value;
+        try {
+          value = Long.parseLong(criterion.getValue().trim());
+        } catch (NumberFormatException e) {
+          return Optional.empty();
+        }
+        switch (criterion.getCondition()) {
+          case GREATER_THAN:
+            startTimeMillis = max(startTimeMillis, value + 1);
+            break;
+          case GREATER_THAN_OR_EQUAL_TO:
+            startTimeMillis = max(startTimeMillis, value);
+            break;
+          case LESS_THAN:
+            endTimeMillis = min(endTimeMillis, value - 1);
+            break;
+          case LESS_THAN_OR_EQUAL_TO:
+            endTimeMillis = min(endTimeMillis, value);
+            break;
+          default:
+            return Optional.empty();
+        }
+      } else if (criterion.getField().equals(MappingsBuilder.RUN_ID_FIELD)) {
+        final List<String> values = criterion.getValues().isEmpty() ? Arrays.asList(criterion.getValue().split(","))
+            : criterion.getValues();
+        if (criterion.getCondition() != Condition.EQUAL || values.size() != 1 || runId != null) {
+          return Optional.empty();
+        }
+        runId = values.get(0).trim();
+      } else {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(new RollupCriteria(urnCriteria, startTimeMillis, endTimeMillis, runId));
+  }
+
+  /**
+   * Returns a filter with the urn criteria of these criteria, on a time range with an exclusive end.
+   */
+  @Nonnull
+  public Filter toFilter(@Nullable Long startTimeMillis, @Nullable Long endTimeMillisExclusive) {
+    final List<Criterion> criteria = new ArrayList<>(urnCriteria);
+    if (startTimeMillis != null) {
+      criteria.add(QueryUtils.newCriterion(MappingsBuilder.TIMESTAMP_MILLIS_FIELD, startTimeMillis.toString(),
+          Condition.GREATER_THAN_OR_EQUAL_TO));
+    }
+    if (endTimeMillisExclusive != null) {
+      criteria.add(QueryUtils.newCriterion(MappingsBuilder.TIMESTAMP_MILLIS_FIELD, endTimeMillisExclusive.toString(),
+          Condition.LESS_THAN));
+    }
+    return QueryUtils.getFilterFromCriteria(criteria);
+  }
+
+  private static long max(@Nullable Long current, long value) {
+    return current == null ? value : Math.max(current, value);
+  }
+
+  private static long min(@Nullable Long current, long value) {
+    return current == null ? value : Math.min(current, value);
+  }
+}
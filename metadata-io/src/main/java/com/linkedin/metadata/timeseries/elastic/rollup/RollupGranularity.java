@@ -0,0 +1,60 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.timeseries.TimeWindowSize;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Granularity of the pre-aggregated documents of a timeseries aspect. Buckets are aligned on the epoch, i.e. in UTC,
+ * like the date histograms of the aggregation queries.
+ */
+public enum RollupGranularity {
+  HOUR(TimeUnit.HOURS.toMillis(1)),
+  DAY(TimeUnit.DAYS.toMillis(1));
+
+  public static final List<RollupGranularity> COARSEST_FIRST = ImmutableList.of(DAY, HOUR);
+
+  private final long _millis;
+
+  RollupGranularity(long millis) {
+    _millis = millis;
+  }
+
+  @Nonnull
+  public String getName() {
+    return name().toLowerCase();
+  }
+
+  public long bucketStart(long timestampMillis) {
+    return Math.floorDiv(timestampMillis, _millis) * _millis;
+  }
+
+  /**
+   * Start of the first bucket starting at or after the timestamp.
+   */
+  public long nextBucketStart(long timestampMillis) {
+    final long bucketStart = bucketStart(timestampMillis);
+    return bucketStart == timestampMillis ? bucketStart : bucketStart + _millis;
+  }
+
+  /**
+   * Whether each date histogram bucket of the window size is made of whole buckets of this granularity.
+   */
+  public boolean divides(@Nonnull TimeWindowSize timeWindowSize) {
+    switch (timeWindowSize.getUnit()) {
+      case HOUR:
+        return this == HOUR;
+      case DAY:
+      case WEEK:
+      case MONTH:
+      case QUARTER:
+      case YEAR:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
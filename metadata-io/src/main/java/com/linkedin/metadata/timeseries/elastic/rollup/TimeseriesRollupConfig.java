@@ -0,0 +1,35 @@
+package com.linkedin.metadata.timeseries.elastic.rollup;
+
+import java.util.Collections;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+
+/**
+ * Which timeseries aspects are rolled up, and whether aggregation queries are answered from the rollups.
+ *
+ * Rollups only cover the events written once they are enabled, so queries should only be routed to them once they
+ * cover the time ranges being queried.
+ */
+@Value
+public class TimeseriesRollupConfig {
+  /**
+   * Rolled up aspects, as entityName.aspectName
+   */
+  Set<String> aspects;
+  boolean queryEnabled;
+
+  @Nonnull
+  public static TimeseriesRollupConfig disabled() {
+    return new TimeseriesRollupConfig(Collections.emptySet(), false);
+  }
+
+  public boolean isEnabled(@Nonnull String entityName, @Nonnull String aspectName) {
+    return aspects.contains(entityName + "." + aspectName);
+  }
+
+  public boolean isQueryEnabled(@Nonnull String entityName, @Nonnull String aspectName) {
+    return queryEnabled && isEnabled(entityName, aspectName);
+  }
+}
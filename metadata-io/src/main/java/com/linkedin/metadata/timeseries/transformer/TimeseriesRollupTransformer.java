@@ -0,0 +1,178 @@
+package com.linkedin.metadata.timeseries.transformer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.TimeseriesFieldCollectionSpec;
+import com.linkedin.metadata.models.TimeseriesFieldSpec;
+import com.linkedin.metadata.timeseries.elastic.indexbuilder.MappingsBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+
+/**
+ * Class that provides utility functions to transform timeseries documents into their contributions to rollups.
+ *
+ * A rollup document holds the contributions of the timeseries documents of an urn within a time bucket, and for the
+ * documents of a field collection, of a collection key. Numeric fields are summed, and the latest value of every field
+ * is kept along with its timestamp, which is enough to answer the SUM and LATEST aggregations.
+ */
+public class TimeseriesRollupTransformer {
+
+  public static final String SUMS_FIELD = "sums";
+  public static final String LATEST_FIELD = "latest";
+  public static final String LATEST_TIMESTAMPS_FIELD = "latestTimestamps";
+  public static final String KEYS_FIELD = "keys";
+  public static final String RUN_IDS_FIELD = "runIds";
+  public static final String CONTRIBUTIONS_FIELD = "contributions";
+
+  private TimeseriesRollupTransformer() {
+  }
+
+  /**
+   * Contribution of a timeseries document to the rollup of its urn and group keys.
+   */
+  @Value
+  public static class RollupContribution {
+    String urn;
+    long timestampMillis;
+    /**
+     * Collection keys of the document, by field path
+     */
+    Map<String, String> keys;
+    /**
+     * Timestamp, run id, sums and latest values of the document
+     */
+    ObjectNode contribution;
+  }
+
+  /**
+   * Returns the paths of the numeric fields, which are summed.
+   */
+  @Nonnull
+  public static List<String> getSummedFields(@Nonnull AspectSpec aspectSpec) {
+    final List<String> fields = new ArrayList<>();
+    aspectSpec.getTimeseriesFieldSpecs()
+        .stream()
+        .filter(TimeseriesRollupTransformer::isNumeric)
+        .forEach(fieldSpec -> fields.add(fieldSpec.getName()));
+    for (TimeseriesFieldCollectionSpec collectionSpec : aspectSpec.getTimeseriesFieldCollectionSpecs()) {
+      collectionSpec.getTimeseriesFieldSpecMap()
+          .values()
+          .stream()
+          .filter(TimeseriesRollupTransformer::isNumeric)
+          .forEach(fieldSpec -> fields.add(collectionSpec.getName() + "." + fieldSpec.getName()));
+    }
+    return fields;
+  }
+
+  /**
+   * Returns the paths of the single-valued fields, whose latest value is kept.
+   */
+  @Nonnull
+  public static List<String> getLatestFields(@Nonnull AspectSpec aspectSpec) {
+    final List<String> fields = new ArrayList<>();
+    aspectSpec.getTimeseriesFieldSpecs()
+        .stream()
+        .filter(TimeseriesRollupTransformer::isSingleValued)
+        .forEach(fieldSpec -> fields.add(fieldSpec.getName()));
+    for (TimeseriesFieldCollectionSpec collectionSpec : aspectSpec.getTimeseriesFieldCollectionSpecs()) {
+      fields.add(getKeyField(collectionSpec));
+      collectionSpec.getTimeseriesFieldSpecMap()
+          .values()
+          .stream()
+          .filter(TimeseriesRollupTransformer::isSingleValued)
+          .forEach(fieldSpec -> fields.add(collectionSpec.getName() + "." + fieldSpec.getName()));
+    }
+    return fields;
+  }
+
+  /**
+   * Returns the paths of the collection keys, which rollups can be grouped by.
+   */
+  @Nonnull
+  public static List<String> getKeyFields(@Nonnull AspectSpec aspectSpec) {
+    final List<String> fields = new ArrayList<>();
+    aspectSpec.getTimeseriesFieldCollectionSpecs().forEach(collectionSpec -> fields.add(getKeyField(collectionSpec)));
+    return fields;
+  }
+
+  @Nonnull
+  public static Optional<RollupContribution> transform(@Nonnull final JsonNode document,
+      @Nonnull final AspectSpec aspectSpec) {
+    final JsonNode urn = document.get(MappingsBuilder.URN_FIELD);
+    final JsonNode timestampMillis = document.get(MappingsBuilder.TIMESTAMP_MILLIS_FIELD);
+    if (urn == null || timestampMillis == null) {
+      return Optional.empty();
+    }
+
+    final ObjectNode contribution = JsonNodeFactory.instance.objectNode();
+    contribution.put(MappingsBuilder.TIMESTAMP_MILLIS_FIELD, timestampMillis.asLong());
+    final JsonNode runId = document.get(MappingsBuilder.RUN_ID_FIELD);
+    if (runId != null) {
+      contribution.put(MappingsBuilder.RUN_ID_FIELD, runId.asText());
+    }
+    final ObjectNode sums = contribution.putObject(SUMS_FIELD);
+    final ObjectNode latest = contribution.putObject(LATEST_FIELD);
+    final Map<String, String> keys = new TreeMap<>();
+
+    final JsonNode isExploded = document.get(MappingsBuilder.IS_EXPLODED_FIELD);
+    if (isExploded != null && isExploded.asBoolean()) {
+      final Optional<TimeseriesFieldCollectionSpec> collectionSpec = aspectSpec.getTimeseriesFieldCollectionSpecs()
+          .stream()
+          .filter(spec -> document.has(spec.getName()))
+          .findFirst();
+      if (!collectionSpec.isPresent()) {
+        return Optional.empty();
+      }
+      final String collectionName = collectionSpec.get().getName();
+      final JsonNode component = document.get(collectionName);
+      final String keyName = collectionSpec.get().getTimeseriesFieldCollectionAnnotation().getKey();
+      if (!component.has(keyName)) {
+        return Optional.empty();
+      }
+      keys.put(getKeyField(collectionSpec.get()), component.get(keyName).asText());
+      latest.put(getKeyField(collectionSpec.get()), component.get(keyName).asText());
+      collectionSpec.get()
+          .getTimeseriesFieldSpecMap()
+          .values()
+          .forEach(fieldSpec -> addField(sums, latest, collectionName + ".", component, fieldSpec));
+    } else {
+      aspectSpec.getTimeseriesFieldSpecs().forEach(fieldSpec -> addField(sums, latest, "", document, fieldSpec));
+    }
+    return Optional.of(new RollupContribution(urn.asText(), timestampMillis.asLong(), keys, contribution));
+  }
+
+  private static void addField(ObjectNode sums, ObjectNode latest, String prefix, JsonNode document,
+      TimeseriesFieldSpec fieldSpec) {
+    final JsonNode value = document.get(fieldSpec.getName());
+    if (value == null || !isSingleValued(fieldSpec) || !value.isValueNode() || value.isNull()) {
+      return;
+    }
+    if (isNumeric(fieldSpec) && value.isNumber()) {
+      sums.set(prefix + fieldSpec.getName(), value);
+    }
+    latest.put(prefix + fieldSpec.getName(), value.asText());
+  }
+
+  private static String getKeyField(TimeseriesFieldCollectionSpec collectionSpec) {
+    return collectionSpec.getName() + "." + collectionSpec.getTimeseriesFieldCollectionAnnotation().getKey();
+  }
+
+  private static boolean isSingleValued(TimeseriesFieldSpec fieldSpec) {
+    return fieldSpec.getPegasusSchema().getType() != DataSchema.Type.ARRAY;
+  }
+
+  private static boolean isNumeric(TimeseriesFieldSpec fieldSpec) {
+    final DataSchema.Type type = fieldSpec.getPegasusSchema().getType();
+    return type == DataSchema.Type.INT || type == DataSchema.Type.LONG || type == DataSchema.Type.FLOAT
+        || type == DataSchema.Type.DOUBLE;
+  }
+}
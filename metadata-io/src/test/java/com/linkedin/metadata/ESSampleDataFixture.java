@@ -264,6 +264,7 @@ public class ESSampleDataFixture {
 
         AspectDao mockAspectDao = mock(AspectDao.class);
         when(mockAspectDao.batchGet(anySet())).thenReturn(Map.of(mock(EntityAspectIdentifier.class), mock(EntityAspect.class)));
+        when(mockAspectDao.getUrnsWithLatestAspects(anySet(), anySet())).thenAnswer(invocation -> invocation.getArgument(0));
 
         PreProcessHooks preProcessHooks = new PreProcessHooks();
         preProcessHooks.setUiEnabled(true);
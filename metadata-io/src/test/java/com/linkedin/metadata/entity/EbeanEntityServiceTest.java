@@ -5,27 +5,42 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.DataTemplateUtil;
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.identity.CorpUserInfo;
 import com.linkedin.metadata.AspectGenerationUtils;
 import com.linkedin.metadata.EbeanTestUtils;
 import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
+import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.entity.ebean.EbeanRetentionService;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
+import com.linkedin.metadata.entity.restoreindices.RestoreIndicesResult;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.key.CorpUserKey;
 import com.linkedin.metadata.models.registry.EntityRegistryException;
 import com.linkedin.metadata.query.ListUrnsResult;
 import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.utils.PegasusUtils;
+import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.SystemMetadata;
 import io.ebean.EbeanServer;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
 import io.ebean.annotation.TxIsolation;
+import java.sql.Timestamp;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -183,4 +198,108 @@ public class EbeanEntityServiceTest extends EntityServiceTest<EbeanAspectDao, Eb
     }
     System.out.println("done");
   }
+
+  @Test
+  public void testGetAspectsAfter() throws AssertionError {
+    String aspectName = PegasusUtils.getAspectNameFromSchema(new CorpUserInfo().schema());
+    ingestCorpUserInfos(aspectName, "test1", "test2", "test3");
+
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName(aspectName).setBatchSize(2);
+    assertEquals(getUrns(_aspectDao.getAspectsAfter(args)), List.of("urn:li:corpuser:test1", "urn:li:corpuser:test2"));
+
+    // Seeks past the key of the last row read
+    args.lastUrn = "urn:li:corpuser:test2";
+    args.lastAspect = aspectName;
+    assertEquals(getUrns(_aspectDao.getAspectsAfter(args)), List.of("urn:li:corpuser:test3"));
+
+    // Includes the remaining aspects of the last urn read
+    args.lastAspect = "";
+    assertEquals(getUrns(_aspectDao.getAspectsAfter(args)), List.of("urn:li:corpuser:test2", "urn:li:corpuser:test3"));
+
+    args.lastUrn = "urn:li:corpuser:test3";
+    args.lastAspect = aspectName;
+    assertTrue(_aspectDao.getAspectsAfter(args).isEmpty());
+
+    // The upper bound of a range is exclusive
+    args.lastUrn = null;
+    args.lastAspect = null;
+    args.urnUpperBound = "urn:li:corpuser:test2";
+    assertEquals(getUrns(_aspectDao.getAspectsAfter(args)), List.of("urn:li:corpuser:test1"));
+  }
+
+  @Test
+  public void testRestoreIndicesUrnBasedPagination() throws AssertionError {
+    String aspectName = PegasusUtils.getAspectNameFromSchema(new CorpUserInfo().schema());
+    ingestCorpUserInfos(aspectName, "test1", "test2", "test3");
+
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName(aspectName).setBatchSize(2);
+    args.urnBasedPagination = true;
+    RestoreIndicesResult result = _entityServiceImpl.restoreIndices(args, line -> { });
+    assertEquals(result.rowsMigrated, 2);
+    assertEquals(result.lastUrn, "urn:li:corpuser:test2");
+    assertEquals(result.lastAspect, aspectName);
+
+    args.lastUrn = result.lastUrn;
+    args.lastAspect = result.lastAspect;
+    result = _entityServiceImpl.restoreIndices(args, line -> { });
+    assertEquals(result.rowsMigrated, 1);
+    assertEquals(result.lastUrn, "urn:li:corpuser:test3");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRestoreIndicesWriteDirect() throws AssertionError {
+    String aspectName = PegasusUtils.getAspectNameFromSchema(new CorpUserInfo().schema());
+    ingestCorpUserInfos(aspectName, "test1", "test2");
+    clearInvocations(_mockProducer, _mockUpdateIndicesService);
+
+    RestoreIndicesArgs args = new RestoreIndicesArgs().setAspectName(aspectName).setBatchSize(10);
+    args.writeDirect = true;
+    RestoreIndicesResult result = _entityServiceImpl.restoreIndices(args, line -> { });
+    assertEquals(result.rowsMigrated, 2);
+
+    // The restated change logs are applied to the indices in a single batch, and not produced to Kafka
+    ArgumentCaptor<List<MetadataChangeLog>> captor = ArgumentCaptor.forClass(List.class);
+    verify(_mockUpdateIndicesService).handleChangeEvents(captor.capture());
+    assertEquals(captor.getValue().size(), 2);
+    captor.getValue().forEach(mcl -> assertEquals(mcl.getChangeType(), ChangeType.RESTATE));
+    verify(_mockProducer, never()).produceMetadataChangeLog(any(), any(), any());
+  }
+
+  private void ingestCorpUserInfos(String aspectName, String... usernames) {
+    SystemMetadata metadata = AspectGenerationUtils.createSystemMetadata();
+    for (String username : usernames) {
+      _entityServiceImpl.ingestAspect(UrnUtils.getUrn("urn:li:corpuser:" + username), aspectName,
+          AspectGenerationUtils.createCorpUserInfo(username + "@test.com"), TEST_AUDIT_STAMP, metadata);
+    }
+  }
+
+  private static List<String> getUrns(List<EbeanAspectV2> aspects) {
+    return aspects.stream().map(aspect -> aspect.getKey().getUrn()).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testGetUrnsWithLatestAspectsAcrossPages() {
+    // Three pages of keys
+    _aspectDao.setQueryKeysCount(2);
+    Timestamp timestamp = new Timestamp(TEST_AUDIT_STAMP.getTime());
+    String actor = TEST_AUDIT_STAMP.getActor().toString();
+    _aspectDao.saveAspect("urn:li:corpuser:withKey", "corpUserKey", "{}", actor, null, timestamp, "{}", 0, true);
+    _aspectDao.saveAspect("urn:li:corpuser:withoutKey", "corpUserInfo", "{}", actor, null, timestamp, "{}", 0, true);
+    // Only a previous version, the aspect was deleted since
+    _aspectDao.saveAspect("urn:li:corpuser:withoutLatest", "corpUserInfo", "{}", actor, null, timestamp, "{}", 1,
+        true);
+    _aspectDao.saveAspect("urn:li:corpuser:otherAspect", "corpUserEditableInfo", "{}", actor, null, timestamp, "{}",
+        0, true);
+    _aspectDao.saveAspect("urn:li:corpuser:lastPage", "corpUserKey", "{}", actor, null, timestamp, "{}", 0, true);
+
+    Set<String> urns = new LinkedHashSet<>(List.of("urn:li:corpuser:withKey", "urn:li:corpuser:withoutKey",
+        "urn:li:corpuser:withoutLatest", "urn:li:corpuser:missing", "urn:li:corpuser:otherAspect",
+        "urn:li:corpuser:lastPage"));
+    assertEquals(_aspectDao.getUrnsWithLatestAspects(urns, Set.of("corpUserKey", "corpUserInfo")),
+        Set.of("urn:li:corpuser:withKey", "urn:li:corpuser:withoutKey", "urn:li:corpuser:lastPage"));
+    assertEquals(_aspectDao.getUrnsWithLatestAspects(urns, Set.of("corpUserKey")),
+        Set.of("urn:li:corpuser:withKey", "urn:li:corpuser:lastPage"));
+    assertTrue(_aspectDao.getUrnsWithLatestAspects(urns, Set.of()).isEmpty());
+  }
 }
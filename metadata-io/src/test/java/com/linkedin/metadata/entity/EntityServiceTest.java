@@ -622,6 +622,66 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         verifyNoMoreInteractions(_mockProducer);
     }
 
+    @Test
+    public void testIngestProposalsBatch() throws Exception {
+        Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+        Urn entityUrn2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+        CorpUserInfo writeAspect1 = AspectGenerationUtils.createCorpUserInfo("email1@test.com");
+        CorpUserInfo writeAspect1Overwrite = AspectGenerationUtils.createCorpUserInfo("email1_overwrite@test.com");
+        CorpUserInfo writeAspect2 = AspectGenerationUtils.createCorpUserInfo("email2@test.com");
+        Status writeStatus2 = new Status().setRemoved(false);
+        String aspectName = AspectGenerationUtils.getAspectName(writeAspect1);
+
+        SystemMetadata metadata1 = AspectGenerationUtils.createSystemMetadata();
+
+        List<MetadataChangeProposal> mcps = ImmutableList.of(
+            createUpsertProposal(entityUrn1, aspectName, writeAspect1, metadata1),
+            createUpsertProposal(entityUrn2, aspectName, writeAspect2, metadata1),
+            createUpsertProposal(entityUrn2, STATUS_ASPECT_NAME, writeStatus2, metadata1),
+            // Second write to the same aspect within the batch, must version the first one
+            createUpsertProposal(entityUrn1, aspectName, writeAspect1Overwrite, metadata1));
+
+        List<IngestProposalResult> results = _entityServiceImpl.ingestProposals(mcps, TEST_AUDIT_STAMP, false);
+
+        assertEquals(results.size(), 4);
+        assertEquals(results.get(0).getUrn(), entityUrn1);
+        assertEquals(results.get(2).getUrn(), entityUrn2);
+        assertTrue(results.stream().allMatch(IngestProposalResult::isDidUpdate));
+        assertTrue(results.stream().noneMatch(IngestProposalResult::isQueued));
+
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1Overwrite, _entityServiceImpl.getAspect(entityUrn1, aspectName, 0)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect1, _entityServiceImpl.getAspect(entityUrn1, aspectName, 1)));
+        assertTrue(DataTemplateUtil.areEqual(writeAspect2, _entityServiceImpl.getAspect(entityUrn2, aspectName, 0)));
+        assertTrue(DataTemplateUtil.areEqual(writeStatus2, _entityServiceImpl.getAspect(entityUrn2, STATUS_ASPECT_NAME, 0)));
+
+        ArgumentCaptor<List<Pair<AspectSpec, MetadataChangeLog>>> changeLogCaptor = ArgumentCaptor.forClass(List.class);
+        verify(_mockProducer, times(1)).produceMetadataChangeLogs(changeLogCaptor.capture());
+        List<Pair<AspectSpec, MetadataChangeLog>> changeLogs = changeLogCaptor.getValue();
+        assertEquals(changeLogs.size(), 4);
+        assertEquals(changeLogs.get(0).getSecond().getEntityUrn(), entityUrn1);
+        assertFalse(changeLogs.get(0).getSecond().hasPreviousAspectValue());
+        assertEquals(changeLogs.get(3).getSecond().getPreviousAspectValue(), GenericRecordUtils.serializeAspect(writeAspect1));
+
+        verifyNoMoreInteractions(_mockProducer);
+    }
+
+    @Test
+    public void testIngestProposalsBatchAsync() throws Exception {
+        Urn entityUrn = UrnUtils.getUrn("urn:li:corpuser:test");
+        CorpUserInfo writeAspect = AspectGenerationUtils.createCorpUserInfo("email@test.com");
+        MetadataChangeProposal mcp = createUpsertProposal(entityUrn, AspectGenerationUtils.getAspectName(writeAspect),
+            writeAspect, AspectGenerationUtils.createSystemMetadata());
+
+        List<IngestProposalResult> results =
+            _entityServiceImpl.ingestProposals(ImmutableList.of(mcp), TEST_AUDIT_STAMP, true);
+
+        assertEquals(results.size(), 1);
+        assertTrue(results.get(0).isQueued());
+        verify(_mockProducer, times(1)).produceMetadataChangeProposal(Mockito.eq(entityUrn), Mockito.eq(mcp));
+        verifyNoMoreInteractions(_mockProducer);
+    }
+
     @Test
     public void testIngestTimeseriesAspect() throws Exception {
         Urn entityUrn = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:foo,bar,PROD)");
@@ -1319,6 +1379,19 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         assertEquals(UI_SOURCE, captor.getValue().getSystemMetadata().getProperties().get(APP_SOURCE));
     }
 
+    @Nonnull
+    protected MetadataChangeProposal createUpsertProposal(Urn entityUrn, String aspectName, RecordTemplate aspect,
+        SystemMetadata systemMetadata) {
+        MetadataChangeProposal mcp = new MetadataChangeProposal();
+        mcp.setEntityType(entityUrn.getEntityType());
+        mcp.setEntityUrn(entityUrn);
+        mcp.setChangeType(ChangeType.UPSERT);
+        mcp.setAspectName(aspectName);
+        mcp.setAspect(GenericRecordUtils.serializeAspect(aspect));
+        mcp.setSystemMetadata(systemMetadata);
+        return mcp;
+    }
+
     @Nonnull
     protected com.linkedin.entity.Entity createCorpUserEntity(Urn entityUrn, String email) throws Exception {
         CorpuserUrn corpuserUrn = CorpuserUrn.createFromUrn(entityUrn);
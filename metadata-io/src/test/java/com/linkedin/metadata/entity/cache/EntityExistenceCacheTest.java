@@ -0,0 +1,71 @@
+package com.linkedin.metadata.entity.cache;
+
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EntityExistenceCacheTest {
+
+  private static final Urn EXISTING = UrnUtils.getUrn("urn:li:corpuser:existing");
+  private static final Urn MISSING = UrnUtils.getUrn("urn:li:corpuser:missing");
+
+  @Test
+  public void testOnlyExistingEntitiesAreCached() {
+    EntityExistenceCache cache = new EntityExistenceCache(100, Duration.ofMinutes(1));
+    AtomicInteger loads = new AtomicInteger();
+
+    Set<Urn> first = cache.existsBatch(ImmutableSet.of(EXISTING, MISSING), urns -> {
+      loads.incrementAndGet();
+      return ImmutableSet.of(EXISTING);
+    });
+    assertEquals(first, ImmutableSet.of(EXISTING));
+
+    Set<Urn> second = cache.existsBatch(ImmutableSet.of(EXISTING, MISSING), urns -> {
+      loads.incrementAndGet();
+      // The missing entity may have been created since, only it is loaded again
+      assertEquals(urns, ImmutableSet.of(MISSING));
+      return ImmutableSet.of(MISSING);
+    });
+    assertEquals(second, ImmutableSet.of(EXISTING, MISSING));
+    assertEquals(loads.get(), 2);
+
+    assertEquals(cache.existsBatch(ImmutableSet.of(EXISTING, MISSING), urns -> {
+      fail("All entities should be cached");
+      return Collections.emptySet();
+    }), ImmutableSet.of(EXISTING, MISSING));
+  }
+
+  @Test
+  public void testInvalidate() {
+    EntityExistenceCache cache = new EntityExistenceCache(100, Duration.ofMinutes(1));
+    cache.existsBatch(ImmutableSet.of(EXISTING), urns -> ImmutableSet.of(EXISTING));
+
+    cache.invalidate(EXISTING.toString());
+
+    assertEquals(cache.existsBatch(ImmutableSet.of(EXISTING), urns -> Collections.emptySet()),
+        Collections.emptySet());
+  }
+
+  @Test
+  public void testLoadRacingWithDeleteIsNotCached() {
+    EntityExistenceCache cache = new EntityExistenceCache(100, Duration.ofMinutes(1));
+
+    Set<Urn> loaded = cache.existsBatch(ImmutableSet.of(EXISTING), urns -> {
+      // Deleted after being read by the load
+      cache.invalidate(EXISTING.toString());
+      return ImmutableSet.of(EXISTING);
+    });
+    assertEquals(loaded, ImmutableSet.of(EXISTING));
+
+    assertEquals(cache.existsBatch(ImmutableSet.of(EXISTING), urns -> Collections.emptySet()),
+        Collections.emptySet());
+  }
+}
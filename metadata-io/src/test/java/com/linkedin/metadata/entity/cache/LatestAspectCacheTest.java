@@ -0,0 +1,162 @@
+package com.linkedin.metadata.entity.cache;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.Status;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.Aspect;
+import com.linkedin.entity.AspectType;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.metadata.entity.EntityAspectIdentifier;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class LatestAspectCacheTest {
+
+  private static final String URN = "urn:li:corpuser:test";
+  private static final EntityAspectIdentifier STATUS_KEY = new EntityAspectIdentifier(URN, "status", 0);
+  private static final EntityAspectIdentifier MISSING_KEY = new EntityAspectIdentifier(URN, "corpUserInfo", 0);
+
+  @Test
+  public void testLocalHitSkipsLoader() {
+    LatestAspectCache cache = new LatestAspectCache(100, Duration.ofMinutes(5), null);
+    AtomicInteger loads = new AtomicInteger();
+
+    Map<EntityAspectIdentifier, EnvelopedAspect> first = cache.getAll(ImmutableSet.of(STATUS_KEY, MISSING_KEY),
+        keys -> {
+          loads.incrementAndGet();
+          return ImmutableMap.of(STATUS_KEY, statusAspect(true));
+        });
+    Map<EntityAspectIdentifier, EnvelopedAspect> second = cache.getAll(ImmutableSet.of(STATUS_KEY, MISSING_KEY),
+        keys -> {
+          loads.incrementAndGet();
+          return Collections.emptyMap();
+        });
+
+    assertEquals(loads.get(), 1);
+    assertEquals(first, second);
+    assertFalse(second.containsKey(MISSING_KEY));
+  }
+
+  @Test
+  public void testReturnedAspectsAreMutableCopies() {
+    LatestAspectCache cache = new LatestAspectCache(100, Duration.ofMinutes(5), null);
+    cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> ImmutableMap.of(STATUS_KEY, statusAspect(true)));
+
+    EnvelopedAspect hit = cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> Collections.emptyMap()).get(STATUS_KEY);
+    hit.setVersion(5L);
+    new Status(hit.getValue().data()).setRemoved(false);
+
+    EnvelopedAspect again = cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> Collections.emptyMap()).get(STATUS_KEY);
+    assertEquals(again.getVersion().longValue(), 0L);
+    assertTrue(new Status(again.getValue().data()).isRemoved());
+  }
+
+  @Test
+  public void testInvalidateReloads() {
+    LatestAspectCache cache = new LatestAspectCache(100, Duration.ofMinutes(5), null);
+    cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> ImmutableMap.of(STATUS_KEY, statusAspect(true)));
+
+    cache.invalidate(URN, "status");
+
+    EnvelopedAspect reloaded =
+        cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> ImmutableMap.of(STATUS_KEY, statusAspect(false)))
+            .get(STATUS_KEY);
+    assertFalse(new Status(reloaded.getValue().data()).isRemoved());
+  }
+
+  @Test
+  public void testInvalidationDuringLoadIsNotOverwritten() {
+    LatestAspectCache cache = new LatestAspectCache(100, Duration.ofMinutes(5), null);
+
+    // A write invalidates the aspect after the load read the old value from the database
+    EnvelopedAspect stale = cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> {
+      cache.invalidate(URN, "status");
+      return ImmutableMap.of(STATUS_KEY, statusAspect(true));
+    }).get(STATUS_KEY);
+    assertTrue(new Status(stale.getValue().data()).isRemoved());
+
+    EnvelopedAspect fresh =
+        cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> ImmutableMap.of(STATUS_KEY, statusAspect(false)))
+            .get(STATUS_KEY);
+    assertFalse(new Status(fresh.getValue().data()).isRemoved());
+  }
+
+  @Test
+  public void testFailedLoadDoesNotBlockCaching() {
+    LatestAspectCache cache = new LatestAspectCache(100, Duration.ofMinutes(5), null);
+    assertThrows(IllegalStateException.class, () -> cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> {
+      throw new IllegalStateException("database unavailable");
+    }));
+
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 2; i++) {
+      cache.getAll(ImmutableSet.of(STATUS_KEY), keys -> {
+        loads.incrementAndGet();
+        return ImmutableMap.of(STATUS_KEY, statusAspect(true));
+      });
+    }
+    assertEquals(loads.get(), 1);
+  }
+
+  @Test
+  public void testSharedTierIsReadAndPopulated() {
+    InMemorySharedAspectCache shared = new InMemorySharedAspectCache();
+    LatestAspectCache writer = new LatestAspectCache(100, Duration.ofMinutes(5), shared);
+    LatestAspectCache reader = new LatestAspectCache(100, Duration.ofMinutes(5), shared);
+
+    writer.getAll(ImmutableSet.of(STATUS_KEY, MISSING_KEY), keys -> ImmutableMap.of(STATUS_KEY, statusAspect(true)));
+    assertEquals(shared.values.size(), 2);
+
+    Map<EntityAspectIdentifier, EnvelopedAspect> result =
+        reader.getAll(ImmutableSet.of(STATUS_KEY, MISSING_KEY), keys -> {
+          throw new AssertionError("Expected shared hits for " + keys);
+        });
+    assertEquals(result.keySet(), ImmutableSet.of(STATUS_KEY));
+    assertTrue(new Status(result.get(STATUS_KEY).getValue().data()).isRemoved());
+
+    reader.invalidate(URN, "status");
+    assertEquals(shared.values.size(), 1);
+  }
+
+  @Nonnull
+  private static EnvelopedAspect statusAspect(boolean removed) {
+    return new EnvelopedAspect().setName("status")
+        .setVersion(0L)
+        .setType(AspectType.VERSIONED)
+        .setValue(new Aspect(new Status().setRemoved(removed).data()))
+        .setCreated(new AuditStamp().setActor(UrnUtils.getUrn("urn:li:corpuser:datahub")).setTime(0L));
+  }
+
+  private static class InMemorySharedAspectCache implements SharedAspectCache {
+    private final Map<String, byte[]> values = new HashMap<>();
+
+    @Nonnull
+    @Override
+    public Map<String, byte[]> getAll(@Nonnull Collection<String> keys) {
+      Map<String, byte[]> result = new HashMap<>();
+      keys.stream().filter(values::containsKey).forEach(key -> result.put(key, values.get(key)));
+      return result;
+    }
+
+    @Override
+    public void putAll(@Nonnull Map<String, byte[]> values) {
+      this.values.putAll(values);
+    }
+
+    @Override
+    public void evict(@Nonnull String key) {
+      values.remove(key);
+    }
+  }
+}
@@ -7,15 +7,21 @@ import com.linkedin.metadata.TestEntityUtil;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.datahub.util.RecordUtils;
+import com.linkedin.metadata.models.FieldSpec;
+import com.linkedin.metadata.models.extractor.FieldAccessor;
 import com.linkedin.metadata.models.extractor.FieldExtractor;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 
 
 public class FieldExtractorTest {
@@ -76,4 +82,31 @@ public class FieldExtractorTest {
     assertEquals(result.get(nameToSpec.get("customProperties")), ImmutableList.of(), "Expected no matching values because of value limit of 1");
     assertEquals(result.get(nameToSpec.get("esObjectField")), ImmutableList.of(), "Expected no matching values because of value limit of 1");
   }
+
+  @Test
+  public void testAccessorsMatchRecordUtils() {
+    EntitySpec testEntitySpec = TestEntitySpecBuilder.getSpec();
+    AspectSpec testEntityInfoSpec = testEntitySpec.getAspectSpec("testEntityInfo");
+    List<FieldSpec> fieldSpecs = new ArrayList<>(testEntityInfoSpec.getSearchableFieldSpecs());
+    fieldSpecs.addAll(testEntityInfoSpec.getRelationshipFieldSpecs());
+
+    Urn urn = TestEntityUtil.getTestEntityUrn();
+    for (TestEntityInfo testEntityInfo : ImmutableList.of(new TestEntityInfo(), TestEntityUtil.getTestEntityInfo(urn))) {
+      for (FieldSpec fieldSpec : fieldSpecs) {
+        FieldAccessor accessor = FieldAccessor.of(fieldSpec, testEntityInfo.schema());
+        if (accessor == null) {
+          continue;
+        }
+        Object expected = RecordUtils.getFieldValue(testEntityInfo, fieldSpec.getPath()).orElse(null);
+        assertEquals(Objects.toString(accessor.get(testEntityInfo.data()), null), Objects.toString(expected, null),
+            fieldSpec.getPath().toString());
+      }
+    }
+    SearchableFieldSpec nestedForeignKey = testEntityInfoSpec.getSearchableFieldSpecs()
+        .stream()
+        .filter(spec -> spec.getSearchableAnnotation().getFieldName().equals("nestedForeignKey"))
+        .findFirst()
+        .get();
+    assertNotNull(FieldAccessor.of(nestedForeignKey, testEntityInfoSpec.getPegasusSchema()));
+  }
 }
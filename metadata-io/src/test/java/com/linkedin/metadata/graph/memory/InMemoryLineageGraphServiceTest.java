@@ -0,0 +1,88 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import java.util.function.Consumer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class InMemoryLineageGraphServiceTest {
+  private static final LineageRegistry LINEAGE_REGISTRY = new LineageRegistry(SnapshotEntityRegistry.getInstance());
+
+  private static final Urn DATASET_ONE = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetOne,PROD)");
+  private static final Urn DATASET_TWO = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetTwo,PROD)");
+  private static final Urn DATASET_THREE =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetThree,PROD)");
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:user");
+
+  private GraphService _graphService;
+  private InMemoryLineageGraphService _inMemoryLineageGraphService;
+
+  @BeforeMethod
+  public void setup() {
+    _graphService = mock(GraphService.class);
+    when(_graphService.getLineageRegistry()).thenReturn(LINEAGE_REGISTRY);
+    _inMemoryLineageGraphService = new InMemoryLineageGraphService(_graphService, 0);
+  }
+
+  private static Edge edge(Urn source, Urn destination, String type) {
+    return new Edge(source, destination, type, null, null, null, null, null);
+  }
+
+  @Test
+  public void testLineageIsServedByBackendUntilLoaded() {
+    EntityLineageResult expected = new EntityLineageResult();
+    when(_graphService.getLineage(eq(DATASET_ONE), eq(LineageDirection.DOWNSTREAM), any(), eq(0), eq(10), eq(2),
+        isNull(), isNull())).thenReturn(expected);
+
+    assertFalse(_inMemoryLineageGraphService.isLoaded());
+    assertSame(_inMemoryLineageGraphService.getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 0, 10, 2), expected);
+  }
+
+  @Test
+  public void testRebuildReplaysWritesMadeDuringScan() {
+    doAnswer(invocation -> {
+      Consumer<Edge> consumer = invocation.getArgument(1);
+      consumer.accept(edge(DATASET_TWO, DATASET_ONE, "DownstreamOf"));
+      // Written while the scan runs, after the scan went past it
+      _inMemoryLineageGraphService.addEdge(edge(DATASET_THREE, DATASET_TWO, "DownstreamOf"));
+      _inMemoryLineageGraphService.addEdge(edge(DATASET_ONE, USER, "HasOwner"));
+      return null;
+    }).when(_graphService).scanEdges(anySet(), any());
+
+    _inMemoryLineageGraphService.rebuild();
+
+    assertTrue(_inMemoryLineageGraphService.isLoaded());
+    verify(_graphService).addEdge(edge(DATASET_THREE, DATASET_TWO, "DownstreamOf"));
+    EntityLineageResult lineage =
+        _inMemoryLineageGraphService.getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 0, 10, 2);
+    assertEquals(lineage.getTotal().intValue(), 2);
+    verify(_graphService, never()).getLineage(any(), any(), any(), anyInt(), anyInt(), anyInt(), any(), any());
+
+    _inMemoryLineageGraphService.removeEdge(edge(DATASET_THREE, DATASET_TWO, "DownstreamOf"));
+    lineage = _inMemoryLineageGraphService.getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 0, 10, 2);
+    assertEquals(lineage.getTotal().intValue(), 1);
+  }
+
+  @Test
+  public void testBackendWithoutScanKeepsServingLineage() {
+    doThrow(new UnsupportedOperationException("no scan")).when(_graphService).scanEdges(anySet(), any());
+
+    _inMemoryLineageGraphService.rebuild();
+    _inMemoryLineageGraphService.rebuild();
+
+    assertFalse(_inMemoryLineageGraphService.isLoaded());
+    verify(_graphService, times(1)).scanEdges(anySet(), any());
+  }
+}
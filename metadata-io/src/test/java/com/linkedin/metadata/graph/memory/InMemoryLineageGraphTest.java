@@ -0,0 +1,173 @@
+package com.linkedin.metadata.graph.memory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.DataFlowUrn;
+import com.linkedin.common.urn.DataJobUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.GraphFilters;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.query.filter.RelationshipDirection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class InMemoryLineageGraphTest {
+  private static final LineageRegistry LINEAGE_REGISTRY = new LineageRegistry(SnapshotEntityRegistry.getInstance());
+
+  private static final Urn DATASET_ONE = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetOne,PROD)");
+  private static final Urn DATASET_TWO = UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetTwo,PROD)");
+  private static final Urn DATASET_THREE =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetThree,PROD)");
+  private static final Urn DATASET_FOUR =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:type,SampleDatasetFour,PROD)");
+  private static final Urn DATA_JOB_ONE = new DataJobUrn(new DataFlowUrn("orchestrator", "flow", "cluster"), "job1");
+  private static final Urn DATA_JOB_TWO = new DataJobUrn(new DataFlowUrn("orchestrator", "flow", "cluster"), "job2");
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:user");
+
+  private static final String DOWNSTREAM_OF = "DownstreamOf";
+  private static final String CONSUMES = "Consumes";
+  private static final String PRODUCES = "Produces";
+
+  private InMemoryLineageGraph _graph;
+
+  @BeforeMethod
+  public void setup() {
+    _graph = new InMemoryLineageGraph();
+    Arrays.asList(
+        edge(DATASET_TWO, DATASET_ONE, DOWNSTREAM_OF),
+        edge(DATASET_THREE, DATASET_TWO, DOWNSTREAM_OF),
+        edge(DATASET_FOUR, DATASET_TWO, DOWNSTREAM_OF),
+        edge(DATA_JOB_ONE, DATASET_ONE, CONSUMES),
+        edge(DATA_JOB_ONE, DATASET_TWO, CONSUMES),
+        edge(DATA_JOB_ONE, DATASET_THREE, PRODUCES),
+        edge(DATA_JOB_ONE, DATASET_FOUR, PRODUCES),
+        edge(DATA_JOB_TWO, DATASET_ONE, CONSUMES),
+        edge(DATA_JOB_TWO, DATASET_TWO, CONSUMES),
+        edge(DATA_JOB_TWO, DATA_JOB_ONE, DOWNSTREAM_OF)
+    ).forEach(_graph::upsertEdge);
+  }
+
+  private static Edge edge(Urn source, Urn destination, String type) {
+    return new Edge(source, destination, type, null, null, null, null, null);
+  }
+
+  private EntityLineageResult getLineage(Urn urn, LineageDirection direction, int maxHops) {
+    return getLineage(urn, direction, maxHops, null, null);
+  }
+
+  private EntityLineageResult getLineage(Urn urn, LineageDirection direction, int maxHops, Long startTimeMillis,
+      Long endTimeMillis) {
+    GraphFilters graphFilters =
+        new GraphFilters(new ArrayList<>(LINEAGE_REGISTRY.getEntitiesWithLineageToEntityType(urn.getEntityType())));
+    return _graph.getLineage(urn, direction, LINEAGE_REGISTRY, graphFilters, 0, 1000, maxHops, startTimeMillis,
+        endTimeMillis);
+  }
+
+  private static Map<Urn, LineageRelationship> byEntity(EntityLineageResult result) {
+    return result.getRelationships()
+        .stream()
+        .collect(Collectors.toMap(LineageRelationship::getEntity, Function.identity()));
+  }
+
+  @Test
+  public void testGetLineageSingleHop() {
+    EntityLineageResult upstream = getLineage(DATASET_ONE, LineageDirection.UPSTREAM, 1);
+    assertEquals(upstream.getTotal().intValue(), 0);
+
+    EntityLineageResult downstream = getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 1);
+    assertEquals(downstream.getTotal().intValue(), 3);
+    Map<Urn, LineageRelationship> relationships = byEntity(downstream);
+    assertEquals(relationships.get(DATASET_TWO).getType(), DOWNSTREAM_OF);
+    assertEquals(relationships.get(DATA_JOB_ONE).getType(), CONSUMES);
+    assertEquals(relationships.get(DATA_JOB_TWO).getType(), CONSUMES);
+
+    EntityLineageResult jobDownstream = getLineage(DATA_JOB_ONE, LineageDirection.DOWNSTREAM, 1);
+    relationships = byEntity(jobDownstream);
+    assertEquals(relationships.keySet().size(), 3);
+    assertEquals(relationships.get(DATASET_THREE).getType(), PRODUCES);
+    assertEquals(relationships.get(DATASET_FOUR).getType(), PRODUCES);
+    assertEquals(relationships.get(DATA_JOB_TWO).getType(), DOWNSTREAM_OF);
+  }
+
+  @Test
+  public void testGetLineageMultiHop() {
+    EntityLineageResult downstream = getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 3);
+    Map<Urn, LineageRelationship> relationships = byEntity(downstream);
+    assertEquals(downstream.getTotal().intValue(), 5);
+    assertEquals(relationships.get(DATASET_TWO).getDegree().intValue(), 1);
+    assertEquals(relationships.get(DATASET_THREE).getDegree().intValue(), 2);
+    // Reached through dataset two or data job one, whichever is visited first
+    UrnArray path = relationships.get(DATASET_THREE).getPaths().get(0);
+    assertEquals(path.size(), 3);
+    assertEquals(path.get(0), DATASET_ONE);
+    assertEquals(path.get(2), DATASET_THREE);
+
+    EntityLineageResult page = _graph.getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, LINEAGE_REGISTRY,
+        new GraphFilters(ImmutableList.of("dataset", "dataJob")), 1, 2, 3, null, null);
+    assertEquals(page.getTotal().intValue(), 5);
+    assertEquals(page.getRelationships(), downstream.getRelationships().subList(1, 3));
+  }
+
+  @Test
+  public void testGetLineageTimeFilter() {
+    _graph.upsertEdge(new Edge(DATASET_THREE, DATASET_ONE, DOWNSTREAM_OF, 100L, USER, 200L, USER, null));
+    _graph.upsertEdge(new Edge(DATASET_FOUR, DATASET_ONE, DOWNSTREAM_OF, 100L, USER, 100L, USER,
+        ImmutableMap.of("source", "UI")));
+
+    Map<Urn, LineageRelationship> relationships = byEntity(getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 1,
+        150L, 250L));
+    assertTrue(relationships.containsKey(DATASET_TWO));
+    assertEquals(relationships.get(DATASET_THREE).getUpdatedOn().longValue(), 200L);
+    assertEquals(relationships.get(DATASET_THREE).getCreatedActor(), USER);
+    assertTrue(relationships.get(DATASET_FOUR).isIsManual());
+
+    relationships = byEntity(getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 1, 300L, 400L));
+    assertFalse(relationships.containsKey(DATASET_THREE));
+    assertTrue(relationships.containsKey(DATASET_FOUR));
+  }
+
+  @Test
+  public void testRemoveEdges() {
+    _graph.removeEdge(edge(DATASET_TWO, DATASET_ONE, DOWNSTREAM_OF));
+    assertFalse(byEntity(getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 1)).containsKey(DATASET_TWO));
+
+    _graph.removeEdgesFromNode(DATA_JOB_ONE, ImmutableList.of(PRODUCES), RelationshipDirection.OUTGOING);
+    assertEquals(byEntity(getLineage(DATA_JOB_ONE, LineageDirection.DOWNSTREAM, 1)).keySet(),
+        ImmutableSet.of(DATA_JOB_TWO));
+
+    _graph.removeNode(DATA_JOB_TWO);
+    assertEquals(getLineage(DATA_JOB_ONE, LineageDirection.DOWNSTREAM, 1).getTotal().intValue(), 0);
+    assertEquals(_graph.getEdgeCount(), 4);
+  }
+
+  @Test
+  public void testCompactionKeepsLineage() {
+    List<LineageRelationship> before = getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 3).getRelationships();
+    _graph.upsertEdge(edge(DATASET_TWO, DATASET_ONE, DOWNSTREAM_OF));
+    _graph.removeEdge(edge(DATA_JOB_TWO, DATA_JOB_ONE, DOWNSTREAM_OF));
+    _graph.upsertEdge(edge(DATA_JOB_TWO, DATA_JOB_ONE, DOWNSTREAM_OF));
+    _graph.compact();
+
+    assertEquals(_graph.getEdgeCount(), 10);
+    assertEquals(getLineage(DATASET_ONE, LineageDirection.DOWNSTREAM, 3).getRelationships()
+        .stream().map(LineageRelationship::getEntity).collect(Collectors.toSet()),
+        before.stream().map(LineageRelationship::getEntity).collect(Collectors.toSet()));
+  }
+}
@@ -4,6 +4,8 @@ import com.linkedin.common.FabricType;
 import com.linkedin.common.urn.DataPlatformUrn;
 import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.metadata.graph.Edge;
 import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
@@ -19,6 +21,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
 import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -29,9 +34,13 @@ import javax.annotation.Nonnull;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.linkedin.metadata.search.utils.QueryUtils.*;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 
 public class Neo4jGraphServiceTest extends GraphServiceTestBase {
@@ -223,4 +232,67 @@ public class Neo4jGraphServiceTest extends GraphServiceTestBase {
     assertEquals(downstreamLineageTimeFilter.getRelationships().size(), 1);
 
   }
+
+  @Test
+  public void testAddEdgesInBatches() throws Exception {
+    // Edges of several relationship types, written one per transaction
+    GraphService service = new Neo4jGraphService(new LineageRegistry(SnapshotEntityRegistry.getInstance()), _driver,
+        SessionConfig.defaultConfig(), 1, 2);
+
+    List<Edge> edges = Arrays.asList(
+        new Edge(dataJobOneUrn, datasetOneUrn, consumes, 1L, null, 3L, null, null),
+        new Edge(dataJobOneUrn, datasetTwoUrn, produces, 5L, null, 7L, null, null),
+        new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf, 9L, null, null, null, null),
+        new Edge(datasetFourUrn, datasetThreeUrn, downstreamOf, 11L, null, null, null, null)
+    );
+    service.addEdges(edges);
+    // Merging the same edges again does not duplicate them
+    service.upsertEdges(edges);
+
+    EntityLineageResult upstreamLineageTwoHops = service.getLineage(datasetFourUrn, LineageDirection.UPSTREAM, 0, 1000, 2);
+    assertEquals(upstreamLineageTwoHops.getTotal().intValue(), 2);
+
+    EntityLineageResult upstreamLineageTwoHopsWithTimeFilter = service.getLineage(datasetFourUrn, LineageDirection.UPSTREAM, 0, 1000, 2, 10L, 12L);
+    assertEquals(upstreamLineageTwoHopsWithTimeFilter.getTotal().intValue(), 1);
+
+    EntityLineageResult downstreamLineage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 1000, 1);
+    assertEquals(downstreamLineage.getTotal().intValue(), 1);
+    assertEquals(downstreamLineage.getRelationships().get(0).getEntity(), dataJobOneUrn);
+  }
+
+  @Test
+  public void testUrnConstraintsAreCreated() throws Exception {
+    GraphService service = new Neo4jGraphService(new LineageRegistry(SnapshotEntityRegistry.getInstance()), _driver);
+    service.addEdges(Collections.singletonList(new Edge(dataJobOneUrn, datasetOneUrn, consumes, null, null, null, null,
+        null)));
+
+    // Concurrent writes of the same nodes rely on these constraints not to duplicate them
+    Set<String> constrainedLabels = new HashSet<>();
+    try (Session session = _driver.session()) {
+      session.run("SHOW CONSTRAINTS").list().forEach(record ->
+          constrainedLabels.addAll(record.get("labelsOrTypes").asList(Value::asString)));
+    }
+    assertTrue(constrainedLabels.containsAll(Set.of("dataset", "dataJob")));
+  }
+
+  @Test
+  public void testUrnConstraintFailureIsNotRecordedAsConstrained() throws Exception {
+    Urn source = UrnUtils.getUrn("urn:li:duplicatedEntity:source");
+    Urn destination = UrnUtils.getUrn("urn:li:duplicatedEntity:destination");
+    // Duplicate nodes written before the constraint existed keep it from being created
+    try (Session session = _driver.session()) {
+      session.run("CREATE (:duplicatedEntity {urn: $urn}), (:duplicatedEntity {urn: $urn})",
+          Map.of("urn", source.toString())).consume();
+    }
+
+    Neo4jGraphService service = new Neo4jGraphService(new LineageRegistry(SnapshotEntityRegistry.getInstance()), _driver);
+    service.addEdges(Collections.singletonList(new Edge(source, destination, consumes, null, null, null, null, null)));
+
+    assertFalse(service.isUrnConstrained("duplicatedEntity"));
+    // The edges of unconstrained labels are still written, one transaction at a time
+    try (Session session = _driver.session()) {
+      assertEquals(session.run("MATCH (:duplicatedEntity)-[r:" + consumes + "]->(:duplicatedEntity {urn: $urn}) "
+          + "RETURN count(r) AS count", Map.of("urn", destination.toString())).single().get("count").asInt(), 2);
+    }
+  }
 }
@@ -67,6 +67,7 @@ public class SiblingGraphServiceTest {
   public void setup() {
     _mockEntityService = Mockito.mock(EntityService.class);
     when(_mockEntityService.exists(any())).thenReturn(true);
+    when(_mockEntityService.existsBatch(any())).thenAnswer(invocation -> invocation.getArgument(0));
     _graphService = Mockito.mock(GraphService.class);
     _client = new SiblingGraphService(_mockEntityService, _graphService);
   }
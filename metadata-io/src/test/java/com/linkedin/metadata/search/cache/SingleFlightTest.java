@@ -0,0 +1,82 @@
+package com.linkedin.metadata.search.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SingleFlightTest {
+
+  @Test
+  public void testConcurrentCallsShareComputation() throws Exception {
+    CountDownLatch joined = new CountDownLatch(3);
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<String, Integer>("test") {
+      @Override
+      void onCoalesced(String key) {
+        joined.countDown();
+      }
+    };
+    AtomicInteger computations = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      Future<Integer> leader = executorService.submit(() -> singleFlight.execute("key", () -> {
+        started.countDown();
+        awaitQuietly(release);
+        return computations.incrementAndGet();
+      }));
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      List<Future<Integer>> followers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        followers.add(executorService.submit(() -> singleFlight.execute("key", computations::incrementAndGet)));
+      }
+      // Wait for the followers to join the in-flight computation before letting it complete
+      assertTrue(joined.await(10, TimeUnit.SECONDS));
+      release.countDown();
+
+      assertEquals(leader.get(10, TimeUnit.SECONDS).intValue(), 1);
+      for (Future<Integer> follower : followers) {
+        assertEquals(follower.get(10, TimeUnit.SECONDS).intValue(), 1);
+      }
+      assertEquals(computations.get(), 1);
+      assertEquals(singleFlight.inFlightCount(), 0);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCompletedComputationIsNotRetained() {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test");
+    AtomicInteger computations = new AtomicInteger();
+    assertEquals(singleFlight.execute("key", computations::incrementAndGet).intValue(), 1);
+    assertEquals(singleFlight.execute("key", computations::incrementAndGet).intValue(), 2);
+  }
+
+  @Test
+  public void testFailureIsNotRetained() {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test");
+    assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+      throw new IllegalStateException("failed");
+    }));
+    assertEquals(singleFlight.execute("key", () -> 1).intValue(), 1);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.linkedin.metadata.search.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.LongMap;
+import com.linkedin.metadata.search.AggregationMetadata;
+import com.linkedin.metadata.search.AggregationMetadataArray;
+import com.linkedin.metadata.search.FilterValue;
+import com.linkedin.metadata.search.FilterValueArray;
+import com.linkedin.metadata.search.SearchEntity;
+import com.linkedin.metadata.search.SearchEntityArray;
+import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.search.SearchResultMetadata;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class FanOutSearcherTest {
+  private static final Map<String, Long> DOC_COUNTS =
+      ImmutableMap.of("dataset", 1000L, "chart", 300L, "dashboard", 400L, "tag", 10L);
+
+  private final ExecutorService _executorService = Executors.newFixedThreadPool(4);
+
+  @AfterClass
+  public void tearDown() {
+    _executorService.shutdownNow();
+  }
+
+  private static SearchResult result(String entityType, double... scores) {
+    SearchEntityArray entities = new SearchEntityArray();
+    for (int i = 0; i < scores.length; i++) {
+      entities.add(new SearchEntity().setEntity(UrnUtils.getUrn("urn:li:" + entityType + ":" + i))
+          .setScore(scores[i]));
+    }
+    AggregationMetadata aggregation = new AggregationMetadata().setName("_entityType")
+        .setAggregations(new LongMap(ImmutableMap.of(entityType, (long) scores.length, "shared", 1L)))
+        .setFilterValues(new FilterValueArray(
+            new FilterValue().setValue(entityType).setFacetCount((long) scores.length),
+            new FilterValue().setValue("shared").setFacetCount(1L)));
+    return new SearchResult().setEntities(entities)
+        .setNumEntities(scores.length)
+        .setFrom(0)
+        .setPageSize(scores.length)
+        .setMetadata(new SearchResultMetadata().setAggregations(new AggregationMetadataArray(aggregation)));
+  }
+
+  private static List<String> urns(SearchResult result) {
+    return result.getEntities().stream().map(entity -> entity.getEntity().toString()).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testGroupEntities() {
+    List<List<String>> groups =
+        FanOutSearcher.groupEntities(ImmutableList.of("tag", "chart", "dataset", "dashboard"), DOC_COUNTS, 800);
+
+    assertEquals(groups, ImmutableList.of(ImmutableList.of("dataset"), ImmutableList.of("dashboard", "chart", "tag")));
+  }
+
+  @Test
+  public void testMergeNormalizesScores() {
+    // Raw scores of the dataset index are 10 times higher, but its second hit is relatively worse than chart ones
+    SearchResult merged = FanOutSearcher.merge(
+        ImmutableList.of(result("dataset", 50.0, 10.0), result("chart", 5.0, 4.0, 3.0)), ImmutableList.of(), 1, 3);
+
+    assertEquals(urns(merged), ImmutableList.of("urn:li:chart:0", "urn:li:chart:1", "urn:li:chart:2"));
+    assertEquals(merged.getNumEntities().intValue(), 5);
+    assertEquals(merged.getFrom().intValue(), 1);
+    assertFalse(merged.getMetadata().hasTimedOutEntities());
+
+    AggregationMetadata aggregation = merged.getMetadata().getAggregations().get(0);
+    assertEquals(new HashMap<>(aggregation.getAggregations()),
+        ImmutableMap.of("dataset", 2L, "chart", 3L, "shared", 2L));
+    assertEquals(aggregation.getFilterValues().stream().map(FilterValue::getValue).collect(Collectors.toList()),
+        ImmutableList.of("chart", "dataset", "shared"));
+  }
+
+  @Test
+  public void testSlowGroupIsReportedAsTimedOut() {
+    CachingEntitySearchService cachingEntitySearchService = mock(CachingEntitySearchService.class);
+    when(cachingEntitySearchService.search(eq(ImmutableList.of("dataset")), anyString(), any(), any(), anyInt(),
+        anyInt(), any(), any())).thenAnswer(invocation -> {
+          Thread.sleep(5000);
+          return result("dataset", 1.0);
+        });
+    when(cachingEntitySearchService.search(eq(ImmutableList.of("dashboard", "chart", "tag")), anyString(), any(),
+        any(), eq(0), eq(10), any(), any())).thenReturn(result("chart", 2.0, 1.0));
+
+    FanOutSearcher searcher = new FanOutSearcher(cachingEntitySearchService, _executorService, 200, 800);
+    SearchResult result = searcher.search(Arrays.asList("dataset", "dashboard", "chart", "tag"), DOC_COUNTS, "*", null,
+        0, 10, null, null);
+
+    assertEquals(urns(result), ImmutableList.of("urn:li:chart:0", "urn:li:chart:1"));
+    assertEquals(result.getMetadata().getTimedOutEntities(), ImmutableList.of("dataset"));
+  }
+
+  @Test
+  public void testSingleGroupIsSearchedDirectly() {
+    CachingEntitySearchService cachingEntitySearchService = mock(CachingEntitySearchService.class);
+    SearchResult expected = result("tag", 1.0);
+    when(cachingEntitySearchService.search(any(), anyString(), any(), any(), anyInt(), anyInt(), any(), any()))
+        .thenReturn(expected);
+
+    FanOutSearcher searcher = new FanOutSearcher(cachingEntitySearchService, _executorService, 200, 800);
+
+    assertSame(searcher.search(ImmutableList.of("chart", "tag"), DOC_COUNTS, "*", null, 5, 10, null, null), expected);
+    verify(cachingEntitySearchService).search(ImmutableList.of("chart", "tag"), "*", null, null, 5, 10, null, null);
+  }
+}
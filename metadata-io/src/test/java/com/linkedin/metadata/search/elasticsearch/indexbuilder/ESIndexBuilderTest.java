@@ -1,5 +1,6 @@
 package com.linkedin.metadata.search.elasticsearch.indexbuilder;
 
+import com.linkedin.metadata.config.search.BuildIndicesConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.google.common.collect.ImmutableMap;
 import com.linkedin.metadata.ESTestConfiguration;
@@ -217,4 +218,45 @@ public class ESIndexBuilderTest extends AbstractTestNGSpringContextTests {
         }
     }
 
+    @Test
+    public void testBuildIndicesReindexesConcurrently() throws Exception {
+        testDefaultBuilder.buildIndex(TEST_INDEX_NAME, Map.of(), Map.of());
+        String beforeCreationDate = getTestIndex().getSetting(TEST_INDEX_NAME, "index.creation_date");
+
+        BuildIndicesConfiguration buildIndicesConfiguration = new BuildIndicesConfiguration();
+        buildIndicesConfiguration.setReindexMaxConcurrency(2);
+        buildIndicesConfiguration.setReindexRequestsPerSecond(1000);
+        ElasticSearchConfiguration elasticSearchConfiguration = new ElasticSearchConfiguration();
+        elasticSearchConfiguration.setBuildIndices(buildIndicesConfiguration);
+        GitVersion gitVersion = new GitVersion("0.0.0-test", "123456", Optional.empty());
+        ESIndexBuilder changedShardBuilder = new ESIndexBuilder(_searchClient,
+                testDefaultBuilder.getNumShards() + 1,
+                testDefaultBuilder.getNumReplicas(),
+                testDefaultBuilder.getNumRetries(),
+                testDefaultBuilder.getRefreshIntervalSeconds(),
+                Map.of(),
+                true, false,
+                elasticSearchConfiguration, gitVersion);
+
+        // A new index is created along with the reindexed one
+        String newIndexName = TEST_INDEX_NAME + "_new";
+        try {
+            changedShardBuilder.buildIndices(List.of(
+                    changedShardBuilder.buildReindexState(TEST_INDEX_NAME, Map.of(), Map.of()),
+                    changedShardBuilder.buildReindexState(newIndexName, Map.of(), Map.of())));
+
+            Map.Entry<String, List<AliasMetadata>> reindexed = getTestIndex().getAliases().entrySet().stream()
+                    .filter(e -> e.getValue().stream().anyMatch(aliasMeta -> aliasMeta.alias().equals(TEST_INDEX_NAME)))
+                    .findFirst().get();
+            assertNotEquals(beforeCreationDate, getTestIndex().getSetting(reindexed.getKey(), "index.creation_date"),
+                    "Expected reindex to result in different timestamp");
+            assertEquals("2", getTestIndex().getSetting(reindexed.getKey(), "index.number_of_shards"));
+            // Replicas and refresh interval are restored after the reindex
+            assertEquals("0", getTestIndex().getSetting(reindexed.getKey(), "index.number_of_replicas"));
+            assertEquals("0s", getTestIndex().getSetting(reindexed.getKey(), "index.refresh_interval"));
+            assertTrue(_indexClient.exists(new GetIndexRequest(newIndexName), RequestOptions.DEFAULT));
+        } finally {
+            _indexClient.delete(new DeleteIndexRequest(newIndexName), RequestOptions.DEFAULT);
+        }
+    }
 }
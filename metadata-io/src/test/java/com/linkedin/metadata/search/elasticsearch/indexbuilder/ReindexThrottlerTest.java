@@ -0,0 +1,179 @@
+package com.linkedin.metadata.search.elasticsearch.indexbuilder;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.RethrottleRequest;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.testng.Assert.*;
+
+
+public class ReindexThrottlerTest {
+
+  private static final float MAX_REQUESTS_PER_SECOND = 100;
+  private static final int MAX_WRITE_QUEUE_SIZE = 200;
+  private static final String TASK_1 = "node1:1";
+  private static final String TASK_2 = "node1:2";
+
+  private RestHighLevelClient _searchClient;
+  private RestClient _lowLevelClient;
+  private AtomicLong _now;
+  private ReindexThrottler _throttler;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    _searchClient = Mockito.mock(RestHighLevelClient.class);
+    _lowLevelClient = Mockito.mock(RestClient.class);
+    Mockito.when(_searchClient.getLowLevelClient()).thenReturn(_lowLevelClient);
+    stubNodeStats(0, 0);
+
+    _now = new AtomicLong(ReindexThrottler.ADJUST_INTERVAL_MILLIS);
+    Clock clock = Mockito.mock(Clock.class);
+    Mockito.when(clock.millis()).thenAnswer(invocation -> _now.get());
+    _throttler = new ReindexThrottler(_searchClient, MAX_REQUESTS_PER_SECOND, MAX_WRITE_QUEUE_SIZE, clock);
+  }
+
+  @Test
+  public void testDisabledThrottlerDoesNotThrottle() throws Exception {
+    RestHighLevelClient searchClient = Mockito.mock(RestHighLevelClient.class);
+    ReindexThrottler throttler = new ReindexThrottler(searchClient, 0, MAX_WRITE_QUEUE_SIZE);
+
+    assertFalse(throttler.isEnabled());
+    assertEquals(throttler.nextRequestsPerSecond(), Float.POSITIVE_INFINITY);
+    throttler.register(TASK_1, Float.POSITIVE_INFINITY);
+    throttler.adjust();
+    Mockito.verifyNoInteractions(searchClient);
+  }
+
+  @Test
+  public void testBudgetIsSharedBetweenTasks() throws Exception {
+    assertEquals(_throttler.nextRequestsPerSecond(), 100f);
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+    // Submitted with the whole budget, so there is nothing to rethrottle yet
+    Mockito.verify(_searchClient, Mockito.never()).reindexRethrottle(any(), any());
+
+    assertEquals(_throttler.nextRequestsPerSecond(), 50f);
+    _throttler.register(TASK_2, _throttler.nextRequestsPerSecond());
+    assertEquals(rethrottles(), Map.of(TASK_1, 50f));
+
+    _throttler.unregister(TASK_2);
+    assertEquals(rethrottles(), Map.of(TASK_1, 100f));
+    assertEquals(_throttler.nextRequestsPerSecond(), 50f);
+  }
+
+  @Test
+  public void testBudgetIsHalvedDownToTheFloorWhenTheQueueIsFull() throws Exception {
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+    stubNodeStats(MAX_WRITE_QUEUE_SIZE + 1, 0);
+
+    assertEquals(adjust(), Map.of(TASK_1, 50f));
+    assertEquals(adjust(), Map.of(TASK_1, 25f));
+    assertEquals(adjust(), Map.of(TASK_1, 12.5f));
+    // Never below a tenth of the maximum
+    assertEquals(adjust(), Map.of(TASK_1, 10f));
+    assertEquals(adjust(), Map.of());
+    assertEquals(_throttler.nextRequestsPerSecond(), 5f);
+  }
+
+  @Test
+  public void testBudgetGrowsBackByATenthOfTheMaximum() throws Exception {
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+    _throttler.register(TASK_2, _throttler.nextRequestsPerSecond());
+    rethrottles();
+    stubNodeStats(MAX_WRITE_QUEUE_SIZE + 1, 0);
+    adjust();
+    adjust();
+
+    stubNodeStats(MAX_WRITE_QUEUE_SIZE, 0);
+    assertEquals(adjust(), Map.of(TASK_1, 17.5f, TASK_2, 17.5f));
+    assertEquals(adjust(), Map.of(TASK_1, 22.5f, TASK_2, 22.5f));
+    for (int i = 0; i < 5; i++) {
+      adjust();
+    }
+    // Never above the maximum
+    assertEquals(adjust(), Map.of(TASK_1, 50f, TASK_2, 50f));
+    assertEquals(adjust(), Map.of());
+  }
+
+  @Test
+  public void testNewRejectionsCountAsOverload() throws Exception {
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+
+    // Rejections that happened before the first sample are not held against the running tasks
+    stubNodeStats(0, 10);
+    assertEquals(adjust(), Map.of());
+    stubNodeStats(0, 12);
+    assertEquals(adjust(), Map.of(TASK_1, 50f));
+    assertEquals(adjust(), Map.of(TASK_1, 60f));
+  }
+
+  @Test
+  public void testAdjustsAtMostOncePerInterval() throws Exception {
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+    stubNodeStats(MAX_WRITE_QUEUE_SIZE + 1, 0);
+
+    _throttler.adjust();
+    _now.addAndGet(ReindexThrottler.ADJUST_INTERVAL_MILLIS - 1);
+    _throttler.adjust();
+
+    Mockito.verify(_lowLevelClient, Mockito.times(1)).performRequest(any(Request.class));
+    assertEquals(rethrottles(), Map.of(TASK_1, 50f));
+  }
+
+  @Test
+  public void testFailedSampleKeepsTheBudget() throws Exception {
+    _throttler.register(TASK_1, _throttler.nextRequestsPerSecond());
+    Mockito.when(_lowLevelClient.performRequest(any(Request.class))).thenThrow(new IOException("Timed out"));
+
+    assertEquals(adjust(), Map.of());
+    assertEquals(_throttler.nextRequestsPerSecond(), 50f);
+  }
+
+  /**
+   * Runs an adjustment one interval after the previous one, returning the rethrottles it issued.
+   */
+  private Map<String, Float> adjust() throws Exception {
+    _throttler.adjust();
+    _now.addAndGet(ReindexThrottler.ADJUST_INTERVAL_MILLIS);
+    return rethrottles();
+  }
+
+  /**
+   * The rethrottles issued since the last call, by task id.
+   */
+  private Map<String, Float> rethrottles() throws Exception {
+    ArgumentCaptor<RethrottleRequest> captor = ArgumentCaptor.forClass(RethrottleRequest.class);
+    Mockito.verify(_searchClient, Mockito.atLeast(0)).reindexRethrottle(captor.capture(), eq(RequestOptions.DEFAULT));
+    List<RethrottleRequest> requests = captor.getAllValues();
+    Map<String, Float> rethrottles = new HashMap<>();
+    for (RethrottleRequest request : requests) {
+      rethrottles.put(request.getTaskId().toString(), request.getRequestsPerSecond());
+    }
+    Mockito.clearInvocations(_searchClient);
+    return rethrottles;
+  }
+
+  private void stubNodeStats(int queue, long rejected) throws Exception {
+    Response response = Mockito.mock(Response.class);
+    Mockito.when(response.getEntity()).thenReturn(new StringEntity(String.format(
+        "{\"nodes\":{\"node1\":{\"thread_pool\":{\"write\":{\"queue\":%d,\"rejected\":%d}}},"
+            + "\"node2\":{\"thread_pool\":{\"write\":{\"queue\":0,\"rejected\":0}}}}}", queue, rejected),
+        ContentType.APPLICATION_JSON));
+    Mockito.when(_lowLevelClient.performRequest(any(Request.class))).thenReturn(response);
+  }
+}
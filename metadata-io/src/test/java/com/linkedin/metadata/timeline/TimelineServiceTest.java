@@ -18,6 +18,7 @@ import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.snapshot.Snapshot;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.ChangeTransactionPage;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.schema.MySqlDDL;
 import com.linkedin.schema.SchemaField;
@@ -26,6 +27,7 @@ import com.linkedin.schema.SchemaFieldDataType;
 import com.linkedin.schema.SchemaMetadata;
 import com.linkedin.schema.StringType;
 import com.linkedin.util.Pair;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
@@ -110,6 +112,42 @@ abstract public class TimelineServiceTest<T_AD extends AspectDao> {
     //Assert.assertEquals(changes.get(1).getTimestamp(), timestamps.get(5).getTime().longValue());
   }
 
+  @Test
+  public void testGetTimelinePage() throws Exception {
+    Urn entityUrn = Urn.createFromString(
+        "urn:li:dataset:(urn:li:dataPlatform:hive,fooDb.fooTablePaged" + System.currentTimeMillis() + ",PROD)");
+    String aspectName = "schemaMetadata";
+
+    for (int i = 7; i > 0; i--) {
+      AuditStamp daysAgo = createTestAuditStamp(i);
+      _entityServiceImpl.ingestAspects(entityUrn,
+          Collections.singletonList(new Pair<>(aspectName, getSchemaMetadata("This is the new description for day " + i))),
+          daysAgo, getSystemMetadata(daysAgo, "run-" + i));
+    }
+
+    Set<ChangeCategory> elements = Collections.singleton(ChangeCategory.TECHNICAL_SCHEMA);
+    long startTime = createTestAuditStamp(10).getTime();
+    List<ChangeTransaction> timeline =
+        _entityTimelineService.getTimeline(entityUrn, elements, startTime, 0, null, null, false);
+
+    List<ChangeTransaction> pagedTimeline = new ArrayList<>();
+    String cursor = null;
+    do {
+      ChangeTransactionPage page =
+          _entityTimelineService.getTimelinePage(entityUrn, elements, startTime, 0, null, null, false, cursor, 2);
+      Assert.assertTrue(page.getChangeTransactions().size() <= 2);
+      pagedTimeline.addAll(page.getChangeTransactions());
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    Assert.assertEquals(pagedTimeline.size(), timeline.size());
+    for (int i = 0; i < timeline.size(); i++) {
+      Assert.assertEquals(pagedTimeline.get(i).getTimestamp(), timeline.get(i).getTimestamp());
+      Assert.assertEquals(pagedTimeline.get(i).getSemVer(), timeline.get(i).getSemVer());
+      Assert.assertEquals(pagedTimeline.get(i).getVersionStamp(), timeline.get(i).getVersionStamp());
+    }
+  }
+
   private static AuditStamp createTestAuditStamp(int daysAgo) {
     try {
       Long timestamp = System.currentTimeMillis() - (daysAgo * 24 * 60 * 60 * 1000L);
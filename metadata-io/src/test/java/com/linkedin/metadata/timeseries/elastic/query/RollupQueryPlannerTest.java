@@ -0,0 +1,150 @@
+package com.linkedin.metadata.timeseries.elastic.query;
+
+import com.datahub.test.TestEntityProfile;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.DataSchemaFactory;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.query.filter.Condition;
+import com.linkedin.metadata.query.filter.Criterion;
+import com.linkedin.metadata.query.filter.Filter;
+import com.linkedin.metadata.search.utils.QueryUtils;
+import com.linkedin.metadata.timeseries.elastic.query.RollupQueryPlanner.RollupQueryPlan;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupCriteria;
+import com.linkedin.metadata.timeseries.elastic.rollup.RollupGranularity;
+import com.linkedin.timeseries.AggregationSpec;
+import com.linkedin.timeseries.AggregationType;
+import com.linkedin.timeseries.CalendarInterval;
+import com.linkedin.timeseries.GroupingBucket;
+import com.linkedin.timeseries.GroupingBucketType;
+import com.linkedin.timeseries.TimeWindowSize;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class RollupQueryPlannerTest {
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long DAY = TimeUnit.DAYS.toMillis(1);
+  private static final long START = 100 * DAY;
+
+  private AspectSpec _aspectSpec;
+
+  @BeforeClass
+  public void setup() {
+    EntityRegistry entityRegistry = new ConfigEntityRegistry(new DataSchemaFactory("com.datahub.test"),
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _aspectSpec = entityRegistry.getEntitySpec("testEntity").getAspectSpec("testEntityProfile");
+  }
+
+  private static Filter timeRange(long start, long end) {
+    return QueryUtils.getFilterFromCriteria(ImmutableList.of(
+        QueryUtils.newCriterion("urn", "urn:li:testEntity:1", Condition.EQUAL),
+        QueryUtils.newCriterion("timestampMillis", String.valueOf(start), Condition.GREATER_THAN_OR_EQUAL_TO),
+        QueryUtils.newCriterion("timestampMillis", String.valueOf(end), Condition.LESS_THAN_OR_EQUAL_TO)));
+  }
+
+  private static AggregationSpec sum(String fieldPath) {
+    return new AggregationSpec().setAggregationType(AggregationType.SUM).setFieldPath(fieldPath);
+  }
+
+  private static GroupingBucket dateBucket(CalendarInterval unit) {
+    return new GroupingBucket().setKey("timestampMillis")
+        .setType(GroupingBucketType.DATE_GROUPING_BUCKET)
+        .setTimeWindowSize(new TimeWindowSize().setMultiple(1).setUnit(unit));
+  }
+
+  private static RollupCriteria criteria(Filter filter) {
+    return RollupCriteria.fromFilter(filter).get();
+  }
+
+  @Test
+  public void testAlignedRangeIsReadFromDailyRollups() {
+    Optional<RollupQueryPlan> plan = RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")},
+        timeRange(START, START + 7 * DAY - 1), new GroupingBucket[]{dateBucket(CalendarInterval.DAY)});
+
+    assertTrue(plan.isPresent());
+    assertEquals(plan.get().getGranularity(), RollupGranularity.DAY);
+    assertEquals(plan.get().getSegments().size(), 1);
+    assertTrue(plan.get().getSegments().get(0).isRolledUp());
+    RollupCriteria rolledUp = criteria(plan.get().getSegments().get(0).getFilter());
+    assertEquals(rolledUp.getStartTimeMillis().longValue(), START);
+    assertEquals(rolledUp.getEndTimeMillis().longValue(), START + 7 * DAY - 1);
+    assertEquals(rolledUp.getUrnCriteria().size(), 1);
+  }
+
+  @Test
+  public void testUnalignedRangeReadsEdgesFromRawDocuments() {
+    Optional<RollupQueryPlan> plan = RollupQueryPlanner.plan(_aspectSpec,
+        new AggregationSpec[]{sum("componentProfiles.stat")}, timeRange(START + 5 * HOUR, START + 3 * DAY + 2 * HOUR),
+        new GroupingBucket[]{dateBucket(CalendarInterval.DAY),
+            new GroupingBucket().setKey("componentProfiles.key").setType(GroupingBucketType.STRING_GROUPING_BUCKET)});
+
+    assertTrue(plan.isPresent());
+    assertEquals(plan.get().getGranularity(), RollupGranularity.DAY);
+    assertEquals(plan.get().getSegments().size(), 3);
+
+    RollupCriteria head = criteria(plan.get().getSegments().get(0).getFilter());
+    assertFalse(plan.get().getSegments().get(0).isRolledUp());
+    assertEquals(head.getStartTimeMillis().longValue(), START + 5 * HOUR);
+    assertEquals(head.getEndTimeMillis().longValue(), START + DAY - 1);
+
+    RollupCriteria body = criteria(plan.get().getSegments().get(1).getFilter());
+    assertTrue(plan.get().getSegments().get(1).isRolledUp());
+    assertEquals(body.getStartTimeMillis().longValue(), START + DAY);
+    assertEquals(body.getEndTimeMillis().longValue(), START + 3 * DAY - 1);
+
+    RollupCriteria tail = criteria(plan.get().getSegments().get(2).getFilter());
+    assertFalse(plan.get().getSegments().get(2).isRolledUp());
+    assertEquals(tail.getStartTimeMillis().longValue(), START + 3 * DAY);
+    assertEquals(tail.getEndTimeMillis().longValue(), START + 3 * DAY + 2 * HOUR);
+  }
+
+  @Test
+  public void testShortRangeFallsBackToHourlyRollups() {
+    Optional<RollupQueryPlan> plan = RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")},
+        timeRange(START + HOUR, START + 5 * HOUR - 1), new GroupingBucket[0]);
+
+    assertTrue(plan.isPresent());
+    assertEquals(plan.get().getGranularity(), RollupGranularity.HOUR);
+    assertEquals(plan.get().getSegments().size(), 1);
+  }
+
+  @Test
+  public void testHourlyBucketsAreNotReadFromDailyRollups() {
+    Optional<RollupQueryPlan> plan = RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")},
+        timeRange(START, START + 7 * DAY - 1), new GroupingBucket[]{dateBucket(CalendarInterval.HOUR)});
+
+    assertTrue(plan.isPresent());
+    assertEquals(plan.get().getGranularity(), RollupGranularity.HOUR);
+  }
+
+  @Test
+  public void testUnsupportedQueriesAreNotPlanned() {
+    Filter range = timeRange(START, START + 7 * DAY - 1);
+    // Cardinalities cannot be combined across rollup buckets
+    assertFalse(RollupQueryPlanner.plan(_aspectSpec,
+        new AggregationSpec[]{new AggregationSpec().setAggregationType(AggregationType.CARDINALITY).setFieldPath("stat")},
+        range, new GroupingBucket[0]).isPresent());
+    // Non-numeric fields are not summed
+    assertFalse(
+        RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("strStat")}, range, new GroupingBucket[0])
+            .isPresent());
+    // Rollups are only grouped by collection keys
+    assertFalse(RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")}, range,
+        new GroupingBucket[]{new GroupingBucket().setKey("strStat").setType(GroupingBucketType.STRING_GROUPING_BUCKET)})
+        .isPresent());
+    // Ranges shorter than an hour have no whole rollup bucket
+    assertFalse(RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")},
+        timeRange(START + 1, START + HOUR - 2), new GroupingBucket[0]).isPresent());
+    // Filters on other fields cannot be applied to rollups
+    Filter byMessageId = QueryUtils.getFilterFromCriteria(ImmutableList.<Criterion>of(
+        QueryUtils.newCriterion("messageId", "message", Condition.EQUAL)));
+    assertFalse(RollupQueryPlanner.plan(_aspectSpec, new AggregationSpec[]{sum("stat")}, byMessageId,
+        new GroupingBucket[0]).isPresent());
+  }
+}
@@ -0,0 +1,92 @@
+package com.linkedin.metadata.timeseries.transformer;
+
+import com.datahub.test.TestEntityComponentProfile;
+import com.datahub.test.TestEntityComponentProfileArray;
+import com.datahub.test.TestEntityProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.DataSchemaFactory;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeseries.transformer.TimeseriesRollupTransformer.RollupContribution;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class TimeseriesRollupTransformerTest {
+  private static final Urn TEST_URN = new TestEntityUrn("acryl", "testTimeseriesRollupTransformer", "table1");
+  private static final long TIMESTAMP = 1680000000000L;
+
+  private AspectSpec _aspectSpec;
+
+  @BeforeClass
+  public void setup() {
+    EntityRegistry entityRegistry = new ConfigEntityRegistry(new DataSchemaFactory("com.datahub.test"),
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _aspectSpec = entityRegistry.getEntitySpec("testEntity").getAspectSpec("testEntityProfile");
+  }
+
+  private List<RollupContribution> transform(TestEntityProfile profile) throws Exception {
+    Map<String, JsonNode> documents = TimeseriesAspectTransformer.transform(TEST_URN, profile, _aspectSpec, null);
+    return documents.values()
+        .stream()
+        .map(document -> TimeseriesRollupTransformer.transform(document, _aspectSpec))
+        .map(Optional::get)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testFieldPaths() {
+    assertEquals(TimeseriesRollupTransformer.getSummedFields(_aspectSpec),
+        ImmutableList.of("stat", "componentProfiles.stat"));
+    assertEquals(TimeseriesRollupTransformer.getKeyFields(_aspectSpec), ImmutableList.of("componentProfiles.key"));
+    List<String> latestFields = TimeseriesRollupTransformer.getLatestFields(_aspectSpec);
+    assertTrue(latestFields.containsAll(
+        ImmutableList.of("stat", "strStat", "componentProfiles.key", "componentProfiles.stat")));
+    // Multi-valued fields have no single latest value
+    assertFalse(latestFields.contains("strArray"));
+  }
+
+  @Test
+  public void testTransform() throws Exception {
+    TestEntityProfile profile = new TestEntityProfile().setTimestampMillis(TIMESTAMP)
+        .setStat(20L)
+        .setStrStat("twenty")
+        .setStrArray(new StringArray("a", "b"))
+        .setComponentProfiles(new TestEntityComponentProfileArray(
+            new TestEntityComponentProfile().setKey("col1").setStat(21L),
+            new TestEntityComponentProfile().setKey("col2").setStat(22L)));
+
+    Map<Map<String, String>, RollupContribution> contributions =
+        transform(profile).stream().collect(Collectors.toMap(RollupContribution::getKeys, c -> c));
+    assertEquals(contributions.size(), 3);
+
+    RollupContribution aspectContribution = contributions.get(Collections.emptyMap());
+    assertEquals(aspectContribution.getUrn(), TEST_URN.toString());
+    assertEquals(aspectContribution.getTimestampMillis(), TIMESTAMP);
+    JsonNode contribution = aspectContribution.getContribution();
+    assertEquals(contribution.get("timestampMillis").asLong(), TIMESTAMP);
+    assertEquals(contribution.get("sums").get("stat").asLong(), 20L);
+    assertFalse(contribution.get("sums").has("strStat"));
+    assertEquals(contribution.get("latest").get("stat").asText(), "20");
+    assertEquals(contribution.get("latest").get("strStat").asText(), "twenty");
+    assertFalse(contribution.get("latest").has("strArray"));
+
+    RollupContribution componentContribution = contributions.get(ImmutableMap.of("componentProfiles.key", "col2"));
+    assertEquals(componentContribution.getContribution().get("sums").get("componentProfiles.stat").asLong(), 22L);
+    assertEquals(componentContribution.getContribution().get("latest").get("componentProfiles.key").asText(), "col2");
+    assertFalse(componentContribution.getContribution().get("sums").has("stat"));
+  }
+}
@@ -0,0 +1,206 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.config.MetadataChangeLogProcessorCondition;
+import com.linkedin.metadata.kafka.config.ParallelMclKafkaEventConsumerFactory;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
+import com.linkedin.metadata.kafka.hook.event.EntityChangeEventGeneratorHook;
+import com.linkedin.metadata.kafka.hook.ingestion.IngestionSchedulerHook;
+import com.linkedin.metadata.kafka.hook.siblings.SiblingAssociationHook;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Parallel variant of {@link MetadataChangeLogProcessor}, enabled by setting mclConsumer.parallel.enabled.
+ *
+ * Records are sharded by entity urn onto a fixed number of lanes, each running on its own thread. A lane runs the hooks
+ * of an event one after the other, in the same order as the sequential processor, and the events of an urn in offset
+ * order, across polls. A slow event only holds up the urns of its lane, the other lanes and the following polls carry
+ * on, up to a bounded number of records in flight.
+ *
+ * The offset of a partition is committed up to its first record which has not completed yet, so a consumer restart
+ * replays any record whose hooks had not all finished (at least once processing). Offsets are committed on the
+ * consumer thread, on every poll and when the consumer is idle. Individual hook failures are still logged and skipped,
+ * as in the sequential processor.
+ */
+@Slf4j
+@Component
+@Conditional(MetadataChangeLogProcessorCondition.class)
+@ConditionalOnProperty(name = "mclConsumer.parallel.enabled", havingValue = "true")
+@Import({
+    UpdateIndicesHook.class,
+    IngestionSchedulerHook.class,
+    EntityChangeEventGeneratorHook.class,
+    KafkaEventConsumerFactory.class,
+    ParallelMclKafkaEventConsumerFactory.class,
+    SiblingAssociationHook.class
+})
+@EnableKafka
+public class ParallelMetadataChangeLogProcessor {
+
+  private static final String LISTENER_ID =
+      "${METADATA_CHANGE_LOG_KAFKA_CONSUMER_GROUP_ID:generic-mae-consumer-job-client}";
+
+  @Getter
+  private final List<MetadataChangeLogHook> hooks;
+  private final List<ExecutorService> lanes;
+  private final Semaphore inFlight;
+  private final PartitionOffsetTracker offsetTracker = new PartitionOffsetTracker();
+  private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
+  private final Histogram batchSizeStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "batchSize"));
+
+  @Value(LISTENER_ID)
+  private String listenerId;
+
+  @Autowired
+  public ParallelMetadataChangeLogProcessor(List<MetadataChangeLogHook> metadataChangeLogHooks,
+      @Value("${mclConsumer.parallel.threadCount:8}") int threadCount,
+      @Value("${mclConsumer.parallel.maxInFlight:2000}") int maxInFlight) {
+    this.hooks = metadataChangeLogHooks.stream().filter(MetadataChangeLogHook::isEnabled).collect(Collectors.toList());
+    this.hooks.forEach(MetadataChangeLogHook::init);
+    this.lanes = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      this.lanes.add(Executors.newSingleThreadExecutor());
+    }
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    lanes.forEach(ExecutorService::shutdown);
+  }
+
+  @KafkaListener(id = LISTENER_ID, topics = {
+      "${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}",
+      "${METADATA_CHANGE_LOG_TIMESERIES_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_TIMESERIES
+          + "}"}, containerFactory = "kafkaEventManualAckBatchConsumer")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords,
+      final Consumer<?, ?> consumer) {
+    batchSizeStats.update(consumerRecords.size());
+
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+      final GenericRecord record = consumerRecord.value();
+      log.debug("Got Generic MCL on topic: {}, partition: {}, offset: {}", consumerRecord.topic(),
+          consumerRecord.partition(), consumerRecord.offset());
+      MetricUtils.counter(this.getClass(), "received_mcl_count").inc();
+
+      // Bounds the records dispatched to the lanes but not completed yet, holding up the consumer when they fall behind
+      try {
+        inFlight.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for MCL hooks to complete", e);
+      }
+      final TopicPartition partition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+      final long offset = consumerRecord.offset();
+      offsetTracker.dispatched(partition, offset);
+
+      final MetadataChangeLog event;
+      try {
+        event = EventUtils.avroToPegasusMCL(record);
+        log.debug("Successfully converted Avro MCL to Pegasus MCL. urn: {}, key: {}", event.getEntityUrn(),
+            event.getEntityKeyAspect());
+      } catch (Exception e) {
+        MetricUtils.counter(this.getClass(), "avro_to_pegasus_conversion_failure").inc();
+        log.error("Error deserializing message due to: ", e);
+        log.error("Message: {}", record.toString());
+        complete(partition, offset);
+        continue;
+      }
+
+      // Events for the same urn always land on the same lane, in offset order
+      final String shardKey = consumerRecord.key() != null ? consumerRecord.key() : String.valueOf(event.getEntityUrn());
+      lanes.get(Math.floorMod(shardKey.hashCode(), lanes.size())).execute(() -> {
+        try {
+          invokeHooks(event);
+        } finally {
+          complete(partition, offset);
+        }
+      });
+    }
+    commit(consumer);
+  }
+
+  /**
+   * Commits the records completed since the last poll while no new records arrive.
+   */
+  @EventListener
+  public void onIdle(final ListenerContainerIdleEvent event) {
+    // The containers of the concurrent listener are named after it
+    if (listenerId == null || !event.getListenerId().startsWith(listenerId)) {
+      return;
+    }
+    // Idle events are published on the consumer thread, which may therefore use the consumer
+    commit(event.getConsumer());
+  }
+
+  private void complete(@Nonnull final TopicPartition partition, final long offset) {
+    offsetTracker.completed(partition, offset);
+    inFlight.release();
+    MetricUtils.counter(this.getClass(), "consumed_mcl_count").inc();
+  }
+
+  private void commit(@Nonnull final Consumer<?, ?> consumer) {
+    final Map<TopicPartition, OffsetAndMetadata> offsets = offsetTracker.committable(consumer.assignment());
+    if (offsets.isEmpty()) {
+      return;
+    }
+    try {
+      consumer.commitSync(offsets);
+      offsetTracker.committed(offsets);
+    } catch (KafkaException e) {
+      // Retried on the next poll, or replayed by the next owner of the partitions if they were revoked
+      MetricUtils.counter(this.getClass(), "commit_failure").inc();
+      log.warn("Failed to commit MCL offsets {}", offsets, e);
+    }
+  }
+
+  private void invokeHooks(@Nonnull final MetadataChangeLog event) {
+    for (MetadataChangeLogHook hook : this.hooks) {
+      try (Timer.Context ignored = MetricUtils.timer(this.getClass(), hook.getClass().getSimpleName() + "_latency")
+          .time()) {
+        hook.invoke(event);
+      } catch (Exception e) {
+        // Just skip this hook and continue.
+        MetricUtils.counter(this.getClass(), hook.getClass().getSimpleName() + "_failure").inc();
+        log.error("Failed to execute MCL hook with name {} for urn: {}", hook.getClass().getCanonicalName(),
+            event.getEntityUrn(), e);
+      }
+    }
+  }
+}
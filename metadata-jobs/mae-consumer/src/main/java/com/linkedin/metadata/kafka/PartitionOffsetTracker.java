@@ -0,0 +1,99 @@
+package com.linkedin.metadata.kafka;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * Tracks the records of each partition which are being processed, possibly out of order, to find the offsets which
+ * are safe to commit: the offset of a partition may only move past a record once it and every earlier record of the
+ * partition have completed.
+ *
+ * Records are registered by the consumer thread in offset order, and completed from any thread.
+ */
+public class PartitionOffsetTracker {
+
+  private final Map<TopicPartition, PartitionOffsets> _partitions = new ConcurrentHashMap<>();
+
+  public void dispatched(@Nonnull TopicPartition partition, long offset) {
+    _partitions.computeIfAbsent(partition, key -> new PartitionOffsets()).dispatched(offset);
+  }
+
+  public void completed(@Nonnull TopicPartition partition, long offset) {
+    final PartitionOffsets offsets = _partitions.get(partition);
+    if (offsets != null) {
+      offsets.completed(offset);
+    }
+  }
+
+  /**
+   * Returns the offsets to commit for the given partitions, i.e. the offsets which moved since they were last
+   * committed. Partitions which are not given, e.g. as they were revoked, are forgotten: their records still being
+   * processed are replayed by the next owner of the partition.
+   */
+  @Nonnull
+  public Map<TopicPartition, OffsetAndMetadata> committable(@Nonnull Collection<TopicPartition> assignedPartitions) {
+    _partitions.keySet().retainAll(assignedPartitions);
+    final Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>();
+    _partitions.forEach((partition, offsets) -> {
+      final long offset = offsets.nextCommit();
+      if (offset >= 0) {
+        committable.put(partition, new OffsetAndMetadata(offset));
+      }
+    });
+    return committable;
+  }
+
+  public void committed(@Nonnull Map<TopicPartition, OffsetAndMetadata> committed) {
+    committed.forEach((partition, offset) -> {
+      final PartitionOffsets offsets = _partitions.get(partition);
+      if (offsets != null) {
+        offsets.committed(offset.offset());
+      }
+    });
+  }
+
+  /**
+   * Returns the number of records dispatched but not yet completed.
+   */
+  public int pending() {
+    return _partitions.values().stream().mapToInt(PartitionOffsets::pending).sum();
+  }
+
+  private static final class PartitionOffsets {
+    private final TreeSet<Long> _pending = new TreeSet<>();
+    private long _next = -1;
+    private long _committed = -1;
+
+    synchronized void dispatched(long offset) {
+      _pending.add(offset);
+      _next = Math.max(_next, offset + 1);
+    }
+
+    synchronized void completed(long offset) {
+      _pending.remove(offset);
+    }
+
+    /**
+     * The offset of the next record to consume once every earlier record has completed, or -1 if it did not move.
+     */
+    synchronized long nextCommit() {
+      final long watermark = _pending.isEmpty() ? _next : _pending.first();
+      return watermark > _committed ? watermark : -1;
+    }
+
+    synchronized void committed(long offset) {
+      _committed = Math.max(_committed, offset);
+    }
+
+    synchronized int pending() {
+      return _pending.size();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.kafka.ThreadPoolContainerCustomizer;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+
+/**
+ * Builds a batch listener container factory which leaves committing offsets to the listener, rather than committing
+ * them as soon as the listener returns. Idle events are published while no records arrive, so that the listener still
+ * commits the records completed since the last poll.
+ */
+@Slf4j
+@Configuration
+@Import(KafkaEventConsumerFactory.class)
+@ConditionalOnProperty(name = "mclConsumer.parallel.enabled", havingValue = "true")
+public class ParallelMclKafkaEventConsumerFactory {
+
+  @Bean(name = "kafkaEventManualAckBatchConsumer")
+  protected KafkaListenerContainerFactory<?> createInstance(
+      @Qualifier("configurationProvider") ConfigurationProvider provider,
+      @Qualifier("kafkaConsumerFactory") DefaultKafkaConsumerFactory<String, GenericRecord> kafkaConsumerFactory,
+      @Value("${mclConsumer.parallel.batchSize:500}") int batchSize,
+      @Value("${mclConsumer.parallel.idleCommitIntervalMs:5000}") long idleCommitIntervalMs) {
+
+    final int concurrency = provider.getKafka().getListener().getConcurrency();
+
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(kafkaConsumerFactory);
+    factory.setContainerCustomizer(new ThreadPoolContainerCustomizer());
+    factory.setConcurrency(concurrency);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+    factory.getContainerProperties().setIdleEventInterval(idleCommitIntervalMs);
+
+    final Properties consumerProperties = new Properties();
+    consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+    consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+
+    log.info(String.format("Event-based manual ack batch KafkaListenerContainerFactory built successfully. "
+        + "Consumer concurrency = %s, batch size = %s", concurrency, batchSize));
+
+    return factory;
+  }
+}
@@ -0,0 +1,178 @@
+package com.linkedin.metadata.kafka;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.testng.Assert.*;
+
+
+public class ParallelMetadataChangeLogProcessorTest {
+
+  private static final String TOPIC = "MetadataChangeLog_Versioned_v1";
+  private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+  // Their hash codes differ by one, so the two urns never share a lane
+  private static final Urn URN_1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+  private static final Urn URN_2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+  private final List<String> _invocations = Collections.synchronizedList(new ArrayList<>());
+  private Consumer<?, ?> _consumer;
+
+  @BeforeMethod
+  public void setup() {
+    _invocations.clear();
+    _consumer = Mockito.mock(Consumer.class);
+    Mockito.when(_consumer.assignment()).thenReturn(Collections.singleton(PARTITION));
+  }
+
+  @Test
+  public void testHooksRunInOrderForEachEventOfAnUrn() throws Exception {
+    CountDownLatch done = new CountDownLatch(3);
+    RecordingHook first = new RecordingHook("first", null, null);
+    RecordingHook second = new RecordingHook("second", new RuntimeException("Hook failure"), done);
+    ParallelMetadataChangeLogProcessor processor =
+        new ParallelMetadataChangeLogProcessor(ImmutableList.of(first, second), 4, 100);
+
+    List<ConsumerRecord<String, GenericRecord>> records = new ArrayList<>();
+    records.add(createRecord(0, URN_1, "corpUserInfo"));
+    records.add(createRecord(1, URN_1, "corpUserEditableInfo"));
+    records.add(createRecord(2, URN_1, "status"));
+    processor.consume(records, _consumer);
+    done.await();
+
+    // The hooks of an event run one after the other, and the events of an urn in offset order
+    assertEquals(_invocations, ImmutableList.of(
+        "first:corpUserInfo", "second:corpUserInfo",
+        "first:corpUserEditableInfo", "second:corpUserEditableInfo",
+        "first:status", "second:status"));
+    processor.shutdown();
+  }
+
+  @Test
+  public void testOffsetsAreCommittedUpToTheFirstIncompleteRecord() throws Exception {
+    CountDownLatch urn1Done = new CountDownLatch(2);
+    CountDownLatch urn2Started = new CountDownLatch(1);
+    CountDownLatch releaseUrn2 = new CountDownLatch(1);
+    CountDownLatch lastStarted = new CountDownLatch(1);
+    CountDownLatch releaseLast = new CountDownLatch(1);
+    MetadataChangeLogHook hook = new MetadataChangeLogHook() {
+      @Override
+      public void invoke(@Nonnull MetadataChangeLog event) {
+        try {
+          if (URN_1.equals(event.getEntityUrn())) {
+            urn1Done.countDown();
+          } else if ("corpUserInfo".equals(event.getAspectName())) {
+            urn2Started.countDown();
+            releaseUrn2.await();
+          } else {
+            lastStarted.countDown();
+            releaseLast.await();
+          }
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    ParallelMetadataChangeLogProcessor processor =
+        new ParallelMetadataChangeLogProcessor(ImmutableList.of(hook), 4, 100);
+
+    List<ConsumerRecord<String, GenericRecord>> records = new ArrayList<>();
+    records.add(createRecord(0, URN_1, "corpUserInfo"));
+    records.add(createRecord(1, URN_2, "corpUserInfo"));
+    records.add(createRecord(2, URN_1, "status"));
+    // The slow event of URN_2 does not hold up the consumer, nor the events of URN_1
+    processor.consume(records, _consumer);
+    urn2Started.await();
+    urn1Done.await();
+    // Records 0 and 2 completed, but record 1 did not, so only record 0 is committed
+    assertEquals(lastCommit(processor), Collections.singletonMap(PARTITION, new OffsetAndMetadata(1)));
+
+    // Record 3 runs after record 1 on the lane of URN_2, so record 1 has completed once record 3 started
+    releaseUrn2.countDown();
+    processor.consume(Collections.singletonList(createRecord(3, URN_2, "status")), _consumer);
+    lastStarted.await();
+    assertEquals(lastCommit(processor), Collections.singletonMap(PARTITION, new OffsetAndMetadata(3)));
+
+    releaseLast.countDown();
+    processor.shutdown();
+  }
+
+  @Test
+  public void testRevokedPartitionsAreNotCommitted() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    ParallelMetadataChangeLogProcessor processor =
+        new ParallelMetadataChangeLogProcessor(ImmutableList.of(new RecordingHook("hook", null, done)), 4, 100);
+    Mockito.when(_consumer.assignment()).thenReturn(Collections.emptySet());
+
+    processor.consume(Collections.singletonList(createRecord(0, URN_1, "status")), _consumer);
+    done.await();
+    processor.consume(Collections.emptyList(), _consumer);
+
+    Mockito.verify(_consumer, Mockito.never()).commitSync(anyMap());
+    processor.shutdown();
+  }
+
+  /**
+   * Polls no new records, so that the processor commits the records completed so far, and returns its last commit.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<TopicPartition, OffsetAndMetadata> lastCommit(ParallelMetadataChangeLogProcessor processor) {
+    processor.consume(Collections.emptyList(), _consumer);
+    ArgumentCaptor<Map<TopicPartition, OffsetAndMetadata>> commits = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(_consumer, Mockito.atLeastOnce()).commitSync(commits.capture());
+    return commits.getValue();
+  }
+
+  private static ConsumerRecord<String, GenericRecord> createRecord(long offset, Urn urn, String aspectName)
+      throws Exception {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType("corpuser");
+    event.setEntityUrn(urn);
+    event.setAspectName(aspectName);
+    event.setChangeType(ChangeType.UPSERT);
+    return new ConsumerRecord<>(TOPIC, 0, offset, urn.toString(), EventUtils.pegasusToAvroMCL(event));
+  }
+
+  private class RecordingHook implements MetadataChangeLogHook {
+    private final String _name;
+    private final RuntimeException _failure;
+    private final CountDownLatch _invoked;
+
+    RecordingHook(String name, RuntimeException failure, CountDownLatch invoked) {
+      _name = name;
+      _failure = failure;
+      _invoked = invoked;
+    }
+
+    @Override
+    public void invoke(@Nonnull MetadataChangeLog event) {
+      _invocations.add(_name + ":" + event.getAspectName());
+      if (_invoked != null) {
+        _invoked.countDown();
+      }
+      if (_failure != null) {
+        throw _failure;
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.linkedin.metadata.kafka;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class PartitionOffsetTrackerTest {
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("MetadataChangeLog_Versioned_v1", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("MetadataChangeLog_Versioned_v1", 1);
+
+  @Test
+  public void testCommitsUpToTheFirstIncompleteRecordOfEachPartition() {
+    PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+    tracker.dispatched(PARTITION_0, 10);
+    tracker.dispatched(PARTITION_0, 11);
+    tracker.dispatched(PARTITION_0, 12);
+    tracker.dispatched(PARTITION_1, 5);
+    tracker.completed(PARTITION_0, 10);
+    tracker.completed(PARTITION_0, 12);
+    tracker.completed(PARTITION_1, 5);
+
+    Map<TopicPartition, OffsetAndMetadata> committable =
+        tracker.committable(ImmutableSet.of(PARTITION_0, PARTITION_1));
+    assertEquals(committable, ImmutableMap.of(PARTITION_0, new OffsetAndMetadata(11), PARTITION_1,
+        new OffsetAndMetadata(6)));
+    assertEquals(tracker.pending(), 1);
+
+    // Offsets are only returned again once they moved past the committed ones
+    tracker.committed(committable);
+    assertTrue(tracker.committable(ImmutableSet.of(PARTITION_0, PARTITION_1)).isEmpty());
+    tracker.completed(PARTITION_0, 11);
+    assertEquals(tracker.committable(ImmutableSet.of(PARTITION_0, PARTITION_1)),
+        ImmutableMap.of(PARTITION_0, new OffsetAndMetadata(13)));
+  }
+
+  @Test
+  public void testFailedCommitsAreReturnedAgain() {
+    PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+    tracker.dispatched(PARTITION_0, 0);
+    tracker.completed(PARTITION_0, 0);
+
+    assertEquals(tracker.committable(Collections.singleton(PARTITION_0)),
+        ImmutableMap.of(PARTITION_0, new OffsetAndMetadata(1)));
+    assertEquals(tracker.committable(Collections.singleton(PARTITION_0)),
+        ImmutableMap.of(PARTITION_0, new OffsetAndMetadata(1)));
+  }
+
+  @Test
+  public void testRevokedPartitionsAreForgotten() {
+    PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+    tracker.dispatched(PARTITION_0, 0);
+    tracker.dispatched(PARTITION_1, 0);
+
+    assertEquals(tracker.committable(Collections.singleton(PARTITION_1)).keySet(),
+        Collections.singleton(PARTITION_1));
+    assertEquals(tracker.pending(), 1);
+    // Records of a revoked partition completing late are ignored
+    tracker.completed(PARTITION_0, 0);
+    assertEquals(tracker.pending(), 1);
+  }
+}
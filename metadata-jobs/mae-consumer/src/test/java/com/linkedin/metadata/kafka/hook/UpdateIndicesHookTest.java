@@ -2,10 +2,12 @@ package com.linkedin.metadata.kafka.hook;
 
 import com.linkedin.metadata.config.SystemUpdateConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
+import com.google.common.collect.ImmutableList;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.InputField;
 import com.linkedin.common.InputFieldArray;
 import com.linkedin.common.InputFields;
+import com.linkedin.common.Status;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.common.urn.Urn;
@@ -45,6 +47,7 @@ import com.linkedin.schema.SchemaField;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -151,6 +154,50 @@ public class UpdateIndicesHookTest {
                 StandardCharsets.UTF_8)));
   }
 
+  @Test
+  public void testHandleChangeEventsCoalescesWritesPerUrn() throws Exception {
+    _updateIndicesService.setGraphDiffMode(true);
+    Urn upstreamUrn = UrnUtils.getUrn("urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hdfs,SampleCypressHdfsDataset,PROD),foo_info)");
+    Urn downstreamUrn = UrnUtils.getUrn("urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hive,SampleCypressHiveDataset,PROD),field_foo)");
+    MetadataChangeLog event = createUpstreamLineageMCL(upstreamUrn, downstreamUrn);
+    MetadataChangeLog restateEvent = createUpstreamLineageMCL(upstreamUrn, downstreamUrn, ChangeType.RESTATE);
+
+    _updateIndicesService.handleChangeEvents(ImmutableList.of(event, restateEvent));
+
+    Edge edge = new Edge(downstreamUrn, upstreamUrn, DOWNSTREAM_OF, null, null, null, null, null);
+    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdges(Mockito.eq(ImmutableList.of(edge)));
+    Mockito.verify(_mockEntitySearchService, Mockito.times(1))
+        .upsertDocument(Mockito.eq(DATASET_ENTITY_NAME), Mockito.any(),
+            Mockito.eq(URLEncoder.encode(TEST_DATASET_URN, StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testHandleChangeEventsAppliesStatusBeforeLaterWrites() throws Exception {
+    Urn upstreamUrn = UrnUtils.getUrn("urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hdfs,SampleCypressHdfsDataset,PROD),foo_info)");
+    Urn downstreamUrn = UrnUtils.getUrn("urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hive,SampleCypressHiveDataset,PROD),field_foo)");
+    MetadataChangeLog statusEvent = new MetadataChangeLog();
+    statusEvent.setEntityType(DATASET_ENTITY_NAME);
+    statusEvent.setEntityUrn(Urn.createFromString(TEST_DATASET_URN));
+    statusEvent.setAspectName(STATUS_ASPECT_NAME);
+    statusEvent.setChangeType(ChangeType.UPSERT);
+    statusEvent.setAspect(GenericRecordUtils.serializeAspect(new Status().setRemoved(true)));
+    statusEvent.setSystemMetadata(new SystemMetadata().setRunId(RUN_ID_1).setLastObserved(LAST_OBSERVED_1));
+    statusEvent.setCreated(new AuditStamp().setActor(_actorUrn).setTime(EVENT_TIME));
+    MetadataChangeLog lineageEvent = createUpstreamLineageMCL(upstreamUrn, downstreamUrn);
+    lineageEvent.setSystemMetadata(new SystemMetadata().setRunId(RUN_ID_2).setLastObserved(LAST_OBSERVED_2));
+
+    _updateIndicesService.handleChangeEvents(ImmutableList.of(statusEvent, lineageEvent));
+
+    // The removal must not mark the lineage aspect written after it
+    InOrder inOrder = Mockito.inOrder(_mockSystemMetadataService);
+    inOrder.verify(_mockSystemMetadataService).insert(Mockito.any(), Mockito.eq(TEST_DATASET_URN),
+        Mockito.eq(STATUS_ASPECT_NAME));
+    inOrder.verify(_mockSystemMetadataService).setDocStatus(TEST_DATASET_URN, true);
+    inOrder.verify(_mockSystemMetadataService).insert(Mockito.any(), Mockito.eq(TEST_DATASET_URN),
+        Mockito.eq(UPSTREAM_LINEAGE_ASPECT_NAME));
+    Mockito.verify(_mockSystemMetadataService, Mockito.times(1)).setDocStatus(Mockito.any(), Mockito.anyBoolean());
+  }
+
   @Test
   public void testInputFieldsEdgesAreAdded() throws Exception {
     Urn upstreamUrn = UrnUtils.getUrn("urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:looker,thelook.explore.order_items,PROD),users.count)");
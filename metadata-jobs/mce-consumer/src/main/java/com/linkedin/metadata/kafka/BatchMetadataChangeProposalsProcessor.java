@@ -0,0 +1,191 @@
+package com.linkedin.metadata.kafka;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.datahub.authentication.Authentication;
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.entity.client.RestliEntityClient;
+import com.linkedin.gms.factory.auth.SystemAuthenticationFactory;
+import com.linkedin.gms.factory.entity.RestliEntityClientFactory;
+import com.linkedin.gms.factory.kafka.DataHubKafkaProducerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.kafka.config.BatchKafkaEventConsumerFactory;
+import com.linkedin.metadata.kafka.config.MetadataChangeProposalProcessorCondition;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.FailedMetadataChangeProposal;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.mxe.Topics;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Batch variant of {@link MetadataChangeProposalsProcessor}, enabled by setting mcpConsumer.batch.enabled.
+ *
+ * Each poll's worth of records is sharded by entity urn across a bounded pool of workers, so that all proposals for
+ * a given urn are handled by the same worker in offset order while independent urns are ingested concurrently. Each
+ * worker sends its proposals through the batch ingest endpoint. If a batch request fails, its proposals are retried
+ * one at a time so that only the proposals which actually fail are sent to the failed MCP topic.
+ *
+ * The listener returns only once every record of the poll has been processed.
+ */
+@Slf4j
+@Component
+@Import({RestliEntityClientFactory.class, SystemAuthenticationFactory.class, BatchKafkaEventConsumerFactory.class,
+    DataHubKafkaProducerFactory.class})
+@Conditional(MetadataChangeProposalProcessorCondition.class)
+@ConditionalOnProperty(name = "mcpConsumer.batch.enabled", havingValue = "true")
+@EnableKafka
+public class BatchMetadataChangeProposalsProcessor {
+
+  private final Authentication systemAuthentication;
+  private final RestliEntityClient entityClient;
+  private final Producer<String, IndexedRecord> kafkaProducer;
+  private final ExecutorService executorService;
+  private final int threadCount;
+  private final int maxProposalsPerRequest;
+
+  private final Histogram kafkaLagStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "kafkaLag"));
+  private final Histogram batchSizeStats = MetricUtils.get().histogram(MetricRegistry.name(this.getClass(), "batchSize"));
+
+  @Value("${FAILED_METADATA_CHANGE_PROPOSAL_TOPIC_NAME:" + Topics.FAILED_METADATA_CHANGE_PROPOSAL + "}")
+  private String fmcpTopicName;
+
+  @VisibleForTesting
+  void setFmcpTopicName(@Nonnull final String fmcpTopicName) {
+    this.fmcpTopicName = fmcpTopicName;
+  }
+
+  public BatchMetadataChangeProposalsProcessor(
+      @Nonnull final Authentication systemAuthentication,
+      @Nonnull final RestliEntityClient entityClient,
+      @Nonnull final Producer<String, IndexedRecord> kafkaProducer,
+      @Value("${mcpConsumer.batch.threadCount:4}") final int threadCount,
+      @Value("${mcpConsumer.batch.maxProposalsPerRequest:100}") final int maxProposalsPerRequest) {
+    this.systemAuthentication = systemAuthentication;
+    this.entityClient = entityClient;
+    this.kafkaProducer = kafkaProducer;
+    this.threadCount = threadCount;
+    this.maxProposalsPerRequest = maxProposalsPerRequest;
+    this.executorService = Executors.newFixedThreadPool(threadCount);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  @KafkaListener(id = "${METADATA_CHANGE_PROPOSAL_KAFKA_CONSUMER_GROUP_ID:generic-mce-consumer-job-client}", topics =
+      "${METADATA_CHANGE_PROPOSAL_TOPIC_NAME:" + Topics.METADATA_CHANGE_PROPOSAL
+          + "}", containerFactory = "kafkaEventBatchConsumer")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords) {
+    batchSizeStats.update(consumerRecords.size());
+
+    // 1. Convert and shard by urn. Records for the same urn always land on the same shard, in offset order.
+    final List<List<MetadataChangeProposal>> shards = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      kafkaLagStats.update(System.currentTimeMillis() - consumerRecord.timestamp());
+      final GenericRecord record = consumerRecord.value();
+      log.debug("Record {}", record);
+
+      MetadataChangeProposal event = new MetadataChangeProposal();
+      try {
+        event = EventUtils.avroToPegasusMCP(record);
+        log.debug("MetadataChangeProposal {}", event);
+      } catch (Throwable throwable) {
+        log.error("MCP Processor Error", throwable);
+        log.error("Message: {}", record);
+        sendFailedMCP(event, throwable);
+        continue;
+      }
+      final String shardKey = consumerRecord.key() != null ? consumerRecord.key() : String.valueOf(event.getEntityUrn());
+      shards.get(Math.floorMod(shardKey.hashCode(), threadCount)).add(event);
+    }
+
+    // 2. Ingest each shard on the worker pool and wait for the whole poll to complete.
+    final List<Future<?>> futures = new ArrayList<>(threadCount);
+    for (List<MetadataChangeProposal> shard : shards) {
+      if (!shard.isEmpty()) {
+        futures.add(executorService.submit(() -> ingestShard(shard)));
+      }
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for MCP batch to be ingested", e);
+      } catch (ExecutionException e) {
+        // ingestShard handles its own failures, this is unexpected
+        log.error("MCP Processor Error", e.getCause());
+      }
+    }
+  }
+
+  private void ingestShard(@Nonnull final List<MetadataChangeProposal> shard) {
+    for (int start = 0; start < shard.size(); start += maxProposalsPerRequest) {
+      final List<MetadataChangeProposal> batch = shard.subList(start, Math.min(shard.size(), start + maxProposalsPerRequest));
+      try {
+        entityClient.ingestProposalBatch(batch, this.systemAuthentication, false);
+      } catch (Throwable batchThrowable) {
+        log.warn("Failed to ingest batch of {} MCPs, retrying them individually", batch.size(), batchThrowable);
+        MetricUtils.counter(this.getClass(), "batchFallback").inc();
+        for (MetadataChangeProposal event : batch) {
+          try {
+            entityClient.ingestProposal(event, this.systemAuthentication, false);
+          } catch (Throwable throwable) {
+            log.error("MCP Processor Error", throwable);
+            log.error("Message: {}", event);
+            sendFailedMCP(event, throwable);
+          }
+        }
+      }
+    }
+  }
+
+  private void sendFailedMCP(@Nonnull MetadataChangeProposal event, @Nonnull Throwable throwable) {
+    final FailedMetadataChangeProposal failedMetadataChangeProposal = createFailedMCPEvent(event, throwable);
+    try {
+      final GenericRecord genericFailedMCERecord = EventUtils.pegasusToAvroFailedMCP(failedMetadataChangeProposal);
+      log.debug("Sending FailedMessages to topic - {}", fmcpTopicName);
+      log.info("Error while processing FMCP: FailedMetadataChangeProposal - {}", failedMetadataChangeProposal);
+      kafkaProducer.send(new ProducerRecord<>(fmcpTopicName, genericFailedMCERecord));
+    } catch (IOException e) {
+      log.error("Error while sending FailedMetadataChangeProposal: Exception  - {}, FailedMetadataChangeProposal - {}",
+          e.getStackTrace(), failedMetadataChangeProposal);
+    }
+  }
+
+  @Nonnull
+  private FailedMetadataChangeProposal createFailedMCPEvent(@Nonnull MetadataChangeProposal event,
+      @Nonnull Throwable throwable) {
+    final FailedMetadataChangeProposal fmcp = new FailedMetadataChangeProposal();
+    fmcp.setError(ExceptionUtils.getStackTrace(throwable));
+    fmcp.setMetadataChangeProposal(event);
+    return fmcp;
+  }
+}
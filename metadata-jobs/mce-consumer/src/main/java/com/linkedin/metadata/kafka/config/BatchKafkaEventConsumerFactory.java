@@ -0,0 +1,57 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.kafka.ThreadPoolContainerCustomizer;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+
+/**
+ * Builds a batch listener container factory, handing each listener the full list of records returned by a poll.
+ */
+@Slf4j
+@Configuration
+@Import(KafkaEventConsumerFactory.class)
+@ConditionalOnProperty(name = "mcpConsumer.batch.enabled", havingValue = "true")
+public class BatchKafkaEventConsumerFactory {
+
+  @Bean(name = "kafkaEventBatchConsumer")
+  protected KafkaListenerContainerFactory<?> createInstance(
+      @Qualifier("configurationProvider") ConfigurationProvider provider,
+      @Qualifier("kafkaConsumerFactory") DefaultKafkaConsumerFactory<String, GenericRecord> kafkaConsumerFactory,
+      @Value("${mcpConsumer.batch.size:500}") int batchSize) {
+
+    final int concurrency = provider.getKafka().getListener().getConcurrency();
+
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(kafkaConsumerFactory);
+    factory.setContainerCustomizer(new ThreadPoolContainerCustomizer());
+    factory.setConcurrency(concurrency);
+    factory.setBatchListener(true);
+    // Offsets are committed once the listener has returned for the whole poll, never for a partially handled batch
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+    final Properties consumerProperties = new Properties();
+    consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+    factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+
+    log.info(String.format("Event-based batch KafkaListenerContainerFactory built successfully. Consumer concurrency = %s, "
+        + "batch size = %s", concurrency, batchSize));
+
+    return factory;
+  }
+}
@@ -0,0 +1,150 @@
+package com.linkedin.metadata.kafka;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.client.RestliEntityClient;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.r2.RemoteInvocationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.testng.Assert.*;
+
+
+public class BatchMetadataChangeProposalsProcessorTest {
+
+  private static final String FMCP_TOPIC = "FailedMetadataChangeProposal_v1";
+  private static final Urn URN_1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+  private static final Urn URN_2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+  private RestliEntityClient _entityClient;
+  private Producer<String, IndexedRecord> _producer;
+  private BatchMetadataChangeProposalsProcessor _processor;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    _entityClient = Mockito.mock(RestliEntityClient.class);
+    _producer = Mockito.mock(Producer.class);
+    _processor = new BatchMetadataChangeProposalsProcessor(Mockito.mock(Authentication.class), _entityClient, _producer,
+        2, 2);
+    _processor.setFmcpTopicName(FMCP_TOPIC);
+  }
+
+  @AfterMethod
+  public void teardown() {
+    _processor.shutdown();
+  }
+
+  @Test
+  public void testProposalsAreBatchedInUrnOrder() throws Exception {
+    List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    Mockito.when(_entityClient.ingestProposalBatch(anyCollection(), any(), anyBoolean())).thenAnswer(invocation -> {
+      Collection<MetadataChangeProposal> batch = invocation.getArgument(0);
+      batches.add(batch.stream().map(MetadataChangeProposal::getAspectName).collect(Collectors.toList()));
+      return Collections.emptyList();
+    });
+
+    List<ConsumerRecord<String, GenericRecord>> records = new ArrayList<>();
+    records.add(createRecord(0, URN_1, "corpUserInfo"));
+    records.add(createRecord(1, URN_1, "corpUserEditableInfo"));
+    records.add(createRecord(2, URN_1, "status"));
+    _processor.consume(records);
+
+    // Proposals for the same urn share a shard, which is split into requests of at most maxProposalsPerRequest
+    assertEquals(batches, ImmutableList.of(
+        ImmutableList.of("corpUserInfo", "corpUserEditableInfo"),
+        ImmutableList.of("status")));
+    Mockito.verify(_entityClient, Mockito.never()).ingestProposal(any(), any(), anyBoolean());
+    Mockito.verifyNoInteractions(_producer);
+  }
+
+  @Test
+  public void testFailedBatchIsRetriedIndividually() throws Exception {
+    Mockito.when(_entityClient.ingestProposalBatch(anyCollection(), any(), anyBoolean()))
+        .thenThrow(new RemoteInvocationException("Batch failure"));
+    Mockito.when(_entityClient.ingestProposal(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+      MetadataChangeProposal proposal = invocation.getArgument(0);
+      if ("status".equals(proposal.getAspectName())) {
+        throw new RemoteInvocationException("Proposal failure");
+      }
+      return proposal.getEntityUrn().toString();
+    });
+
+    List<ConsumerRecord<String, GenericRecord>> records = new ArrayList<>();
+    records.add(createRecord(0, URN_1, "corpUserInfo"));
+    records.add(createRecord(1, URN_1, "status"));
+    _processor.consume(records);
+
+    Mockito.verify(_entityClient, Mockito.times(2)).ingestProposal(any(), any(), anyBoolean());
+    // Only the proposal that failed on its own is sent to the failed MCP topic
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<ProducerRecord<String, IndexedRecord>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+    Mockito.verify(_producer, Mockito.times(1)).send(sent.capture());
+    assertEquals(sent.getValue().topic(), FMCP_TOPIC);
+    GenericRecord failed = (GenericRecord) ((GenericRecord) sent.getValue().value()).get("metadataChangeProposal");
+    assertEquals(failed.get("aspectName").toString(), "status");
+  }
+
+  @Test
+  public void testConsumeReturnsOnlyOnceEveryShardIsIngested() throws Exception {
+    // The container commits the poll's offsets as soon as consume returns, so it must not return before ingestion
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Mockito.when(_entityClient.ingestProposalBatch(anyCollection(), any(), anyBoolean())).thenAnswer(invocation -> {
+      Collection<MetadataChangeProposal> batch = invocation.getArgument(0);
+      if (batch.stream().anyMatch(proposal -> URN_2.equals(proposal.getEntityUrn()))) {
+        started.countDown();
+        release.await();
+      }
+      return Collections.emptyList();
+    });
+
+    List<ConsumerRecord<String, GenericRecord>> records = new ArrayList<>();
+    records.add(createRecord(0, URN_1, "corpUserInfo"));
+    records.add(createRecord(1, URN_2, "corpUserInfo"));
+    CountDownLatch consumed = new CountDownLatch(1);
+    Thread consumer = new Thread(() -> {
+      _processor.consume(records);
+      consumed.countDown();
+    });
+    consumer.start();
+
+    started.await();
+    assertEquals(consumed.getCount(), 1L);
+    release.countDown();
+    consumer.join();
+    assertEquals(consumed.getCount(), 0L);
+    Mockito.verify(_entityClient, Mockito.atLeastOnce()).ingestProposalBatch(anyCollection(), any(), anyBoolean());
+  }
+
+  private static ConsumerRecord<String, GenericRecord> createRecord(long offset, Urn urn, String aspectName)
+      throws Exception {
+    MetadataChangeProposal event = new MetadataChangeProposal();
+    event.setEntityType("corpuser");
+    event.setEntityUrn(urn);
+    event.setAspectName(aspectName);
+    event.setChangeType(ChangeType.UPSERT);
+    return new ConsumerRecord<>("MetadataChangeProposal_v1", 0, offset, urn.toString(),
+        EventUtils.pegasusToAvroMCP(event));
+  }
+}
@@ -0,0 +1,39 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.metadata.config.kafka.KafkaConfiguration;
+import com.linkedin.metadata.config.kafka.ListenerConfiguration;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.mockito.Mockito;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class BatchKafkaEventConsumerFactoryTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchListenerContainerFactory() {
+    ListenerConfiguration listener = new ListenerConfiguration();
+    listener.setConcurrency(3);
+    KafkaConfiguration kafka = new KafkaConfiguration();
+    kafka.setListener(listener);
+    ConfigurationProvider provider = new ConfigurationProvider();
+    provider.setKafka(kafka);
+
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        (ConcurrentKafkaListenerContainerFactory<String, GenericRecord>) new BatchKafkaEventConsumerFactory()
+            .createInstance(provider, Mockito.mock(DefaultKafkaConsumerFactory.class), 250);
+
+    assertTrue(factory.isBatchListener());
+    ContainerProperties containerProperties = factory.getContainerProperties();
+    // Offsets are committed per poll, after the listener has handled every record of it
+    assertEquals(containerProperties.getAckMode(), ContainerProperties.AckMode.BATCH);
+    assertEquals(containerProperties.getKafkaConsumerProperties().get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG), "250");
+  }
+}
@@ -0,0 +1,137 @@
+package com.linkedin.metadata.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Compares the JSON results of a JMH run against a baseline run, and writes the comparison as a markdown table.
+ *
+ * Benchmarks are matched by name and parameters. A benchmark regresses when its score got worse by more than the max
+ * regression, in percent: higher is worse for time per operation modes, lower is worse for throughput. The report is
+ * always written, and the process exits with a non-zero status if any benchmark regressed, so that it can gate a build.
+ *
+ * Usage: BaselineReport baseline.json results.json report.md [maxRegressionPercent]
+ */
+public final class BaselineReport {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String THROUGHPUT_MODE = "thrpt";
+
+  private BaselineReport() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("Usage: BaselineReport <baseline.json> <results.json> <report.md> [maxRegressionPercent]");
+      System.exit(2);
+    }
+    final File baselineFile = new File(args[0]);
+    final double maxRegression = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+
+    final Map<String, JsonNode> results = readResults(new File(args[1]));
+    final Map<String, JsonNode> baseline =
+        baselineFile.exists() ? readResults(baselineFile) : new LinkedHashMap<>();
+
+    final StringBuilder report = new StringBuilder();
+    report.append(String.format("# JMH comparison%n%nBaseline: %s%nMax regression: %.1f%%%n%n",
+        baselineFile.exists() ? baselineFile.getPath() : "none", maxRegression));
+    report.append("| Benchmark | Mode | Baseline | Current | Change | |\n");
+    report.append("|---|---|---:|---:|---:|---|\n");
+
+    int regressions = 0;
+    for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+      final JsonNode current = entry.getValue();
+      final JsonNode previous = baseline.get(entry.getKey());
+      final String mode = current.path("mode").asText();
+      final Double change = previous != null ? getChange(previous, current) : null;
+      final boolean regressed = change != null && isRegression(mode, change, maxRegression);
+      if (regressed) {
+        regressions++;
+      }
+      report.append(String.format("| %s | %s | %s | %s | %s | %s |%n", entry.getKey(), mode,
+          previous != null ? formatScore(previous) : "-", formatScore(current),
+          change != null ? String.format("%+.1f%%", change) : "-", regressed ? "REGRESSION" : ""));
+    }
+    for (String missing : baseline.keySet()) {
+      if (!results.containsKey(missing)) {
+        report.append(String.format("| %s | | %s | - | - | not run |%n", missing, formatScore(baseline.get(missing))));
+      }
+    }
+
+    final File reportFile = new File(args[2]);
+    if (reportFile.getParentFile() != null) {
+      reportFile.getParentFile().mkdirs();
+    }
+    Files.write(reportFile.toPath(), report.toString().getBytes(StandardCharsets.UTF_8));
+    System.out.println(report);
+
+    if (regressions > 0) {
+      System.err.println(String.format("%d benchmark(s) regressed by more than %.1f%%, see %s", regressions,
+          maxRegression, reportFile.getPath()));
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Reads the results of a run, keyed by benchmark name and parameters.
+   */
+  @Nonnull
+  private static Map<String, JsonNode> readResults(@Nonnull File file) throws IOException {
+    final Map<String, JsonNode> results = new LinkedHashMap<>();
+    for (JsonNode result : OBJECT_MAPPER.readTree(file)) {
+      results.put(getKey(result), result);
+    }
+    return results;
+  }
+
+  @Nonnull
+  private static String getKey(@Nonnull JsonNode result) {
+    final String benchmark =
+        result.path("benchmark").asText().replace(BaselineReport.class.getPackage().getName() + ".", "");
+    final Map<String, String> params = new TreeMap<>();
+    final Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+    while (fields.hasNext()) {
+      final Map.Entry<String, JsonNode> param = fields.next();
+      params.put(param.getKey(), param.getValue().asText());
+    }
+    return params.isEmpty() ? benchmark : benchmark + " " + params;
+  }
+
+  /**
+   * Returns the change of the score from the baseline, in percent, or null if the scores cannot be compared.
+   */
+  @Nullable
+  private static Double getChange(@Nonnull JsonNode previous, @Nonnull JsonNode current) {
+    final JsonNode previousMetric = previous.path("primaryMetric");
+    final JsonNode currentMetric = current.path("primaryMetric");
+    if (!previous.path("mode").equals(current.path("mode"))
+        || !previousMetric.path("scoreUnit").equals(currentMetric.path("scoreUnit"))
+        || previousMetric.path("score").asDouble() == 0) {
+      return null;
+    }
+    final double previousScore = previousMetric.path("score").asDouble();
+    return (currentMetric.path("score").asDouble() - previousScore) / previousScore * 100;
+  }
+
+  private static boolean isRegression(@Nonnull String mode, double change, double maxRegression) {
+    return THROUGHPUT_MODE.equals(mode) ? change < -maxRegression : change > maxRegression;
+  }
+
+  @Nonnull
+  private static String formatScore(@Nonnull JsonNode result) {
+    final JsonNode metric = result.path("primaryMetric");
+    return String.format("%.3f ± %.3f %s", metric.path("score").asDouble(), metric.path("scoreError").asDouble(),
+        metric.path("scoreUnit").asText());
+  }
+}
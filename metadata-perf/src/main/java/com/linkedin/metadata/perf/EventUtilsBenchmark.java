@@ -0,0 +1,53 @@
+package com.linkedin.metadata.perf;
+
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Converts metadata change logs between Pegasus and Avro, as done for every event produced to or consumed from Kafka.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventUtilsBenchmark {
+
+  @Param({"5", "100"})
+  public int size;
+
+  private MetadataChangeLog _changeLog;
+  private GenericRecord _record;
+
+  @Setup
+  public void setup() throws IOException {
+    _changeLog = Fixtures.metadataChangeLog(size);
+    _record = EventUtils.pegasusToAvroMCL(_changeLog);
+  }
+
+  @Benchmark
+  public GenericRecord pegasusToAvroMCL() throws IOException {
+    return EventUtils.pegasusToAvroMCL(_changeLog);
+  }
+
+  @Benchmark
+  public MetadataChangeLog avroToPegasusMCL() throws IOException {
+    return EventUtils.avroToPegasusMCL(_record);
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.test.TestEntityInfo;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.RelationshipFieldSpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.linkedin.metadata.models.extractor.FieldExtractor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Extracts the values of the annotated fields of an aspect, as done when indexing its search document and its edges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldExtractorBenchmark {
+
+  @Param({"5", "100"})
+  public int size;
+
+  private AspectSpec _aspectSpec;
+  private TestEntityInfo _aspect;
+
+  @Setup
+  public void setup() {
+    _aspectSpec = Fixtures.testEntityInfoSpec();
+    _aspect = Fixtures.testEntityInfo(size);
+  }
+
+  @Benchmark
+  public Map<SearchableFieldSpec, List<Object>> extractSearchableFields() {
+    return FieldExtractor.extractFields(_aspect, _aspectSpec.getSearchableFieldSpecs());
+  }
+
+  @Benchmark
+  public Map<RelationshipFieldSpec, List<Object>> extractRelationshipFields() {
+    return FieldExtractor.extractFields(_aspect, _aspectSpec.getRelationshipFieldSpecs());
+  }
+}
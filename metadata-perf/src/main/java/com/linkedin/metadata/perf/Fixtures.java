@@ -0,0 +1,180 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.test.SimpleNestedRecord1;
+import com.datahub.test.SimpleNestedRecord2;
+import com.datahub.test.SimpleNestedRecord2Array;
+import com.datahub.test.TestEntityInfo;
+import com.datahub.test.TestEntitySnapshot;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.FabricType;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.TestEntityUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.data.template.StringMap;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpecBuilder;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.SystemMetadata;
+import com.linkedin.schema.MySqlDDL;
+import com.linkedin.schema.NumberType;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.SchemaMetadata;
+import com.linkedin.schema.StringType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Builds the records fed to the benchmarks, shaped after the test-models and the aspects ingested in practice.
+ *
+ * The size of a fixture is the number of items in each of its arrays and maps, so that benchmarks can be run against
+ * both typical and unusually large aspects. Fixtures are deterministic, so that results can be compared across runs.
+ */
+public final class Fixtures {
+
+  public static final String TEST_ENTITY_NAME = TestEntityUrn.ENTITY_TYPE;
+  public static final String TEST_ENTITY_INFO_ASPECT_NAME = "testEntityInfo";
+
+  private Fixtures() {
+  }
+
+  @Nonnull
+  public static Urn testEntityUrn(int index) {
+    return new TestEntityUrn("key" + index, "urn", "VALUE_1");
+  }
+
+  @Nonnull
+  public static DatasetUrn datasetUrn(int index) {
+    return new DatasetUrn(new DataPlatformUrn("hive"), "warehouse.sales.orders_" + index, FabricType.PROD);
+  }
+
+  /**
+   * A sample of urns as found in practice, with nested urns and escaped characters.
+   */
+  @Nonnull
+  public static List<String> urnStrings(int size) {
+    final List<String> urns = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      switch (i % 4) {
+        case 0:
+          urns.add(datasetUrn(i).toString());
+          break;
+        case 1:
+          urns.add("urn:li:schemaField:(" + datasetUrn(i) + ",customer_id_" + i + ")");
+          break;
+        case 2:
+          urns.add("urn:li:corpuser:user" + i);
+          break;
+        default:
+          urns.add("urn:li:dataJob:(urn:li:dataFlow:(airflow,etl_" + i + ",prod),load_orders)");
+          break;
+      }
+    }
+    return urns;
+  }
+
+  @Nonnull
+  public static AspectSpec testEntityInfoSpec() {
+    return new EntitySpecBuilder().buildEntitySpec(new TestEntitySnapshot().schema())
+        .getAspectSpec(TEST_ENTITY_INFO_ASPECT_NAME);
+  }
+
+  @Nonnull
+  public static TestEntityInfo testEntityInfo(int size) {
+    final Urn urn = testEntityUrn(0);
+    final List<String> words = new ArrayList<>(size);
+    final List<Urn> foreignKeys = new ArrayList<>(size);
+    final List<SimpleNestedRecord2> nestedRecords = new ArrayList<>(size);
+    final Map<String, String> properties = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      words.add("word" + i);
+      foreignKeys.add(testEntityUrn(i + 1));
+      nestedRecords.add(new SimpleNestedRecord2().setNestedArrayStringField("nested value " + i)
+          .setNestedArrayForeignKey(testEntityUrn(i + 1))
+          .setNestedArrayArrayField(new StringArray("nested" + i, "array" + i)));
+      properties.put("property" + i, "value " + i);
+    }
+    return new TestEntityInfo().setTextField("The quick brown fox jumps over the lazy dog")
+        .setTextArrayField(new StringArray(words))
+        .setWordGramField("quick brown fox")
+        .setForeignKey(urn)
+        .setForeignKeyArray(new UrnArray(foreignKeys))
+        .setNestedRecordField(new SimpleNestedRecord1().setNestedIntegerField(size).setNestedForeignKey(urn))
+        .setNestedRecordArrayField(new SimpleNestedRecord2Array(nestedRecords))
+        .setCustomProperties(new StringMap(properties))
+        .setEsObjectField(new StringMap(properties));
+  }
+
+  @Nonnull
+  public static MetadataChangeLog metadataChangeLog(int size) {
+    final MetadataChangeLog changeLog = new MetadataChangeLog();
+    changeLog.setEntityType(TEST_ENTITY_NAME);
+    changeLog.setEntityUrn(testEntityUrn(0));
+    changeLog.setChangeType(ChangeType.UPSERT);
+    changeLog.setAspectName(TEST_ENTITY_INFO_ASPECT_NAME);
+    changeLog.setAspect(GenericRecordUtils.serializeAspect(testEntityInfo(size)));
+    changeLog.setPreviousAspectValue(GenericRecordUtils.serializeAspect(testEntityInfo(Math.max(0, size - 1))));
+    changeLog.setSystemMetadata(systemMetadata());
+    changeLog.setCreated(auditStamp());
+    return changeLog;
+  }
+
+  @Nonnull
+  public static GlobalTags globalTags(int size) {
+    final TagAssociationArray tags = new TagAssociationArray();
+    for (int i = 0; i < size; i++) {
+      tags.add(new TagAssociation().setTag(new TagUrn("tag" + i)));
+    }
+    return new GlobalTags().setTags(tags);
+  }
+
+  /**
+   * A schema of the given number of fields. Later versions change the type and description of every tenth field.
+   */
+  @Nonnull
+  public static SchemaMetadata schemaMetadata(int size, int version) {
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    for (int i = 0; i < size; i++) {
+      final boolean changed = version > 0 && i % 10 == 0;
+      fields.add(new SchemaField().setFieldPath("column_" + i)
+          .setDescription(changed ? "Description of column " + i + " v" + version : "Description of column " + i)
+          .setNullable(true)
+          .setType(new SchemaFieldDataType().setType(changed
+              ? SchemaFieldDataType.Type.create(new NumberType())
+              : SchemaFieldDataType.Type.create(new StringType())))
+          .setNativeDataType(changed ? "bigint" : "varchar"));
+    }
+    return new SchemaMetadata().setSchemaName("orders")
+        .setPlatformSchema(SchemaMetadata.PlatformSchema.create(new MySqlDDL().setTableSchema("")))
+        .setPlatform(new DataPlatformUrn("hive"))
+        .setHash("")
+        .setVersion(version)
+        .setDataset(datasetUrn(0))
+        .setFields(fields);
+  }
+
+  @Nonnull
+  public static SystemMetadata systemMetadata() {
+    return new SystemMetadata().setRunId("perf-run").setLastObserved(1_600_000_000_000L);
+  }
+
+  @Nonnull
+  public static AuditStamp auditStamp() {
+    return new AuditStamp().setActor(UrnUtils.getUrn("urn:li:corpuser:datahub")).setTime(1_600_000_000_000L);
+  }
+}
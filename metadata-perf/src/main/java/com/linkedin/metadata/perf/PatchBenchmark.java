@@ -0,0 +1,63 @@
+package com.linkedin.metadata.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.metadata.models.registry.template.common.GlobalTagsTemplate;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Applies a JSON patch to an aspect through its template, as done by EntityServiceImpl for every PATCH proposal once
+ * the latest value of the aspect has been read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatchBenchmark {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Param({"5", "100"})
+  public int size;
+
+  private GlobalTagsTemplate _template;
+  private GlobalTags _aspect;
+  private JsonPatch _patch;
+
+  @Setup
+  public void setup() throws IOException {
+    _template = new GlobalTagsTemplate();
+    _aspect = Fixtures.globalTags(size);
+
+    // Adds a new tag and removes an existing one
+    final ArrayNode operations = OBJECT_MAPPER.createArrayNode();
+    final ObjectNode add = operations.addObject().put("op", "add").put("path", "/tags/urn:li:tag:added");
+    add.putObject("value").put("tag", "urn:li:tag:added");
+    operations.addObject().put("op", "remove").put("path", "/tags/urn:li:tag:tag0");
+    _patch = JsonPatch.fromJson(operations);
+  }
+
+  @Benchmark
+  public GlobalTags applyPatch() throws IOException, JsonPatchException {
+    return _template.applyPatch(_aspect, _patch);
+  }
+}
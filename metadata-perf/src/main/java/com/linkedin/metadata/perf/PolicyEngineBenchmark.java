@@ -0,0 +1,115 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.authentication.Actor;
+import com.datahub.authentication.ActorType;
+import com.datahub.authentication.Authentication;
+import com.datahub.authorization.FieldResolver;
+import com.datahub.authorization.PolicyEngine;
+import com.datahub.authorization.ResolvedResourceSpec;
+import com.datahub.authorization.ResourceFieldType;
+import com.datahub.authorization.ResourceSpec;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import com.linkedin.policy.PolicyMatchCriterion;
+import com.linkedin.policy.PolicyMatchCriterionArray;
+import com.linkedin.policy.PolicyMatchFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Evaluates a set of metadata policies against an authorization request, as done for every privileged operation.
+ *
+ * The policies only match on users and resources, which the engine evaluates without any call to GMS, so that no entity
+ * client is needed. A quarter of the policies grant the requested privilege, and a few of those match the actor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyEngineBenchmark {
+
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+  private static final int USERS_PER_POLICY = 10;
+
+  @Param({"10", "200"})
+  public int policyCount;
+
+  private PolicyEngine _policyEngine;
+  private List<DataHubPolicyInfo> _policies;
+  private Urn _actor;
+  private Optional<ResolvedResourceSpec> _resource;
+
+  @Setup
+  public void setup() {
+    _policyEngine = new PolicyEngine(new Authentication(new Actor(ActorType.USER, "datahub"), ""), null);
+    _actor = UrnUtils.getUrn("urn:li:corpuser:user5");
+    final String resourceUrn = Fixtures.datasetUrn(0).toString();
+    _resource = Optional.of(new ResolvedResourceSpec(new ResourceSpec("dataset", resourceUrn),
+        ImmutableMap.of(ResourceFieldType.RESOURCE_TYPE, FieldResolver.getResolverFromValues(ImmutableSet.of("dataset")),
+            ResourceFieldType.RESOURCE_URN, FieldResolver.getResolverFromValues(ImmutableSet.of(resourceUrn)))));
+    _policies = new ArrayList<>(policyCount);
+    for (int i = 0; i < policyCount; i++) {
+      _policies.add(policy(i));
+    }
+  }
+
+  @Benchmark
+  public int evaluatePolicies() {
+    int granted = 0;
+    for (DataHubPolicyInfo policy : _policies) {
+      if (_policyEngine.evaluatePolicy(policy, _actor, PRIVILEGE, _resource).isGranted()) {
+        granted++;
+      }
+    }
+    return granted;
+  }
+
+  private static DataHubPolicyInfo policy(int index) {
+    final List<Urn> users = new ArrayList<>(USERS_PER_POLICY);
+    for (int i = 0; i < USERS_PER_POLICY; i++) {
+      users.add(UrnUtils.getUrn("urn:li:corpuser:user" + (index * 3 + i)));
+    }
+    final List<String> resources = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      resources.add(Fixtures.datasetUrn(index % 8 + i).toString());
+    }
+    final PolicyMatchCriterionArray criteria = new PolicyMatchCriterionArray(
+        new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_TYPE.name()).setValues(new StringArray("dataset")),
+        new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_URN.name()).setValues(new StringArray(resources)));
+    return new DataHubPolicyInfo().setDisplayName("Policy " + index)
+        .setDescription("Benchmark policy " + index)
+        .setType(PoliciesConfig.METADATA_POLICY_TYPE)
+        .setState(PoliciesConfig.ACTIVE_POLICY_STATE)
+        .setEditable(true)
+        .setPrivileges(new StringArray(index % 4 == 0 ? PRIVILEGE : "EDIT_ENTITY_OWNERS", "EDIT_ENTITY_DOCS"))
+        .setActors(new DataHubActorFilter().setUsers(new UrnArray(users))
+            .setAllUsers(false)
+            .setAllGroups(false)
+            .setResourceOwners(false))
+        .setResources(new DataHubResourceFilter().setFilter(new PolicyMatchFilter().setCriteria(criteria)));
+  }
+}
@@ -0,0 +1,51 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.test.TestEntityInfo;
+import com.datahub.util.RecordUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Serializes aspects to and from JSON, as done when writing and reading the aspects stored in the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordUtilsBenchmark {
+
+  @Param({"5", "100"})
+  public int size;
+
+  private TestEntityInfo _aspect;
+  private String _json;
+
+  @Setup
+  public void setup() {
+    _aspect = Fixtures.testEntityInfo(size);
+    _json = RecordUtils.toJsonString(_aspect);
+  }
+
+  @Benchmark
+  public String toJsonString() {
+    return RecordUtils.toJsonString(_aspect);
+  }
+
+  @Benchmark
+  public TestEntityInfo toRecordTemplate() {
+    return RecordUtils.toRecordTemplate(TestEntityInfo.class, _json);
+  }
+}
@@ -0,0 +1,53 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.test.TestEntityInfo;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Builds the search document of an aspect, as done by the MAE consumer for every searchable aspect written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchDocumentTransformerBenchmark {
+
+  @Param({"5", "100"})
+  public int size;
+
+  private SearchDocumentTransformer _transformer;
+  private AspectSpec _aspectSpec;
+  private Urn _urn;
+  private TestEntityInfo _aspect;
+
+  @Setup
+  public void setup() {
+    _transformer = new SearchDocumentTransformer(1000, 1000, 1000);
+    _aspectSpec = Fixtures.testEntityInfoSpec();
+    _urn = Fixtures.testEntityUrn(0);
+    _aspect = Fixtures.testEntityInfo(size);
+  }
+
+  @Benchmark
+  public Optional<String> transformAspect() {
+    return _transformer.transformAspect(_urn, _aspect, _aspectSpec, false);
+  }
+}
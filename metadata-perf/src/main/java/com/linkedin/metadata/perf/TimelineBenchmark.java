@@ -0,0 +1,80 @@
+package com.linkedin.metadata.perf;
+
+import com.datahub.util.RecordUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.diff.JsonDiff;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.eventgenerator.SchemaMetadataChangeEventGenerator;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Diffs two consecutive versions of a schema, as done by TimelineServiceImpl for every pair of versions in the requested
+ * timeline: a raw JSON diff, then the semantic diff of each requested change category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimelineBenchmark {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final List<ChangeCategory> CATEGORIES =
+      Arrays.asList(ChangeCategory.TECHNICAL_SCHEMA, ChangeCategory.DOCUMENTATION, ChangeCategory.TAG);
+
+  @Param({"20", "500"})
+  public int fieldCount;
+
+  private SchemaMetadataChangeEventGenerator _generator;
+  private EntityAspect _previous;
+  private EntityAspect _current;
+
+  @Setup
+  public void setup() {
+    _generator = new SchemaMetadataChangeEventGenerator();
+    _previous = aspect(0);
+    _current = aspect(1);
+  }
+
+  @Benchmark
+  public List<ChangeTransaction> computeDiff() throws IOException {
+    final JsonNode previousNode = OBJECT_MAPPER.readTree(_previous.getMetadata());
+    final JsonNode currentNode = OBJECT_MAPPER.readTree(_current.getMetadata());
+    final JsonPatch rawDiff = JsonDiff.asJsonPatch(previousNode, currentNode);
+    final List<ChangeTransaction> transactions = new ArrayList<>(CATEGORIES.size());
+    for (ChangeCategory category : CATEGORIES) {
+      transactions.add(_generator.getSemanticDiff(_previous, _current, category, rawDiff, false));
+    }
+    return transactions;
+  }
+
+  private EntityAspect aspect(int version) {
+    return new EntityAspect(Fixtures.datasetUrn(0).toString(), Constants.SCHEMA_METADATA_ASPECT_NAME, version,
+        RecordUtils.toJsonString(Fixtures.schemaMetadata(fieldCount, version)),
+        RecordUtils.toJsonString(Fixtures.systemMetadata()), new Timestamp(1_600_000_000_000L + version),
+        Fixtures.auditStamp().getActor().toString(), null);
+  }
+}
@@ -0,0 +1,61 @@
+package com.linkedin.metadata.perf;
+
+import com.linkedin.common.urn.Urn;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Parses urns, which happens for every urn read from a request, a database row or an event. {@link #parse} bypasses
+ * the parse cache used by {@link Urn#createFromString(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrnBenchmark {
+
+  private static final int URN_COUNT = 100;
+
+  private List<String> _urns;
+
+  @Setup
+  public void setup() {
+    _urns = Fixtures.urnStrings(URN_COUNT);
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) throws URISyntaxException {
+    for (String urn : _urns) {
+      blackhole.consume(new Urn(urn));
+    }
+  }
+
+  @Benchmark
+  public void createFromString(Blackhole blackhole) throws URISyntaxException {
+    for (String urn : _urns) {
+      blackhole.consume(Urn.createFromString(urn));
+    }
+  }
+
+  @Benchmark
+  public void createFromStringAndGetEntityKey(Blackhole blackhole) throws URISyntaxException {
+    for (String urn : _urns) {
+      blackhole.consume(Urn.createFromString(urn).getEntityKey().getParts());
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package com.datahub.authorization;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Caches the aspects read while evaluating policies, e.g. the group and role memberships of an actor or the ownership
+ * and domains of a resource, in two tiers:
+ *
+ * - a {@link RequestMemo}, which lives as long as the request it is opened for, so that the many authorization checks
+ *   of a single request, e.g. of a page of search results, read the same aspects at most once. It is always enabled.
+ * - a bounded, time-to-live cache shared by all requests. Entries are dropped when they expire or when
+ *   {@link #invalidate(Urn, String)} is called for a changed aspect, which is done by every GMS instance when it
+ *   consumes the corresponding MetadataChangeLog. The time to live only bounds the staleness of missed invalidations.
+ *
+ * Both present and absent aspects are cached per (urn, aspect) pair.
+ */
+public class AuthorizationAspectCache {
+
+  /**
+   * Fetches the requested aspects of an entity. Aspects that do not exist are simply left out of the returned map.
+   */
+  @FunctionalInterface
+  public interface AspectLoader {
+    @Nullable
+    EnvelopedAspectMap load(@Nonnull Urn urn, @Nonnull Set<String> aspectNames) throws Exception;
+  }
+
+  private final boolean _enabled;
+  // Loads in progress are marked with a pending entry, which the loaded value only replaces if no invalidation removed
+  // it in the meantime. A load racing with an invalidation is therefore never cached.
+  private final Cache<AspectKey, CachedAspect> _cache;
+
+  public AuthorizationAspectCache(final long maxSize, final long ttlSeconds) {
+    _enabled = maxSize > 0 && ttlSeconds > 0;
+    _cache = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(maxSize, 0))
+        .expireAfterWrite(Math.max(ttlSeconds, 0), TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Returns a cache which always delegates to the loader.
+   */
+  public static AuthorizationAspectCache disabled() {
+    return new AuthorizationAspectCache(0, 0);
+  }
+
+  /**
+   * Returns a loader fetching the aspects of an entity with {@link EntityClient#getV2}.
+   */
+  @Nonnull
+  public static AspectLoader entityClientLoader(@Nonnull final EntityClient entityClient,
+      @Nonnull final Authentication authentication) {
+    return (urn, aspectNames) -> {
+      final EntityResponse response = entityClient.getV2(urn.getEntityType(), urn, aspectNames, authentication);
+      return response != null ? response.getAspects() : null;
+    };
+  }
+
+  /**
+   * Returns the requested aspects of an entity, loading the ones that are not cached with a single loader call.
+   */
+  @Nonnull
+  public EnvelopedAspectMap getAspects(@Nonnull final Urn urn, @Nonnull final Set<String> aspectNames,
+      @Nonnull final AspectLoader loader) throws Exception {
+    final RequestMemo memo = RequestMemo.current();
+    if (memo == null) {
+      return getSharedAspects(urn, aspectNames, loader);
+    }
+
+    final EnvelopedAspectMap result = new EnvelopedAspectMap();
+    final Set<String> missingAspects = new HashSet<>();
+    for (String aspectName : aspectNames) {
+      final Optional<EnvelopedAspect> memoized = memo._aspects.get(new AspectKey(urn, aspectName));
+      if (memoized == null) {
+        missingAspects.add(aspectName);
+      } else {
+        memoized.ifPresent(aspect -> result.put(aspectName, aspect));
+      }
+    }
+    if (missingAspects.isEmpty()) {
+      MetricUtils.counter(this.getClass(), "requestMemo_hit").inc();
+      return result;
+    }
+
+    final EnvelopedAspectMap loaded = getSharedAspects(urn, missingAspects, loader);
+    for (String aspectName : missingAspects) {
+      final EnvelopedAspect aspect = loaded.get(aspectName);
+      memo._aspects.put(new AspectKey(urn, aspectName), Optional.ofNullable(aspect));
+      if (aspect != null) {
+        result.put(aspectName, aspect);
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private EnvelopedAspectMap getSharedAspects(@Nonnull final Urn urn, @Nonnull final Set<String> aspectNames,
+      @Nonnull final AspectLoader loader) throws Exception {
+    if (!_enabled) {
+      final EnvelopedAspectMap loaded = loader.load(urn, aspectNames);
+      return loaded != null ? loaded : new EnvelopedAspectMap();
+    }
+
+    final EnvelopedAspectMap result = new EnvelopedAspectMap();
+    final Map<AspectKey, CachedAspect> pendingEntries = new HashMap<>();
+    for (String aspectName : aspectNames) {
+      final AspectKey key = new AspectKey(urn, aspectName);
+      final CachedAspect pending = CachedAspect.pending();
+      // Reuses the marker of a load in progress, if any, as it is as recent as a new one would be
+      final CachedAspect existing = _cache.asMap().putIfAbsent(key, pending);
+      if (existing == null || existing.isPending()) {
+        pendingEntries.put(key, existing != null ? existing : pending);
+      } else if (existing.getAspect() != null) {
+        result.put(aspectName, existing.getAspect());
+      }
+    }
+    if (pendingEntries.isEmpty()) {
+      MetricUtils.counter(this.getClass(), "aspectCache_hit").inc();
+      return result;
+    }
+    MetricUtils.counter(this.getClass(), "aspectCache_miss").inc();
+
+    final Set<String> missingAspects = new HashSet<>();
+    pendingEntries.keySet().forEach(key -> missingAspects.add(key.getAspectName()));
+    final EnvelopedAspectMap loaded = loader.load(urn, missingAspects);
+    for (Map.Entry<AspectKey, CachedAspect> entry : pendingEntries.entrySet()) {
+      final String aspectName = entry.getKey().getAspectName();
+      final EnvelopedAspect aspect = loaded != null ? loaded.get(aspectName) : null;
+      // Only replaces the marker if it is still there, i.e. if the aspect was not invalidated during the load
+      _cache.asMap().replace(entry.getKey(), entry.getValue(), CachedAspect.loaded(aspect));
+      if (aspect != null) {
+        result.put(aspectName, aspect);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops the cached value of a single aspect of an entity.
+   */
+  public void invalidate(@Nonnull final Urn urn, @Nonnull final String aspectName) {
+    if (!_enabled) {
+      return;
+    }
+    _cache.invalidate(new AspectKey(urn, aspectName));
+  }
+
+  /**
+   * Drops all cached aspects of an entity, e.g. once it has been deleted.
+   */
+  public void invalidateAll(@Nonnull final Urn urn) {
+    if (!_enabled) {
+      return;
+    }
+    _cache.asMap().keySet().removeIf(key -> key.getUrn().equals(urn));
+  }
+
+  public boolean isEnabled() {
+    return _enabled;
+  }
+
+  /**
+   * The aspects read by the authorization checks of a single request, see {@link #open()}. Aspects changed during the
+   * request are not seen by its later checks, which is fine as the request would race with the change anyway.
+   */
+  public static final class RequestMemo implements AutoCloseable {
+    private static final ThreadLocal<RequestMemo> CURRENT = new ThreadLocal<>();
+
+    private final Map<AspectKey, Optional<EnvelopedAspect>> _aspects;
+    private final RequestMemo _previous;
+
+    private RequestMemo(@Nonnull final Map<AspectKey, Optional<EnvelopedAspect>> aspects,
+        @Nullable final RequestMemo previous) {
+      _aspects = aspects;
+      _previous = previous;
+    }
+
+    /**
+     * Memoizes the aspects read from the current thread in a new memo, until the returned memo is closed.
+     */
+    @Nonnull
+    public static RequestMemo open() {
+      final RequestMemo memo = new RequestMemo(new ConcurrentHashMap<>(), CURRENT.get());
+      CURRENT.set(memo);
+      return memo;
+    }
+
+    /**
+     * Memoizes the aspects read from the current thread in the memo of its request if there is one, or in a new memo
+     * otherwise, until the returned memo is closed.
+     */
+    @Nonnull
+    public static RequestMemo openIfAbsent() {
+      final RequestMemo current = CURRENT.get();
+      return current != null ? attach(current) : open();
+    }
+
+    /**
+     * Memoizes the aspects read from the current thread in the given memo, e.g. the one of the request a task runs
+     * for, until the returned memo is closed. A null memo stops memoizing them.
+     */
+    @Nonnull
+    public static RequestMemo attach(@Nullable final RequestMemo memo) {
+      final RequestMemo attached =
+          new RequestMemo(memo != null ? memo._aspects : Collections.emptyMap(), CURRENT.get());
+      if (memo != null) {
+        CURRENT.set(attached);
+      } else {
+        CURRENT.remove();
+      }
+      return attached;
+    }
+
+    /**
+     * Returns the memo of the request the current thread is running for, or null outside of a request.
+     */
+    @Nullable
+    public static RequestMemo current() {
+      return CURRENT.get();
+    }
+
+    /**
+     * Stops memoizing the aspects read from the current thread in this memo, going back to the previous one if any.
+     */
+    @Override
+    public void close() {
+      if (_previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(_previous);
+      }
+    }
+  }
+
+  @Value
+  private static class AspectKey {
+    Urn urn;
+    String aspectName;
+  }
+
+  /**
+   * A cached aspect, null if the entity does not have it, or the marker of a load in progress. Compared by identity,
+   * so that a load only replaces its own marker.
+   */
+  private static final class CachedAspect {
+    private final EnvelopedAspect _aspect;
+    private final boolean _pending;
+
+    private CachedAspect(@Nullable final EnvelopedAspect aspect, final boolean pending) {
+      _aspect = aspect;
+      _pending = pending;
+    }
+
+    static CachedAspect pending() {
+      return new CachedAspect(null, true);
+    }
+
+    static CachedAspect loaded(@Nullable final EnvelopedAspect aspect) {
+      return new CachedAspect(aspect, false);
+    }
+
+    @Nullable
+    EnvelopedAspect getAspect() {
+      return _aspect;
+    }
+
+    boolean isPending() {
+      return _pending;
+    }
+  }
+}
@@ -8,15 +8,19 @@ import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.authorization.PoliciesConfig;
 import com.linkedin.policy.DataHubPolicyInfo;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,9 +52,8 @@ public class DataHubAuthorizer implements Authorizer {
   // Credentials used to make / authorize requests as the internal system actor.
   private final Authentication _systemAuthentication;
 
-  // Maps privilege name to the associated set of policies for fast access.
-  // Not concurrent data structure because writes are always against the entire thing.
-  private final Map<String, List<DataHubPolicyInfo>> _policyCache = new HashMap<>(); // Shared Policy Cache.
+  // Compiled snapshot of the policies, indexed by privilege and actor. Replaced as a whole on every refresh.
+  private final AtomicReference<PolicyIndex> _policyIndex = new AtomicReference<>(PolicyIndex.EMPTY);
 
   private final ScheduledExecutorService _refreshExecutorService = Executors.newScheduledThreadPool(1);
   private final PolicyRefreshRunnable _policyRefreshRunnable;
@@ -66,10 +69,22 @@ public class DataHubAuthorizer implements Authorizer {
       final int delayIntervalSeconds,
       final int refreshIntervalSeconds,
       final AuthorizationMode mode) {
+    this(systemAuthentication, entityClient, delayIntervalSeconds, refreshIntervalSeconds, mode,
+        AuthorizationAspectCache.disabled());
+  }
+
+  public DataHubAuthorizer(
+      final Authentication systemAuthentication,
+      final EntityClient entityClient,
+      final int delayIntervalSeconds,
+      final int refreshIntervalSeconds,
+      final AuthorizationMode mode,
+      final AuthorizationAspectCache aspectCache) {
     _systemAuthentication = Objects.requireNonNull(systemAuthentication);
     _mode = Objects.requireNonNull(mode);
-    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient));
-    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyCache);
+    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient),
+        Objects.requireNonNull(aspectCache));
+    _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyIndex);
     _refreshExecutorService.scheduleAtFixedRate(_policyRefreshRunnable, delayIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
   }
 
@@ -80,6 +95,13 @@ public class DataHubAuthorizer implements Authorizer {
   }
 
   public AuthorizationResult authorize(@Nonnull final AuthorizationRequest request) {
+    // The aspects read are memoized for the rest of the request, or at least for this authorization request
+    try (AuthorizationAspectCache.RequestMemo ignored = AuthorizationAspectCache.RequestMemo.openIfAbsent()) {
+      return authorizeWithinMemo(request);
+    }
+  }
+
+  private AuthorizationResult authorizeWithinMemo(@Nonnull final AuthorizationRequest request) {
 
     // 0. Short circuit: If the action is being performed by the system (root), always allow it.
     if (isSystemRequest(request, this._systemAuthentication)) {
@@ -89,23 +111,51 @@ public class DataHubAuthorizer implements Authorizer {
     Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
 
     // 1. Fetch the policies relevant to the requested privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(request.getPrivilege(), new ArrayList<>());
+    final PolicyIndex policyIndex = _policyIndex.get();
+    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
+      final List<DataHubPolicyInfo> policies = policyIndex.getPolicies(request.getPrivilege());
+      return policies.isEmpty() ? new AuthorizationResult(request, AuthorizationResult.Type.DENY, null)
+          : grantedBy(request, policies.get(0));
+    }
+    final PolicyIndex.PrivilegeIndex privilegeIndex = policyIndex.getPrivilegeIndex(request.getPrivilege());
+    if (privilegeIndex == null) {
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
+    }
+    final Urn actor;
+    try {
+      // Currently Actor must be an urn. Consider whether this contract should be pushed up.
+      actor = Urn.createFromString(request.getActorUrn());
+    } catch (URISyntaxException e) {
+      log.error(String.format("Failed to bind actor %s to an URN. Actors must be URNs. Denying the authorization request",
+          request.getActorUrn()));
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
+    }
 
-    // 2. Evaluate each policy.
-    for (DataHubPolicyInfo policy : policiesToEvaluate) {
-      if (isRequestGranted(policy, request, resolvedResourceSpec)) {
-        // Short circuit if policy has granted privileges to this actor.
-        return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW,
-            String.format("Granted by policy with type: %s", policy.getType()));
-      }
+    // 2. Evaluate the candidate policies. The actor's groups and roles are only resolved if no policy granted the
+    // privilege so far and some policies are bound to groups or roles, and at most once for the whole request.
+    final PolicyEngine.PolicyEvaluationContext context = new PolicyEngine.PolicyEvaluationContext();
+    final Set<PolicyIndex.CompiledPolicy> evaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+    Optional<DataHubPolicyInfo> grantingPolicy =
+        findGrantingPolicy(privilegeIndex.getActorCandidates(actor, resolvedResourceSpec), actor, resolvedResourceSpec,
+            context, evaluated);
+    if (!grantingPolicy.isPresent() && privilegeIndex.hasGroupPolicies()) {
+      final Set<Urn> groups = _policyEngine.resolveGroups(actor, context);
+      grantingPolicy = findGrantingPolicy(privilegeIndex.getGroupCandidates(groups, resolvedResourceSpec), actor,
+          resolvedResourceSpec, context, evaluated);
     }
-    return new AuthorizationResult(request, AuthorizationResult.Type.DENY,  null);
+    if (!grantingPolicy.isPresent() && privilegeIndex.hasRolePolicies()) {
+      final Set<Urn> roles = _policyEngine.resolveRoles(actor, context);
+      grantingPolicy = findGrantingPolicy(privilegeIndex.getRoleCandidates(roles, resolvedResourceSpec), actor,
+          resolvedResourceSpec, context, evaluated);
+    }
+    return grantingPolicy.map(policy -> grantedBy(request, policy))
+        .orElseGet(() -> new AuthorizationResult(request, AuthorizationResult.Type.DENY, null));
   }
 
   public List<String> getGrantedPrivileges(final String actorUrn, final Optional<ResourceSpec> resourceSpec) {
 
     // 1. Fetch all policies
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(ALL, new ArrayList<>());
+    final List<DataHubPolicyInfo> policiesToEvaluate = _policyIndex.get().getPolicies(ALL);
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -120,7 +170,7 @@ public class DataHubAuthorizer implements Authorizer {
       final String privilege,
       final Optional<ResourceSpec> resourceSpec) {
     // Step 1: Find policies granting the privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(privilege, new ArrayList<>());
+    final List<DataHubPolicyInfo> policiesToEvaluate = _policyIndex.get().getPolicies(privilege);
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -178,19 +228,24 @@ public class DataHubAuthorizer implements Authorizer {
   }
 
   /**
-   * Returns true if a policy grants the requested privilege for a given actor and resource.
+   * Returns the first of the candidate policies granting the requested privilege for a given actor and resource,
+   * skipping the policies which have already been evaluated for the request.
    */
-  private boolean isRequestGranted(final DataHubPolicyInfo policy, final AuthorizationRequest request, final Optional<ResolvedResourceSpec> resourceSpec) {
-    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
-      return true;
+  private Optional<DataHubPolicyInfo> findGrantingPolicy(final List<PolicyIndex.CompiledPolicy> candidates,
+      final Urn actor, final Optional<ResolvedResourceSpec> resourceSpec,
+      final PolicyEngine.PolicyEvaluationContext context, final Set<PolicyIndex.CompiledPolicy> evaluated) {
+    for (PolicyIndex.CompiledPolicy candidate : candidates) {
+      if (evaluated.add(candidate) && _policyEngine.evaluatePolicy(candidate, actor, resourceSpec, context).isGranted()) {
+        // Short circuit if policy has granted privileges to this actor.
+        return Optional.of(candidate.getPolicy());
+      }
     }
-    final PolicyEngine.PolicyEvaluationResult result = _policyEngine.evaluatePolicy(
-        policy,
-        request.getActorUrn(),
-        request.getPrivilege(),
-        resourceSpec
-    );
-    return result.isGranted();
+    return Optional.empty();
+  }
+
+  private static AuthorizationResult grantedBy(final AuthorizationRequest request, final DataHubPolicyInfo policy) {
+    return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW,
+        String.format("Granted by policy with type: %s", policy.getType()));
   }
 
   /**
@@ -205,13 +260,13 @@ public class DataHubAuthorizer implements Authorizer {
 
     private final Authentication _systemAuthentication;
     private final PolicyFetcher _policyFetcher;
-    private final Map<String, List<DataHubPolicyInfo>> _policyCache;
+    private final AtomicReference<PolicyIndex> _policyIndex;
 
     @Override
     public void run() {
       try {
-        // Populate new cache and swap.
-        Map<String, List<DataHubPolicyInfo>> newCache = new HashMap<>();
+        // Fetch all policies, then compile them into a new index and swap it in.
+        final List<DataHubPolicyInfo> policies = new ArrayList<>();
 
         int start = 0;
         int count = 30;
@@ -222,7 +277,7 @@ public class DataHubAuthorizer implements Authorizer {
             final PolicyFetcher.PolicyFetchResult
                 policyFetchResult = _policyFetcher.fetchPolicies(start, count, _systemAuthentication);
 
-            addPoliciesToCache(newCache, policyFetchResult.getPolicies());
+            policyFetchResult.getPolicies().forEach(policy -> policies.add(policy.getPolicyInfo()));
 
             total = policyFetchResult.getTotal();
             start = start + count;
@@ -231,32 +286,12 @@ public class DataHubAuthorizer implements Authorizer {
                 "Failed to retrieve policy urns! Skipping updating policy cache until next refresh. start: {}, count: {}", start, count, e);
             return;
           }
-          synchronized (_policyCache) {
-            _policyCache.clear();
-            _policyCache.putAll(newCache);
-          }
         }
+        _policyIndex.set(new PolicyIndex(policies));
         log.debug(String.format("Successfully fetched %s policies.", total));
       } catch (Exception e) {
         log.error("Caught exception while loading Policy cache. Will retry on next scheduled attempt.", e);
       }
     }
-
-    private void addPoliciesToCache(final Map<String, List<DataHubPolicyInfo>> cache,
-        final List<PolicyFetcher.Policy> policies) {
-      policies.forEach(policy -> addPolicyToCache(cache, policy.getPolicyInfo()));
-    }
-
-    private void addPolicyToCache(final Map<String, List<DataHubPolicyInfo>> cache, final DataHubPolicyInfo policy) {
-      final List<String> privileges = policy.getPrivileges();
-      for (String privilege : privileges) {
-        List<DataHubPolicyInfo> existingPolicies = cache.containsKey(privilege) ? new ArrayList<>(cache.get(privilege)) : new ArrayList<>();
-        existingPolicies.add(policy);
-        cache.put(privilege, existingPolicies);
-      }
-      List<DataHubPolicyInfo> existingPolicies = cache.containsKey(ALL) ? new ArrayList<>(cache.get(ALL)) : new ArrayList<>();
-      existingPolicies.add(policy);
-      cache.put(ALL, existingPolicies);
-    }
   }
 }
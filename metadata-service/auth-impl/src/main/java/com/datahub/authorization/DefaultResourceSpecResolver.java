@@ -17,10 +17,15 @@ public class DefaultResourceSpecResolver implements ResourceSpecResolver {
   private final List<ResourceFieldResolverProvider> _resourceFieldResolverProviders;
 
   public DefaultResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient) {
+    this(systemAuthentication, entityClient, AuthorizationAspectCache.disabled());
+  }
+
+  public DefaultResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient,
+      AuthorizationAspectCache aspectCache) {
     _resourceFieldResolverProviders =
         ImmutableList.of(new EntityTypeFieldResolverProvider(), new EntityUrnFieldResolverProvider(),
-            new DomainFieldResolverProvider(entityClient, systemAuthentication),
-            new OwnerFieldResolverProvider(entityClient, systemAuthentication));
+            new DomainFieldResolverProvider(entityClient, systemAuthentication, aspectCache),
+            new OwnerFieldResolverProvider(entityClient, systemAuthentication, aspectCache));
   }
 
   @Override
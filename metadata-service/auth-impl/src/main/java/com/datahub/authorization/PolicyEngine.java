@@ -46,6 +46,11 @@ public class PolicyEngine {
 
   private final Authentication _systemAuthentication;
   private final EntityClient _entityClient;
+  private final AuthorizationAspectCache _aspectCache;
+
+  public PolicyEngine(final Authentication systemAuthentication, final EntityClient entityClient) {
+    this(systemAuthentication, entityClient, AuthorizationAspectCache.disabled());
+  }
 
   public PolicyEvaluationResult evaluatePolicy(
       final DataHubPolicyInfo policy,
@@ -67,8 +72,15 @@ public class PolicyEngine {
       final Urn actor,
       final String privilege,
       final Optional<ResolvedResourceSpec> resource) {
+    return evaluatePolicy(policy, actor, privilege, resource, new PolicyEvaluationContext());
+  }
 
-    final PolicyEvaluationContext context = new PolicyEvaluationContext();
+  private PolicyEvaluationResult evaluatePolicy(
+      final DataHubPolicyInfo policy,
+      final Urn actor,
+      final String privilege,
+      final Optional<ResolvedResourceSpec> resource,
+      final PolicyEvaluationContext context) {
     log.debug("Evaluating policy {}", policy.getDisplayName());
 
     // If the privilege is not in scope, deny the request.
@@ -87,6 +99,26 @@ public class PolicyEngine {
     return PolicyEvaluationResult.GRANTED;
   }
 
+  /**
+   * Evaluates an active policy taken from a {@link PolicyIndex}, which has already been selected by privilege and whose
+   * resource filter has been compiled ahead of time.
+   */
+  PolicyEvaluationResult evaluatePolicy(
+      final PolicyIndex.CompiledPolicy compiledPolicy,
+      final Urn actor,
+      final Optional<ResolvedResourceSpec> resource,
+      final PolicyEvaluationContext context) {
+    final DataHubPolicyInfo policy = compiledPolicy.getPolicy();
+    log.debug("Evaluating policy {}", policy.getDisplayName());
+
+    if (!isResourceMatch(policy.getType(), compiledPolicy.getResourceFilter(), resource, context)
+        || !isActorMatch(actor, policy.getActors(), resource, context)) {
+      log.debug("Policy does not applicable for actor {} and resource {}", actor, resource);
+      return PolicyEvaluationResult.DENIED;
+    }
+    return PolicyEvaluationResult.GRANTED;
+  }
+
   public PolicyActors getMatchingActors(
       final DataHubPolicyInfo policy,
       final Optional<ResolvedResourceSpec> resource) {
@@ -137,7 +169,7 @@ public class PolicyEngine {
     }
 
     // If the resource is not in scope, deny the request.
-    if (!isResourceMatch(policy.getType(), policy.getResources(), resource, context)) {
+    if (!isResourceMatch(policy.getType(), compileResourceFilter(policy), resource, context)) {
       return false;
     }
 
@@ -169,7 +201,7 @@ public class PolicyEngine {
    * resource filter defined on the policy.
    */
   public Boolean policyMatchesResource(final DataHubPolicyInfo policy, final Optional<ResolvedResourceSpec> resourceSpec) {
-    return isResourceMatch(policy.getType(), policy.getResources(), resourceSpec,
+    return isResourceMatch(policy.getType(), compileResourceFilter(policy), resourceSpec,
         new PolicyEvaluationContext());
   }
 
@@ -188,7 +220,7 @@ public class PolicyEngine {
    */
   private boolean isResourceMatch(
       final String policyType,
-      final @Nullable DataHubResourceFilter policyResourceFilter,
+      final @Nullable PolicyMatchFilter policyResourceFilter,
       final Optional<ResolvedResourceSpec> requestResource,
       final PolicyEvaluationContext context) {
     if (PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policyType)) {
@@ -204,15 +236,23 @@ public class PolicyEngine {
       log.debug("Resource filter present in policy, but no resource spec provided.");
       return false;
     }
-    final PolicyMatchFilter filter = getFilter(policyResourceFilter);
-    return checkFilter(filter, requestResource.get());
+    return checkFilter(policyResourceFilter, requestResource.get());
+  }
+
+  /**
+   * Returns the filter matching the resources of a policy, or null if the policy has no resource filter.
+   */
+  @Nullable
+  static PolicyMatchFilter compileResourceFilter(final DataHubPolicyInfo policy) {
+    final DataHubResourceFilter policyResourceFilter = policy.getResources();
+    return policyResourceFilter != null ? getFilter(policyResourceFilter) : null;
   }
 
   /**
    * Get filter object from policy resource filter. Make sure it is backward compatible by constructing PolicyMatchFilter object
    * from other fields if the filter field is not set
    */
-  private PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
+  private static PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
     if (policyResourceFilter.hasFilter()) {
       return policyResourceFilter.getFilter();
     }
@@ -320,12 +360,13 @@ public class PolicyEngine {
     Urn entityUrn = UrnUtils.getUrn(resourceSpec.getResource());
     EnvelopedAspect ownershipAspect;
     try {
-      EntityResponse response = _entityClient.getV2(entityUrn.getEntityType(), entityUrn,
-              Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME), _systemAuthentication);
-      if (response == null || !response.getAspects().containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
+      EnvelopedAspectMap aspectMap = _aspectCache.getAspects(entityUrn,
+          Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME),
+          AuthorizationAspectCache.entityClientLoader(_entityClient, _systemAuthentication));
+      if (!aspectMap.containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
         return Collections.emptySet();
       }
-      ownershipAspect = response.getAspects().get(Constants.OWNERSHIP_ASPECT_NAME);
+      ownershipAspect = aspectMap.get(Constants.OWNERSHIP_ASPECT_NAME);
     } catch (Exception e) {
       log.error("Error while retrieving ownership aspect for urn {}", entityUrn, e);
       return Collections.emptySet();
@@ -371,7 +412,7 @@ public class PolicyEngine {
         .anyMatch(actorRoles::contains);
   }
 
-  private Set<Urn> resolveRoles(Urn actor, PolicyEvaluationContext context) {
+  Set<Urn> resolveRoles(Urn actor, PolicyEvaluationContext context) {
     if (context.roles != null) {
       return context.roles;
     }
@@ -380,12 +421,8 @@ public class PolicyEngine {
     final EnvelopedAspectMap aspectMap;
 
     try {
-      final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
-          Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), _systemAuthentication).get(actor);
-      if (corpUser == null || !corpUser.hasAspects()) {
-        return roles;
-      }
-      aspectMap = corpUser.getAspects();
+      aspectMap = _aspectCache.getAspects(actor, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME),
+          this::getCorpUserAspects);
     } catch (Exception e) {
       log.error(String.format("Failed to fetch %s for urn %s", ROLE_MEMBERSHIP_ASPECT_NAME, actor), e);
       return roles;
@@ -403,7 +440,7 @@ public class PolicyEngine {
     return roles;
   }
 
-  private Set<Urn> resolveGroups(Urn actor, PolicyEvaluationContext context) {
+  Set<Urn> resolveGroups(Urn actor, PolicyEvaluationContext context) {
     if (context.groups != null) {
       return context.groups;
     }
@@ -412,13 +449,8 @@ public class PolicyEngine {
     final EnvelopedAspectMap aspectMap;
 
     try {
-      final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
-              ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), _systemAuthentication)
-          .get(actor);
-      if (corpUser == null || !corpUser.hasAspects()) {
-        return groups;
-      }
-      aspectMap = corpUser.getAspects();
+      aspectMap = _aspectCache.getAspects(actor,
+          ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), this::getCorpUserAspects);
     } catch (Exception e) {
       throw new RuntimeException(String.format("Failed to fetch %s and %s for urn %s", GROUP_MEMBERSHIP_ASPECT_NAME,
           NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME, actor), e);
@@ -435,7 +467,13 @@ public class PolicyEngine {
     return groups;
   }
 
-  // TODO: Optimization - Cache the group membership. Refresh periodically.
+  @Nullable
+  private EnvelopedAspectMap getCorpUserAspects(final Urn actor, final Set<String> aspectNames) throws Exception {
+    final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
+        aspectNames, _systemAuthentication).get(actor);
+    return corpUser != null && corpUser.hasAspects() ? corpUser.getAspects() : null;
+  }
+
   private Optional<GroupMembership> resolveGroupMembership(final EnvelopedAspectMap aspectMap) {
     if (aspectMap.containsKey(GROUP_MEMBERSHIP_ASPECT_NAME)) {
       return Optional.of(new GroupMembership(aspectMap.get(GROUP_MEMBERSHIP_ASPECT_NAME).getValue().data()));
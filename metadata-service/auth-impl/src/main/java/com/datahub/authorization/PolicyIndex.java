@@ -0,0 +1,226 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.PolicyMatchCondition;
+import com.linkedin.policy.PolicyMatchCriterion;
+import com.linkedin.policy.PolicyMatchFilter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+
+/**
+ * An immutable snapshot of the DataHub policies, compiled for fast evaluation.
+ *
+ * Besides the raw policies grouped by privilege, every active policy is compiled once (resource filter and resource
+ * types) and indexed per privilege by the actors it names: the users, groups and roles listed on the policy, plus the
+ * policies applying to all actors or to resource owners. Each of these buckets is further split by resource type, so
+ * that authorizing a request only evaluates the policies that can possibly grant it.
+ *
+ * A new index is built on every policy refresh and swapped in atomically, hence readers never need to lock.
+ */
+public class PolicyIndex {
+
+  public static final PolicyIndex EMPTY = new PolicyIndex(Collections.emptyList());
+
+  private final Map<String, List<DataHubPolicyInfo>> _policiesByPrivilege;
+  private final Map<String, PrivilegeIndex> _indexByPrivilege;
+
+  public PolicyIndex(@Nonnull final List<DataHubPolicyInfo> policies) {
+    final Map<String, List<DataHubPolicyInfo>> policiesByPrivilege = new LinkedHashMap<>();
+    final Map<String, PrivilegeIndex> indexByPrivilege = new HashMap<>();
+    for (DataHubPolicyInfo policy : policies) {
+      final boolean isActive = !PoliciesConfig.INACTIVE_POLICY_STATE.equals(policy.getState());
+      final CompiledPolicy compiledPolicy = isActive ? new CompiledPolicy(policy) : null;
+      for (String privilege : policy.getPrivileges()) {
+        policiesByPrivilege.computeIfAbsent(privilege, key -> new ArrayList<>()).add(policy);
+        if (compiledPolicy != null) {
+          indexByPrivilege.computeIfAbsent(privilege, key -> new PrivilegeIndex()).add(compiledPolicy);
+        }
+      }
+      policiesByPrivilege.computeIfAbsent(DataHubAuthorizer.ALL, key -> new ArrayList<>()).add(policy);
+    }
+    final ImmutableMap.Builder<String, List<DataHubPolicyInfo>> builder = ImmutableMap.builder();
+    policiesByPrivilege.forEach(
+        (privilege, privilegePolicies) -> builder.put(privilege, ImmutableList.copyOf(privilegePolicies)));
+    _policiesByPrivilege = builder.build();
+    _indexByPrivilege = ImmutableMap.copyOf(indexByPrivilege);
+  }
+
+  /**
+   * Returns all the policies, active or not, granting a privilege, or all policies for {@link DataHubAuthorizer#ALL}.
+   */
+  @Nonnull
+  public List<DataHubPolicyInfo> getPolicies(@Nonnull final String privilege) {
+    return _policiesByPrivilege.getOrDefault(privilege, Collections.emptyList());
+  }
+
+  /**
+   * Returns the index of the active policies granting a privilege, or null if there are none.
+   */
+  @Nullable
+  PrivilegeIndex getPrivilegeIndex(@Nonnull final String privilege) {
+    return _indexByPrivilege.get(privilege);
+  }
+
+  public int size() {
+    return getPolicies(DataHubAuthorizer.ALL).size();
+  }
+
+  /**
+   * An active policy along with the parts of it which can be derived once per refresh.
+   */
+  @Getter
+  static class CompiledPolicy {
+    private final DataHubPolicyInfo policy;
+    @Nullable
+    private final PolicyMatchFilter resourceFilter;
+    // The resource types the policy is restricted to, or null if it may apply to any resource.
+    @Nullable
+    private final List<String> resourceTypes;
+
+    CompiledPolicy(@Nonnull final DataHubPolicyInfo policy) {
+      this.policy = policy;
+      this.resourceFilter = PolicyEngine.compileResourceFilter(policy);
+      this.resourceTypes = PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policy.getType())
+          ? null : getResourceTypes(resourceFilter);
+    }
+
+    @Nullable
+    private static List<String> getResourceTypes(@Nullable final PolicyMatchFilter filter) {
+      if (filter == null) {
+        return null;
+      }
+      // Criteria are AND-ed, so a single resource type criterion is enough to restrict the policy.
+      return filter.getCriteria()
+          .stream()
+          .filter(criterion -> ResourceFieldType.RESOURCE_TYPE.name().equalsIgnoreCase(criterion.getField())
+              && criterion.getCondition() == PolicyMatchCondition.EQUALS)
+          .findFirst()
+          .map(PolicyMatchCriterion::getValues)
+          .map(values -> ImmutableList.copyOf(values))
+          .orElse(null);
+    }
+  }
+
+  /**
+   * The active policies granting a single privilege, indexed by the actors they apply to.
+   */
+  static class PrivilegeIndex {
+    private final ResourceTypeBucket _anyActor = new ResourceTypeBucket();
+    private final ResourceTypeBucket _resourceOwners = new ResourceTypeBucket();
+    private final Map<Urn, ResourceTypeBucket> _byUser = new HashMap<>();
+    private final Map<Urn, ResourceTypeBucket> _byGroup = new HashMap<>();
+    private final Map<Urn, ResourceTypeBucket> _byRole = new HashMap<>();
+
+    private void add(@Nonnull final CompiledPolicy policy) {
+      final DataHubActorFilter actorFilter = policy.getPolicy().getActors();
+      if (actorFilter.isAllUsers() || actorFilter.isAllGroups()) {
+        // Matches any actor, no need to index it any further.
+        _anyActor.add(policy);
+        return;
+      }
+      if (actorFilter.isResourceOwners()) {
+        _resourceOwners.add(policy);
+      }
+      addAll(_byUser, actorFilter.getUsers(), policy);
+      addAll(_byGroup, actorFilter.getGroups(), policy);
+      addAll(_byRole, actorFilter.getRoles(), policy);
+    }
+
+    private static void addAll(final Map<Urn, ResourceTypeBucket> index, @Nullable final Collection<Urn> actors,
+        final CompiledPolicy policy) {
+      if (actors != null) {
+        actors.forEach(actor -> index.computeIfAbsent(actor, key -> new ResourceTypeBucket()).add(policy));
+      }
+    }
+
+    boolean hasGroupPolicies() {
+      return !_byGroup.isEmpty();
+    }
+
+    boolean hasRolePolicies() {
+      return !_byRole.isEmpty();
+    }
+
+    /**
+     * Returns the policies which may grant the privilege to the actor without resolving its groups or roles: the ones
+     * applying to all actors, naming the actor directly or, when there is a resource, applying to its owners.
+     */
+    List<CompiledPolicy> getActorCandidates(@Nonnull final Urn actor,
+        @Nonnull final Optional<ResolvedResourceSpec> resource) {
+      final List<CompiledPolicy> candidates = new ArrayList<>();
+      _anyActor.collect(resource, candidates);
+      collect(_byUser, Collections.singleton(actor), resource, candidates);
+      if (resource.isPresent()) {
+        _resourceOwners.collect(resource, candidates);
+      }
+      return candidates;
+    }
+
+    /**
+     * Returns the policies which may grant the privilege to members of the given groups.
+     */
+    List<CompiledPolicy> getGroupCandidates(@Nonnull final Collection<Urn> groups,
+        @Nonnull final Optional<ResolvedResourceSpec> resource) {
+      final List<CompiledPolicy> candidates = new ArrayList<>();
+      collect(_byGroup, groups, resource, candidates);
+      return candidates;
+    }
+
+    /**
+     * Returns the policies which may grant the privilege to holders of the given roles.
+     */
+    List<CompiledPolicy> getRoleCandidates(@Nonnull final Collection<Urn> roles,
+        @Nonnull final Optional<ResolvedResourceSpec> resource) {
+      final List<CompiledPolicy> candidates = new ArrayList<>();
+      collect(_byRole, roles, resource, candidates);
+      return candidates;
+    }
+
+    private static void collect(final Map<Urn, ResourceTypeBucket> index, final Collection<Urn> actors,
+        final Optional<ResolvedResourceSpec> resource, final List<CompiledPolicy> candidates) {
+      for (Urn actor : actors) {
+        final ResourceTypeBucket bucket = index.get(actor);
+        if (bucket != null) {
+          bucket.collect(resource, candidates);
+        }
+      }
+    }
+  }
+
+  /**
+   * Policies split by the resource types they are restricted to.
+   */
+  private static class ResourceTypeBucket {
+    private final List<CompiledPolicy> _anyType = new ArrayList<>();
+    private final Map<String, List<CompiledPolicy>> _byType = new HashMap<>();
+
+    private void add(final CompiledPolicy policy) {
+      if (policy.getResourceTypes() == null) {
+        _anyType.add(policy);
+      } else {
+        policy.getResourceTypes().forEach(type -> _byType.computeIfAbsent(type, key -> new ArrayList<>()).add(policy));
+      }
+    }
+
+    private void collect(final Optional<ResolvedResourceSpec> resource, final List<CompiledPolicy> candidates) {
+      candidates.addAll(_anyType);
+      // Policies restricted to some resource types can only match requests for a resource of one of these types.
+      resource.map(spec -> _byType.get(spec.getSpec().getType())).ifPresent(candidates::addAll);
+    }
+  }
+}
@@ -1,14 +1,15 @@
 package com.datahub.authorization.fieldresolverprovider;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizationAspectCache;
 import com.datahub.authorization.FieldResolver;
 import com.datahub.authorization.ResourceFieldType;
 import com.datahub.authorization.ResourceSpec;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.domain.Domains;
-import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.EntityClient;
 import java.util.Collections;
 import java.util.stream.Collectors;
@@ -27,6 +28,7 @@ public class DomainFieldResolverProvider implements ResourceFieldResolverProvide
 
   private final EntityClient _entityClient;
   private final Authentication _systemAuthentication;
+  private final AuthorizationAspectCache _aspectCache;
 
   @Override
   public ResourceFieldType getFieldType() {
@@ -49,12 +51,12 @@ public class DomainFieldResolverProvider implements ResourceFieldResolverProvide
 
     EnvelopedAspect domainsAspect;
     try {
-      EntityResponse response = _entityClient.getV2(entityUrn.getEntityType(), entityUrn,
-          Collections.singleton(DOMAINS_ASPECT_NAME), _systemAuthentication);
-      if (response == null || !response.getAspects().containsKey(DOMAINS_ASPECT_NAME)) {
+      EnvelopedAspectMap aspectMap = _aspectCache.getAspects(entityUrn, Collections.singleton(DOMAINS_ASPECT_NAME),
+          AuthorizationAspectCache.entityClientLoader(_entityClient, _systemAuthentication));
+      if (!aspectMap.containsKey(DOMAINS_ASPECT_NAME)) {
         return FieldResolver.emptyFieldValue();
       }
-      domainsAspect = response.getAspects().get(DOMAINS_ASPECT_NAME);
+      domainsAspect = aspectMap.get(DOMAINS_ASPECT_NAME);
     } catch (Exception e) {
       log.error("Error while retrieving domains aspect for urn {}", entityUrn, e);
       return FieldResolver.emptyFieldValue();
@@ -1,14 +1,15 @@
 package com.datahub.authorization.fieldresolverprovider;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizationAspectCache;
 import com.datahub.authorization.FieldResolver;
 import com.datahub.authorization.ResourceFieldType;
 import com.datahub.authorization.ResourceSpec;
 import com.linkedin.common.Ownership;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
-import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.metadata.Constants;
 import java.util.Collections;
@@ -26,6 +27,7 @@ public class OwnerFieldResolverProvider implements ResourceFieldResolverProvider
 
   private final EntityClient _entityClient;
   private final Authentication _systemAuthentication;
+  private final AuthorizationAspectCache _aspectCache;
 
   @Override
   public ResourceFieldType getFieldType() {
@@ -41,12 +43,13 @@ public class OwnerFieldResolverProvider implements ResourceFieldResolverProvider
     Urn entityUrn = UrnUtils.getUrn(resourceSpec.getResource());
     EnvelopedAspect ownershipAspect;
     try {
-      EntityResponse response = _entityClient.getV2(entityUrn.getEntityType(), entityUrn,
-          Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME), _systemAuthentication);
-      if (response == null || !response.getAspects().containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
+      EnvelopedAspectMap aspectMap =
+          _aspectCache.getAspects(entityUrn, Collections.singleton(Constants.OWNERSHIP_ASPECT_NAME),
+              AuthorizationAspectCache.entityClientLoader(_entityClient, _systemAuthentication));
+      if (!aspectMap.containsKey(Constants.OWNERSHIP_ASPECT_NAME)) {
         return FieldResolver.emptyFieldValue();
       }
-      ownershipAspect = response.getAspects().get(Constants.OWNERSHIP_ASPECT_NAME);
+      ownershipAspect = aspectMap.get(Constants.OWNERSHIP_ASPECT_NAME);
     } catch (Exception e) {
       log.error("Error while retrieving domains aspect for urn {}", entityUrn, e);
       return FieldResolver.emptyFieldValue();
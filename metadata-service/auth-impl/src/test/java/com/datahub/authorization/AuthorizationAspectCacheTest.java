@@ -0,0 +1,143 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class AuthorizationAspectCacheTest {
+
+  private static final Urn USER_URN = UrnUtils.getUrn("urn:li:corpuser:datahub");
+
+  @Test
+  public void testCachesPresentAndAbsentAspects() throws Exception {
+    final AuthorizationAspectCache cache = new AuthorizationAspectCache(100, 60);
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    final EnvelopedAspect groupMembership = new EnvelopedAspect();
+    when(loader.load(eq(USER_URN), any())).thenReturn(
+        new EnvelopedAspectMap(Collections.singletonMap(GROUP_MEMBERSHIP_ASPECT_NAME, groupMembership)));
+
+    final EnvelopedAspectMap first = cache.getAspects(USER_URN,
+        ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+    final EnvelopedAspectMap second = cache.getAspects(USER_URN,
+        ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+
+    assertEquals(first.keySet(), Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME));
+    assertEquals(second, first);
+    verify(loader, times(1)).load(eq(USER_URN), any());
+  }
+
+  @Test
+  public void testLoadsOnlyMissingAspects() throws Exception {
+    final AuthorizationAspectCache cache = new AuthorizationAspectCache(100, 60);
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    when(loader.load(eq(USER_URN), any())).thenReturn(new EnvelopedAspectMap());
+
+    cache.getAspects(USER_URN, Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+    cache.getAspects(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+
+    verify(loader, times(1)).load(USER_URN, Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME));
+    verify(loader, times(1)).load(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME));
+  }
+
+  @Test
+  public void testInvalidation() throws Exception {
+    final AuthorizationAspectCache cache = new AuthorizationAspectCache(100, 60);
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    when(loader.load(eq(USER_URN), any())).thenReturn(new EnvelopedAspectMap());
+
+    cache.getAspects(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    cache.invalidate(USER_URN, ROLE_MEMBERSHIP_ASPECT_NAME);
+    cache.getAspects(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    verify(loader, times(1)).load(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME));
+
+    cache.invalidateAll(USER_URN);
+    cache.getAspects(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    verify(loader, times(2)).load(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, ROLE_MEMBERSHIP_ASPECT_NAME));
+  }
+
+  @Test
+  public void testLoadRacingInvalidationIsNotCached() throws Exception {
+    final AuthorizationAspectCache cache = new AuthorizationAspectCache(100, 60);
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    // The aspect changes while it is being loaded, so the loaded value is stale
+    when(loader.load(eq(USER_URN), any())).thenAnswer(invocation -> {
+      cache.invalidate(USER_URN, ROLE_MEMBERSHIP_ASPECT_NAME);
+      return new EnvelopedAspectMap();
+    }).thenReturn(new EnvelopedAspectMap());
+
+    cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+    verify(loader, times(2)).load(eq(USER_URN), any());
+  }
+
+  @Test
+  public void testDisabledCacheAlwaysLoads() throws Exception {
+    final AuthorizationAspectCache cache = AuthorizationAspectCache.disabled();
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    when(loader.load(eq(USER_URN), any())).thenReturn(null);
+
+    assertTrue(cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader).isEmpty());
+    assertTrue(cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader).isEmpty());
+    verify(loader, times(2)).load(eq(USER_URN), any());
+  }
+
+  @Test
+  public void testRequestMemoLoadsAspectsOncePerRequest() throws Exception {
+    final AuthorizationAspectCache cache = AuthorizationAspectCache.disabled();
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    when(loader.load(eq(USER_URN), any())).thenReturn(
+        new EnvelopedAspectMap(Collections.singletonMap(GROUP_MEMBERSHIP_ASPECT_NAME, new EnvelopedAspect())));
+
+    try (AuthorizationAspectCache.RequestMemo ignored = AuthorizationAspectCache.RequestMemo.open()) {
+      cache.getAspects(USER_URN, ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME),
+          loader);
+      final EnvelopedAspectMap memoized = cache.getAspects(USER_URN,
+          ImmutableSet.of(GROUP_MEMBERSHIP_ASPECT_NAME, NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+      assertEquals(memoized.keySet(), Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME));
+      // Nested authorization requests reuse the memo of the request
+      try (AuthorizationAspectCache.RequestMemo nested = AuthorizationAspectCache.RequestMemo.openIfAbsent()) {
+        cache.getAspects(USER_URN, Collections.singleton(NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+      }
+    }
+    verify(loader, times(1)).load(eq(USER_URN), any());
+
+    // The next request loads the aspects again
+    try (AuthorizationAspectCache.RequestMemo ignored = AuthorizationAspectCache.RequestMemo.open()) {
+      cache.getAspects(USER_URN, Collections.singleton(GROUP_MEMBERSHIP_ASPECT_NAME), loader);
+    }
+    assertNull(AuthorizationAspectCache.RequestMemo.current());
+    verify(loader, times(2)).load(eq(USER_URN), any());
+  }
+
+  @Test
+  public void testRequestMemoIsSharedWithTheThreadsOfTheRequest() throws Exception {
+    final AuthorizationAspectCache cache = AuthorizationAspectCache.disabled();
+    final AuthorizationAspectCache.AspectLoader loader = mock(AuthorizationAspectCache.AspectLoader.class);
+    when(loader.load(eq(USER_URN), any())).thenReturn(new EnvelopedAspectMap());
+
+    try (AuthorizationAspectCache.RequestMemo memo = AuthorizationAspectCache.RequestMemo.open()) {
+      cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+      final Thread worker = new Thread(() -> {
+        try (AuthorizationAspectCache.RequestMemo ignored = AuthorizationAspectCache.RequestMemo.attach(memo)) {
+          cache.getAspects(USER_URN, Collections.singleton(ROLE_MEMBERSHIP_ASPECT_NAME), loader);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+      worker.start();
+      worker.join();
+    }
+    verify(loader, times(1)).load(eq(USER_URN), any());
+  }
+}
@@ -0,0 +1,107 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.authorization.PoliciesConfig.*;
+import static org.testng.Assert.*;
+
+
+public class PolicyIndexTest {
+
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:user1");
+  private static final Urn OTHER_USER = UrnUtils.getUrn("urn:li:corpuser:user2");
+  private static final Urn GROUP = UrnUtils.getUrn("urn:li:corpGroup:group1");
+  private static final Urn ROLE = UrnUtils.getUrn("urn:li:dataHubRole:Editor");
+
+  @Test
+  public void testPoliciesByPrivilege() {
+    final DataHubPolicyInfo active = createPolicy("active", ACTIVE_POLICY_STATE, new DataHubActorFilter().setAllUsers(true), null);
+    final DataHubPolicyInfo inactive = createPolicy("inactive", INACTIVE_POLICY_STATE, new DataHubActorFilter().setAllUsers(true), null);
+    final PolicyIndex index = new PolicyIndex(ImmutableList.of(active, inactive));
+
+    assertEquals(index.getPolicies(PRIVILEGE), ImmutableList.of(active, inactive));
+    assertEquals(index.getPolicies(DataHubAuthorizer.ALL), ImmutableList.of(active, inactive));
+    assertTrue(index.getPolicies("OTHER_PRIVILEGE").isEmpty());
+    assertNull(index.getPrivilegeIndex("OTHER_PRIVILEGE"));
+    // Only active policies are candidates.
+    assertEquals(names(index.getPrivilegeIndex(PRIVILEGE).getActorCandidates(USER, Optional.empty())),
+        ImmutableList.of("active"));
+  }
+
+  @Test
+  public void testCandidatesByActor() {
+    final PolicyIndex index = new PolicyIndex(ImmutableList.of(
+        createPolicy("user", ACTIVE_POLICY_STATE, new DataHubActorFilter().setUsers(new UrnArray(ImmutableList.of(USER))), null),
+        createPolicy("otherUser", ACTIVE_POLICY_STATE, new DataHubActorFilter().setUsers(new UrnArray(ImmutableList.of(OTHER_USER))), null),
+        createPolicy("group", ACTIVE_POLICY_STATE, new DataHubActorFilter().setGroups(new UrnArray(ImmutableList.of(GROUP))), null),
+        createPolicy("role", ACTIVE_POLICY_STATE, new DataHubActorFilter().setRoles(new UrnArray(ImmutableList.of(ROLE))), null),
+        createPolicy("owners", ACTIVE_POLICY_STATE, new DataHubActorFilter().setResourceOwners(true), null)));
+    final PolicyIndex.PrivilegeIndex privilegeIndex = index.getPrivilegeIndex(PRIVILEGE);
+
+    assertEquals(names(privilegeIndex.getActorCandidates(USER, Optional.empty())), ImmutableList.of("user"));
+    assertEquals(names(privilegeIndex.getActorCandidates(USER, Optional.of(resource("dataset")))),
+        ImmutableList.of("user", "owners"));
+    assertEquals(names(privilegeIndex.getGroupCandidates(ImmutableList.of(GROUP), Optional.empty())),
+        ImmutableList.of("group"));
+    assertEquals(names(privilegeIndex.getRoleCandidates(ImmutableList.of(ROLE), Optional.empty())),
+        ImmutableList.of("role"));
+    assertTrue(privilegeIndex.hasGroupPolicies());
+    assertTrue(privilegeIndex.hasRolePolicies());
+  }
+
+  @Test
+  public void testCandidatesByResourceType() {
+    final DataHubActorFilter allUsers = new DataHubActorFilter().setAllUsers(true);
+    final PolicyIndex index = new PolicyIndex(ImmutableList.of(
+        createPolicy("datasets", ACTIVE_POLICY_STATE, allUsers,
+            new DataHubResourceFilter().setType("dataset").setAllResources(true)),
+        createPolicy("charts", ACTIVE_POLICY_STATE, allUsers,
+            new DataHubResourceFilter().setType("chart").setAllResources(true)),
+        createPolicy("anyResource", ACTIVE_POLICY_STATE, allUsers, null)));
+    final PolicyIndex.PrivilegeIndex privilegeIndex = index.getPrivilegeIndex(PRIVILEGE);
+
+    assertEquals(names(privilegeIndex.getActorCandidates(USER, Optional.of(resource("dataset")))),
+        ImmutableList.of("anyResource", "datasets"));
+    assertEquals(names(privilegeIndex.getActorCandidates(USER, Optional.of(resource("dashboard")))),
+        ImmutableList.of("anyResource"));
+    assertEquals(names(privilegeIndex.getActorCandidates(USER, Optional.empty())), ImmutableList.of("anyResource"));
+    assertFalse(privilegeIndex.hasGroupPolicies());
+  }
+
+  private static List<String> names(final List<PolicyIndex.CompiledPolicy> policies) {
+    return policies.stream().map(policy -> policy.getPolicy().getDisplayName()).collect(Collectors.toList());
+  }
+
+  private static ResolvedResourceSpec resource(final String type) {
+    return new ResolvedResourceSpec(new ResourceSpec(type, "urn:li:" + type + ":test"), Collections.emptyMap());
+  }
+
+  private static DataHubPolicyInfo createPolicy(final String name, final String state,
+      final DataHubActorFilter actorFilter, final DataHubResourceFilter resourceFilter) {
+    final DataHubPolicyInfo policy = new DataHubPolicyInfo()
+        .setType(METADATA_POLICY_TYPE)
+        .setState(state)
+        .setPrivileges(new StringArray(ImmutableList.of(PRIVILEGE)))
+        .setDisplayName(name)
+        .setDescription(name)
+        .setEditable(true)
+        .setActors(actorFilter);
+    if (resourceFilter != null) {
+      policy.setResources(resourceFilter);
+    }
+    return policy;
+  }
+}
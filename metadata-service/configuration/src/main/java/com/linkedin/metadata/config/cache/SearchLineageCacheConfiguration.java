@@ -7,6 +7,8 @@ import lombok.Data;
 public class SearchLineageCacheConfiguration {
   long ttlSeconds;
   long lightningThreshold;
+  int refillThreadCount = 2;
+  int refillQueueSize = 100;
 
   public long getTTLMillis() {
     return ttlSeconds * 1000;
@@ -0,0 +1,15 @@
+package com.linkedin.metadata.config.graphql;
+
+import lombok.Data;
+
+
+/**
+ * POJO representing the "graphQL" configuration block in application.yml.
+ */
+@Data
+public class GraphQLConfiguration {
+  /**
+   * Parsing, validation and cost limiting of the GraphQL queries
+   */
+  private GraphQLQueryConfiguration query;
+}
@@ -0,0 +1,32 @@
+package com.linkedin.metadata.config.graphql;
+
+import lombok.Data;
+
+
+@Data
+public class GraphQLQueryConfiguration {
+  /**
+   * Number of parsed and validated queries kept in memory, by hash of their text. 0 disables the cache
+   */
+  int cacheSize = 1000;
+  /**
+   * Whether queries may be sent by the hash of a previously sent query instead of their text
+   */
+  boolean persistedQueriesEnabled;
+  /**
+   * Maximum estimated cost of a query, 0 disables the cost analysis
+   */
+  int complexityLimit;
+  /**
+   * Whether queries over the cost limit are rejected, instead of only being logged
+   */
+  boolean complexityLimitEnforced;
+  /**
+   * Size assumed for lists without a size argument when estimating the cost of a query
+   */
+  int defaultListSize = 10;
+  /**
+   * Whether resolver timings are collected for each query
+   */
+  boolean tracingEnabled = true;
+}
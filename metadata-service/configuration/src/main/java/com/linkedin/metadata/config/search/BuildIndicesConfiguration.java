@@ -10,4 +10,24 @@ public class BuildIndicesConfiguration {
   private boolean allowDocCountMismatch;
   private String retentionUnit;
   private Long retentionValue;
+  /**
+   * Number of indices reindexed at the same time
+   */
+  private int reindexMaxConcurrency = 1;
+  /**
+   * Number of slices of each reindex, or auto for one slice per shard
+   */
+  private String reindexSlices = "auto";
+  /**
+   * Requests per second shared by all running reindexes, non-positive for unthrottled reindexes
+   */
+  private float reindexRequestsPerSecond = -1;
+  /**
+   * Write requests queued on a node above which the reindexes are slowed down
+   */
+  private int reindexMaxWriteQueueSize = 100;
+  /**
+   * Whether reindexed indices have no replicas and are not refreshed until they are swapped in
+   */
+  private boolean reindexOptimizeDestination = true;
 }
@@ -0,0 +1,34 @@
+package com.linkedin.gms.factory.auth;
+
+import com.datahub.authorization.AuthorizationAspectCache;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.Scope;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@Import({AuthorizationAspectCacheInvalidatorFactory.class})
+public class AuthorizationAspectCacheFactory {
+
+  @Value("${authorization.defaultAuthorizer.aspectCache.enabled:true}")
+  private Boolean enabled;
+
+  @Value("${authorization.defaultAuthorizer.aspectCache.maxSize:10000}")
+  private Long maxSize;
+
+  @Value("${authorization.defaultAuthorizer.aspectCache.ttlSeconds:60}")
+  private Long ttlSeconds;
+
+  @Bean(name = "authorizationAspectCache")
+  @Scope("singleton")
+  @Nonnull
+  protected AuthorizationAspectCache getInstance() {
+    return enabled ? new AuthorizationAspectCache(maxSize, ttlSeconds) : AuthorizationAspectCache.disabled();
+  }
+}
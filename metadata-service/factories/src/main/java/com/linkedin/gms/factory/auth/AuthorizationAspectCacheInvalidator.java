@@ -0,0 +1,70 @@
+package com.linkedin.gms.factory.auth;
+
+import com.datahub.authorization.AuthorizationAspectCache;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.Topics;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+
+
+/**
+ * Evicts the aspects cached by the {@link AuthorizationAspectCache} once they change, by consuming the versioned MCLs
+ * emitted by any GMS instance, so that updated memberships, ownership or domains are honored by the authorizer without
+ * waiting for the entries to expire.
+ *
+ * Every instance must see every MCL, so each one consumes with its own consumer group, starting at the latest offset.
+ * Only the urn, aspect name and change type of the events are read, without converting them to Pegasus.
+ */
+@Slf4j
+public class AuthorizationAspectCacheInvalidator {
+
+  private static final String DELETE_CHANGE_TYPE = "DELETE";
+
+  private final AuthorizationAspectCache _aspectCache;
+  private final EntityRegistry _entityRegistry;
+  private final String _groupId;
+
+  public AuthorizationAspectCacheInvalidator(@Nonnull AuthorizationAspectCache aspectCache,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull String groupId) {
+    _aspectCache = aspectCache;
+    _entityRegistry = entityRegistry;
+    _groupId = groupId;
+  }
+
+  @Nonnull
+  public String getGroupId() {
+    return _groupId;
+  }
+
+  @KafkaListener(id = "authorization-aspect-cache-invalidator", groupId = "#{__listener.groupId}",
+      topics = {"${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}"},
+      containerFactory = "kafkaEventConsumer", properties = {"auto.offset.reset=latest"})
+  public void consume(final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    final GenericRecord record = consumerRecord.value();
+    final Object urn = record.get("entityUrn");
+    final Object aspectName = record.get("aspectName");
+    if (urn == null || aspectName == null) {
+      return;
+    }
+
+    try {
+      final EntitySpec entitySpec = _entityRegistry.getEntitySpec(String.valueOf(record.get("entityType")));
+      if (DELETE_CHANGE_TYPE.equals(String.valueOf(record.get("changeType")))
+          && entitySpec.getKeyAspectName().equals(aspectName.toString())) {
+        // The entity itself was deleted
+        _aspectCache.invalidateAll(UrnUtils.getUrn(urn.toString()));
+      } else {
+        _aspectCache.invalidate(UrnUtils.getUrn(urn.toString()), aspectName.toString());
+      }
+    } catch (RuntimeException e) {
+      MetricUtils.counter(this.getClass(), "invalidation_failure").inc();
+      log.error("Failed to invalidate aspect {} of {} in the authorization aspect cache", aspectName, urn, e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.linkedin.gms.factory.auth;
+
+import com.datahub.authorization.AuthorizationAspectCache;
+import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
+import com.linkedin.gms.factory.kafka.InstanceConsumerGroup;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.kafka.annotation.EnableKafka;
+
+
+/**
+ * Consumes the MCLs invalidating the {@link AuthorizationAspectCache} of this instance, when the cache is enabled.
+ */
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@ConditionalOnProperty(name = "authorization.defaultAuthorizer.aspectCache.enabled", havingValue = "true",
+    matchIfMissing = true)
+@Import({EntityRegistryFactory.class, KafkaEventConsumerFactory.class})
+@EnableKafka
+public class AuthorizationAspectCacheInvalidatorFactory {
+
+  @Value("${authorization.defaultAuthorizer.aspectCache.consumerGroupPrefix:authorization-aspect-cache}")
+  private String _consumerGroupPrefix;
+
+  @Value("${authorization.defaultAuthorizer.aspectCache.instanceId:}")
+  private String _instanceId;
+
+  @Bean(name = "authorizationAspectCacheInvalidator")
+  @Nonnull
+  protected AuthorizationAspectCacheInvalidator createInstance(
+      @Qualifier("authorizationAspectCache") AuthorizationAspectCache aspectCache, EntityRegistry entityRegistry) {
+    return new AuthorizationAspectCacheInvalidator(aspectCache, entityRegistry,
+        InstanceConsumerGroup.of(_consumerGroupPrefix, _instanceId));
+  }
+}
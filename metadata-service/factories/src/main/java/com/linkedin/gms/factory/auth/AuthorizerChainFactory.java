@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.auth;
 
+import com.datahub.authorization.AuthorizationAspectCache;
 import com.datahub.authorization.AuthorizerChain;
 import com.datahub.authorization.DataHubAuthorizer;
 import com.datahub.authorization.DefaultResourceSpecResolver;
@@ -60,6 +61,10 @@ public class AuthorizerChainFactory {
   @Qualifier("javaEntityClient")
   private JavaEntityClient entityClient;
 
+  @Autowired
+  @Qualifier("authorizationAspectCache")
+  private AuthorizationAspectCache aspectCache;
+
   @Bean(name = "authorizerChain")
   @Scope("singleton")
   @Nonnull
@@ -80,7 +85,7 @@ public class AuthorizerChainFactory {
   }
 
   private ResourceSpecResolver initResolver() {
-    return new DefaultResourceSpecResolver(systemAuthentication, entityClient);
+    return new DefaultResourceSpecResolver(systemAuthentication, entityClient, aspectCache);
   }
 
   private List<Authorizer> initCustomAuthorizers(ResourceSpecResolver resolver) {
@@ -1,6 +1,7 @@
 package com.linkedin.gms.factory.auth;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.AuthorizationAspectCache;
 import com.datahub.authorization.DataHubAuthorizer;
 import com.linkedin.metadata.client.JavaEntityClient;
 import com.linkedin.gms.factory.entity.RestliEntityClientFactory;
@@ -18,7 +19,7 @@ import org.springframework.context.annotation.Scope;
 
 @Configuration
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
-@Import({RestliEntityClientFactory.class})
+@Import({RestliEntityClientFactory.class, AuthorizationAspectCacheFactory.class})
 public class DataHubAuthorizerFactory {
 
   @Autowired
@@ -29,6 +30,10 @@ public class DataHubAuthorizerFactory {
   @Qualifier("javaEntityClient")
   private JavaEntityClient entityClient;
 
+  @Autowired
+  @Qualifier("authorizationAspectCache")
+  private AuthorizationAspectCache aspectCache;
+
   @Value("${authorization.defaultAuthorizer.cacheRefreshIntervalSecs}")
   private Integer policyCacheRefreshIntervalSeconds;
 
@@ -44,6 +49,6 @@ public class DataHubAuthorizerFactory {
         : DataHubAuthorizer.AuthorizationMode.ALLOW_ALL;
 
     return new DataHubAuthorizer(systemAuthentication, entityClient, 10,
-        policyCacheRefreshIntervalSeconds, mode);
+        policyCacheRefreshIntervalSeconds, mode, aspectCache);
   }
 }
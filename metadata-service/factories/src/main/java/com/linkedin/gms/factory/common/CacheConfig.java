@@ -9,6 +9,8 @@ import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.linkedin.metadata.search.cache.CachedEntityLineageResult;
+import com.linkedin.metadata.search.cache.CachedRecordTemplate;
 import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -27,6 +29,9 @@ public class CacheConfig {
   @Value("${cache.primary.maxSize:10000}")
   private int cacheMaxSize;
 
+  @Value("${cache.primary.maxSizeBytes:0}")
+  private long cacheMaxSizeBytes;
+
   @Value("${searchService.cache.hazelcast.serviceName:hazelcast-service}")
   private String hazelcastServiceName;
 
@@ -39,11 +44,31 @@ public class CacheConfig {
   }
 
   private Caffeine<Object, Object> caffeineCacheBuilder() {
-    return Caffeine.newBuilder()
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
         .initialCapacity(100)
-        .maximumSize(cacheMaxSize)
         .expireAfterAccess(cacheTtlSeconds, TimeUnit.SECONDS)
         .recordStats();
+    if (cacheMaxSizeBytes > 0) {
+      return builder.maximumWeight(cacheMaxSizeBytes).weigher(CacheConfig::weigh);
+    }
+    return builder.maximumSize(cacheMaxSize);
+  }
+
+  /**
+   * Approximate retained size of a cache entry in bytes. Entries of unknown type weigh one byte, so byte based
+   * eviction is driven by the binary encoded values which make up the bulk of the cache.
+   */
+  private static int weigh(Object key, Object value) {
+    if (value instanceof CachedRecordTemplate) {
+      return ((CachedRecordTemplate<?>) value).getSizeInBytes();
+    }
+    if (value instanceof CachedEntityLineageResult) {
+      return ((CachedEntityLineageResult) value).getSizeInBytes();
+    }
+    if (value instanceof String) {
+      return ((String) value).length() * 2;
+    }
+    return 1;
   }
 
   @Bean
@@ -54,10 +79,15 @@ public class CacheConfig {
     //       is this behavior what we actually desire? Should we change it now?
     MapConfig mapConfig = new MapConfig().setMaxIdleSeconds(cacheTtlSeconds);
 
-    EvictionConfig evictionConfig = new EvictionConfig()
-        .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
-        .setSize(cacheMaxSize)
-        .setEvictionPolicy(EvictionPolicy.LFU);
+    EvictionConfig evictionConfig = cacheMaxSizeBytes > 0
+        ? new EvictionConfig()
+            .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+            .setSize((int) Math.max(1, cacheMaxSizeBytes / (1024 * 1024)))
+            .setEvictionPolicy(EvictionPolicy.LFU)
+        : new EvictionConfig()
+            .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+            .setSize(cacheMaxSize)
+            .setEvictionPolicy(EvictionPolicy.LFU);
     mapConfig.setEvictionConfig(evictionConfig);
     mapConfig.setName("default");
     config.addMapConfig(mapConfig);
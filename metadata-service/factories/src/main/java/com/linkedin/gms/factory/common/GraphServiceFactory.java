@@ -2,8 +2,12 @@ package com.linkedin.gms.factory.common;
 
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.graph.GraphService;
+import com.linkedin.metadata.graph.memory.InMemoryLineageGraphService;
 import com.linkedin.metadata.graph.neo4j.Neo4jGraphService;
 import com.linkedin.metadata.graph.elastic.ElasticSearchGraphService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -31,11 +35,48 @@ public class GraphServiceFactory {
   @Value("${graphService.type}")
   private String graphServiceImpl;
 
+  @Value("${graphService.inMemoryLineage.enabled:false}")
+  private boolean inMemoryLineageEnabled;
+
+  @Value("${graphService.inMemoryLineage.rebuildIntervalMinutes:15}")
+  private long inMemoryLineageRebuildIntervalMinutes;
+
+  @Value("${MAE_CONSUMER_ENABLED:false}")
+  private boolean maeConsumerEnabled;
+
+  @Value("${MCL_CONSUMER_ENABLED:false}")
+  private boolean mclConsumerEnabled;
+
   @Nonnull
   @DependsOn({"neo4jGraphService", "elasticSearchGraphService"})
   @Bean(name = "graphService")
   @Primary
   protected GraphService createInstance() {
+    final GraphService graphService = createGraphService();
+    if (!inMemoryLineageEnabled) {
+      return graphService;
+    }
+    if (inMemoryLineageRebuildIntervalMinutes <= 0 && !maeConsumerEnabled && !mclConsumerEnabled) {
+      // The edges written by a standalone consumer would only be seen after a restart
+      throw new RuntimeException("Error: The in-memory lineage graph requires a positive "
+          + "graphService.inMemoryLineage.rebuildIntervalMinutes when the MCL consumer does not run within GMS");
+    }
+    final InMemoryLineageGraphService inMemoryLineageGraphService = new InMemoryLineageGraphService(graphService);
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "in-memory-lineage-rebuild");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (inMemoryLineageRebuildIntervalMinutes > 0) {
+      executor.scheduleWithFixedDelay(inMemoryLineageGraphService::rebuild, 0, inMemoryLineageRebuildIntervalMinutes,
+          TimeUnit.MINUTES);
+    } else {
+      executor.execute(inMemoryLineageGraphService::rebuild);
+    }
+    return inMemoryLineageGraphService;
+  }
+
+  private GraphService createGraphService() {
     if (graphServiceImpl.equalsIgnoreCase("neo4j")) {
       return _neo4jGraphService;
     } else if (graphServiceImpl.equalsIgnoreCase("elasticsearch")) {
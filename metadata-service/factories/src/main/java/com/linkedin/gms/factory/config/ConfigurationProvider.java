@@ -9,6 +9,7 @@ import com.linkedin.metadata.config.TestsConfiguration;
 import com.linkedin.metadata.config.ViewsConfiguration;
 import com.linkedin.metadata.config.VisualConfiguration;
 import com.linkedin.metadata.config.cache.CacheConfiguration;
+import com.linkedin.metadata.config.graphql.GraphQLConfiguration;
 import com.linkedin.metadata.config.kafka.KafkaConfiguration;
 import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.linkedin.datahub.graphql.featureflags.FeatureFlags;
@@ -83,4 +84,9 @@ public class ConfigurationProvider {
    * Configuration for the health check server
    */
   private HealthCheckConfiguration healthCheck;
+
+  /**
+   * GraphQL query related configs
+   */
+  private GraphQLConfiguration graphQL;
 }
@@ -0,0 +1,41 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.EntityServiceImpl;
+import com.linkedin.metadata.entity.cache.EntityExistenceCache;
+import java.time.Duration;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+
+/**
+ * Puts an {@link EntityExistenceCache} in front of the existence checks of the entity service.
+ */
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@ConditionalOnProperty(name = "entityService.existenceCache.enabled", havingValue = "true")
+public class EntityExistenceCacheFactory {
+
+  @Value("${entityService.existenceCache.maxSize:100000}")
+  private long _maxSize;
+
+  @Value("${entityService.existenceCache.ttlSeconds:60}")
+  private long _ttlSeconds;
+
+  @Bean(name = "entityExistenceCache")
+  @Nonnull
+  protected EntityExistenceCache createInstance(@Qualifier("entityService") EntityService entityService) {
+    final EntityExistenceCache entityExistenceCache =
+        new EntityExistenceCache(_maxSize, Duration.ofSeconds(_ttlSeconds));
+    if (entityService instanceof EntityServiceImpl) {
+      ((EntityServiceImpl) entityService).setEntityExistenceCache(entityExistenceCache);
+    }
+    return entityExistenceCache;
+  }
+}
@@ -0,0 +1,37 @@
+package com.linkedin.gms.factory.entity;
+
+import com.hazelcast.map.IMap;
+import com.linkedin.metadata.entity.cache.SharedAspectCache;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * {@link SharedAspectCache} backed by a Hazelcast map, shared by the GMS instances of the cluster.
+ */
+public class HazelcastSharedAspectCache implements SharedAspectCache {
+
+  private final IMap<String, byte[]> _map;
+
+  public HazelcastSharedAspectCache(@Nonnull IMap<String, byte[]> map) {
+    _map = map;
+  }
+
+  @Nonnull
+  @Override
+  public Map<String, byte[]> getAll(@Nonnull Collection<String> keys) {
+    return _map.getAll(new HashSet<>(keys));
+  }
+
+  @Override
+  public void putAll(@Nonnull Map<String, byte[]> values) {
+    _map.setAllAsync(values);
+  }
+
+  @Override
+  public void evict(@Nonnull String key) {
+    _map.delete(key);
+  }
+}
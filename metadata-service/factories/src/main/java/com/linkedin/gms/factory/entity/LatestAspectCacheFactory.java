@@ -0,0 +1,93 @@
+package com.linkedin.gms.factory.entity;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.linkedin.gms.factory.kafka.InstanceConsumerGroup;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.EntityServiceImpl;
+import com.linkedin.metadata.entity.cache.LatestAspectCache;
+import com.linkedin.metadata.entity.cache.SharedAspectCache;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import java.time.Duration;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.kafka.annotation.EnableKafka;
+
+
+/**
+ * Puts a {@link LatestAspectCache} in front of the entity service, along with the consumer invalidating it on the
+ * writes of other instances. The shared tier reuses the Hazelcast cluster of the search cache, when there is one.
+ */
+@Slf4j
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@ConditionalOnProperty(name = "entityService.latestAspectCache.enabled", havingValue = "true")
+@Import({KafkaEventConsumerFactory.class})
+@EnableKafka
+public class LatestAspectCacheFactory {
+
+  private static final String SHARED_MAP_NAME = "latestAspects";
+
+  @Value("${entityService.latestAspectCache.maxSize:100000}")
+  private long _maxSize;
+
+  @Value("${entityService.latestAspectCache.ttlSeconds:300}")
+  private long _ttlSeconds;
+
+  @Value("${entityService.latestAspectCache.shared:false}")
+  private boolean _shared;
+
+  @Value("${entityService.latestAspectCache.consumerGroupPrefix:latest-aspect-cache}")
+  private String _consumerGroupPrefix;
+
+  @Value("${entityService.latestAspectCache.instanceId:}")
+  private String _instanceId;
+
+  @Bean(name = "latestAspectCache")
+  @Nonnull
+  protected LatestAspectCache createInstance(@Qualifier("entityService") EntityService entityService,
+      ObjectProvider<CacheManager> cacheManager) {
+    final LatestAspectCache latestAspectCache =
+        new LatestAspectCache(_maxSize, Duration.ofSeconds(_ttlSeconds), createSharedCache(cacheManager.getIfUnique()));
+    if (entityService instanceof EntityServiceImpl) {
+      ((EntityServiceImpl) entityService).setLatestAspectCache(latestAspectCache);
+    }
+    return latestAspectCache;
+  }
+
+  @Bean(name = "latestAspectCacheInvalidator")
+  @Nonnull
+  protected LatestAspectCacheInvalidator createInvalidator(@Qualifier("latestAspectCache") LatestAspectCache cache,
+      EntityRegistry entityRegistry) {
+    return new LatestAspectCacheInvalidator(cache, entityRegistry,
+        InstanceConsumerGroup.of(_consumerGroupPrefix, _instanceId));
+  }
+
+  @Nullable
+  private SharedAspectCache createSharedCache(@Nullable CacheManager cacheManager) {
+    if (!_shared) {
+      return null;
+    }
+    if (!(cacheManager instanceof HazelcastCacheManager)) {
+      log.warn("The shared latest aspect cache requires the hazelcast cache implementation, only caching locally");
+      return null;
+    }
+    final HazelcastInstance hazelcastInstance = ((HazelcastCacheManager) cacheManager).getHazelcastInstance();
+    // Aspects are evicted on writes, the TTL only bounds the staleness of missed invalidations
+    hazelcastInstance.getConfig().addMapConfig(new MapConfig(SHARED_MAP_NAME).setTimeToLiveSeconds((int) _ttlSeconds));
+    return new HazelcastSharedAspectCache(hazelcastInstance.getMap(SHARED_MAP_NAME));
+  }
+}
@@ -0,0 +1,69 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.metadata.entity.cache.LatestAspectCache;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.Topics;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+
+
+/**
+ * Invalidates the latest aspects written by other GMS instances, by consuming the versioned MCLs they emit.
+ *
+ * Every instance must see every MCL, so each one consumes with its own consumer group, starting at the latest offset.
+ * The group is named after the instance rather than being random, so that a restarted instance resumes its own group
+ * instead of leaving an abandoned one behind.
+ * Only the urn, aspect name and change type of the events are read, without converting them to Pegasus.
+ */
+@Slf4j
+public class LatestAspectCacheInvalidator {
+
+  private static final String DELETE_CHANGE_TYPE = "DELETE";
+
+  private final LatestAspectCache _latestAspectCache;
+  private final EntityRegistry _entityRegistry;
+  private final String _groupId;
+
+  public LatestAspectCacheInvalidator(@Nonnull LatestAspectCache latestAspectCache,
+      @Nonnull EntityRegistry entityRegistry, @Nonnull String groupId) {
+    _latestAspectCache = latestAspectCache;
+    _entityRegistry = entityRegistry;
+    _groupId = groupId;
+  }
+
+  @Nonnull
+  public String getGroupId() {
+    return _groupId;
+  }
+
+  @KafkaListener(id = "latest-aspect-cache-invalidator", groupId = "#{__listener.groupId}",
+      topics = {"${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}"},
+      containerFactory = "kafkaEventConsumer", properties = {"auto.offset.reset=latest"})
+  public void consume(final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    final GenericRecord record = consumerRecord.value();
+    final Object urn = record.get("entityUrn");
+    final Object aspectName = record.get("aspectName");
+    if (urn == null || aspectName == null) {
+      return;
+    }
+
+    try {
+      final EntitySpec entitySpec = _entityRegistry.getEntitySpec(String.valueOf(record.get("entityType")));
+      if (DELETE_CHANGE_TYPE.equals(String.valueOf(record.get("changeType")))
+          && entitySpec.getKeyAspectName().equals(aspectName.toString())) {
+        // Deleting the key aspect deletes the whole entity
+        _latestAspectCache.invalidate(urn.toString(), entitySpec.getAspectSpecMap().keySet());
+      } else {
+        _latestAspectCache.invalidate(urn.toString(), aspectName.toString());
+      }
+    } catch (IllegalArgumentException e) {
+      MetricUtils.counter(this.getClass(), "invalidation_failure").inc();
+      log.error("Failed to invalidate aspect {} of {} in the latest aspect cache", aspectName, urn, e);
+    }
+  }
+}
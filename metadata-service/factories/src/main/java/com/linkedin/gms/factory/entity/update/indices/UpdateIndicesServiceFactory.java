@@ -3,10 +3,13 @@ package com.linkedin.gms.factory.entity.update.indices;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.transformer.SearchDocumentTransformer;
 import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,8 +20,11 @@ public class UpdateIndicesServiceFactory {
   @Bean
   public UpdateIndicesService updateIndicesService(GraphService graphService, EntitySearchService entitySearchService,
       TimeseriesAspectService timeseriesAspectService, SystemMetadataService systemMetadataService,
-      EntityRegistry entityRegistry, SearchDocumentTransformer searchDocumentTransformer) {
-    return new UpdateIndicesService(graphService, entitySearchService, timeseriesAspectService,
-        systemMetadataService, entityRegistry, searchDocumentTransformer);
+      EntityRegistry entityRegistry, SearchDocumentTransformer searchDocumentTransformer,
+      @Qualifier("elasticSearchBulkProcessor") ObjectProvider<ESBulkProcessor> bulkProcessor) {
+    UpdateIndicesService updateIndicesService = new UpdateIndicesService(graphService, entitySearchService,
+        timeseriesAspectService, systemMetadataService, entityRegistry, searchDocumentTransformer);
+    updateIndicesService.setBulkProcessor(bulkProcessor.getIfAvailable());
+    return updateIndicesService;
   }
 }
@@ -10,6 +10,7 @@ import com.linkedin.datahub.graphql.GmsGraphQLEngine;
 import com.linkedin.datahub.graphql.GmsGraphQLEngineArgs;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.linkedin.datahub.graphql.analytics.service.AnalyticsService;
+import com.linkedin.datahub.graphql.concurrency.ResolverExecutor;
 import com.linkedin.metadata.client.JavaEntityClient;
 import com.linkedin.gms.factory.auth.DataHubTokenServiceFactory;
 import com.linkedin.gms.factory.common.GitVersionFactory;
@@ -38,6 +39,7 @@ import com.linkedin.metadata.timeseries.TimeseriesAspectService;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.version.GitVersion;
 import com.linkedin.usage.UsageClient;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -164,6 +166,24 @@ public class GraphQLEngineFactory {
   @Value("${platformAnalytics.enabled}") // TODO: Migrate to DATAHUB_ANALYTICS_ENABLED
   private Boolean isAnalyticsEnabled;
 
+  @Value("${graphQL.resolvers.enabled:true}")
+  private boolean resolverExecutorEnabled;
+
+  @Value("${graphQL.resolvers.virtualThreads:false}")
+  private boolean resolverVirtualThreads;
+
+  @Value("${graphQL.resolvers.threads:64}")
+  private int resolverThreads;
+
+  @Value("${graphQL.resolvers.queueSize:1000}")
+  private int resolverQueueSize;
+
+  @Value("${graphQL.resolvers.maxConcurrentPerRequest:16}")
+  private int resolverMaxConcurrentPerRequest;
+
+  @Value("${graphQL.resolvers.requestTimeoutSeconds:60}")
+  private long resolverRequestTimeoutSeconds;
+
 
   @Bean(name = "graphQLEngine")
   @Nonnull
@@ -205,6 +225,17 @@ public class GraphQLEngineFactory {
     args.setQueryService(_queryService);
     args.setFeatureFlags(_configProvider.getFeatureFlags());
     args.setDataProductService(_dataProductService);
+    if (_configProvider.getGraphQL() != null) {
+      args.setGraphQLQueryConfiguration(_configProvider.getGraphQL().getQuery());
+    }
+    if (resolverExecutorEnabled) {
+      final long requestTimeoutMillis = TimeUnit.SECONDS.toMillis(resolverRequestTimeoutSeconds);
+      args.setResolverExecutor(resolverVirtualThreads
+          ? ResolverExecutor.virtualThreads(resolverThreads, resolverQueueSize, resolverMaxConcurrentPerRequest,
+              requestTimeoutMillis)
+          : ResolverExecutor.bounded(resolverThreads, resolverQueueSize, resolverMaxConcurrentPerRequest,
+              requestTimeoutMillis));
+    }
     return new GmsGraphQLEngine(
             args
     ).builder().build();
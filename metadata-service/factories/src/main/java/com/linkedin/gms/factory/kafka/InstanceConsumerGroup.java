@@ -0,0 +1,43 @@
+package com.linkedin.gms.factory.kafka;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Names the consumer group of a listener which must see every event on every instance, e.g. to invalidate a local
+ * cache. The group is named after the instance rather than being random, so that a restarted instance resumes its own
+ * group instead of leaving an abandoned one behind.
+ */
+@Slf4j
+public class InstanceConsumerGroup {
+  private InstanceConsumerGroup() {
+  }
+
+  /**
+   * @param prefix prefix of the group, identifying the listener
+   * @param instanceId configured id of the instance, defaults to the hostname (the pod name on Kubernetes)
+   */
+  @Nonnull
+  public static String of(@Nonnull String prefix, @Nullable String instanceId) {
+    return prefix + "-" + resolveInstanceId(prefix, instanceId);
+  }
+
+  @Nonnull
+  private static String resolveInstanceId(@Nonnull String prefix, @Nullable String instanceId) {
+    if (instanceId != null && !instanceId.isEmpty()) {
+      return instanceId;
+    }
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      log.warn("Failed to resolve the hostname, consumer group {} will be suffixed with a random id instead, configure "
+          + "the instance id to keep it across restarts", prefix, e);
+      return UUID.randomUUID().toString();
+    }
+  }
+}
@@ -7,10 +7,16 @@ import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.search.SearchService;
 import com.linkedin.metadata.search.cache.EntityDocCountCache;
 import com.linkedin.metadata.search.client.CachingEntitySearchService;
+import com.linkedin.metadata.search.client.FanOutSearcher;
 import com.linkedin.metadata.search.ranker.SearchRanker;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -37,14 +43,45 @@ public class SearchServiceFactory {
   @Qualifier("searchRanker")
   private SearchRanker searchRanker;
 
+  @Value("${searchService.fanOut.enabled}")
+  private Boolean fanOutEnabled;
+
+  @Value("${searchService.fanOut.threads}")
+  private Integer fanOutThreads;
+
+  @Value("${searchService.fanOut.queueSize}")
+  private Integer fanOutQueueSize;
+
+  @Value("${searchService.fanOut.timeoutMillis}")
+  private Long fanOutTimeoutMillis;
+
+  @Value("${searchService.fanOut.maxGroupDocCount}")
+  private Long fanOutMaxGroupDocCount;
+
   @Bean(name = "searchService")
   @Primary
   @Nonnull
-  protected SearchService getInstance(ConfigurationProvider configurationProvider) {
+  protected SearchService getInstance(ConfigurationProvider configurationProvider,
+      @Qualifier("searchFanOutExecutor") ExecutorService searchFanOutExecutor) {
     return new SearchService(
         new EntityDocCountCache(entityRegistry, entitySearchService, configurationProvider.getCache()
             .getHomepage().getEntityCounts()),
         cachingEntitySearchService,
-        searchRanker);
+        searchRanker,
+        fanOutEnabled
+            ? new FanOutSearcher(cachingEntitySearchService, searchFanOutExecutor,
+                fanOutTimeoutMillis, fanOutMaxGroupDocCount)
+            : null);
+  }
+
+  /**
+   * Runs the per-group queries of fanned out searches. Once its queue is full, queries run on the thread of the search
+   * instead, which slows down the searches rather than queueing up work without bound.
+   */
+  @Bean(name = "searchFanOutExecutor", destroyMethod = "shutdown")
+  @Nonnull
+  protected ExecutorService getFanOutExecutor() {
+    return new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(fanOutQueueSize), new ThreadPoolExecutor.CallerRunsPolicy());
   }
 }
@@ -6,9 +6,15 @@ import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.timeseries.elastic.ElasticSearchTimeseriesAspectService;
 import com.linkedin.metadata.timeseries.elastic.indexbuilder.TimeseriesAspectIndexBuilders;
+import com.linkedin.metadata.timeseries.elastic.rollup.TimeseriesRollupConfig;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -27,11 +33,33 @@ public class ElasticSearchTimeseriesAspectServiceFactory {
   @Qualifier("entityRegistry")
   private EntityRegistry entityRegistry;
 
+  @Value("${timeseriesAspectService.rollup.enabled:false}")
+  private boolean rollupEnabled;
+
+  @Value("${timeseriesAspectService.rollup.queryEnabled:false}")
+  private boolean rollupQueryEnabled;
+
+  @Value("${timeseriesAspectService.rollup.aspects:}")
+  private String rollupAspects;
+
   @Bean(name = "elasticSearchTimeseriesAspectService")
   @Nonnull
   protected ElasticSearchTimeseriesAspectService getInstance() {
+    final TimeseriesRollupConfig rollupConfig = getRollupConfig();
     return new ElasticSearchTimeseriesAspectService(components.getSearchClient(), components.getIndexConvention(),
         new TimeseriesAspectIndexBuilders(components.getIndexBuilder(), entityRegistry,
-            components.getIndexConvention()), entityRegistry, components.getBulkProcessor(), components.getNumRetries());
+            components.getIndexConvention(), rollupConfig), entityRegistry, components.getBulkProcessor(),
+        components.getNumRetries(), rollupConfig);
+  }
+
+  private TimeseriesRollupConfig getRollupConfig() {
+    if (!rollupEnabled) {
+      return TimeseriesRollupConfig.disabled();
+    }
+    final Set<String> aspects = Arrays.stream(rollupAspects.split(","))
+        .map(String::trim)
+        .filter(aspect -> !aspect.isEmpty())
+        .collect(Collectors.toSet());
+    return new TimeseriesRollupConfig(Collections.unmodifiableSet(aspects), rollupQueryEnabled);
   }
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.metadata.search.SearchResultMetadata;
 import com.linkedin.metadata.search.cache.CacheableSearcher;
 import com.linkedin.metadata.search.cache.CachedEntityLineageResult;
+import com.linkedin.metadata.search.cache.RecordTemplateCache;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.javatuples.Quintet;
@@ -126,15 +127,17 @@ public class CacheTest extends JetTestSupport {
         Cache cache2 = cacheManager2.getCache(ENTITY_SEARCH_SERVICE_SCROLL_CACHE_NAME);
 
         // Cache result
-        String json = toJsonString(scrollResult);
-        cache1.put(sextet, json);
+        RecordTemplateCache.put(cache1, sextet, scrollResult);
         Assert.assertEquals(instance1.getMap(ENTITY_SEARCH_SERVICE_SCROLL_CACHE_NAME).get(sextet),
             instance2.getMap(ENTITY_SEARCH_SERVICE_SCROLL_CACHE_NAME).get(sextet));
-        String cachedResult1 = cache1.get(sextet, String.class);
-        String cachedResult2 = cache2.get(sextet, String.class);
+        ScrollResult cachedResult1 = RecordTemplateCache.get(cache1, sextet, ScrollResult.class);
+        ScrollResult cachedResult2 = RecordTemplateCache.get(cache2, sextet, ScrollResult.class);
         Assert.assertEquals(cachedResult1, cachedResult2);
-        Assert.assertEquals(cache1.get(sextet, String.class), json);
-        Assert.assertEquals(cache2.get(sextet, String.class), json);
+        Assert.assertEquals(cachedResult1, scrollResult);
+
+        // Values written in the legacy JSON format are treated as misses
+        cache1.put(sextet, toJsonString(scrollResult));
+        Assert.assertNull(RecordTemplateCache.get(cache2, sextet, ScrollResult.class));
     }
 
     @Test
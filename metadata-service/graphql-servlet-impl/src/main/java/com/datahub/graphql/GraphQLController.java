@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.linkedin.datahub.graphql.exception.DataHubGraphQLError;
+import com.linkedin.datahub.graphql.query.CachingPreparsedDocumentProvider;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import graphql.ExecutionResult;
 import java.util.Collections;
@@ -70,12 +71,21 @@ public class GraphQLController {
     }
 
     /*
-     * Extract "query" field
+     * Extract "extensions" map, holding the hash of persisted queries
+     */
+    JsonNode extensionsJson = bodyJson.get("extensions");
+    final Map<String, Object> extensions = (extensionsJson != null && extensionsJson.isObject())
+      ? new ObjectMapper().convertValue(extensionsJson, new TypeReference<Map<String, Object>>() { })
+      : null;
+
+    /*
+     * Extract "query" field, which persisted queries may omit
      */
     JsonNode queryJson = bodyJson.get("query");
-    if (queryJson == null) {
+    if (queryJson == null && (extensions == null || !extensions.containsKey("persistedQuery"))) {
       return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
     }
+    final String query = queryJson != null ? queryJson.asText() : "";
 
     /*
      * Extract "variables" map
@@ -85,7 +95,7 @@ public class GraphQLController {
       ? new ObjectMapper().convertValue(variablesJson, new TypeReference<Map<String, Object>>() { })
       : Collections.emptyMap();
 
-    log.debug(String.format("Executing graphQL query: %s, variables: %s", queryJson, variables));
+    log.debug(String.format("Executing graphQL query: %s, variables: %s", query, variables));
 
     /*
      * Init QueryContext
@@ -100,17 +110,19 @@ public class GraphQLController {
       /*
        * Execute GraphQL Query
        */
-      ExecutionResult executionResult = _engine.execute(queryJson.asText(), variables, context);
+      ExecutionResult executionResult = _engine.execute(query, variables, extensions, context);
+      // Expected by clients sending persisted queries, which send the query again along with its text
+      boolean persistedQueryNotFound = CachingPreparsedDocumentProvider.isPersistedQueryNotFound(executionResult);
 
-      if (executionResult.getErrors().size() != 0) {
+      if (executionResult.getErrors().size() != 0 && !persistedQueryNotFound) {
         // There were GraphQL errors. Report in error logs.
         log.error(String.format("Errors while executing graphQL query: %s, result: %s, errors: %s",
-            queryJson,
+            query,
             executionResult.toSpecification(),
             executionResult.getErrors()));
       } else {
         log.debug(String.format("Executed graphQL query: %s, result: %s",
-            queryJson,
+            query,
             executionResult.toSpecification()));
       }
 
@@ -118,9 +130,11 @@ public class GraphQLController {
        * Format & Return Response
        */
       try {
-        submitMetrics(executionResult);
+        submitMetrics(executionResult, persistedQueryNotFound);
         // Remove tracing from response to reduce bulk, not used by the frontend
-        executionResult.getExtensions().remove("tracing");
+        if (executionResult.getExtensions() != null) {
+          executionResult.getExtensions().remove("tracing");
+        }
         String responseBodyStr = new ObjectMapper().writeValueAsString(executionResult.toSpecification());
         return new ResponseEntity<>(responseBodyStr, HttpStatus.OK);
       } catch (IllegalArgumentException | JsonProcessingException e) {
@@ -152,11 +166,15 @@ public class GraphQLController {
   }
 
   @SuppressWarnings("unchecked")
-  private void submitMetrics(ExecutionResult executionResult) {
+  private void submitMetrics(ExecutionResult executionResult, boolean persistedQueryNotFound) {
     try {
-      observeErrors(executionResult);
+      if (!persistedQueryNotFound) {
+        observeErrors(executionResult);
+      }
       MetricUtils.get().counter(MetricRegistry.name(this.getClass(), "call")).inc();
-      Object tracingInstrumentation = executionResult.getExtensions().get("tracing");
+      // Extensions are null when tracing is disabled and no other instrumentation added any
+      Object tracingInstrumentation =
+          executionResult.getExtensions() != null ? executionResult.getExtensions().get("tracing") : null;
       if (tracingInstrumentation instanceof Map) {
         Map<String, Object> tracingMap = (Map<String, Object>) tracingInstrumentation;
         long totalDuration = TimeUnit.NANOSECONDS.toMillis((long) tracingMap.get("duration"));
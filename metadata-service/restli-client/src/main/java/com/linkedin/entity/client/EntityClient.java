@@ -451,6 +451,16 @@ public interface EntityClient {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Ingests a batch of proposals, possibly spanning many urns, at once: either all of them are ingested or none is.
+   * Unlike {@link #batchIngestProposals}, which ingests each proposal on its own, a single invalid proposal fails the
+   * whole batch.
+   *
+   * @return the urns of the ingested proposals, in the same order as the proposals
+   */
+  List<String> ingestProposalBatch(@Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
+      @Nonnull final Authentication authentication, final boolean async) throws RemoteInvocationException;
+
   @Nonnull
   @Deprecated
   public <T extends RecordTemplate> Optional<T> getVersionedAspect(@Nonnull String urn, @Nonnull String aspect,
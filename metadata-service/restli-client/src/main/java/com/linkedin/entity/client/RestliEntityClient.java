@@ -11,6 +11,7 @@ import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.entity.AspectsDoGetTimeseriesAspectValuesRequestBuilder;
+import com.linkedin.entity.AspectsDoIngestProposalBatchRequestBuilder;
 import com.linkedin.entity.AspectsDoIngestProposalRequestBuilder;
 import com.linkedin.entity.AspectsGetRequestBuilder;
 import com.linkedin.entity.AspectsRequestBuilders;
@@ -65,6 +66,7 @@ import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.ScrollResult;
 import com.linkedin.metadata.search.SearchResult;
 import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.mxe.MetadataChangeProposalArray;
 import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
 import com.linkedin.parseq.retry.backoff.BackoffPolicy;
@@ -791,6 +793,21 @@ public class RestliEntityClient extends BaseClient implements EntityClient {
     return sendClientRequest(requestBuilder, authentication).getEntity();
   }
 
+  /**
+   * Ingest a batch of MetadataChangeProposal events with a single request.
+   * @return the urns of the ingested proposals, in the same order as the proposals
+   */
+  @Override
+  public List<String> ingestProposalBatch(@Nonnull final Collection<MetadataChangeProposal> metadataChangeProposals,
+                                          @Nonnull final Authentication authentication,
+                                          final boolean async) throws RemoteInvocationException {
+    final AspectsDoIngestProposalBatchRequestBuilder requestBuilder =
+        ASPECTS_REQUEST_BUILDERS.actionIngestProposalBatch()
+            .proposalsParam(new MetadataChangeProposalArray(metadataChangeProposals))
+            .asyncParam(String.valueOf(async));
+    return sendClientRequest(requestBuilder, authentication).getEntity();
+  }
+
   public <T extends RecordTemplate> Optional<T> getVersionedAspect(@Nonnull String urn, @Nonnull String aspect,
       @Nonnull Long version, @Nonnull Class<T> aspectClass, @Nonnull final Authentication authentication)
       throws RemoteInvocationException {
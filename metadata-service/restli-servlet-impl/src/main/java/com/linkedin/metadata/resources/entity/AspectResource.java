@@ -11,6 +11,7 @@ import com.linkedin.aspect.GetTimeseriesAspectValuesResponse;
 import com.linkedin.metadata.resources.operations.Utils;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.aspect.EnvelopedAspectArray;
 import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.authorization.PoliciesConfig;
@@ -41,6 +42,10 @@ import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -62,10 +67,12 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
 
   private static final String ACTION_GET_TIMESERIES_ASPECT = "getTimeseriesAspectValues";
   private static final String ACTION_INGEST_PROPOSAL = "ingestProposal";
+  private static final String ACTION_INGEST_PROPOSAL_BATCH = "ingestProposalBatch";
   private static final String ACTION_GET_COUNT = "getCount";
   private static final String PARAM_ENTITY = "entity";
   private static final String PARAM_ASPECT = "aspect";
   private static final String PARAM_PROPOSAL = "proposal";
+  private static final String PARAM_PROPOSALS = "proposals";
   private static final String PARAM_START_TIME_MILLIS = "startTimeMillis";
   private static final String PARAM_END_TIME_MILLIS = "endTimeMillis";
   private static final String PARAM_LATEST_VALUE = "latestValue";
@@ -102,6 +109,13 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     _authorizer = authorizer;
   }
 
+  private boolean _restApiAuthorizationEnabled = Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV));
+
+  @VisibleForTesting
+  void setRestApiAuthorizationEnabled(boolean restApiAuthorizationEnabled) {
+    _restApiAuthorizationEnabled = restApiAuthorizationEnabled;
+  }
+
   /**
    * Retrieves the value for an entity that is made up of latest versions of specified aspects.
    * TODO: Get rid of this and migrate to getAspect.
@@ -115,7 +129,7 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     final Urn urn = Urn.createFromString(urnStr);
     return RestliUtil.toTask(() -> {
       Authentication authentication = AuthenticationContext.getAuthentication();
-      if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+      if (_restApiAuthorizationEnabled
           && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.GET_ENTITY_PRIVILEGE),
           new ResourceSpec(urn.getEntityType(), urn.toString()))) {
         throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to get aspect for " + urn);
@@ -146,7 +160,7 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     final Urn urn = Urn.createFromString(urnStr);
     return RestliUtil.toTask(() -> {
       Authentication authentication = AuthenticationContext.getAuthentication();
-      if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+      if (_restApiAuthorizationEnabled
           && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.GET_TIMESERIES_ASPECT_PRIVILEGE),
           new ResourceSpec(urn.getEntityType(), urn.toString()))) {
         throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to get timeseries aspect for " + urn);
@@ -189,7 +203,7 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     Authentication authentication = AuthenticationContext.getAuthentication();
     EntitySpec entitySpec = _entityService.getEntityRegistry().getEntitySpec(metadataChangeProposal.getEntityType());
     Urn urn = EntityKeyUtils.getUrnFromProposal(metadataChangeProposal, entitySpec.getKeyAspectSpec());
-    if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+    if (_restApiAuthorizationEnabled
         && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.EDIT_ENTITY_PRIVILEGE),
         new ResourceSpec(urn.getEntityType(), urn.toString()))) {
       throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to modify entity " + urn);
@@ -218,6 +232,80 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
     }, MetricRegistry.name(this.getClass(), "ingestProposal"));
   }
 
+  /**
+   * Ingests a batch of proposals, possibly spanning many urns, within a single transaction.
+   *
+   * @return the urns of the ingested proposals, in the same order as the proposals
+   */
+  @Action(name = ACTION_INGEST_PROPOSAL_BATCH)
+  @Nonnull
+  @WithSpan
+  public Task<StringArray> ingestProposalBatch(
+      @ActionParam(PARAM_PROPOSALS) @Nonnull MetadataChangeProposal[] metadataChangeProposals,
+      @ActionParam(PARAM_ASYNC) @Optional(UNSET) String async) throws URISyntaxException {
+    log.info("INGEST PROPOSAL BATCH proposals: {}", metadataChangeProposals.length);
+
+    boolean asyncBool;
+    if (UNSET.equals(async)) {
+      asyncBool = Boolean.parseBoolean(System.getenv(ASYNC_INGEST_DEFAULT_NAME));
+    } else {
+      asyncBool = Boolean.parseBoolean(async);
+    }
+
+    if (metadataChangeProposals.length == 0) {
+      throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST, "At least one proposal must be provided.");
+    }
+
+    Authentication authentication = AuthenticationContext.getAuthentication();
+    List<java.util.Optional<ResourceSpec>> resourceSpecs = new ArrayList<>(metadataChangeProposals.length);
+    for (int i = 0; i < metadataChangeProposals.length; i++) {
+      final MetadataChangeProposal proposal = metadataChangeProposals[i];
+      final Urn urn;
+      try {
+        EntitySpec entitySpec = _entityService.getEntityRegistry().getEntitySpec(proposal.getEntityType());
+        urn = EntityKeyUtils.getUrnFromProposal(proposal, entitySpec.getKeyAspectSpec());
+      } catch (RuntimeException e) {
+        throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST,
+            String.format("Invalid proposal at index %s: %s", i, e.getMessage()));
+      }
+      resourceSpecs.add(java.util.Optional.of(new ResourceSpec(urn.getEntityType(), urn.toString())));
+    }
+    if (_restApiAuthorizationEnabled
+        && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.EDIT_ENTITY_PRIVILEGE), resourceSpecs)) {
+      throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to modify entities.");
+    }
+    String actorUrnStr = authentication.getActor().toUrnStr();
+    final AuditStamp auditStamp = new AuditStamp().setTime(_clock.millis()).setActor(Urn.createFromString(actorUrnStr));
+
+    return RestliUtil.toTask(() -> {
+      try {
+        final List<MetadataChangeProposal> proposals = Arrays.asList(metadataChangeProposals);
+        final List<IngestProposalResult> results = _entityService.ingestProposals(proposals, auditStamp, asyncBool);
+
+        if (!asyncBool) {
+          final List<MetadataChangeProposal> additionalChanges = proposals.stream()
+              .flatMap(proposal -> AspectUtils.getAdditionalChanges(proposal, _entityService).stream())
+              .collect(Collectors.toList());
+          if (!additionalChanges.isEmpty()) {
+            _entityService.ingestProposals(additionalChanges, auditStamp, asyncBool);
+          }
+        }
+
+        final StringArray responseUrns = new StringArray();
+        for (int i = 0; i < results.size(); i++) {
+          final IngestProposalResult result = results.get(i);
+          if (!result.isQueued()) {
+            tryIndexRunId(result.getUrn(), proposals.get(i).getSystemMetadata(), _entitySearchService);
+          }
+          responseUrns.add(result.getUrn().toString());
+        }
+        return responseUrns;
+      } catch (ValidationException e) {
+        throw new RestLiServiceException(HttpStatus.S_422_UNPROCESSABLE_ENTITY, e.getMessage());
+      }
+    }, MetricRegistry.name(this.getClass(), "ingestProposalBatch"));
+  }
+
   @Action(name = ACTION_GET_COUNT)
   @Nonnull
   @WithSpan
@@ -225,7 +313,7 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
                                 @ActionParam(PARAM_URN_LIKE) @Optional @Nullable String urnLike) {
     return RestliUtil.toTask(() -> {
       Authentication authentication = AuthenticationContext.getAuthentication();
-      if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+      if (_restApiAuthorizationEnabled
           && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.GET_COUNTS_PRIVILEGE),
           (ResourceSpec) null)) {
         throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to get aspect counts.");
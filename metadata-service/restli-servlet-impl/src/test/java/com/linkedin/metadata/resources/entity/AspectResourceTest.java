@@ -4,6 +4,8 @@ import com.datahub.authentication.Actor;
 import com.datahub.authentication.ActorType;
 import com.datahub.authentication.Authentication;
 import com.datahub.authentication.AuthenticationContext;
+import com.datahub.authorization.AuthorizationRequest;
+import com.datahub.authorization.AuthorizationResult;
 import com.datahub.plugins.auth.authorization.Authorizer;
 import com.linkedin.common.FabricType;
 import com.linkedin.common.urn.DataPlatformUrn;
@@ -16,6 +18,7 @@ import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.EntityServiceImpl;
 import com.linkedin.metadata.entity.UpdateAspectResult;
+import com.linkedin.metadata.entity.validation.ValidationException;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
@@ -23,6 +26,8 @@ import com.linkedin.metadata.service.UpdateIndicesService;
 import com.linkedin.metadata.utils.GenericRecordUtils;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.RestLiServiceException;
 import java.net.URISyntaxException;
 import mock.MockEntityRegistry;
 import org.testng.annotations.BeforeTest;
@@ -30,6 +35,7 @@ import org.testng.annotations.Test;
 
 import static com.linkedin.metadata.Constants.*;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
 
 
 public class AspectResourceTest {
@@ -84,4 +90,124 @@ public class AspectResourceTest {
     verify(_producer, times(5)).produceMetadataChangeLog(eq(urn), any(AspectSpec.class), any(MetadataChangeLog.class));
     verifyNoMoreInteractions(_producer);
   }
+
+  @Test
+  public void testIngestProposalBatch() throws URISyntaxException {
+    Urn firstUrn = new DatasetUrn(new DataPlatformUrn("platform"), "first", FabricType.PROD);
+    Urn secondUrn = new DatasetUrn(new DataPlatformUrn("platform"), "second", FabricType.PROD);
+    MetadataChangeProposal first = datasetPropertiesProposal(firstUrn);
+    MetadataChangeProposal second = datasetPropertiesProposal(secondUrn);
+    setAuthentication();
+    reset(_producer, _aspectDao);
+
+    _aspectResource.ingestProposalBatch(new MetadataChangeProposal[]{first, second}, "true");
+
+    verify(_producer, times(1)).produceMetadataChangeProposal(firstUrn, first);
+    verify(_producer, times(1)).produceMetadataChangeProposal(secondUrn, second);
+    verifyNoMoreInteractions(_producer);
+    verifyNoMoreInteractions(_aspectDao);
+  }
+
+  @Test
+  public void testIngestProposalBatchRejectsEmptyBatch() throws URISyntaxException {
+    setAuthentication();
+    try {
+      _aspectResource.ingestProposalBatch(new MetadataChangeProposal[0], "true");
+      fail("Expected an empty batch to be rejected");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_400_BAD_REQUEST);
+    }
+  }
+
+  @Test
+  public void testIngestProposalBatchRejectsInvalidProposal() throws URISyntaxException {
+    Urn urn = new DatasetUrn(new DataPlatformUrn("platform"), "name", FabricType.PROD);
+    MetadataChangeProposal valid = datasetPropertiesProposal(urn);
+    // Neither an urn nor a key aspect
+    MetadataChangeProposal invalid = datasetPropertiesProposal(urn);
+    invalid.removeEntityUrn();
+    setAuthentication();
+    reset(_producer, _aspectDao);
+
+    try {
+      _aspectResource.ingestProposalBatch(new MetadataChangeProposal[]{valid, invalid}, "true");
+      fail("Expected a proposal without an urn to be rejected");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_400_BAD_REQUEST);
+      assertTrue(e.getMessage().contains("index 1"));
+    }
+    // Nothing from the batch is written when any proposal is invalid
+    verifyNoInteractions(_producer);
+    verifyNoInteractions(_aspectDao);
+  }
+
+  @Test
+  public void testIngestProposalBatchValidationFailure() throws URISyntaxException {
+    Urn urn = new DatasetUrn(new DataPlatformUrn("platform"), "name", FabricType.PROD);
+    MetadataChangeProposal mcp = datasetPropertiesProposal(urn);
+    EntityService entityService = mock(EntityService.class);
+    when(entityService.getEntityRegistry()).thenReturn(_entityRegistry);
+    when(entityService.ingestProposals(any(), any(), anyBoolean())).thenThrow(new ValidationException("invalid aspect"));
+    AspectResource aspectResource = new AspectResource();
+    aspectResource.setEntityService(entityService);
+    aspectResource.setAuthorizer(_authorizer);
+    setAuthentication();
+
+    try {
+      aspectResource.ingestProposalBatch(new MetadataChangeProposal[]{mcp}, "false");
+      fail("Expected a validation failure");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_422_UNPROCESSABLE_ENTITY);
+    }
+  }
+
+  @Test
+  public void testIngestProposalBatchAuthorization() throws URISyntaxException {
+    Urn allowedUrn = new DatasetUrn(new DataPlatformUrn("platform"), "allowed", FabricType.PROD);
+    Urn deniedUrn = new DatasetUrn(new DataPlatformUrn("platform"), "denied", FabricType.PROD);
+    MetadataChangeProposal allowed = datasetPropertiesProposal(allowedUrn);
+    MetadataChangeProposal denied = datasetPropertiesProposal(deniedUrn);
+    Authorizer authorizer = mock(Authorizer.class);
+    when(authorizer.authorize(any(AuthorizationRequest.class))).thenAnswer(invocation -> {
+      AuthorizationRequest request = invocation.getArgument(0);
+      boolean isDenied = request.getResourceSpec().get().getResource().equals(deniedUrn.toString());
+      return new AuthorizationResult(request, isDenied ? AuthorizationResult.Type.DENY : AuthorizationResult.Type.ALLOW,
+          "");
+    });
+    AspectResource aspectResource = new AspectResource();
+    aspectResource.setEntityService(_entityService);
+    aspectResource.setAuthorizer(authorizer);
+    aspectResource.setRestApiAuthorizationEnabled(true);
+    setAuthentication();
+    reset(_producer, _aspectDao);
+
+    aspectResource.ingestProposalBatch(new MetadataChangeProposal[]{allowed}, "true");
+    verify(_producer, times(1)).produceMetadataChangeProposal(allowedUrn, allowed);
+
+    reset(_producer);
+    // A single unauthorized proposal rejects the whole batch
+    try {
+      aspectResource.ingestProposalBatch(new MetadataChangeProposal[]{allowed, denied}, "true");
+      fail("Expected the batch to be unauthorized");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_401_UNAUTHORIZED);
+    }
+    verifyNoInteractions(_producer);
+  }
+
+  private static MetadataChangeProposal datasetPropertiesProposal(Urn urn) {
+    MetadataChangeProposal mcp = new MetadataChangeProposal();
+    mcp.setEntityType(DATASET_ENTITY_NAME);
+    mcp.setEntityUrn(urn);
+    mcp.setAspect(GenericRecordUtils.serializeAspect(new DatasetProperties().setName(urn.getId())));
+    mcp.setAspectName(DATASET_PROPERTIES_ASPECT_NAME);
+    mcp.setChangeType(ChangeType.UPSERT);
+    return mcp;
+  }
+
+  private static void setAuthentication() {
+    Authentication mockAuthentication = mock(Authentication.class);
+    when(mockAuthentication.getActor()).thenReturn(new Actor(ActorType.USER, "user"));
+    AuthenticationContext.setAuthentication(mockAuthentication);
+  }
 }
@@ -292,8 +292,22 @@ public interface EntityService {
   IngestProposalResult ingestProposal(@Nonnull MetadataChangeProposal mcp,
       AuditStamp auditStamp, final boolean async);
 
+  /**
+   * Ingests a batch of {@link MetadataChangeProposal}s, possibly spanning many urns, within a single transaction.
+   *
+   * @return a list of {@link IngestProposalResult}s in the same order as the provided proposals
+   */
+  List<IngestProposalResult> ingestProposals(@Nonnull List<MetadataChangeProposal> mcps,
+      AuditStamp auditStamp, final boolean async);
+
   Boolean exists(Urn urn);
 
+  /**
+   * Returns the urns of the given entities which exist, checking all of them at once.
+   */
+  @Nonnull
+  Set<Urn> existsBatch(@Nonnull Set<Urn> urns);
+
   Boolean isSoftDeleted(@Nonnull final Urn urn);
 
   void setWritable(boolean canWrite);
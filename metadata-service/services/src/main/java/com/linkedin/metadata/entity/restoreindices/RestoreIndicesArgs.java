@@ -11,6 +11,14 @@ public class RestoreIndicesArgs implements Cloneable {
     public String aspectName;
     public String urn;
     public String urnLike;
+    // Keyset pagination: read the rows strictly after (lastUrn, lastAspect) instead of skipping `start` rows.
+    public boolean urnBasedPagination = false;
+    public String lastUrn;
+    public String lastAspect;
+    // Exclusive upper bound on the urns read, used to split the table into ranges.
+    public String urnUpperBound;
+    // Write to the search, graph and timeseries indices directly instead of producing MCLs to Kafka.
+    public boolean writeDirect = false;
 
     @Override
     public RestoreIndicesArgs clone() {
@@ -13,4 +13,7 @@ public class RestoreIndicesResult {
     public long aspectCheckMs = 0;
     public long createRecordMs = 0;
     public long sendMessageMs = 0;
+    // Key of the last row read, to continue from when using urn based pagination.
+    public String lastUrn;
+    public String lastAspect;
 }
@@ -8,10 +8,12 @@ import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -33,12 +35,37 @@ public interface GraphService {
    */
   void upsertEdge(final Edge edge);
 
+  /**
+   * Adds a batch of edges to the graph. Implementations able to write several edges at once should override this, by
+   * default edges are added one at a time.
+   */
+  default void addEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::addEdge);
+  }
+
+  /**
+   * Adds or updates a batch of edges to the graph, see {@link #addEdges(Collection)}.
+   */
+  default void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::upsertEdge);
+  }
+
   /**
    * Remove an edge from the graph.
    * @param edge the edge to delete
    */
   void removeEdge(final Edge edge);
 
+  /**
+   * Visits all the edges of the given relationship types in no particular order, so that projections of the graph can
+   * be rebuilt from it.
+   *
+   * @throws UnsupportedOperationException if the graph store cannot list its edges
+   */
+  default void scanEdges(@Nonnull final Set<String> relationshipTypes, @Nonnull final Consumer<Edge> consumer) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support scanning its edges");
+  }
+
   /**
    * Find related entities (nodes) connected to a source entity via edges of given relationship types. Related entities
    * can be filtered by source and destination type (use `null` for any type), by source and destination entity filter
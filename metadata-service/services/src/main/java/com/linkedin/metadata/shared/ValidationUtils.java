@@ -1,20 +1,28 @@
 package com.linkedin.metadata.shared;
 
 import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.browse.BrowseResult;
+import com.linkedin.metadata.browse.BrowseResultEntity;
 import com.linkedin.metadata.browse.BrowseResultEntityArray;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.query.ListResult;
 import com.linkedin.metadata.search.LineageScrollResult;
+import com.linkedin.metadata.search.LineageSearchEntity;
 import com.linkedin.metadata.search.LineageSearchEntityArray;
 import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.ScrollResult;
 import lombok.extern.slf4j.Slf4j;
+import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -35,9 +43,10 @@ public class ValidationUtils {
         .setPageSize(searchResult.getPageSize())
         .setNumEntities(searchResult.getNumEntities());
 
+    Set<Urn> existingUrns = getExistingUrns(searchResult.getEntities(), SearchEntity::getEntity, entityService);
     SearchEntityArray validatedEntities = searchResult.getEntities()
         .stream()
-        .filter(searchEntity -> entityService.exists(searchEntity.getEntity()))
+        .filter(searchEntity -> existingUrns.contains(searchEntity.getEntity()))
         .collect(Collectors.toCollection(SearchEntityArray::new));
     validatedSearchResult.setEntities(validatedEntities);
 
@@ -59,9 +68,10 @@ public class ValidationUtils {
       validatedScrollResult.setScrollId(scrollResult.getScrollId());
     }
 
+    Set<Urn> existingUrns = getExistingUrns(scrollResult.getEntities(), SearchEntity::getEntity, entityService);
     SearchEntityArray validatedEntities = scrollResult.getEntities()
         .stream()
-        .filter(searchEntity -> entityService.exists(searchEntity.getEntity()))
+        .filter(searchEntity -> existingUrns.contains(searchEntity.getEntity()))
         .collect(Collectors.toCollection(SearchEntityArray::new));
     validatedScrollResult.setEntities(validatedEntities);
 
@@ -83,9 +93,10 @@ public class ValidationUtils {
         .setNumEntities(browseResult.getNumEntities())
         .setNumElements(browseResult.getNumElements());
 
+    Set<Urn> existingUrns = getExistingUrns(browseResult.getEntities(), BrowseResultEntity::getUrn, entityService);
     BrowseResultEntityArray validatedEntities = browseResult.getEntities()
         .stream()
-        .filter(browseResultEntity -> entityService.exists(browseResultEntity.getUrn()))
+        .filter(browseResultEntity -> existingUrns.contains(browseResultEntity.getUrn()))
         .collect(Collectors.toCollection(BrowseResultEntityArray::new));
     validatedBrowseResult.setEntities(validatedEntities);
 
@@ -103,8 +114,11 @@ public class ValidationUtils {
         .setCount(listResult.getCount())
         .setTotal(listResult.getTotal());
 
-    UrnArray validatedEntities =
-        listResult.getEntities().stream().filter(entityService::exists).collect(Collectors.toCollection(UrnArray::new));
+    Set<Urn> existingUrns = getExistingUrns(listResult.getEntities(), Function.identity(), entityService);
+    UrnArray validatedEntities = listResult.getEntities()
+        .stream()
+        .filter(existingUrns::contains)
+        .collect(Collectors.toCollection(UrnArray::new));
     validatedListResult.setEntities(validatedEntities);
 
     return validatedListResult;
@@ -123,9 +137,11 @@ public class ValidationUtils {
             .setPageSize(lineageSearchResult.getPageSize())
             .setNumEntities(lineageSearchResult.getNumEntities());
 
+    Set<Urn> existingUrns =
+        getExistingUrns(lineageSearchResult.getEntities(), LineageSearchEntity::getEntity, entityService);
     LineageSearchEntityArray validatedEntities = lineageSearchResult.getEntities()
         .stream()
-        .filter(entity -> entityService.exists(entity.getEntity()))
+        .filter(entity -> existingUrns.contains(entity.getEntity()))
         .collect(Collectors.toCollection(LineageSearchEntityArray::new));
     validatedLineageSearchResult.setEntities(validatedEntities);
 
@@ -144,8 +160,10 @@ public class ValidationUtils {
         .setCount(entityLineageResult.getCount())
         .setTotal(entityLineageResult.getTotal());
 
+    final Set<Urn> existingUrns =
+        getExistingUrns(entityLineageResult.getRelationships(), LineageRelationship::getEntity, entityService);
     final LineageRelationshipArray validatedRelationships = entityLineageResult.getRelationships().stream()
-        .filter(relationship -> entityService.exists(relationship.getEntity()))
+        .filter(relationship -> existingUrns.contains(relationship.getEntity()))
         .filter(relationship -> !entityService.isSoftDeleted(relationship.getEntity()))
         .collect(Collectors.toCollection(LineageRelationshipArray::new));
 
@@ -173,15 +191,25 @@ public class ValidationUtils {
       validatedLineageScrollResult.setScrollId(lineageScrollResult.getScrollId());
     }
 
+    Set<Urn> existingUrns =
+        getExistingUrns(lineageScrollResult.getEntities(), LineageSearchEntity::getEntity, entityService);
     LineageSearchEntityArray validatedEntities = lineageScrollResult.getEntities()
         .stream()
-        .filter(entity -> entityService.exists(entity.getEntity()))
+        .filter(entity -> existingUrns.contains(entity.getEntity()))
         .collect(Collectors.toCollection(LineageSearchEntityArray::new));
     validatedLineageScrollResult.setEntities(validatedEntities);
 
     return validatedLineageScrollResult;
   }
 
+  /**
+   * Checks the existence of the entities of a whole page of results at once.
+   */
+  private static <T> Set<Urn> getExistingUrns(@Nonnull final List<T> results, @Nonnull final Function<T, Urn> getUrn,
+      @Nonnull final EntityService entityService) {
+    return entityService.existsBatch(results.stream().map(getUrn).collect(Collectors.toSet()));
+  }
+
   private ValidationUtils() {
   }
 }
@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.ChangeTransactionPage;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 
 public interface TimelineService {
@@ -18,4 +20,18 @@ public interface TimelineService {
       String startVersionStamp,
       String endVersionStamp,
       boolean rawDiffRequested) throws JsonProcessingException;
+
+  /**
+   * Same as {@link #getTimeline}, but returning at most count change transactions, starting after the cursor returned
+   * with the previous page if there is one.
+   */
+  ChangeTransactionPage getTimelinePage(@Nonnull final Urn urn,
+      @Nonnull Set<ChangeCategory> elements,
+      long startMillis,
+      long endMillis,
+      String startVersionStamp,
+      String endVersionStamp,
+      boolean rawDiffRequested,
+      @Nullable String cursor,
+      int count) throws JsonProcessingException;
 }
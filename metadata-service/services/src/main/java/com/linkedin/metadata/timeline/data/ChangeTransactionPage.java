@@ -0,0 +1,21 @@
+package com.linkedin.metadata.timeline.data;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * A page of the change transactions of a timeline, in time order.
+ */
+@Getter
+@Builder
+public class ChangeTransactionPage {
+  List<ChangeTransaction> changeTransactions;
+  /**
+   * Cursor to pass to get the next page, or null if this is the last page.
+   */
+  @Nullable
+  String nextCursor;
+}
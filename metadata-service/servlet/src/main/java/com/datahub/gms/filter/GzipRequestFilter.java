@@ -0,0 +1,234 @@
+package com.datahub.gms.filter;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * Inflates request bodies sent with Content-Encoding: gzip, such as the batches of the Java emitter, before they reach
+ * the servlet. The Rest.li servlet does not decompress requests itself. Requests without the header pass through as is.
+ *
+ * The servlet buffers whole request bodies, so inflated bodies are limited to ingestion.maxInflatedRequestLength bytes,
+ * which defaults to the maximum length of serialized aspects. Larger bodies are rejected with a 413.
+ */
+public class GzipRequestFilter implements Filter {
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+  private static final String CONTENT_LENGTH = "Content-Length";
+  private static final String GZIP = "gzip";
+  private static final String MAX_INFLATED_LENGTH_PROPERTY = "ingestion.maxInflatedRequestLength";
+  private static final long DEFAULT_MAX_INFLATED_LENGTH = 16000000;
+
+  private long _maxInflatedLength;
+
+  public GzipRequestFilter() {
+    this(DEFAULT_MAX_INFLATED_LENGTH);
+  }
+
+  @VisibleForTesting
+  GzipRequestFilter(long maxInflatedLength) {
+    _maxInflatedLength = maxInflatedLength;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) {
+    final WebApplicationContext ctx =
+        WebApplicationContextUtils.getWebApplicationContext(filterConfig.getServletContext());
+    if (ctx != null) {
+      final Environment environment = ctx.getEnvironment();
+      _maxInflatedLength = environment.getProperty(MAX_INFLATED_LENGTH_PROPERTY, Long.class,
+          environment.getProperty(INGESTION_MAX_SERIALIZED_STRING_LENGTH, Long.class, DEFAULT_MAX_INFLATED_LENGTH));
+    }
+  }
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    final String contentEncoding =
+        request instanceof HttpServletRequest ? ((HttpServletRequest) request).getHeader(CONTENT_ENCODING) : null;
+    if (contentEncoding == null || !GZIP.equalsIgnoreCase(contentEncoding.trim())) {
+      chain.doFilter(request, response);
+      return;
+    }
+    final GZIPInputStream inflated;
+    try {
+      inflated = new GZIPInputStream(request.getInputStream());
+    } catch (IOException e) {
+      ((HttpServletResponse) response).sendError(HttpServletResponse.SC_BAD_REQUEST, "Request body is not valid gzip");
+      return;
+    }
+    final InflatedInputStream inflatedStream = new InflatedInputStream(inflated, _maxInflatedLength);
+    try {
+      chain.doFilter(new InflatedRequest((HttpServletRequest) request, inflatedStream), response);
+    } catch (IOException | ServletException e) {
+      if (!inflatedStream.isTooLarge()) {
+        throw e;
+      }
+    }
+    // The servlet may have handled the failed read itself, in which case its response stands
+    if (inflatedStream.isTooLarge() && !response.isCommitted()) {
+      ((HttpServletResponse) response).sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+          String.format("Inflated request body exceeds %s bytes", _maxInflatedLength));
+    }
+  }
+
+  @Override
+  public void destroy() {
+  }
+
+  /**
+   * The request as seen by the servlet: its body is the inflated stream, and the headers describing the compressed body
+   * are hidden so that the servlet does not read a fixed number of bytes or try to decode it again.
+   */
+  private static class InflatedRequest extends HttpServletRequestWrapper {
+    private final ServletInputStream _inputStream;
+
+    InflatedRequest(HttpServletRequest request, ServletInputStream inflated) {
+      super(request);
+      _inputStream = inflated;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return _inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      final String encoding = getCharacterEncoding();
+      final Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+      return new BufferedReader(new InputStreamReader(_inputStream, charset));
+    }
+
+    @Override
+    public int getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+      return isHidden(name) ? -1 : super.getIntHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      final List<String> names = Collections.list(super.getHeaderNames())
+          .stream()
+          .filter(name -> !isHidden(name))
+          .collect(Collectors.toList());
+      return Collections.enumeration(names);
+    }
+
+    private static boolean isHidden(String name) {
+      return CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+  }
+
+  /**
+   * The inflated body, failing reads past the maximum length so that a small compressed body cannot exhaust the heap.
+   */
+  private static class InflatedInputStream extends ServletInputStream {
+    private final InputStream _inflated;
+    private final long _maxLength;
+    private long _length = 0;
+    private boolean _finished = false;
+    private boolean _tooLarge = false;
+
+    InflatedInputStream(InputStream inflated, long maxLength) {
+      _inflated = inflated;
+      _maxLength = maxLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int value = _inflated.read();
+      _finished = value == -1;
+      if (!_finished) {
+        count(1);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      final int read = _inflated.read(buffer, offset, length);
+      _finished = read == -1;
+      if (read > 0) {
+        count(read);
+      }
+      return read;
+    }
+
+    private void count(int read) throws IOException {
+      _length += read;
+      if (_length > _maxLength) {
+        _tooLarge = true;
+        throw new IOException(String.format("Inflated request body exceeds %s bytes", _maxLength));
+      }
+    }
+
+    boolean isTooLarge() {
+      return _tooLarge;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return _finished;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      throw new UnsupportedOperationException("Asynchronous reads of gzip request bodies are not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+      _inflated.close();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.datahub.gms.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class GzipRequestFilterTest {
+
+  private static final String BODY = "{\"proposals\": []}";
+
+  @Test
+  public void testGzipBodyIsInflated() throws Exception {
+    HttpServletRequest request = mockRequest("gzip", gzip(BODY));
+    FilterChain chain = mock(FilterChain.class);
+
+    new GzipRequestFilter().doFilter(request, mock(HttpServletResponse.class), chain);
+
+    ArgumentCaptor<ServletRequest> forwarded = ArgumentCaptor.forClass(ServletRequest.class);
+    verify(chain).doFilter(forwarded.capture(), any());
+    HttpServletRequest inflated = (HttpServletRequest) forwarded.getValue();
+    assertEquals(read(inflated.getInputStream()), BODY);
+    // The headers describing the compressed body no longer apply to what the servlet reads
+    assertEquals(inflated.getContentLength(), -1);
+    assertNull(inflated.getHeader("Content-Encoding"));
+    assertNull(inflated.getHeader("content-length"));
+    assertEquals(Collections.list(inflated.getHeaderNames()), Collections.singletonList("Content-Type"));
+    assertEquals(inflated.getHeader("Content-Type"), "application/json");
+  }
+
+  @Test
+  public void testUncompressedRequestPassesThrough() throws Exception {
+    HttpServletRequest request = mockRequest(null, BODY.getBytes(StandardCharsets.UTF_8));
+    FilterChain chain = mock(FilterChain.class);
+
+    new GzipRequestFilter().doFilter(request, mock(HttpServletResponse.class), chain);
+
+    verify(chain).doFilter(same(request), any());
+  }
+
+  @Test
+  public void testInvalidGzipBodyIsRejected() throws Exception {
+    HttpServletRequest request = mockRequest("gzip", BODY.getBytes(StandardCharsets.UTF_8));
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    FilterChain chain = mock(FilterChain.class);
+
+    new GzipRequestFilter().doFilter(request, response, chain);
+
+    verify(response).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), anyString());
+    verifyNoInteractions(chain);
+  }
+
+  @Test
+  public void testInflatedBodyLargerThanTheLimitIsRejected() throws Exception {
+    // Compresses to a few dozen bytes, but inflates past the limit
+    HttpServletRequest request = mockRequest("gzip", gzip(String.join("", Collections.nCopies(10000, "a"))));
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    FilterChain chain = mock(FilterChain.class);
+    doAnswer(invocation -> read(((ServletRequest) invocation.getArgument(0)).getInputStream()))
+        .when(chain).doFilter(any(), any());
+
+    new GzipRequestFilter(1000).doFilter(request, response, chain);
+
+    verify(response).sendError(eq(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE), anyString());
+  }
+
+  @Test
+  public void testInflatedBodyWithinTheLimitIsAccepted() throws Exception {
+    HttpServletRequest request = mockRequest("gzip", gzip(BODY));
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    FilterChain chain = mock(FilterChain.class);
+    doAnswer(invocation -> read(((ServletRequest) invocation.getArgument(0)).getInputStream()))
+        .when(chain).doFilter(any(), any());
+
+    new GzipRequestFilter(BODY.length()).doFilter(request, response, chain);
+
+    verify(chain).doFilter(any(), same(response));
+    verifyNoInteractions(response);
+  }
+
+  private static HttpServletRequest mockRequest(String contentEncoding, byte[] body) throws IOException {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getHeader("Content-Encoding")).thenReturn(contentEncoding);
+    when(request.getHeader("Content-Type")).thenReturn("application/json");
+    when(request.getHeaderNames()).thenAnswer(invocation -> Collections.enumeration(
+        contentEncoding != null
+            ? Arrays.asList("Content-Type", "Content-Encoding", "Content-Length")
+            : Arrays.asList("Content-Type", "Content-Length")));
+    when(request.getContentLength()).thenReturn(body.length);
+    when(request.getInputStream()).thenReturn(new ByteArrayServletInputStream(body));
+    return request;
+  }
+
+  private static byte[] gzip(String body) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+      gzipStream.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    return compressed.toByteArray();
+  }
+
+  private static String read(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static class ByteArrayServletInputStream extends ServletInputStream {
+    private final ByteArrayInputStream _input;
+
+    ByteArrayServletInputStream(byte[] body) {
+      _input = new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public int read() {
+      return _input.read();
+    }
+
+    @Override
+    public boolean isFinished() {
+      return _input.available() == 0;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
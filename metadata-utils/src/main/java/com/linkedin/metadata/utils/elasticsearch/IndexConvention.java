@@ -28,6 +28,12 @@ public interface IndexConvention {
   @Nonnull
   String getTimeseriesAspectIndexName(String entityName, String aspectName);
 
+  /**
+   * Name of the index holding the rollups of a timeseries aspect at the given granularity, e.g. hour or day
+   */
+  @Nonnull
+  String getTimeseriesAspectRollupIndexName(String entityName, String aspectName, String granularity);
+
   @Nonnull
   String getAllEntityIndicesPattern();
 
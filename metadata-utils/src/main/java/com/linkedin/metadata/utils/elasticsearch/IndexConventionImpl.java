@@ -23,6 +23,7 @@ public class IndexConventionImpl implements IndexConvention {
   private final static String ENTITY_INDEX_SUFFIX = "index";
   private final static String TIMESERIES_INDEX_VERSION = "v1";
   private final static String TIMESERIES_ENTITY_INDEX_SUFFIX = "aspect";
+  private final static String TIMESERIES_ROLLUP_INDEX_SUFFIX = "rollup";
 
   public IndexConventionImpl(@Nullable String prefix) {
     _prefix = StringUtils.isEmpty(prefix) ? Optional.empty() : Optional.of(prefix);
@@ -89,6 +90,13 @@ public class IndexConventionImpl implements IndexConvention {
         + TIMESERIES_INDEX_VERSION;
   }
 
+  @Nonnull
+  @Override
+  public String getTimeseriesAspectRollupIndexName(String entityName, String aspectName, String granularity) {
+    return this.getIndexName(entityName + "_" + aspectName) + TIMESERIES_ROLLUP_INDEX_SUFFIX + "_" + granularity + "_"
+        + TIMESERIES_INDEX_VERSION;
+  }
+
   @Nonnull
   @Override
   public String getAllEntityIndicesPattern() {
@@ -63,4 +63,14 @@ public class IndexConventionImplTest {
     assertEquals(indexConventionPrefix.getEntityAndAspectName("totally not an index"), Optional.empty());
     assertEquals(indexConventionPrefix.getEntityAndAspectName("prefix_datasetusagestatisticsaspect_v1"), Optional.empty());
   }
+
+  @Test
+  public void testTimeseriesRollupIndexConvention() {
+    IndexConvention indexConventionPrefix = new IndexConventionImpl("prefix");
+    String expectedIndexName = "prefix_dataset_datasetusagestatisticsrollup_day_v1";
+    assertEquals(indexConventionPrefix.getTimeseriesAspectRollupIndexName("dataset", "datasetUsageStatistics", "day"),
+        expectedIndexName);
+    // Rollup indices are not timeseries aspect indices
+    assertEquals(indexConventionPrefix.getEntityAndAspectName(expectedIndexName), Optional.empty());
+  }
 }